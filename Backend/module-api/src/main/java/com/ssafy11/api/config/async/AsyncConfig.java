@@ -0,0 +1,50 @@
+package com.ssafy11.api.config.async;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class AsyncConfig {
+
+	public static final String LEDGER_IMPORT_EXECUTOR = "ledgerImportExecutor";
+	public static final String REMINDER_EXECUTOR = "reminderExecutor";
+
+	// 엑셀 장부 가져오기 전용, 스레드와 대기열을 묶어 두고 넘치면 바로 거절해 요청 스레드나 DB 커넥션을 다 쓰지 않게 한다
+	@Bean(name = LEDGER_IMPORT_EXECUTOR)
+	public ThreadPoolTaskExecutor ledgerImportExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(2);
+		executor.setMaxPoolSize(2);
+		executor.setQueueCapacity(20);
+		executor.setThreadNamePrefix("ledger-import-");
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(60);
+		return executor;
+	}
+
+	// 일정 알림 발송 전용. 한 스레드라 발송 순서대로 보낸 위치를 남기고, 느린 SMS/메일 서버가 스케줄러를 막지 않는다
+	// 대기열에 든 알림은 ReminderService 가 MAX_PENDING 에 세어 휠을 더 채우지 않으므로 대기열 크기도 그만큼으로 묶인다
+	@Bean(name = REMINDER_EXECUTOR)
+	public ThreadPoolTaskExecutor reminderExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setThreadNamePrefix("reminder-");
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(60);
+		return executor;
+	}
+
+	// @Scheduled 작업이 여럿이라 기본 단일 스레드면 야간 작업 하나가 알림 tick 이나 임대 갱신을 막는다
+	@Bean
+	public ThreadPoolTaskScheduler taskScheduler() {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(4);
+		scheduler.setThreadNamePrefix("scheduler-");
+		scheduler.setWaitForTasksToCompleteOnShutdown(true);
+		scheduler.setAwaitTerminationSeconds(30);
+		return scheduler;
+	}
+}
@@ -0,0 +1,51 @@
+package com.ssafy11.api.config.gpt;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class GptConfig {
+
+	public static final String GPT_REST_CLIENT = "gptRestClient";
+	public static final String GPT_EXECUTOR = "gptExecutor";
+
+	// JDK HttpClient 하나를 같이 써서 커넥션을 keep-alive 로 재사용한다(HTTP/2 면 한 커넥션에 다중화)
+	@Bean(name = GPT_REST_CLIENT)
+	public RestClient gptRestClient(@Value("${openai.base-url:https://api.openai.com}") String baseUrl,
+		@Value("${openai.api-key}") String apiKey,
+		@Value("${openai.connect-timeout:3s}") Duration connectTimeout,
+		@Value("${openai.read-timeout:30s}") Duration readTimeout) {
+		return restClient(baseUrl, apiKey, connectTimeout, readTimeout);
+	}
+
+	// 응답을 기다리는 동안 톰캣 요청 스레드 대신 가상 스레드가 묶인다
+	// 동시 호출 상한은 GptService 가 기다리지 않고 거절하는 방식으로 건다. 여기서 막으면 제출한 톰캣 스레드가 멈춘다
+	@Bean(name = GPT_EXECUTOR)
+	public SimpleAsyncTaskExecutor gptExecutor() {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("gpt-");
+		executor.setVirtualThreads(true);
+		return executor;
+	}
+
+	public static RestClient restClient(String baseUrl, String apiKey, Duration connectTimeout, Duration readTimeout) {
+		HttpClient httpClient = HttpClient.newBuilder()
+			.connectTimeout(connectTimeout)
+			.build();
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(readTimeout);
+
+		return RestClient.builder()
+			.baseUrl(baseUrl)
+			.requestFactory(requestFactory)
+			.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+			.build();
+	}
+}
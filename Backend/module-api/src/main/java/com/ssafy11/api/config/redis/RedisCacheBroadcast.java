@@ -0,0 +1,45 @@
+package com.ssafy11.api.config.redis;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ssafy11.domain.global.CacheBroadcast;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis 채널로 로컬 캐시 무효화를 알린다. 받는 쪽은 RedisMessageConfig 에서 캐시별로 등록한다.
+ * 메시지가 유실될 수 있으므로 캐시 쪽은 짧은 만료 시간을 같이 둔다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisCacheBroadcast implements CacheBroadcast {
+
+	private final StringRedisTemplate stringRedisTemplate;
+
+	@Override
+	public void publishAfterCommit(String topic, String message) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			publish(topic, message);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				publish(topic, message);
+			}
+		});
+	}
+
+	private void publish(String topic, String message) {
+		try {
+			stringRedisTemplate.convertAndSend(topic, message);
+		} catch (RuntimeException e) {
+			log.warn("캐시 무효화 메시지 발행 실패 topic={} message={}", topic, message, e);
+		}
+	}
+}
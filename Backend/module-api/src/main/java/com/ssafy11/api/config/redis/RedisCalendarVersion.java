@@ -0,0 +1,61 @@
+package com.ssafy11.api.config.redis;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ssafy11.domain.calendar.CalendarVersion;
+import com.ssafy11.domain.global.AfterCompletion;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Redis 에 둔 사용자별 달력 버전.
+ * 키가 없으면 현재 시각(ms)에서 시작해, 키가 지워졌다 다시 생겨도 예전 버전(ETag)과 겹치지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisCalendarVersion implements CalendarVersion {
+
+	private static final String KEY_PREFIX = "calendar:version:";
+	private static final String MODIFIED_KEY_PREFIX = "calendar:modified:";
+
+	private final StringRedisTemplate stringRedisTemplate;
+
+	@Override
+	public long current(Integer userId) {
+		String key = KEY_PREFIX + userId;
+		String version = stringRedisTemplate.opsForValue().get(key);
+		if (version == null) {
+			initialize(key);
+			version = stringRedisTemplate.opsForValue().get(key);
+		}
+		return Long.parseLong(version);
+	}
+
+	// 기록이 없으면 지금 바뀐 것으로 보아 구독 중인 캘린더가 한 번은 새로 받아 가게 한다
+	@Override
+	public long lastModified(Integer userId) {
+		String key = MODIFIED_KEY_PREFIX + userId;
+		String modified = stringRedisTemplate.opsForValue().get(key);
+		if (modified == null) {
+			initialize(key);
+			modified = stringRedisTemplate.opsForValue().get(key);
+		}
+		return Long.parseLong(modified);
+	}
+
+	// 트랜잭션 중에 한 번, 끝난 뒤에 한 번 올려 커밋 전 데이터가 새 버전으로 캐시되지 않게 한다
+	@Override
+	public void bump(Integer userId) {
+		String key = KEY_PREFIX + userId;
+		AfterCompletion.run(() -> {
+			initialize(key);
+			stringRedisTemplate.opsForValue().increment(key);
+			stringRedisTemplate.opsForValue().set(MODIFIED_KEY_PREFIX + userId, String.valueOf(System.currentTimeMillis()));
+		});
+	}
+
+	private void initialize(String key) {
+		stringRedisTemplate.opsForValue().setIfAbsent(key, String.valueOf(System.currentTimeMillis()));
+	}
+}
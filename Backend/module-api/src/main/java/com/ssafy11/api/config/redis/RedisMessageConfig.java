@@ -0,0 +1,45 @@
+package com.ssafy11.api.config.redis;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.ssafy11.api.service.CalendarFeedService;
+import com.ssafy11.api.service.RecommendAmountSnapshot;
+import com.ssafy11.domain.relation.RelationIndexCache;
+import com.ssafy11.domain.schedule.ScheduleOccurrenceCache;
+
+@Configuration
+public class RedisMessageConfig {
+
+	@Bean
+	public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+		RecommendAmountSnapshot recommendAmountSnapshot, RelationIndexCache relationIndexCache,
+		CalendarFeedService calendarFeedService, ScheduleOccurrenceCache scheduleOccurrenceCache) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+
+		// 금액 분석 갱신 알림, 발행한 서버 자신도 이 메시지로 스냅샷을 교체한다
+		container.addMessageListener((message, pattern) -> recommendAmountSnapshot.reload(),
+			new ChannelTopic(RecommendAmountSnapshot.REFRESH_TOPIC));
+		// 다른 서버에서 지인 관계가 바뀌면 이 서버의 관계 인덱스도 지운다
+		container.addMessageListener((message, pattern) -> relationIndexCache.onInvalidate(body(message)),
+			new ChannelTopic(RelationIndexCache.INVALIDATE_TOPIC));
+		// 캘린더 구독 토큰을 다시 발급하면 예전 토큰을 모든 서버에서 막는다
+		container.addMessageListener((message, pattern) -> calendarFeedService.onRevoke(body(message)),
+			new ChannelTopic(CalendarFeedService.REVOKE_TOPIC));
+		// 반복 일정 규칙이 바뀌면 이 서버에 펼쳐 둔 반복 일정도 지운다
+		container.addMessageListener((message, pattern) -> scheduleOccurrenceCache.onInvalidate(body(message)),
+			new ChannelTopic(ScheduleOccurrenceCache.INVALIDATE_TOPIC));
+		return container;
+	}
+
+	private static String body(Message message) {
+		return new String(message.getBody(), StandardCharsets.UTF_8);
+	}
+}
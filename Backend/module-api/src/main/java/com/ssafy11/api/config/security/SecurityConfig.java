@@ -18,10 +18,13 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 public class SecurityConfig {
 
 	private static final String[] AUTH_WHITELIST = {
+		"/api/calendar/feed/*"
 	};
 
 	@Bean
@@ -70,7 +73,10 @@ public class SecurityConfig {
 			)
 			.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
 			.authorizeHttpRequests(request -> {
-				request.requestMatchers(AUTH_WHITELIST).permitAll()
+				// 비동기 응답(CompletableFuture, StreamingResponseBody)의 재디스패치는 JWT 필터를 다시 타지 않으므로,
+				// 첫 요청에서 이미 인가된 것으로 보고 통과시킨다
+				request.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+					.requestMatchers(AUTH_WHITELIST).permitAll()
 					.anyRequest().authenticated();
 			})
 			.sessionManagement(sessionManagement ->
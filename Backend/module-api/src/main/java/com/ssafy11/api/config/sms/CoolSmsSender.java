@@ -3,7 +3,12 @@ package com.ssafy11.api.config.sms;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 import net.nurigo.sdk.NurigoApp;
+import net.nurigo.sdk.message.exception.NurigoEmptyResponseException;
+import net.nurigo.sdk.message.exception.NurigoMessageNotReceivedException;
+import net.nurigo.sdk.message.exception.NurigoUnknownException;
 import net.nurigo.sdk.message.model.Message;
 import net.nurigo.sdk.message.request.SingleMessageSendingRequest;
 import net.nurigo.sdk.message.service.DefaultMessageService;
@@ -28,11 +33,28 @@ public class CoolSmsSender implements SmsSender {
 
 	@Override
 	public void sendSms(String phoneNumber, String content) {
+		this.messageService.sendOne(new SingleMessageSendingRequest(message(phoneNumber, content)));
+	}
+
+	@Override
+	public void sendSms(List<SmsMessage> messages) {
+		if (messages.isEmpty()) {
+			return;
+		}
+		try {
+			this.messageService.send(messages.stream()
+				.map(message -> message(message.phoneNumber(), message.content()))
+				.toList());
+		} catch (NurigoMessageNotReceivedException | NurigoEmptyResponseException | NurigoUnknownException e) {
+			throw new IllegalStateException("SMS 일괄 발송 실패", e);
+		}
+	}
+
+	private Message message(String phoneNumber, String content) {
 		Message message = new Message();
 		message.setFrom("01032354666");
 		message.setTo(phoneNumber);
 		message.setText(content);
-
-		this.messageService.sendOne(new SingleMessageSendingRequest(message));
+		return message;
 	}
 }
@@ -0,0 +1,4 @@
+package com.ssafy11.api.config.sms;
+
+public record SmsMessage(String phoneNumber, String content) {
+}
@@ -1,5 +1,10 @@
 package com.ssafy11.api.config.sms;
 
+import java.util.List;
+
 public interface SmsSender {
 	void sendSms(String phoneNumber, String message);
+
+	// 여러 건을 한 번의 요청으로 보낸다
+	void sendSms(List<SmsMessage> messages);
 }
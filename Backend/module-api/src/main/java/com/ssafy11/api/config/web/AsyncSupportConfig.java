@@ -0,0 +1,27 @@
+package com.ssafy11.api.config.web;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AsyncSupportConfig implements WebMvcConfigurer {
+
+	private static final Duration MARGIN = Duration.ofSeconds(5);
+
+	private final Duration requestTimeout;
+
+	// 비동기 요청 시간은 GPT 호출(연결 + 응답 대기)보다 길게 잡아, 호출 시간 초과가 톰캣의 503 대신 GPT 오류로 내려가게 한다
+	public AsyncSupportConfig(@Value("${openai.connect-timeout:3s}") Duration connectTimeout,
+		@Value("${openai.read-timeout:30s}") Duration readTimeout) {
+		this.requestTimeout = connectTimeout.plus(readTimeout).plus(MARGIN);
+	}
+
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.setDefaultTimeout(requestTimeout.toMillis());
+	}
+}
@@ -0,0 +1,74 @@
+package com.ssafy11.api.controller;
+
+import com.ssafy11.api.service.CalendarFeedService;
+import com.ssafy11.api.service.CalendarService;
+import com.ssafy11.domain.calendar.dto.CalendarEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/calendar")
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final CalendarService calendarService;
+    private final CalendarFeedService calendarFeedService;
+
+    //기간별 달력(주최한 이벤트 + 참석할 일정), 달력 버전이 그대로면 304
+    @GetMapping
+    public ResponseEntity<List<CalendarEntry>> getCalendar(@AuthenticationPrincipal User user,
+                                                           @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                           WebRequest request) {
+        String eTag = calendarService.getETag(user.getUsername());
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+
+        List<CalendarEntry> calendar = calendarService.getCalendar(user.getUsername(), from, to);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(calendar);
+    }
+
+    @GetMapping("/feed") //구독 주소 토큰 조회, 없으면 발급
+    public ResponseEntity<String> getFeedToken(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(calendarFeedService.getToken(user.getUsername()));
+    }
+
+    @PostMapping("/feed") //구독 주소 재발급, 예전 주소는 막힌다
+    public ResponseEntity<String> issueFeedToken(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(calendarFeedService.issueToken(user.getUsername()));
+    }
+
+    //휴대폰 캘린더 구독용 ICS, 로그인 대신 주소의 토큰으로 사용자를 찾는다
+    @GetMapping("/feed/{token}.ics")
+    public ResponseEntity<byte[]> getFeed(@PathVariable("token") String token, WebRequest request) {
+        Integer userId = calendarFeedService.getFeedOwner(token);
+        String eTag = calendarFeedService.getETag(userId);
+        long lastModified = calendarFeedService.getLastModified(userId);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).lastModified(lastModified).cacheControl(cacheControl).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl)
+                .contentType(TEXT_CALENDAR)
+                .body(calendarFeedService.getFeed(userId));
+    }
+}
@@ -1,19 +1,35 @@
 package com.ssafy11.api.controller;
 
+import com.ssafy11.api.dto.AmountRecommendation;
+import com.ssafy11.api.service.AmountRecommender;
 import com.ssafy11.api.service.GptService;
+import com.ssafy11.api.service.LedgerExportService;
+import com.ssafy11.domain.common.CursorDto;
+import com.ssafy11.domain.common.CursorResponse;
 import com.ssafy11.domain.common.PageDto;
 import com.ssafy11.domain.events.dto.EventCommand;
 import com.ssafy11.api.service.EventService;
 import com.ssafy11.domain.events.dto.Event;
+import com.ssafy11.domain.events.dto.EventSummary;
+import com.ssafy11.domain.events.dto.EventTotals;
 import com.ssafy11.domain.common.PageResponse;
 import com.ssafy11.domain.events.dto.recommendAmount;
 import com.ssafy11.domain.participant.dto.EventParticipant;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 
 
 @RestController
@@ -21,8 +37,12 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/events")
 public class EventController {
 
+    private static final MediaType XLSX = MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
     private final EventService eventService;
     private final GptService gptService;
+    private final AmountRecommender amountRecommender;
+    private final LedgerExportService ledgerExportService;
 
     @PostMapping //이벤트 추가
     public ResponseEntity<Integer> addEvent(@AuthenticationPrincipal User user,
@@ -50,6 +70,16 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    //기간별 이벤트 목록(커서 페이지네이션, 참여자 수/총 금액 포함)
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorResponse<EventSummary>> getEventsScroll(@AuthenticationPrincipal User user,
+                                          @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          @ModelAttribute CursorDto cursorDto) {
+        CursorResponse<EventSummary> events = eventService.getEvents(user.getUsername(), from, to, cursorDto);
+        return ResponseEntity.ok(events);
+    }
+
     //이벤트 상세 목록(해당 이벤트 경조사 내역)
     @GetMapping("/detail/{eventId}")
     public ResponseEntity<PageResponse<EventParticipant>> getEvent(@AuthenticationPrincipal User user,
@@ -61,6 +91,33 @@ public class EventController {
         return ResponseEntity.ok(guests);
     }
 
+    //이벤트 방명록 엑셀 내려받기
+    @GetMapping("/detail/{eventId}/excel")
+    public ResponseEntity<StreamingResponseBody> exportEvent(@AuthenticationPrincipal User user,
+                                      @PathVariable("eventId") Integer eventId) {
+        Assert.notNull(eventId, "eventId must not be null");
+        // 응답을 쓰기 시작한 뒤에는 오류 응답을 줄 수 없으므로 권한은 먼저 확인한다
+        Assert.isTrue(eventService.isUserEventCreated(eventId, user.getUsername()), "사용자가 만든 이벤트가 아닙니다.");
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("방명록-" + eventId + ".xlsx", StandardCharsets.UTF_8)
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(XLSX)
+                .body(outputStream -> ledgerExportService.export(eventId, outputStream));
+    }
+
+    //이벤트 경조사비 집계(전체, 관계별)
+    @GetMapping("/detail/{eventId}/summary")
+    public ResponseEntity<EventTotals> getEventTotals(@AuthenticationPrincipal User user,
+                                      @PathVariable("eventId") Integer eventId) {
+        Assert.notNull(eventId, "eventId must not be null");
+
+        EventTotals eventTotals = eventService.getEventTotals(user.getUsername(), eventId);
+        return ResponseEntity.ok(eventTotals);
+    }
+
     //이벤트 삭제
     @DeleteMapping("/{eventId}")
     public ResponseEntity<Integer> deleteEvent(@AuthenticationPrincipal User user,
@@ -79,23 +136,33 @@ public class EventController {
         return ResponseEntity.ok(recommendAmount);
     }
 
-    //경조사 AI 축하 메시지 추천
+    //통계 기반 금액 추천(explain=true 이면 GPT 설명 추가), 설명을 기다리는 동안 요청 스레드는 반환한다
+    @GetMapping("recommend/money/stats")
+    public CompletableFuture<ResponseEntity<AmountRecommendation>> getStatsRecommend(@AuthenticationPrincipal User user,
+                                             @RequestParam("eventCategory") String eventCategory,
+                                             @RequestParam(value = "guestCategory", required = false) String guestCategory,
+                                             @RequestParam(value = "explain", defaultValue = "false") boolean explain) {
+        Assert.hasText(eventCategory, "eventCategory must not be null");
+        return amountRecommender.recommend(user.getUsername(), eventCategory, guestCategory, explain)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    //경조사 AI 축하 메시지 추천, GPT 응답을 기다리는 동안 요청 스레드는 반환한다
     @PostMapping("/ai/recommend/message")
-    public ResponseEntity<String> aiMessage(@RequestBody String gptQuotes) {
+    public CompletableFuture<ResponseEntity<String>> aiMessage(@RequestBody String gptQuotes) {
         Assert.hasText(gptQuotes, "gptResponse must not be null");
 
-        String gptMoney = gptService.getChatResponse(gptQuotes, 0);
-
-        return ResponseEntity.ok(gptMoney);
+        return gptService.getChatResponseAsync(gptQuotes, 0)
+                .thenApply(ResponseEntity::ok);
     }
 
     //AI 금액 추천
     @PostMapping("/ai/recommend/money")
-    public ResponseEntity<String> aiAmount(@RequestBody String gptQuotes) {
+    public CompletableFuture<ResponseEntity<String>> aiAmount(@RequestBody String gptQuotes) {
         Assert.hasText(gptQuotes, "gptResponse must not be null");
-        String gptMoney = gptService.getChatResponse(gptQuotes, 1);
 
-        return ResponseEntity.ok(gptMoney);
+        return gptService.getChatResponseAsync(gptQuotes, 1)
+                .thenApply(ResponseEntity::ok);
     }
 
 }
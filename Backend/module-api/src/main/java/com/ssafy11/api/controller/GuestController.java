@@ -1,6 +1,13 @@
 package com.ssafy11.api.controller;
 
+import com.ssafy11.api.dto.GuestMergeRequest;
+import com.ssafy11.api.dto.sync.ContactSyncApplyRequest;
+import com.ssafy11.api.dto.sync.ContactSyncApplyResponse;
+import com.ssafy11.api.dto.sync.ContactSyncRequest;
+import com.ssafy11.api.dto.sync.ContactSyncResponse;
+import com.ssafy11.api.service.DuplicateGuestService;
 import com.ssafy11.api.service.GuestService;
+import com.ssafy11.domain.duplicate.dto.MergeProposal;
 import com.ssafy11.domain.guest.Guest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +16,7 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Optional;
 
 @RequiredArgsConstructor
@@ -17,6 +25,7 @@ import java.util.Optional;
 
 public class GuestController {
     private final GuestService guestService;
+    private final DuplicateGuestService duplicateGuestService;
 
     //지인 정보 수정
     @PatchMapping
@@ -33,4 +42,42 @@ public class GuestController {
                                                     @PathVariable("guestId") Integer guestId){
         return ResponseEntity.ok(guestService.getGuest(guestId, user.getUsername()));
     }
+
+    //연락처 동기화 비교
+    @PostMapping("/sync")
+    public ResponseEntity<ContactSyncResponse> diffContacts(@AuthenticationPrincipal User user,
+                                                            @RequestBody ContactSyncRequest request){
+        Assert.notNull(request, "request must not be null");
+        return ResponseEntity.ok(guestService.diffContacts(request, user.getUsername()));
+    }
+
+    //연락처 동기화 반영
+    @PostMapping("/sync/apply")
+    public ResponseEntity<ContactSyncApplyResponse> applyContacts(@AuthenticationPrincipal User user,
+                                                                  @RequestBody ContactSyncApplyRequest request){
+        Assert.notNull(request, "request must not be null");
+        return ResponseEntity.ok(guestService.applyContacts(request, user.getUsername()));
+    }
+
+    //동명이인 병합 후보
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<MergeProposal>> getDuplicates(@AuthenticationPrincipal User user){
+        return ResponseEntity.ok(duplicateGuestService.getProposals(user.getUsername()));
+    }
+
+    //동명이인 병합 후보 재계산
+    @PostMapping("/duplicates/scan")
+    public ResponseEntity<Void> scanDuplicates(@AuthenticationPrincipal User user){
+        duplicateGuestService.scanAsync(Integer.parseInt(user.getUsername()));
+        return ResponseEntity.accepted().build();
+    }
+
+    //동명이인 병합
+    @PostMapping("/merge")
+    public ResponseEntity<Integer> mergeGuests(@AuthenticationPrincipal User user,
+                                               @RequestBody GuestMergeRequest request){
+        Assert.notNull(request, "request must not be null");
+        Integer merged = duplicateGuestService.merge(user.getUsername(), request.keepGuestId(), request.mergeGuestIds());
+        return ResponseEntity.ok(merged);
+    }
 }
@@ -1,9 +1,14 @@
 package com.ssafy11.api.controller;
 
 import com.ssafy11.api.dto.ExcelParse;
+import com.ssafy11.api.dto.LedgerImportStatus;
+import com.ssafy11.api.dto.ParticipantLedgerRequest;
 import com.ssafy11.api.exception.ErrorCode;
 import com.ssafy11.api.exception.ErrorException;
 import com.ssafy11.api.service.ExcelService;
+import com.ssafy11.api.service.LedgerImportService;
+import com.ssafy11.domain.common.CursorDto;
+import com.ssafy11.domain.common.CursorResponse;
 import com.ssafy11.domain.common.PageDto;
 import com.ssafy11.domain.common.PageResponse;
 import com.ssafy11.api.service.ParticipantService;
@@ -25,6 +30,7 @@ public class ParticipantController {
 
     private final ParticipantService participantService;
     private final ExcelService excelService;
+    private final LedgerImportService ledgerImportService;
 
     //동명이인
     @GetMapping("/same")
@@ -37,6 +43,25 @@ public class ParticipantController {
         return ResponseEntity.ok(userRelationList);
     }
 
+    //동명이인(커서 페이지네이션)
+    @GetMapping("/same/scroll")
+    public ResponseEntity<CursorResponse<UserRelation>> sameNameScroll(@AuthenticationPrincipal User user,
+                                      @RequestParam(value = "name", required = false) String name,
+                                      @RequestParam(value = "category", required = false) String category,
+                                      @ModelAttribute CursorDto cursorDto) {
+
+        CursorResponse<UserRelation> userRelationList = participantService.sameName(user.getUsername(), name, category, cursorDto);
+        return ResponseEntity.ok(userRelationList);
+    }
+
+    //등록된 지인 정보(커서 페이지네이션)
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorResponse<UserRelation>> getParticipantsScroll(@AuthenticationPrincipal User user,
+                                             @ModelAttribute CursorDto cursorDto) {
+        CursorResponse<UserRelation> userRelationList = participantService.getUserRelation(user.getUsername(), cursorDto);
+        return ResponseEntity.ok(userRelationList);
+    }
+
     //등록된 지인과 거래 내역
     @GetMapping("/{guestId}")
     public ResponseEntity<PageResponse<Transaction>> getTransactions(@AuthenticationPrincipal User user,
@@ -48,6 +73,17 @@ public class ParticipantController {
         return ResponseEntity.ok(transactions);
     }
 
+    //등록된 지인과 거래 내역(커서 페이지네이션)
+    @GetMapping("/{guestId}/scroll")
+    public ResponseEntity<CursorResponse<Transaction>> getTransactionsScroll(@AuthenticationPrincipal User user,
+                                            @PathVariable("guestId") Integer guestId,
+                                            @ModelAttribute CursorDto cursorDto) {
+        Assert.notNull(guestId, "guestID must not be null");
+
+        CursorResponse<Transaction> transactions = participantService.getTransactions(user.getUsername(), guestId, cursorDto);
+        return ResponseEntity.ok(transactions);
+    }
+
     //거래내역 요약
     @GetMapping("/summary/{guestId}")
     public ResponseEntity<TransactionSummary> getTransactionSummary(@AuthenticationPrincipal User user,
@@ -71,17 +107,40 @@ public class ParticipantController {
     @PostMapping("/money/excel")
     public ResponseEntity<List<ExcelParse>> addParticipantExcel(@AuthenticationPrincipal User user,
                                                  @RequestPart("file") MultipartFile file) {
+        checkExcel(file);
+
+        List<ExcelParse> result = excelService.parseExcelFile(file);
+        return ResponseEntity.ok(result);
+    }
+
+    //경조사비 엑셀 가져오기, 작업 id 를 바로 돌려주고 지인/참가자 저장은 뒤에서 한다
+    @PostMapping("/money/excel/import")
+    public ResponseEntity<LedgerImportStatus> importParticipantExcel(@AuthenticationPrincipal User user,
+                                                                     @RequestParam("eventId") Integer eventId,
+                                                                     @RequestPart("file") MultipartFile file) {
+        checkExcel(file);
+
+        LedgerImportStatus status = ledgerImportService.submit(user.getUsername(), eventId, file);
+        return ResponseEntity.accepted().body(status);
+    }
+
+    //엑셀 가져오기 진행 상황
+    @GetMapping("/money/excel/import/{jobId}")
+    public ResponseEntity<LedgerImportStatus> getImportStatus(@AuthenticationPrincipal User user,
+                                                              @PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(ledgerImportService.getStatus(user.getUsername(), jobId));
+    }
+
+    private void checkExcel(MultipartFile file) {
         Assert.notNull(file, "file must not be null");
         String contentType = file.getContentType();
 
         if (contentType == null ||
                 !(contentType.equals("application/vnd.ms-excel") ||
-                contentType.equals("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))) {
+                contentType.equals("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet") ||
+                contentType.equals("text/csv"))) {
                     throw new ErrorException(ErrorCode.NOT_EXCEL);
                 }
-
-        List<ExcelParse> result = excelService.parseExcelFile(file);
-        return ResponseEntity.ok(result);
     }
 
     //경조사비 수정
@@ -98,6 +157,18 @@ public class ParticipantController {
         return ResponseEntity.ok(returnId);
     }
 
+    //경조사비 장부 일괄 저장(목록에 없는 참가자는 삭제)
+    @PutMapping("/money/ledger")
+    public ResponseEntity<LedgerResult> saveLedger(@AuthenticationPrincipal User user,
+                                               @RequestBody ParticipantLedgerRequest request) {
+        Assert.notNull(request, "request must not be null");
+        Assert.notNull(request.eventId(), "eventId must not be null");
+        Assert.notNull(request.participants(), "participants must not be null");
+
+        LedgerResult result = participantService.saveLedger(request.eventId(), request.participants(), user.getUsername());
+        return ResponseEntity.ok(result);
+    }
+
     //경조사비 삭제
     @DeleteMapping
     public ResponseEntity<Integer> deleteParticipant(@AuthenticationPrincipal User user,
@@ -3,6 +3,7 @@ package com.ssafy11.api.controller;
 import com.ssafy11.api.service.ScheduleService;
 import com.ssafy11.domain.schedule.dto.RecentSchedule;
 import com.ssafy11.domain.schedule.dto.Schedule;
+import com.ssafy11.domain.schedule.dto.ScheduleRecurrence;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -10,7 +11,9 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
@@ -36,6 +39,15 @@ public class ScheduleController {
         return ResponseEntity.ok(scheduleList);
     }
 
+    @GetMapping("/months") //여러 달 일정 조회
+    public ResponseEntity<Map<YearMonth, List<Schedule>>> getSchedules(@AuthenticationPrincipal User user,
+                                                                    @RequestParam("year") Integer year,
+                                                                    @RequestParam("month") Integer month,
+                                                                    @RequestParam(value = "months", defaultValue = "3") Integer months) {
+        Map<YearMonth, List<Schedule>> schedules = scheduleService.getSchedules(user.getUsername(), year, month, months);
+        return ResponseEntity.ok(schedules);
+    }
+
     @DeleteMapping ("/{scheduleId}")//일정 삭제
     public ResponseEntity<Integer> deleteSchedule(@AuthenticationPrincipal User user,
                                                   @PathVariable("scheduleId") Integer scheduleId) {
@@ -58,4 +70,36 @@ public class ScheduleController {
         List<RecentSchedule> scheduleList = scheduleService.getRecentSchedule(user.getUsername());
         return ResponseEntity.ok(scheduleList);
     }
+
+    @PostMapping("/recurrence") //반복 일정 추가
+    public ResponseEntity<Integer> addRecurrence(@AuthenticationPrincipal User user,
+                                                 @RequestBody ScheduleRecurrence recurrence) {
+        Assert.notNull(recurrence, "recurrence must not be null");
+
+        Integer recurrenceId = scheduleService.addRecurrence(user.getUsername(), recurrence);
+        return ResponseEntity.ok(recurrenceId);
+    }
+
+    @GetMapping("/recurrence") //반복 일정 규칙 조회
+    public ResponseEntity<List<ScheduleRecurrence>> getRecurrences(@AuthenticationPrincipal User user) {
+        List<ScheduleRecurrence> recurrences = scheduleService.getRecurrences(user.getUsername());
+        return ResponseEntity.ok(recurrences);
+    }
+
+    @PatchMapping("/recurrence") //반복 일정 수정
+    public ResponseEntity<Integer> updateRecurrence(@AuthenticationPrincipal User user,
+                                                    @RequestBody ScheduleRecurrence recurrence) {
+        Assert.notNull(recurrence, "recurrence must not be null");
+        int returnId = scheduleService.updateRecurrence(user.getUsername(), recurrence);
+        return ResponseEntity.ok(returnId);
+    }
+
+    @DeleteMapping("/recurrence/{recurrenceId}") //반복 일정 삭제
+    public ResponseEntity<Integer> deleteRecurrence(@AuthenticationPrincipal User user,
+                                                    @PathVariable("recurrenceId") Integer recurrenceId) {
+        Assert.notNull(recurrenceId, "recurrenceId must not be null");
+
+        Integer returnId = scheduleService.deleteRecurrence(user.getUsername(), recurrenceId);
+        return ResponseEntity.ok(returnId);
+    }
 }
@@ -0,0 +1,18 @@
+package com.ssafy11.api.dto;
+
+import lombok.Builder;
+
+@Builder
+public record AmountRecommendation(
+	Integer amount,
+	Integer lowerAmount,
+	Integer upperAmount,
+	Integer topAmount,
+	Long sampleSize,
+	String basis,
+	String explanation
+) {
+	public AmountRecommendation withExplanation(String explanation) {
+		return new AmountRecommendation(amount, lowerAmount, upperAmount, topAmount, sampleSize, basis, explanation);
+	}
+}
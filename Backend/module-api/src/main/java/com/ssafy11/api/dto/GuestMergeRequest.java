@@ -0,0 +1,6 @@
+package com.ssafy11.api.dto;
+
+import java.util.List;
+
+public record GuestMergeRequest(Integer keepGuestId, List<Integer> mergeGuestIds) {
+}
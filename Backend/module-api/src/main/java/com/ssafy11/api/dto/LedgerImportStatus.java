@@ -0,0 +1,19 @@
+package com.ssafy11.api.dto;
+
+import java.time.LocalDateTime;
+
+public record LedgerImportStatus(    //엑셀 장부 가져오기 진행 상황
+        String jobId,
+        Integer eventId,
+        State state,
+        int parsed,             //읽은 행
+        int saved,              //저장한 참가자
+        int createdGuests,      //새로 만든 지인
+        int ambiguous,          //동명이인이 여럿이거나 파일 안에서 같은 지인이 다시 나와 건너뛴 행
+        String message,
+        LocalDateTime updateAt
+) {
+    public enum State {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+}
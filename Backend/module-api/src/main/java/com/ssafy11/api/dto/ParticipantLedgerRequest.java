@@ -0,0 +1,8 @@
+package com.ssafy11.api.dto;
+
+import java.util.List;
+
+import com.ssafy11.domain.participant.dto.LedgerEntry;
+
+public record ParticipantLedgerRequest(Integer eventId, List<LedgerEntry> participants) {
+}
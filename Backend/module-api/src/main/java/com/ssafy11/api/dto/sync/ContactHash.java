@@ -0,0 +1,4 @@
+package com.ssafy11.api.dto.sync;
+
+public record ContactHash(String phoneNumber, String hash) {
+}
@@ -0,0 +1,8 @@
+package com.ssafy11.api.dto.sync;
+
+import java.util.List;
+
+import com.ssafy11.domain.participant.dto.AddGuestResponse;
+
+public record ContactSyncApplyRequest(List<AddGuestResponse> upserts, List<Integer> removes) {
+}
@@ -0,0 +1,4 @@
+package com.ssafy11.api.dto.sync;
+
+public record ContactSyncApplyResponse(int added, int updated, int removed, String digest) {
+}
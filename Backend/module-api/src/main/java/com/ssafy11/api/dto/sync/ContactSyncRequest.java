@@ -0,0 +1,6 @@
+package com.ssafy11.api.dto.sync;
+
+import java.util.List;
+
+public record ContactSyncRequest(String digest, List<ContactHash> contacts) {
+}
@@ -0,0 +1,17 @@
+package com.ssafy11.api.dto.sync;
+
+import java.util.List;
+
+import lombok.Builder;
+
+@Builder
+public record ContactSyncResponse(
+	boolean changed,
+	List<String> adds,      // 서버에 없는 번호, 전체 정보를 보내야 함
+	List<String> updates,   // 이름/관계가 달라진 번호
+	List<Integer> removes   // 주소록에서 사라진 지인 id
+) {
+	public static ContactSyncResponse unchanged() {
+		return new ContactSyncResponse(false, List.of(), List.of(), List.of());
+	}
+}
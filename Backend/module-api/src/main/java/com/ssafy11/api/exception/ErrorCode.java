@@ -25,11 +25,13 @@ public enum ErrorCode {
 
 	// GPT
 	GPT_API_REQUEST_FAILED(HttpStatus.SERVICE_UNAVAILABLE, "Gpt Api를 호출에 실패했습니다."),
+	GPT_BUSY(HttpStatus.TOO_MANY_REQUESTS, "AI 추천 요청이 많습니다. 잠시 후 다시 시도해주세요."),
 
 	// Excel
 	EXCEL_PARSING_FAILED(HttpStatus.BAD_REQUEST,"엑셀 파싱에 실패했습니다."),
 	NOT_EXCEL(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "파일 형식을 확인해주세요."),
 	NO_CONTENT(HttpStatus.NO_CONTENT, "파일 내용을 확인해주세요."),
+	IMPORT_BUSY(HttpStatus.TOO_MANY_REQUESTS, "가져오기 작업이 많습니다. 잠시 후 다시 시도해주세요."),
 	ACCOUNT_NOT_FOUND(HttpStatus.NOT_FOUND, "일치하는 계좌가 없습니다."),
 	ALREADY_EXIST_PAY_ACCOUNT(HttpStatus.CONFLICT, "페이 계좌가 이미 존재합니다."),
 	LIMIT_EXCEEDED(HttpStatus.BAD_REQUEST, "1회 송금 한도는 200만원까지입니다."),
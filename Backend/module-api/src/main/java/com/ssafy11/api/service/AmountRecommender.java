@@ -0,0 +1,207 @@
+package com.ssafy11.api.service;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.ssafy11.api.dto.AmountRecommendation;
+import com.ssafy11.api.exception.ErrorCode;
+import com.ssafy11.api.exception.ErrorException;
+import com.ssafy11.domain.recommend.AmountSketch;
+import com.ssafy11.domain.recommend.RecommendDao;
+import com.ssafy11.domain.recommend.dto.HostProfile;
+import com.ssafy11.domain.recommend.dto.SketchKey;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 경조사비 통계 추천.
+ * 이벤트 종류, 지인 관계, 주최자 연령대/성별별 금액 sketch(amount_sketch)를 읽을 때 기준별로 병합해
+ * 분위수를 미리 계산해 두므로 추천은 조회 한 번으로 끝난다.
+ * 표본이 부족하면 (이벤트, 관계) → (이벤트) 순으로 넓혀 본다. GPT 는 설명이 필요할 때만 부른다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AmountRecommender {
+
+	static final int MIN_SAMPLES = 30;
+	static final int ROUND_UNIT = 1_000;
+	private static final int EXPLANATION_PROMPT = 2;
+
+	private final RecommendDao recommendDao;
+	private final GptService gptService;
+	private final AtomicReference<State> state = new AtomicReference<>();
+
+	record BasisKey(String eventCategory, String guestCategory, Integer ageBand, String gender) {
+	}
+
+	record AmountSummary(int lower, int median, int upper, int top, long sampleSize) {
+	}
+
+	private record State(Map<BasisKey, AmountSummary> summaries, LocalDateTime version) {
+	}
+
+	// 설명은 GPT 응답을 기다리는 동안 요청 스레드를 붙잡지 않도록 future 로 붙인다
+	public CompletableFuture<AmountRecommendation> recommend(String userId, String eventCategory, String guestCategory,
+		boolean explain) {
+		Assert.hasText(userId, "userId must not be null");
+		Assert.hasText(eventCategory, "eventCategory must not be null");
+
+		HostProfile profile = recommendDao.getHostProfile(Integer.parseInt(userId)).orElse(null);
+		List<BasisKey> candidates = new ArrayList<>();
+		if (guestCategory != null && profile != null) {
+			candidates.add(new BasisKey(eventCategory, guestCategory,
+				ageBand(profile.birthdate().getYear(), Year.now().getValue()), profile.gender()));
+		}
+		if (guestCategory != null) {
+			candidates.add(new BasisKey(eventCategory, guestCategory, null, null));
+		}
+		candidates.add(new BasisKey(eventCategory, null, null, null));
+
+		AmountRecommendation recommendation = recommend(summaries(), candidates);
+		if (recommendation == null) {
+			throw new ErrorException(ErrorCode.NotFound);
+		}
+		if (!explain) {
+			return CompletableFuture.completedFuture(recommendation);
+		}
+		return explain(eventCategory, guestCategory, recommendation).thenApply(recommendation::withExplanation);
+	}
+
+	// 표본이 충분한 가장 구체적인 기준, 없으면 표본이 가장 많은 기준
+	static AmountRecommendation recommend(Map<BasisKey, AmountSummary> summaries, List<BasisKey> candidates) {
+		BasisKey chosen = null;
+		AmountSummary summary = null;
+		for (BasisKey key : candidates) {
+			AmountSummary candidate = summaries.get(key);
+			if (candidate == null || candidate.sampleSize() == 0) {
+				continue;
+			}
+			if (summary == null || candidate.sampleSize() > summary.sampleSize()) {
+				chosen = key;
+				summary = candidate;
+			}
+			if (candidate.sampleSize() >= MIN_SAMPLES) {
+				chosen = key;
+				summary = candidate;
+				break;
+			}
+		}
+		if (summary == null) {
+			return null;
+		}
+		return AmountRecommendation.builder()
+			.amount(summary.median())
+			.lowerAmount(summary.lower())
+			.upperAmount(summary.upper())
+			.topAmount(summary.top())
+			.sampleSize(summary.sampleSize())
+			.basis(basis(chosen))
+			.build();
+	}
+
+	// 다른 노드가 sketch 를 갱신했으면 다시 읽는다
+	@Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+	public synchronized void reload() {
+		LocalDateTime version = recommendDao.getSketchVersion().orElse(null);
+		State current = state.get();
+		if (current != null && Objects.equals(current.version(), version)) {
+			return;
+		}
+		load(version);
+	}
+
+	private Map<BasisKey, AmountSummary> summaries() {
+		State current = state.get();
+		if (current != null) {
+			return current.summaries();
+		}
+		synchronized (this) {
+			current = state.get();
+			return current != null ? current.summaries() : load(recommendDao.getSketchVersion().orElse(null));
+		}
+	}
+
+	private Map<BasisKey, AmountSummary> load(LocalDateTime version) {
+		Map<BasisKey, AmountSummary> summaries = summarize(recommendDao.getSketches());
+		state.set(new State(summaries, version));
+		log.info("경조사비 추천 sketch 로드 keys={}", summaries.size());
+		return summaries;
+	}
+
+	// 가장 작은 기준의 sketch 를 (이벤트, 관계), (이벤트) 기준으로도 병합한다
+	static Map<BasisKey, AmountSummary> summarize(Map<SketchKey, AmountSketch> sketches) {
+		Map<BasisKey, AmountSketch> merged = new HashMap<>();
+		sketches.forEach((key, sketch) -> {
+			List<BasisKey> keys = new ArrayList<>(3);
+			keys.add(new BasisKey(key.eventCategory(), null, null, null));
+			if (!key.guestCategory().isEmpty()) {
+				keys.add(new BasisKey(key.eventCategory(), key.guestCategory(), null, null));
+				keys.add(new BasisKey(key.eventCategory(), key.guestCategory(), key.ageBand(), key.gender()));
+			}
+			for (BasisKey basisKey : keys) {
+				merged.computeIfAbsent(basisKey, ignored -> new AmountSketch()).merge(sketch);
+			}
+		});
+
+		Map<BasisKey, AmountSummary> summaries = new HashMap<>();
+		merged.forEach((key, sketch) -> {
+			if (!sketch.isEmpty()) {
+				summaries.put(key, new AmountSummary(round(sketch.quantile(0.25)), round(sketch.quantile(0.5)),
+					round(sketch.quantile(0.75)), round(sketch.mode()), sketch.count()));
+			}
+		});
+		return summaries;
+	}
+
+	private static int round(int amount) {
+		return Math.round(amount / (float) ROUND_UNIT) * ROUND_UNIT;
+	}
+
+	static int ageBand(int birthYear, int currentYear) {
+		return Math.max(0, (currentYear - birthYear) / 10 * 10);
+	}
+
+	private static String basis(BasisKey key) {
+		if (key.ageBand() != null) {
+			return key.eventCategory() + "/" + key.guestCategory() + "/" + key.ageBand() + "대/" + key.gender();
+		}
+		if (key.guestCategory() != null) {
+			return key.eventCategory() + "/" + key.guestCategory();
+		}
+		return key.eventCategory();
+	}
+
+	// GPT 가 바쁘거나 실패하면 설명 없이 추천만 돌려준다
+	private CompletableFuture<String> explain(String eventCategory, String guestCategory,
+		AmountRecommendation recommendation) {
+		String prompt = String.format(
+			"%s에 %s 관계로 참석할 때 비슷한 사례 %d건의 경조사비 중앙값은 %d원, 일반적인 범위는 %d원~%d원, 가장 많이 낸 금액은 %d원입니다. "
+				+ "이 통계를 바탕으로 추천 금액이 적절한 이유를 두세 문장으로 설명해주세요.",
+			eventCategory, guestCategory != null ? guestCategory : "지인", recommendation.sampleSize(),
+			recommendation.amount(), recommendation.lowerAmount(), recommendation.upperAmount(), recommendation.topAmount());
+		return gptService.getChatResponseAsync(prompt, EXPLANATION_PROMPT)
+			.exceptionally(e -> {
+				Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+				if (!(cause instanceof ErrorException)) {
+					throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+				}
+				log.warn("추천 금액 설명 생성 실패", cause);
+				return null;
+			});
+	}
+}
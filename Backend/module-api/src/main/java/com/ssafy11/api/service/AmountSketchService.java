@@ -0,0 +1,81 @@
+package com.ssafy11.api.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ssafy11.domain.recommend.AmountSketch;
+import com.ssafy11.domain.recommend.RecommendDao;
+import com.ssafy11.domain.recommend.dto.SketchAmountCount;
+import com.ssafy11.domain.recommend.dto.SketchDelta;
+import com.ssafy11.domain.recommend.dto.SketchKey;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 경조사비 sketch 갱신.
+ * 참여 내역 쓰기가 남긴 변경분을 주기적으로 기준별 sketch 에 더하고, 하루 한 번 전체를 다시 만든다.
+ * 클러스터에서 한 노드만 실행하도록 ClusterJobs 에서 작업 잠금을 잡고 부른다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AmountSketchService {
+
+	static final String JOB_NAME = "amount-sketch";
+	static final int FOLD_LIMIT = 5_000;
+
+	private final RecommendDao recommendDao;
+	private final ClusterJobRunner clusterJobRunner;
+
+	// 쌓인 변경분을 해당 기준의 sketch 에만 더한다. sketch 가 아직 없으면 전체를 만든다
+	@Transactional
+	public int fold(Long fencingToken) {
+		if (recommendDao.getSketchVersion().isEmpty()) {
+			return rebuild(fencingToken);
+		}
+		List<SketchDelta> deltas = recommendDao.getSketchDeltas(FOLD_LIMIT);
+		if (deltas.isEmpty()) {
+			return 0;
+		}
+		Map<SketchKey, AmountSketch> sketches = recommendDao.getSketches(
+			deltas.stream().map(SketchDelta::key).distinct().toList());
+		for (SketchDelta delta : deltas) {
+			sketches.computeIfAbsent(delta.key(), ignored -> new AmountSketch()).add(delta.amount(), delta.sign());
+		}
+		recommendDao.saveSketches(sketches);
+		recommendDao.deleteSketchDeltas(deltas.stream().map(SketchDelta::id).toList());
+		clusterJobRunner.checkFence(JOB_NAME, fencingToken);
+		return deltas.size();
+	}
+
+	// 지인 관계, 주최자 정보 수정이나 지인 병합은 변경분으로 잡히지 않아 하루 한 번 전체를 다시 만든다
+	// 변경분은 참여 내역과 같은 트랜잭션에서 쓰이므로, 이 트랜잭션(REPEATABLE READ)의 스냅샷에 보이는 변경분만 재구성에 들어 있다
+	// id 범위로 지우면 스냅샷 때 아직 커밋되지 않은 앞 번호 변경분까지 지워지므로, 보인 id 만 지우고 나머지는 다음 fold 가 더한다
+	@Transactional
+	public int rebuild(Long fencingToken) {
+		Map<SketchKey, AmountSketch> sketches = new HashMap<>();
+		for (SketchAmountCount amountCount : recommendDao.getAmountCounts()) {
+			sketches.computeIfAbsent(amountCount.key(), ignored -> new AmountSketch())
+				.add(amountCount.amount(), amountCount.count());
+		}
+		recommendDao.clearSketches();
+		recommendDao.saveSketches(sketches);
+		Long afterId = 0L;
+		List<Long> covered;
+		do {
+			covered = recommendDao.getSketchDeltaIds(afterId, FOLD_LIMIT);
+			recommendDao.deleteSketchDeltas(covered);
+			if (!covered.isEmpty()) {
+				afterId = covered.get(covered.size() - 1);
+			}
+		} while (covered.size() == FOLD_LIMIT);
+		clusterJobRunner.checkFence(JOB_NAME, fencingToken);
+		log.info("경조사비 sketch 재구성 keys={}", sketches.size());
+		return sketches.size();
+	}
+}
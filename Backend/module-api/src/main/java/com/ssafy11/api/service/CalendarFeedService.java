@@ -0,0 +1,172 @@
+package com.ssafy11.api.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ssafy11.api.exception.ErrorCode;
+import com.ssafy11.api.exception.ErrorException;
+import com.ssafy11.domain.calendar.CalendarDao;
+import com.ssafy11.domain.calendar.CalendarDaoImpl;
+import com.ssafy11.domain.calendar.CalendarVersion;
+import com.ssafy11.domain.calendar.dto.CalendarEntry;
+import com.ssafy11.domain.global.CacheBroadcast;
+import com.ssafy11.domain.schedule.ScheduleDao;
+import com.ssafy11.domain.schedule.dto.Schedule;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 휴대폰 기본 캘린더가 구독하는 ICS 피드.
+ * 캘린더 앱은 몇 분마다 같은 주소를 부르므로 토큰 -> 사용자, (사용자, 달력 버전) -> 완성된 ICS 를 메모리에 두고
+ * 바뀐 것이 없으면 DB 를 거치지 않고 304 나 캐시된 본문으로 답한다.
+ * 토큰을 다시 발급하면 커밋 뒤 모든 서버에 예전 토큰을 지우라고 알리고, 알림이 유실돼도 짧은 시간 뒤에는 DB 를 다시 본다.
+ */
+@Service
+public class CalendarFeedService {
+
+	private static final long FEED_PAST_DAYS = 365;
+	private static final long FEED_AHEAD_DAYS = 365;
+	private static final int TOKEN_BYTES = 24;
+	private static final long MAX_CACHED_BYTES = 64L * 1024 * 1024;
+	private static final long MAX_OWNERS = 50_000;
+	private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+	private static final Duration OWNER_EXPIRE_AFTER_WRITE = Duration.ofMinutes(5);
+	public static final String REVOKE_TOPIC = "calendar-feed:revoke";
+	private static final String FEED_NAME = "얼마줬노";
+
+	// 날짜가 바뀌면 조회 구간도 밀리므로 오늘 날짜까지 키에 넣는다
+	private record FeedKey(Integer userId, long version, LocalDate today) {
+	}
+
+	private final CalendarDao calendarDao;
+	private final ScheduleDao scheduleDao;
+	private final CalendarVersion calendarVersion;
+	private final CacheBroadcast cacheBroadcast;
+	private final Cache<String, Integer> owners;
+	private final Cache<FeedKey, byte[]> feeds;
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	public CalendarFeedService(CalendarDao calendarDao, ScheduleDao scheduleDao, CalendarVersion calendarVersion,
+		CacheBroadcast cacheBroadcast, ObjectProvider<MeterRegistry> meterRegistry) {
+		this.calendarDao = calendarDao;
+		this.scheduleDao = scheduleDao;
+		this.calendarVersion = calendarVersion;
+		this.cacheBroadcast = cacheBroadcast;
+		this.owners = Caffeine.newBuilder()
+			.maximumSize(MAX_OWNERS)
+			.expireAfterWrite(OWNER_EXPIRE_AFTER_WRITE)
+			.recordStats()
+			.build();
+		this.feeds = Caffeine.newBuilder()
+			.maximumWeight(MAX_CACHED_BYTES)
+			.weigher((FeedKey key, byte[] feed) -> feed.length)
+			.expireAfterAccess(EXPIRE_AFTER_ACCESS)
+			.recordStats()
+			.build();
+		meterRegistry.ifAvailable(registry -> {
+			CaffeineCacheMetrics.monitor(registry, owners, "calendarFeedOwners");
+			CaffeineCacheMetrics.monitor(registry, feeds, "calendarFeeds");
+		});
+	}
+
+	public String getToken(String userId) {
+		Assert.hasText(userId, "User must not be null");
+		return calendarDao.getFeedToken(Integer.parseInt(userId)).orElseGet(() -> issueToken(userId));
+	}
+
+	// 새로 발급하면 예전 주소는 바로 막힌다. 저장이 커밋된 뒤에 지워야 다른 요청이 예전 토큰을 다시 캐시하지 않는다
+	public String issueToken(String userId) {
+		Assert.hasText(userId, "User must not be null");
+		Integer user = Integer.parseInt(userId);
+		byte[] random = new byte[TOKEN_BYTES];
+		secureRandom.nextBytes(random);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+		Optional<String> previous = calendarDao.getFeedToken(user);
+		calendarDao.saveFeedToken(user, token);
+		previous.ifPresent(revoked -> {
+			owners.invalidate(revoked);
+			cacheBroadcast.publishAfterCommit(REVOKE_TOPIC, revoked);
+		});
+		return token;
+	}
+
+	// 다른 서버(자신 포함)에서 다시 발급된 예전 토큰
+	public void onRevoke(String token) {
+		owners.invalidate(token);
+	}
+
+	public Integer getFeedOwner(String token) {
+		Assert.hasText(token, "token must not be null");
+		Integer userId = owners.get(token, key -> calendarDao.getFeedOwner(key).orElse(null));
+		if (userId == null) {
+			throw new ErrorException(ErrorCode.NotFound);
+		}
+		return userId;
+	}
+
+	public String getETag(Integer userId) {
+		return "\"ics-" + calendarVersion.current(userId) + "\"";
+	}
+
+	public long getLastModified(Integer userId) {
+		return calendarVersion.lastModified(userId);
+	}
+
+	public byte[] getFeed(Integer userId) {
+		LocalDate today = LocalDate.now();
+		FeedKey key = new FeedKey(userId, calendarVersion.current(userId), today);
+		return feeds.get(key, ignored -> render(userId, today));
+	}
+
+	// 반복 일정은 캐시에서 먼저 꺼내 두고, 이벤트/일정은 커서로 한 줄씩 읽으며 날짜순으로 끼워 쓴다
+	private byte[] render(Integer userId, LocalDate today) {
+		LocalDateTime from = today.minusDays(FEED_PAST_DAYS).atStartOfDay();
+		LocalDateTime to = today.plusDays(FEED_AHEAD_DAYS + 1).atStartOfDay();
+		List<Schedule> occurrences = scheduleDao.getOccurrences(userId, from, to);
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8)) {
+			IcsWriter ics = new IcsWriter(writer, Instant.now());
+			ics.begin(FEED_NAME);
+			int[] next = {0};
+			calendarDao.forEachCalendarEntry(userId, from, to, entry -> {
+				while (next[0] < occurrences.size() && occurrences.get(next[0]).date().isBefore(entry.date())) {
+					ics.entry(toEntry(occurrences.get(next[0]++)));
+				}
+				ics.entry(entry);
+			});
+			while (next[0] < occurrences.size()) {
+				ics.entry(toEntry(occurrences.get(next[0]++)));
+			}
+			ics.end();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return output.toByteArray();
+	}
+
+	private static CalendarEntry toEntry(Schedule occurrence) {
+		return new CalendarEntry(CalendarDaoImpl.RECURRENCE_TYPE, occurrence.recurrenceId(), occurrence.name(),
+			occurrence.date(), occurrence.category(), occurrence.guestId(), occurrence.guestName(), occurrence.paidAmount());
+	}
+}
@@ -0,0 +1,58 @@
+package com.ssafy11.api.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import com.ssafy11.domain.calendar.CalendarDao;
+import com.ssafy11.domain.calendar.CalendarDaoImpl;
+import com.ssafy11.domain.calendar.CalendarVersion;
+import com.ssafy11.domain.calendar.dto.CalendarEntry;
+import com.ssafy11.domain.schedule.ScheduleDao;
+import com.ssafy11.domain.schedule.dto.Schedule;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class CalendarService {
+
+	private static final long MAX_DAYS = 366;
+
+	private final CalendarDao calendarDao;
+	private final CalendarVersion calendarVersion;
+	private final ScheduleDao scheduleDao;
+
+	// DB 를 거치지 않고 Redis 만 읽는다. 트랜잭션을 열면 커넥션을 잡으므로 붙이지 않는다
+	public String getETag(String userId) {
+		Assert.hasText(userId, "User must not be null");
+		return "\"" + calendarVersion.current(Integer.parseInt(userId)) + "\"";
+	}
+
+	@Transactional(readOnly = true)
+	public List<CalendarEntry> getCalendar(String userId, LocalDate from, LocalDate to) {
+		Assert.hasText(userId, "User must not be null");
+		Assert.notNull(from, "from must not be null");
+		Assert.notNull(to, "to must not be null");
+		Assert.isTrue(!from.isAfter(to), "조회 기간이 올바르지 않습니다.");
+		Assert.isTrue(ChronoUnit.DAYS.between(from, to) < MAX_DAYS, "조회 기간은 1년을 넘을 수 없습니다.");
+
+		Integer user = Integer.parseInt(userId);
+		LocalDateTime start = from.atStartOfDay();
+		LocalDateTime end = to.plusDays(1).atStartOfDay();
+		List<CalendarEntry> entries = new ArrayList<>(calendarDao.getCalendar(user, start, end));
+		for (Schedule occurrence : scheduleDao.getOccurrences(user, start, end)) {
+			entries.add(new CalendarEntry(CalendarDaoImpl.RECURRENCE_TYPE, occurrence.recurrenceId(), occurrence.name(),
+				occurrence.date(), occurrence.category(), occurrence.guestId(), occurrence.guestName(), occurrence.paidAmount()));
+		}
+		entries.sort(Comparator.comparing(CalendarEntry::date));
+		return entries;
+	}
+}
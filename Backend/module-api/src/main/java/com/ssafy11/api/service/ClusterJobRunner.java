@@ -0,0 +1,139 @@
+package com.ssafy11.api.service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import com.ssafy11.domain.job.JobDao;
+import com.ssafy11.domain.job.dto.JobPartition;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 서버에서 같은 스케줄이 돌 때 한 노드만 실행하도록 하는 작업 실행기.
+ * 잠금은 job_lock 행의 임대(lease)로 잡고, 잠금을 얻을 때마다 올라가는 fencing token 으로 임대가 끝난 노드의 커밋을 막는다.
+ * 큰 작업은 job_partition 조각으로 나눠 두면 한가한 노드가 남은 조각을 가져가 처리한다.
+ */
+@Slf4j
+@Component
+public class ClusterJobRunner {
+
+	private final JobDao jobDao;
+	private final MeterRegistry meterRegistry;
+	private final String owner;
+
+	public ClusterJobRunner(JobDao jobDao, ObjectProvider<MeterRegistry> meterRegistry) {
+		this.jobDao = jobDao;
+		this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+		this.owner = ManagementFactory.getRuntimeMXBean().getName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+	}
+
+	// 마지막 성공 시각(epoch 초)은 노드와 무관하게 job_lock 에서 읽는다
+	public void monitor(String job) {
+		Gauge.builder("cluster.job.last.success", jobDao, dao -> dao.getLastSuccess(job)
+				.map(time -> (double)time.atZone(ZoneId.systemDefault()).toEpochSecond())
+				.orElse(Double.NaN))
+			.tag("job", job)
+			.register(meterRegistry);
+	}
+
+	// 잠금을 얻은 노드에서만 task 를 실행한다. 실행했으면 true
+	public boolean runExclusive(String job, Duration lease, LongConsumer task) {
+		return runOncePerWindow(job, lease, Duration.ZERO, task);
+	}
+
+	// cron 작업용. 성공하면 window 동안 잠금을 더 쥐고 있어 cron 이 늦게 울린 노드가 같은 주기에 다시 실행하지 않는다
+	// 실패하면 바로 놓아 다른 노드가 다시 시도할 수 있다
+	public boolean runOncePerWindow(String job, Duration lease, Duration window, LongConsumer task) {
+		Optional<Long> fencingToken = acquire(job, lease);
+		if (fencingToken.isEmpty()) {
+			log.debug("다른 노드가 실행 중인 작업 job={}", job);
+			return false;
+		}
+		boolean success = false;
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			task.accept(fencingToken.get());
+			success = true;
+		} finally {
+			sample.stop(durationTimer(job, success));
+			jobDao.release(job, fencingToken.get(), success, window);
+		}
+		return true;
+	}
+
+	// 계속 떠 있는 작업의 담당 노드를 정한다. 담당 노드는 임대가 끝나기 전에 renew 해야 한다
+	public Optional<Long> tryLead(String job, Duration lease) {
+		return acquire(job, lease);
+	}
+
+	public boolean renew(String job, Long fencingToken, Duration lease) {
+		return jobDao.renew(job, fencingToken, lease);
+	}
+
+	// 잠금을 얻은 노드만 이번 실행의 조각을 만든다. 잠금은 임대가 끝날 때까지 두어 늦게 깨어난 노드가 다시 만들지 않게 한다
+	public boolean startPartitioned(String job, int partitions, Duration lease) {
+		Optional<Long> runId = acquire(job, lease);
+		runId.ifPresent(id -> jobDao.createPartitions(job, id, partitions));
+		return runId.isPresent();
+	}
+
+	// 남은 조각이 없을 때까지 하나씩 가져가 처리하고, 처리한 조각 수를 돌려준다
+	// 실패한 조각은 RUNNING 으로 남아 임대가 끝나면 다시 가져갈 수 있다
+	public int workPartitions(String job, Duration lease, IntConsumer worker) {
+		int processed = 0;
+		Optional<JobPartition> partition;
+		while ((partition = jobDao.claimPartition(job, owner, lease)).isPresent()) {
+			JobPartition claimed = partition.get();
+			boolean success = false;
+			Timer.Sample sample = Timer.start(meterRegistry);
+			try {
+				worker.accept(claimed.partitionNo());
+				success = true;
+			} catch (RuntimeException e) {
+				log.error("작업 조각 실패 job={} runId={} partition={}", job, claimed.runId(), claimed.partitionNo(), e);
+			} finally {
+				sample.stop(durationTimer(job, success));
+			}
+			if (success && jobDao.completePartition(job, claimed, owner) == 0) {
+				jobDao.markSuccess(job);
+			}
+			processed++;
+		}
+		return processed;
+	}
+
+	// 작업 트랜잭션 커밋 전에 부른다. 그 사이 다른 노드가 잠금을 가져갔으면 예외로 롤백시킨다
+	public void checkFence(String job, Long fencingToken) {
+		Assert.state(jobDao.isHolder(job, fencingToken), "작업 잠금을 잃었습니다. job=" + job);
+	}
+
+	private Optional<Long> acquire(String job, Duration lease) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Optional<Long> fencingToken = jobDao.tryAcquire(job, owner, lease);
+		sample.stop(Timer.builder("cluster.job.lock.wait")
+			.tag("job", job)
+			.tag("acquired", String.valueOf(fencingToken.isPresent()))
+			.register(meterRegistry));
+		return fencingToken;
+	}
+
+	private Timer durationTimer(String job, boolean success) {
+		return Timer.builder("cluster.job.duration")
+			.tag("job", job)
+			.tag("result", success ? "success" : "failure")
+			.register(meterRegistry);
+	}
+}
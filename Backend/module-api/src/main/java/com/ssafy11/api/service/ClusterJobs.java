@@ -0,0 +1,87 @@
+package com.ssafy11.api.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 클러스터 전체에서 한 번만 돌아야 하는 야간 작업 스케줄.
+ * 메모리 상태를 갱신하는 작업(AmountRecommender 등)은 노드마다 돌아야 하므로 여기 두지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterJobs {
+
+	static final String DUPLICATE_SCAN = "duplicate-scan";
+	static final int DUPLICATE_SCAN_PARTITIONS = 16;
+	static final String SKETCH_REBUILD = "amount-sketch-rebuild";
+
+	private static final Duration ANALYSIS_LEASE = Duration.ofHours(1);
+	// 하루 한 번 도는 분석은 끝난 뒤에도 반나절 잠금을 쥐어 다른 노드의 늦은 cron 이 중복 행을 넣지 않게 한다
+	private static final Duration ANALYSIS_WINDOW = Duration.ofHours(12);
+	private static final Duration DUPLICATE_SCAN_LEASE = Duration.ofHours(1);
+	private static final Duration PARTITION_LEASE = Duration.ofMinutes(15);
+	private static final Duration SKETCH_LEASE = Duration.ofMinutes(10);
+
+	private final ClusterJobRunner clusterJobRunner;
+	private final SchedulerService schedulerService;
+	private final DuplicateGuestService duplicateGuestService;
+	private final AmountSketchService amountSketchService;
+
+	@PostConstruct
+	void registerMetrics() {
+		clusterJobRunner.monitor(SchedulerService.JOB_NAME);
+		clusterJobRunner.monitor(DUPLICATE_SCAN);
+		clusterJobRunner.monitor(AmountSketchService.JOB_NAME);
+		clusterJobRunner.monitor(SKETCH_REBUILD);
+	}
+
+	@Scheduled(cron = "0 0 0 * * *")
+	public void paymentAnalysis() {
+		clusterJobRunner.runOncePerWindow(SchedulerService.JOB_NAME, ANALYSIS_LEASE, ANALYSIS_WINDOW,
+			schedulerService::scheduledTask);
+	}
+
+	@Scheduled(cron = "0 30 0 * * *")
+	public void duplicateScan() {
+		clusterJobRunner.startPartitioned(DUPLICATE_SCAN, DUPLICATE_SCAN_PARTITIONS, DUPLICATE_SCAN_LEASE);
+		workDuplicateScan();
+	}
+
+	// 다른 노드가 시작한 작업에 남은 조각이 있으면 가져가 처리한다
+	@Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.MINUTES)
+	public void joinPartitions() {
+		workDuplicateScan();
+	}
+
+	@Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.MINUTES)
+	public void foldAmountSketches() {
+		clusterJobRunner.runExclusive(AmountSketchService.JOB_NAME, SKETCH_LEASE, amountSketchService::fold);
+	}
+
+	// fold 와 같은 sketch 잠금 아래에서 돌아 둘이 겹치지 않는다. 그때 fold 가 잠금을 쥐고 있으면 실패로 놓고 다음 분에 다시 시도한다
+	// 성공하면 재구성 잠금을 반나절 쥐어 그날 남은 cron 은 건너뛴다
+	@Scheduled(cron = "0 10-59 0 * * *")
+	public void rebuildAmountSketches() {
+		try {
+			clusterJobRunner.runOncePerWindow(SKETCH_REBUILD, SKETCH_LEASE, ANALYSIS_WINDOW, ignored ->
+				Assert.state(clusterJobRunner.runExclusive(AmountSketchService.JOB_NAME, SKETCH_LEASE,
+					amountSketchService::rebuild), "sketch 잠금을 다른 작업이 쥐고 있습니다."));
+		} catch (IllegalStateException e) {
+			log.warn("경조사비 sketch 재구성 미룸, 다음 분에 다시 시도 reason={}", e.getMessage());
+		}
+	}
+
+	private void workDuplicateScan() {
+		clusterJobRunner.workPartitions(DUPLICATE_SCAN, PARTITION_LEASE,
+			partition -> duplicateGuestService.scanPartition(partition, DUPLICATE_SCAN_PARTITIONS));
+	}
+}
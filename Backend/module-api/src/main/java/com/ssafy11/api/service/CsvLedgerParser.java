@@ -0,0 +1,177 @@
+package com.ssafy11.api.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 엑셀에서 CSV 로 저장한 방명록을 읽는다.
+ * 줄 단위 split 이나 정규식 없이 고정 크기 char 버퍼를 한 글자씩 훑고, 셀 문자열만 새로 만든다.
+ * 한글 윈도우 엑셀은 BOM 없는 MS949 로 저장하는 경우가 많아 앞부분이 올바른 UTF-8 이 아니면 MS949 로 읽는다.
+ */
+final class CsvLedgerParser {
+
+    // EUC-KR 의 상위 집합이라 "똠", "햏" 같은 확장 완성형 글자도 읽힌다
+    static final Charset MS949 = Charset.forName("MS949");
+
+    private static final int SNIFF_BYTES = 64 * 1024;
+    private static final int BUFFER_CHARS = 8 * 1024;
+
+    private CsvLedgerParser() {
+    }
+
+    static void parse(InputStream inputStream, LedgerRowCollector collector) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream, SNIFF_BYTES);
+        Charset charset = detectCharset(buffered);
+        tokenize(new InputStreamReader(buffered, charset), collector);
+    }
+
+    // UTF-8 BOM 이 있으면 건너뛰고 UTF-8, 없으면 앞부분을 검사해 UTF-8 이 아니면 MS949
+    static Charset detectCharset(BufferedInputStream in) throws IOException {
+        in.mark(SNIFF_BYTES);
+        byte[] head = in.readNBytes(SNIFF_BYTES);
+        in.reset();
+
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            in.skipNBytes(3);
+            return StandardCharsets.UTF_8;
+        }
+        return isUtf8(head, head.length) ? StandardCharsets.UTF_8 : MS949;
+    }
+
+    // 잘라 읽은 끝부분에서 멀티바이트 글자가 끊긴 것은 올바른 것으로 본다
+    static boolean isUtf8(byte[] bytes, int length) {
+        int i = 0;
+        while (i < length) {
+            int b = bytes[i] & 0xFF;
+            int continuation;
+            if (b < 0x80) {
+                continuation = 0;
+            } else if (b >= 0xC2 && b <= 0xDF) {
+                continuation = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                continuation = 2;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                continuation = 3;
+            } else {
+                return false;
+            }
+            for (int j = 1; j <= continuation; j++) {
+                if (i + j >= length) {
+                    return true;
+                }
+                if ((bytes[i + j] & 0xC0) != 0x80) {
+                    return false;
+                }
+            }
+            i += continuation + 1;
+        }
+        return true;
+    }
+
+    // RFC 4180: 쉼표 구분, 큰따옴표로 감싼 셀 안의 쉼표/줄바꿈 허용, "" 는 따옴표 한 글자
+    private static void tokenize(Reader reader, LedgerRowCollector collector) throws IOException {
+        char[] buffer = new char[BUFFER_CHARS];
+        StringBuilder field = new StringBuilder();
+        int column = 0;
+        boolean quoted = false;
+        boolean quoteInQuoted = false;
+        boolean afterCr = false;
+        boolean rowHasContent = false;
+
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (afterCr) {
+                    afterCr = false;
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+                if (quoted) {
+                    if (quoteInQuoted) {
+                        quoteInQuoted = false;
+                        if (c == '"') {
+                            field.append('"');
+                            continue;
+                        }
+                        quoted = false;
+                    } else if (c == '"') {
+                        quoteInQuoted = true;
+                        continue;
+                    } else {
+                        field.append(c);
+                        continue;
+                    }
+                }
+                switch (c) {
+                    case '"' -> {
+                        if (field.isEmpty()) {
+                            quoted = true;
+                        } else {
+                            field.append(c);
+                        }
+                    }
+                    case ',' -> rowHasContent |= emit(collector, column++, field);
+                    case '\r', '\n' -> {
+                        rowHasContent |= emit(collector, column, field);
+                        if (rowHasContent) {
+                            collector.endRow();
+                        }
+                        column = 0;
+                        rowHasContent = false;
+                        afterCr = c == '\r';
+                    }
+                    default -> field.append(c);
+                }
+            }
+        }
+        rowHasContent |= emit(collector, column, field);
+        if (rowHasContent) {
+            collector.endRow();
+        }
+    }
+
+    // "50,000", "50000원" 처럼 숫자로만 이루어진 셀은 숫자 셀로 넘긴다
+    private static boolean emit(LedgerRowCollector collector, int column, StringBuilder field) {
+        String text = field.toString().trim();
+        field.setLength(0);
+        if (text.isEmpty()) {
+            return false;
+        }
+        String number = number(text);
+        if (number != null) {
+            collector.cell(column, number, true);
+        } else {
+            collector.cell(column, text, false);
+        }
+        return true;
+    }
+
+    static String number(String text) {
+        StringBuilder digits = new StringBuilder(text.length());
+        boolean dot = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c == '-' && digits.isEmpty()) {
+                digits.append(c);
+            } else if (c == '.' && !dot) {
+                dot = true;
+                digits.append(c);
+            } else if (c != ',' && !(c == '원' && i == text.length() - 1)) {
+                return null;
+            }
+        }
+        if (digits.isEmpty() || digits.charAt(digits.length() - 1) == '-' || digits.charAt(digits.length() - 1) == '.') {
+            return null;
+        }
+        return digits.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ssafy11.api.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import com.ssafy11.domain.duplicate.DuplicateDao;
+import com.ssafy11.domain.duplicate.dto.MergeProposal;
+import com.ssafy11.domain.guest.Guest;
+import com.ssafy11.domain.guest.GuestDao;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DuplicateGuestService {
+
+	private final DuplicateDao duplicateDao;
+	private final GuestDao guestDao;
+	private final TransactionTemplate transactionTemplate;
+	private final GuestClusterer guestClusterer = new GuestClusterer();
+
+	//매일 새벽 전체 사용자의 동명이인 후보를 다시 계산, 사용자 id 기준으로 나눈 조각 하나씩 처리한다
+	//사용자마다 트랜잭션을 따로 열어 한 명이 실패해도 나머지 사용자의 후보는 커밋된다
+	public void scanPartition(int partition, int partitions) {
+		for (Integer userId : duplicateDao.getUserIds(partition, partitions)) {
+			try {
+				transactionTemplate.execute(status -> scan(userId));
+			} catch (RuntimeException e) {
+				log.error("동명이인 분석 실패 userId={}", userId, e);
+			}
+		}
+	}
+
+	@Async
+	public void scanAsync(Integer userId) {
+		transactionTemplate.execute(status -> scan(userId));
+	}
+
+	@Transactional
+	public int scan(Integer userId) {
+		Assert.notNull(userId, "userId must not be null");
+		List<Guest> guests = guestDao.getGuestsByUserId(userId);
+		List<MergeProposal> proposals = guestClusterer.cluster(guests, duplicateDao.getEventIdsByGuest(userId));
+		duplicateDao.replaceProposals(userId, proposals);
+		return proposals.size();
+	}
+
+	@Transactional(readOnly = true)
+	public List<MergeProposal> getProposals(String userId) {
+		Assert.hasText(userId, "userId must not be null");
+		return duplicateDao.getProposals(Integer.parseInt(userId));
+	}
+
+	@Transactional
+	public Integer merge(String userId, Integer keepGuestId, List<Integer> mergeGuestIds) {
+		Assert.hasText(userId, "userId must not be null");
+		Assert.notNull(keepGuestId, "keepGuestId must not be null");
+		Assert.notEmpty(mergeGuestIds, "mergeGuestIds must not be empty");
+		Assert.isTrue(!mergeGuestIds.contains(keepGuestId), "남길 지인은 병합 대상이 될 수 없습니다.");
+		Integer id = Integer.parseInt(userId);
+
+		Set<Integer> myGuestIds = new HashSet<>();
+		guestDao.getGuestsByUserId(id).forEach(guest -> myGuestIds.add(guest.getGuestId()));
+		Assert.isTrue(myGuestIds.contains(keepGuestId) && myGuestIds.containsAll(mergeGuestIds), "지인 관계가 아닙니다.");
+
+		Integer merged = duplicateDao.mergeGuests(id, keepGuestId, List.copyOf(new HashSet<>(mergeGuestIds)));
+		Assert.notNull(merged, "merged must not be null");
+		return merged;
+	}
+}
@@ -1,9 +1,13 @@
 package com.ssafy11.api.service;
 
+import com.ssafy11.domain.common.CursorDto;
+import com.ssafy11.domain.common.CursorResponse;
 import com.ssafy11.domain.common.PageDto;
 import com.ssafy11.domain.events.dto.EventCommand;
 import com.ssafy11.domain.events.EventDao;
 import com.ssafy11.domain.events.dto.Event;
+import com.ssafy11.domain.events.dto.EventSummary;
+import com.ssafy11.domain.events.dto.EventTotals;
 import com.ssafy11.domain.common.PageResponse;
 import com.ssafy11.domain.events.dto.recommendAmount;
 import com.ssafy11.domain.participant.dto.EventParticipant;
@@ -12,11 +16,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import java.time.LocalDate;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class EventService {
     private final EventDao eventDao;
+    private final RecommendAmountSnapshot recommendAmountSnapshot;
 
     public Integer addEvent(EventCommand event, String userId) {
         Assert.notNull(event, "Event must not be null");
@@ -54,6 +61,30 @@ public class EventService {
 
     }
 
+    @Transactional(readOnly = true)
+    public CursorResponse<EventSummary> getEvents(String userId, LocalDate from, LocalDate to, CursorDto cursorDto) {
+        Assert.hasText(userId, "User must not be null");
+        Assert.isTrue(from == null || to == null || !from.isAfter(to), "조회 기간이 올바르지 않습니다.");
+
+        CursorResponse<EventSummary> eventsList = eventDao.getEvents(Integer.parseInt(userId),
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                cursorDto);
+        Assert.notNull(eventsList, "Events list must not be null");
+        return eventsList;
+    }
+
+    @Transactional(readOnly = true)
+    public EventTotals getEventTotals(String userId, Integer eventId) {
+        Assert.notNull(eventId, "Event must not be null");
+        Assert.hasText(userId, "UserId must not be null");
+        Assert.isTrue(Integer.valueOf(userId).equals(eventDao.getEventByUserId(eventId)), "유저가 만든 이벤트가 아닙니다.");
+
+        EventTotals eventTotals = eventDao.getEventTotals(eventId);
+        Assert.notNull(eventTotals, "eventTotals must not be null");
+        return eventTotals;
+    }
+
     @Transactional(readOnly = true)
     public PageResponse<EventParticipant> getEvent(String userId, Integer eventId, PageDto pageDto) {
         Assert.notNull(eventId, "Event must not be null");
@@ -80,7 +111,7 @@ public class EventService {
         Assert.hasText(category, "category must not be null");
         Assert.hasText(userId, "userId must not be null");
 
-        recommendAmount recommendAmount = eventDao.getRecommendAmount(category, Integer.parseInt(userId));
+        recommendAmount recommendAmount = recommendAmountSnapshot.get(category);
         Assert.notNull(recommendAmount, "recommendAmount must not be null");
         return recommendAmount;
     }
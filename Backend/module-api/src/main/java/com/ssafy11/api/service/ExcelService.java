@@ -3,46 +3,51 @@ package com.ssafy11.api.service;
 import com.ssafy11.api.dto.ExcelParse;
 import com.ssafy11.api.exception.ErrorCode;
 import com.ssafy11.api.exception.ErrorException;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.util.RecordFormatException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 
 @Service
 public class ExcelService {
     private static final Logger log = LoggerFactory.getLogger(ExcelService.class);
 
     public List<ExcelParse> parseExcelFile(MultipartFile file) {
-        List<ExcelParse> parsedDataList;
-
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-            int rowCount = sheet.getPhysicalNumberOfRows();
-
-            // 열 인덱스를 찾기 위한 메서드 호출
-            int[] columnIndices = findColumnIndices(sheet, rowCount);
-            int nameColIndex = columnIndices[0];
-            int categoryColIndex = columnIndices[1];
-            int amountColIndex = columnIndices[2];
-
-            int startRowIndex = columnIndices[3];
-
-            if (nameColIndex == -1 || amountColIndex == -1) {
-                throw new ErrorException(ErrorCode.EXCEL_PARSING_FAILED);
-            }
-
-            // 엑셀 데이터 파싱
-            parsedDataList = parseRows(sheet, startRowIndex, rowCount, nameColIndex, categoryColIndex, amountColIndex);
-        } catch (Exception e) {
-            log.error("엑셀 파싱에 실패하였습니다.", e);
-            throw new ErrorException(ErrorCode.BadRequest);
+        // 시트마다 따로 모았다가 시트 순서대로 이어 붙인다
+        List<List<ExcelParse>> sheets = Collections.synchronizedList(new ArrayList<>());
+
+        Path upload = spool(file::transferTo);
+        try {
+            parse(upload, sheet -> {
+                List<ExcelParse> rows = new ArrayList<>();
+                sheets.add(rows);
+                return rows::add;
+            });
+        } finally {
+            delete(upload);
         }
 
+        List<ExcelParse> parsedDataList = new ArrayList<>();
+        sheets.forEach(parsedDataList::addAll);
         if (parsedDataList.isEmpty()) {
             log.error("일치하는 파일 내용이 없습니다.");
             throw new ErrorException(ErrorCode.NO_CONTENT);
@@ -51,80 +56,88 @@ public class ExcelService {
         return parsedDataList;
     }
 
-    private int[] findColumnIndices(Sheet sheet, int rowCount) {
-        int nameColIndex = -1;
-        int categoryColIndex = -1;
-        int amountColIndex = -1;
-        int startRowIndex = -1;
+    // 행을 모으지 않고 읽는 대로 넘긴다, 헤더(성명/이름, 금액)를 찾지 못하면 실패
+    // 시트를 동시에 읽으므로 consumer 호출은 한 번에 하나씩만 되도록 묶고, 시트끼리 행 순서는 섞일 수 있다
+    public int parseExcelFile(Path file, Consumer<ExcelParse> consumer) {
+        Object lock = new Object();
+        Consumer<ExcelParse> serialized = row -> {
+            synchronized (lock) {
+                consumer.accept(row);
+            }
+        };
+        return parse(file, sheet -> serialized);
+    }
 
-        // 첫 번째 행에서 열 인덱스 찾기
-        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
-            Row row = sheet.getRow(rowIndex);
-            if (row != null) {
-                for (int cellIndex = 0; cellIndex < row.getPhysicalNumberOfCells(); cellIndex++) {
-                    Cell cell = row.getCell(cellIndex);
-                    if (cell != null) {
-                        String cellValue = cell.toString().replaceAll("\\s", "").trim();
-                        if (cellValue.contains("성명") || cellValue.contains("이름")) {
-                            nameColIndex = cellIndex;
-                        } else if (cellValue.contains("관계")) {
-                            categoryColIndex = cellIndex;
-                        } else if (cellValue.contains("금액")) {
-                            amountColIndex = cellIndex;
-                        }
-                    }
-                }
+    // XLSX 는 파일에서 열어야 zip 전체를 메모리에 올리지 않으므로 스트림은 임시 파일로 옮겨 읽는다
+    public int parseExcelFile(InputStream inputStream, Consumer<ExcelParse> consumer) {
+        Path upload = spool(path -> Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING));
+        try {
+            return parseExcelFile(upload, consumer);
+        } finally {
+            delete(upload);
+        }
+    }
 
-                // 모든 인덱스를 찾았으면 루프 종료
-                if (nameColIndex != -1 && categoryColIndex != -1 && amountColIndex != -1) {
-                    startRowIndex = rowIndex + 1; // 데이터가 시작되는 행은 다음 행
-                    break;
+    // 앞 바이트로 형식을 가린다: OLE2(D0 CF 11 E0) 는 XLS, ZIP(PK) 는 XLSX, 나머지는 CSV
+    private int parse(Path file, IntFunction<Consumer<ExcelParse>> sheetConsumers) {
+        List<LedgerRowCollector> collectors = Collections.synchronizedList(new ArrayList<>());
+        IntFunction<LedgerRowCollector> sheets = sheet -> {
+            LedgerRowCollector collector = new LedgerRowCollector(sheetConsumers.apply(sheet));
+            collectors.add(collector);
+            return collector;
+        };
+
+        try {
+            FileMagic fileMagic = FileMagic.valueOf(file.toFile());
+            if (fileMagic == FileMagic.OOXML) {
+                XlsxLedgerParser.parse(file.toFile(), sheets);
+            } else {
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                    if (fileMagic == FileMagic.OLE2) {
+                        XlsLedgerParser.parse(in, sheets);
+                    } else {
+                        CsvLedgerParser.parse(in, sheets.apply(0));
+                    }
                 }
             }
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException
+                 | POIXMLException | UnsupportedFileFormatException | RecordFormatException e) {
+            log.error("엑셀 파싱에 실패하였습니다.", e);
+            throw new ErrorException(ErrorCode.EXCEL_PARSING_FAILED);
         }
 
-        return new int[]{nameColIndex, categoryColIndex, amountColIndex, startRowIndex};
+        // 표지나 요약 시트처럼 헤더가 없는 시트는 건너뛰고, 어느 시트에도 없을 때만 실패
+        if (collectors.stream().noneMatch(LedgerRowCollector::headerFound)) {
+            throw new ErrorException(ErrorCode.EXCEL_PARSING_FAILED);
+        }
+        return collectors.stream().mapToInt(LedgerRowCollector::count).sum();
     }
 
-    private List<ExcelParse> parseRows(Sheet sheet, int startRowIndex, int rowCount, int nameColIndex, int categoryColIndex, int amountColIndex) {
-        List<ExcelParse> parsedDataList = new ArrayList<>();
-
-        for (int rowIndex = startRowIndex; rowIndex < rowCount; rowIndex++) {
-            Row row = sheet.getRow(rowIndex);
-            if (row == null) continue;
-
-            String name = null;
-            String category = null;
-            Integer amount = null;
-
-            if (nameColIndex != -1) {
-                Cell nameCell = row.getCell(nameColIndex);
-                name = nameCell != null ? nameCell.toString().trim() : null;
-            }
-
-            if (categoryColIndex != -1) {
-                Cell categoryCell = row.getCell(categoryColIndex);
-                category = categoryCell != null ? categoryCell.toString().trim() : null;
-            }
-
-            if (amountColIndex != -1) {
-                Cell amountCell = row.getCell(amountColIndex);
-                if (amountCell != null) {
-                    if (amountCell.getCellType() == CellType.NUMERIC) {
-                        amount = (int) amountCell.getNumericCellValue();
-                    }
-                    if (amount != null) {
-                        String amountString = amount.toString().replaceAll("[^\\d]", "");
-                        amount = amountString.isEmpty() ? null : Integer.parseInt(amountString);
-                    }
-                }
+    private static Path spool(UploadWriter writer) {
+        Path upload = null;
+        try {
+            upload = Files.createTempFile("ledger-parse-", ".upload");
+            writer.write(upload);
+            return upload;
+        } catch (IOException e) {
+            if (upload != null) {
+                delete(upload);
             }
+            log.error("엑셀 파일을 읽지 못했습니다.", e);
+            throw new ErrorException(ErrorCode.BadRequest);
+        }
+    }
 
-            if (name != null && !name.isEmpty() && amount != null) {
-                parsedDataList.add(new ExcelParse(name, category, amount));
-            }
+    private static void delete(Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패 {}", upload, e);
         }
+    }
 
-        return parsedDataList;
+    @FunctionalInterface
+    private interface UploadWriter {
+        void write(Path path) throws IOException;
     }
 }
@@ -0,0 +1,155 @@
+package com.ssafy11.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * GPT 답변 캐시. 공백/대소문자만 다른 같은 프롬프트는 같은 답을 쓴다.
+ * 로컬(Caffeine) → Redis → OpenAI 순으로 찾고, 같은 키를 동시에 요청하면 진행 중인 호출 하나를 같이 기다린다.
+ * 실패한 호출은 남기지 않으므로 다음 요청이 다시 부른다.
+ * 금액 추천(num=1)과 추천 설명(num=2)은 프롬프트마다 답 하나를 캐시한다.
+ * 축하 메시지(num=0)는 같은 프롬프트라도 문구가 달라야 하므로 프롬프트마다 MESSAGE_VARIANTS 개 문구를 따로 캐시해 그중 하나를 고르고,
+ * Redis 에는 짧게만 남겨 문구가 자주 바뀌게 한다.
+ */
+@Slf4j
+@Component
+public class GptResponseCache {
+
+	static final String KEY_PREFIX = "gpt:response:";
+	static final int MESSAGE_MODE = 0;
+	static final int MESSAGE_VARIANTS = 5;
+	private static final Duration REDIS_TTL = Duration.ofDays(1);
+	private static final Duration MESSAGE_REDIS_TTL = Duration.ofHours(1);
+	private static final Duration LOCAL_TTL = Duration.ofMinutes(10);
+	private static final long MAX_LOCAL = 10_000;
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final AsyncCache<String, String> local;
+	private final Counter localHits;
+	private final Counter redisHits;
+	private final Counter upstreamCalls;
+
+	// 절약한 호출 수 = local + redis, 적중률 = (local + redis) / 전체
+	public GptResponseCache(StringRedisTemplate stringRedisTemplate, ObjectProvider<MeterRegistry> meterRegistry) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.local = Caffeine.newBuilder()
+			.maximumSize(MAX_LOCAL)
+			.expireAfterWrite(LOCAL_TTL)
+			.recordStats()
+			.buildAsync();
+		MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+		CaffeineCacheMetrics.monitor(registry, local.synchronous(), "gptResponses");
+		this.localHits = lookups(registry, "local");
+		this.redisHits = lookups(registry, "redis");
+		this.upstreamCalls = lookups(registry, "upstream");
+	}
+
+	// 로컬에 없을 때만 executor 에서 Redis 를 보고, 그래도 없으면 upstream 을 부른다
+	// 메시지 모드는 문구 묶음 중 하나를 골라 그 칸을 찾는다
+	public CompletableFuture<String> get(String prompt, Integer num, Executor executor, Supplier<String> upstream) {
+		boolean message = num != null && num == MESSAGE_MODE;
+		String key = message
+			? key(prompt, num) + ":" + ThreadLocalRandom.current().nextInt(MESSAGE_VARIANTS)
+			: key(prompt, num);
+		Duration ttl = message ? MESSAGE_REDIS_TTL : REDIS_TTL;
+		// 매핑 함수는 캐시 bin 잠금 안에서 돌므로 빈 future 만 넣고, 호출은 잠금 밖에서 시작한다
+		CompletableFuture<String> created = new CompletableFuture<>();
+		CompletableFuture<String> response = local.get(key, (k, e) -> created);
+		if (response != created) {
+			// 이미 저장된 답이거나 같은 프롬프트로 진행 중인 호출에 합류한 경우
+			localHits.increment();
+			return response;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					created.complete(load(key, ttl, upstream));
+				} catch (RuntimeException e) {
+					fail(key, created, e);
+				}
+			});
+		} catch (RuntimeException e) {
+			fail(key, created, e);
+		}
+		return created;
+	}
+
+	// 실패를 알리기 전에 캐시에서 먼저 빼서, 실패를 받은 쪽이 바로 다시 요청해도 새로 부르게 한다
+	private void fail(String key, CompletableFuture<String> created, RuntimeException e) {
+		local.asMap().remove(key, created);
+		created.completeExceptionally(e);
+	}
+
+	private String load(String key, Duration ttl, Supplier<String> upstream) {
+		String cached = redisGet(key);
+		if (cached != null) {
+			redisHits.increment();
+			return cached;
+		}
+		upstreamCalls.increment();
+		String response = upstream.get();
+		redisSet(key, response, ttl);
+		return response;
+	}
+
+	// Redis 가 안 되면 캐시 없이 진행한다
+	private String redisGet(String key) {
+		try {
+			return stringRedisTemplate.opsForValue().get(key);
+		} catch (DataAccessException e) {
+			log.warn("GPT 응답 캐시 조회 실패 key={}", key, e);
+			return null;
+		}
+	}
+
+	private void redisSet(String key, String response, Duration ttl) {
+		try {
+			stringRedisTemplate.opsForValue().set(key, response, ttl);
+		} catch (DataAccessException e) {
+			log.warn("GPT 응답 캐시 저장 실패 key={}", key, e);
+		}
+	}
+
+	static String key(String prompt, Integer num) {
+		String normalized = Normalizer.normalize(prompt, Normalizer.Form.NFC)
+			.strip()
+			.replaceAll("\\s+", " ")
+			.toLowerCase(Locale.ROOT);
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+			return KEY_PREFIX + num + ":" + HexFormat.of().formatHex(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Counter lookups(MeterRegistry registry, String tier) {
+		return Counter.builder("gpt.cache.lookups")
+			.description("GPT 답변을 찾은 위치, upstream 외에는 OpenAI 호출을 아낀 것")
+			.tag("tier", tier)
+			.register(registry);
+	}
+}
@@ -1,20 +1,23 @@
 package com.ssafy11.api.service;
+import com.ssafy11.api.config.gpt.GptConfig;
 import com.ssafy11.api.exception.ErrorCode;
 import com.ssafy11.api.exception.ErrorException;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Profile;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
 import org.springframework.util.Assert;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,27 +27,73 @@ import java.util.regex.Pattern;
 //@Profile("real")
 public class GptService implements ChatService{
 
-    private static final String API_URL = "https://api.openai.com/v1/chat/completions";
-
-    @Value("${openai.api-key}")
-    private String apiKey;
-
-    @Value("${openai.api-amount}")
-    private String apiAmount;
+    private static final String CHAT_COMPLETIONS_PATH = "/v1/chat/completions";
+
+    private final RestClient restClient;
+    private final AsyncTaskExecutor executor;
+    private final GptResponseCache responseCache;
+    private final String apiAmount;
+    private final String apiMessage;
+    private final Semaphore inFlight;
+
+    public GptService(@Qualifier(GptConfig.GPT_REST_CLIENT) RestClient restClient,
+                      @Qualifier(GptConfig.GPT_EXECUTOR) AsyncTaskExecutor executor,
+                      GptResponseCache responseCache,
+                      @Value("${openai.api-amount}") String apiAmount,
+                      @Value("${openai.api-message}") String apiMessage,
+                      @Value("${openai.max-in-flight:64}") int maxInFlight) {
+        this.restClient = restClient;
+        this.executor = executor;
+        this.responseCache = responseCache;
+        this.apiAmount = apiAmount;
+        this.apiMessage = apiMessage;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
 
-    @Value("${openai.api-message}")
-    private String apiMessage;
+    // 응답이 올 때까지 호출한 스레드를 붙잡지 않도록 가상 스레드에서 부른다
+    // 같은 프롬프트는 캐시된 답을 쓰고, 동시에 들어온 같은 요청은 OpenAI 호출 하나를 같이 기다린다
+    public CompletableFuture<String> getChatResponseAsync(String prompt, Integer num) {
+        return responseCache.get(prompt, num, executor, () -> complete(prompt, num))
+                .thenApply(content -> answer(content, num));
+    }
 
     @Override
     public String getChatResponse(String prompt, Integer num) {
-        if( num==1 ){ prompt += apiAmount; }
-        else if( num==0 ){ prompt += apiMessage; }
+        try {
+            return getChatResponseAsync(prompt, num).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ErrorException errorException) {
+                throw errorException;
+            }
+            throw e;
+        }
+    }
+
+    // 금액 모드는 원문을 캐시하고 금액은 꺼낼 때 뽑는다
+    private String answer(String content, Integer num) {
+        if(num==1) {
+            String amount = extractAmount(content);
+            return amount != null ? amount : "금액을 찾을 수 없습니다.";
+        }
+        return content;
+    }
 
-        RestTemplate restTemplate = new RestTemplate();
+    // 동시에 기다리는 호출이 상한에 닿으면 자리가 날 때까지 기다리지 않고 바로 거절한다
+    private String complete(String prompt, Integer num) {
+        if (!inFlight.tryAcquire()) {
+            log.warn("GPT 동시 호출 상한 초과");
+            throw new ErrorException(ErrorCode.GPT_BUSY);
+        }
+        try {
+            return call(prompt, num);
+        } finally {
+            inFlight.release();
+        }
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + apiKey);
-        headers.set("Content-Type", "application/json");
+    private String call(String prompt, Integer num) {
+        if( num==1 ){ prompt += apiAmount; }
+        else if( num==0 ){ prompt += apiMessage; }
 
         JSONObject requestBody = new JSONObject();
         requestBody.put("model", "gpt-4o");
@@ -54,38 +103,28 @@ public class GptService implements ChatService{
                 .put(new JSONObject().put("role", "user").put("content", prompt))
         );
 
-        HttpEntity<String> entity = new HttpEntity<>(requestBody.toString(), headers);
-
         try {
-            // API 호출
-            ResponseEntity<String> response = restTemplate.exchange(API_URL, HttpMethod.POST, entity, String.class);
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                // JSON 파싱
-                JSONObject responseBody = new JSONObject(response.getBody());
-                JSONArray choices = responseBody.getJSONArray("choices");
-                String content = choices.getJSONObject(0).getJSONObject("message").getString("content");
-                Assert.notNull(content, "Content is null");
-
-                log.info("gpt 답변 : {}", content);
-
-                if(num==1) {
-                    String amount = extractAmount(content);
-                    return amount != null ? amount : "금액을 찾을 수 없습니다.";
-                }else if(num==0){
-                    return content;
-                }
-                return content;
-            } else {
-                throw new ErrorException(ErrorCode.GPT_API_REQUEST_FAILED);
-            }
-        }catch (Exception e) {
+            // API 호출, 2xx 가 아니거나 연결/응답 시간을 넘기면 RestClientException
+            String response = restClient.post()
+                    .uri(CHAT_COMPLETIONS_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(requestBody.toString())
+                    .retrieve()
+                    .body(String.class);
+            Assert.notNull(response, "Response is null");
+
+            // JSON 파싱
+            JSONObject responseBody = new JSONObject(response);
+            JSONArray choices = responseBody.getJSONArray("choices");
+            String content = choices.getJSONObject(0).getJSONObject("message").getString("content");
+            Assert.notNull(content, "Content is null");
+
+            log.info("gpt 답변 : {}", content);
+            return content;
+        } catch (RestClientException | JSONException | IllegalArgumentException e) {
             log.error("API 호출 중 예기치 않은 오류 발생: {}", e.getMessage());
             throw new ErrorException(ErrorCode.GPT_API_REQUEST_FAILED);
         }
-
-
-
     }
 
     private String extractAmount(String content) { //00만원 형식으로 파싱
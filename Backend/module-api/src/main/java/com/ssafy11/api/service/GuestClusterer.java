@@ -0,0 +1,174 @@
+package com.ssafy11.api.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.ssafy11.domain.duplicate.dto.MergeProposal;
+import com.ssafy11.domain.guest.ContactHasher;
+import com.ssafy11.domain.guest.Guest;
+
+/**
+ * 동명이인 후보 클러스터링.
+ * 정규화한 이름으로 블록을 나누고, 블록 안의 쌍만 휴대폰 번호/관계/공통 이벤트로 점수를 매긴다.
+ * 블록끼리는 독립적이라 병렬로 처리한다.
+ */
+class GuestClusterer {
+
+	static final double MERGE_THRESHOLD = 0.6;
+
+	List<MergeProposal> cluster(List<Guest> guests, Map<Integer, ? extends Collection<Integer>> eventsByGuest) {
+		Map<String, List<Guest>> blocks = guests.stream()
+			.filter(guest -> normalizeName(guest.getGuestName()) != null)
+			.collect(Collectors.groupingBy(guest -> normalizeName(guest.getGuestName())));
+
+		return blocks.values().parallelStream()
+			.filter(block -> block.size() > 1)
+			.flatMap(block -> clusterBlock(block, eventsByGuest).stream())
+			.toList();
+	}
+
+	// 공백, 괄호 안 메모, 특수문자를 제거한 이름
+	static String normalizeName(String name) {
+		if (name == null) {
+			return null;
+		}
+		String normalized = name.replaceAll("\\(.*?\\)", "")
+			.replaceAll("[\\s\\p{Punct}]", "")
+			.toLowerCase();
+		return normalized.isEmpty() ? null : normalized;
+	}
+
+	static double score(Guest a, Guest b, Collection<Integer> eventsA, Collection<Integer> eventsB) {
+		// 같은 이벤트에 함께 등록되어 있다면 서로 다른 사람
+		if (eventsA != null && eventsB != null && eventsA.stream().anyMatch(eventsB::contains)) {
+			return 0;
+		}
+
+		double score = 0.5;
+
+		String phoneA = ContactHasher.normalizePhone(a.getGuestNumber());
+		String phoneB = ContactHasher.normalizePhone(b.getGuestNumber());
+		if (phoneA != null && phoneB != null) {
+			if (!phoneA.equals(phoneB)) {
+				return 0;
+			}
+			score += 0.5;
+		} else if (phoneA != null || phoneB != null) {
+			score += 0.1;
+		}
+
+		String categoryA = blankToNull(a.getGuestCategory());
+		String categoryB = blankToNull(b.getGuestCategory());
+		if (categoryA != null && categoryB != null) {
+			score += categoryA.equals(categoryB) ? 0.2 : -0.2;
+		}
+
+		return Math.min(score, 1.0);
+	}
+
+	private List<MergeProposal> clusterBlock(List<Guest> block, Map<Integer, ? extends Collection<Integer>> eventsByGuest) {
+		int size = block.size();
+		double[][] scores = new double[size][size];
+		List<int[]> pairs = new ArrayList<>();
+
+		for (int i = 0; i < size; i++) {
+			for (int j = i + 1; j < size; j++) {
+				Guest a = block.get(i);
+				Guest b = block.get(j);
+				double score = score(a, b, eventsByGuest.get(a.getGuestId()), eventsByGuest.get(b.getGuestId()));
+				scores[i][j] = score;
+				scores[j][i] = score;
+				if (score >= MERGE_THRESHOLD) {
+					pairs.add(new int[] {i, j});
+				}
+			}
+		}
+
+		// 점수가 높은 쌍부터 묶되, 두 묶음 사이에 서로 다른 사람으로 판정된 쌍이 있으면 묶지 않는다
+		pairs.sort(Comparator.comparingDouble((int[] pair) -> scores[pair[0]][pair[1]]).reversed());
+		int[] parent = new int[size];
+		Map<Integer, List<Integer>> clusters = new HashMap<>();
+		for (int i = 0; i < size; i++) {
+			parent[i] = i;
+			clusters.put(i, new ArrayList<>(List.of(i)));
+		}
+		for (int[] pair : pairs) {
+			int rootA = find(parent, pair[0]);
+			int rootB = find(parent, pair[1]);
+			if (rootA != rootB && compatible(scores, clusters.get(rootA), clusters.get(rootB))) {
+				parent[rootB] = rootA;
+				clusters.get(rootA).addAll(clusters.remove(rootB));
+			}
+		}
+
+		List<MergeProposal> proposals = new ArrayList<>();
+		for (List<Integer> members : clusters.values()) {
+			if (members.size() < 2) {
+				continue;
+			}
+			// 경조사 기록이 가장 많은 지인을 남기고, 같으면 먼저 등록된 지인을 남긴다
+			int keep = members.stream()
+				.max(Comparator.<Integer>comparingInt(index -> eventCount(eventsByGuest, block.get(index)))
+					.thenComparing(index -> block.get(index).getGuestId(), Comparator.reverseOrder()))
+				.orElseThrow();
+
+			for (int member : members) {
+				if (member == keep) {
+					continue;
+				}
+				Guest keepGuest = block.get(keep);
+				Guest mergeGuest = block.get(member);
+				proposals.add(new MergeProposal(
+					keepGuest.getGuestId(), keepGuest.getGuestName(),
+					mergeGuest.getGuestId(), mergeGuest.getGuestName(),
+					BigDecimal.valueOf(bestScore(scores, members, member)).setScale(2, RoundingMode.HALF_UP)));
+			}
+		}
+		return proposals;
+	}
+
+	private static double bestScore(double[][] scores, List<Integer> members, int member) {
+		double best = 0;
+		for (int other : members) {
+			if (other != member) {
+				best = Math.max(best, scores[member][other]);
+			}
+		}
+		return best;
+	}
+
+	private static int eventCount(Map<Integer, ? extends Collection<Integer>> eventsByGuest, Guest guest) {
+		Collection<Integer> events = eventsByGuest.get(guest.getGuestId());
+		return events == null ? 0 : events.size();
+	}
+
+	private static String blankToNull(String value) {
+		return value == null || value.isBlank() ? null : value.trim();
+	}
+
+	private static int find(int[] parent, int index) {
+		while (parent[index] != index) {
+			parent[index] = parent[parent[index]];
+			index = parent[index];
+		}
+		return index;
+	}
+
+	private static boolean compatible(double[][] scores, List<Integer> clusterA, List<Integer> clusterB) {
+		for (int a : clusterA) {
+			for (int b : clusterB) {
+				if (scores[a][b] <= 0) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+}
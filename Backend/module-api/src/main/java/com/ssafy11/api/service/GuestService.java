@@ -1,15 +1,29 @@
 package com.ssafy11.api.service;
 
+import com.ssafy11.api.dto.sync.ContactHash;
+import com.ssafy11.api.dto.sync.ContactSyncApplyRequest;
+import com.ssafy11.api.dto.sync.ContactSyncApplyResponse;
+import com.ssafy11.api.dto.sync.ContactSyncRequest;
+import com.ssafy11.api.dto.sync.ContactSyncResponse;
+import com.ssafy11.domain.guest.ContactHasher;
 import com.ssafy11.domain.guest.Guest;
 import com.ssafy11.domain.guest.GuestDao;
 import com.ssafy11.domain.participant.ParticipantDao;
+import com.ssafy11.domain.participant.dto.AddGuestResponse;
+import com.ssafy11.domain.relation.UserRelationDao;
 import com.ssafy11.domain.schedule.ScheduleDao;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +32,7 @@ public class GuestService {
     private final GuestDao guestDao;
     private final ScheduleDao scheduleDao;
     private final ParticipantDao participantDao;
+    private final UserRelationDao userRelationDao;
 
     public Integer updateGuest(Guest guest, String userId){
         Assert.isTrue(scheduleDao.isMyGuest(Integer.parseInt(userId), guest.getGuestId()), "지인 관계가 아닙니다.");
@@ -31,4 +46,117 @@ public class GuestService {
         Assert.isTrue(scheduleDao.isMyGuest(Integer.parseInt(userId), guestId), "지인 관계가 아닙니다.");
         return guestDao.getGuestById(guestId);
     }
+
+    //연락처 동기화 비교, digest 가 같으면 지인 목록을 조회하지 않는다
+    @Transactional(readOnly = true)
+    public ContactSyncResponse diffContacts(ContactSyncRequest request, String userId) {
+        Assert.notNull(request, "request must not be null");
+        Assert.hasText(userId, "userId must not be null");
+        Integer id = Integer.parseInt(userId);
+
+        Optional<String> digest = guestDao.getSyncDigest(id);
+        if (digest.isPresent() && digest.get().equals(request.digest())) {
+            return ContactSyncResponse.unchanged();
+        }
+        // digest 만 보낸 요청이면 달라졌다는 것만 알리고, 클라이언트가 연락처 해시를 담아 다시 요청한다
+        if (request.contacts() == null) {
+            return new ContactSyncResponse(true, List.of(), List.of(), List.of());
+        }
+
+        Map<String, Guest> guests = indexByPhone(guestDao.getGuestsByUserId(id));
+        Set<String> phones = new HashSet<>();
+        List<String> adds = new ArrayList<>();
+        List<String> updates = new ArrayList<>();
+
+        for (ContactHash contact : request.contacts()) {
+            String phone = ContactHasher.normalizePhone(contact.phoneNumber());
+            if (phone == null || !phones.add(phone)) {
+                continue;
+            }
+            Guest guest = guests.get(phone);
+            if (guest == null) {
+                adds.add(contact.phoneNumber());
+            } else if (!hash(guest).equals(contact.hash())) {
+                updates.add(contact.phoneNumber());
+            }
+        }
+
+        // 직접 추가했거나 다른 경로로 들어온 지인은 주소록에 없어도 지우지 않는다
+        Set<Integer> synced = new HashSet<>(userRelationDao.getSyncedGuestIds(id));
+        List<Integer> removes = guests.entrySet().stream()
+                .filter(entry -> !phones.contains(entry.getKey()))
+                .map(entry -> entry.getValue().getGuestId())
+                .filter(synced::contains)
+                .toList();
+
+        return new ContactSyncResponse(true, adds, updates, removes);
+    }
+
+    //연락처 동기화 반영, 추가/수정/삭제를 각각 한 번의 배치로 처리
+    public ContactSyncApplyResponse applyContacts(ContactSyncApplyRequest request, String userId) {
+        Assert.notNull(request, "request must not be null");
+        Assert.hasText(userId, "userId must not be null");
+        Integer id = Integer.parseInt(userId);
+
+        List<Guest> current = guestDao.getGuestsByUserId(id);
+        Map<String, Guest> guests = indexByPhone(current);
+        Set<String> phones = new HashSet<>();
+        List<AddGuestResponse> inserts = new ArrayList<>();
+        List<Guest> updates = new ArrayList<>();
+
+        List<AddGuestResponse> upserts = request.upserts() != null ? request.upserts() : List.of();
+        for (AddGuestResponse contact : upserts) {
+            Assert.hasText(contact.name(), "name must not be null");
+            String phone = ContactHasher.normalizePhone(contact.phoneNumber());
+            Assert.notNull(phone, "휴대폰 번호가 필요합니다.");
+            if (!phones.add(phone)) {
+                continue;
+            }
+            Guest guest = guests.get(phone);
+            if (guest == null) {
+                inserts.add(contact);
+            } else {
+                updates.add(new Guest(guest.getGuestId(), contact.name(), contact.category(), contact.phoneNumber()));
+            }
+        }
+
+        List<Integer> removes = request.removes() != null ? request.removes() : List.of();
+        Set<Integer> myGuestIds = new HashSet<>();
+        current.forEach(guest -> myGuestIds.add(guest.getGuestId()));
+        Assert.isTrue(myGuestIds.containsAll(removes), "지인 관계가 아닙니다.");
+        Assert.isTrue(userRelationDao.getSyncedGuestIds(id).containsAll(removes), "연락처로 동기화한 지인이 아닙니다.");
+
+        List<Integer> guestIds = participantDao.addGuests(inserts);
+        if (!guestIds.isEmpty()) {
+            Integer added = participantDao.addUserRelations(guestIds, id);
+            Assert.isTrue(added == guestIds.size(), "지인 등록에 실패하였습니다.");
+        }
+        Integer updated = guestDao.updateGuests(updates);
+        List<Integer> syncedIds = new ArrayList<>(guestIds);
+        updates.forEach(guest -> syncedIds.add(guest.getGuestId()));
+        userRelationDao.markSynced(id, syncedIds);
+        Integer removed = userRelationDao.deleteUserRelations(id, removes);
+
+        String digest = ContactHasher.digest(indexByPhone(guestDao.getGuestsByUserId(id)).values().stream()
+                .map(GuestService::hash)
+                .toList());
+        guestDao.saveSyncDigest(id, digest);
+
+        return new ContactSyncApplyResponse(guestIds.size(), updated, removed, digest);
+    }
+
+    private static Map<String, Guest> indexByPhone(List<Guest> guests) {
+        Map<String, Guest> result = new HashMap<>();
+        for (Guest guest : guests) {
+            String phone = ContactHasher.normalizePhone(guest.getGuestNumber());
+            if (phone != null) {
+                result.putIfAbsent(phone, guest);
+            }
+        }
+        return result;
+    }
+
+    private static String hash(Guest guest) {
+        return ContactHasher.hash(guest.getGuestNumber(), guest.getGuestName(), guest.getGuestCategory());
+    }
 }
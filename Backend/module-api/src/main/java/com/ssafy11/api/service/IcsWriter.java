@@ -0,0 +1,101 @@
+package com.ssafy11.api.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import com.ssafy11.domain.calendar.dto.CalendarEntry;
+
+/**
+ * 달력 항목을 iCalendar(RFC 5545) 로 바로 써 내려간다.
+ * 줄은 CRLF 로 끝내고 75 바이트를 넘으면 접는다. 한글은 UTF-8 로 3 바이트라 문자 단위로 잘라야 깨지지 않는다.
+ */
+class IcsWriter {
+
+	private static final int MAX_LINE_BYTES = 75;
+	private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+	private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+	private final Writer writer;
+	private final String stamp;
+
+	IcsWriter(Writer writer, Instant stamp) {
+		this.writer = writer;
+		this.stamp = UTC_FORMAT.format(stamp);
+	}
+
+	void begin(String name) {
+		line("BEGIN:VCALENDAR");
+		line("VERSION:2.0");
+		line("PRODID:-//ULMA//Calendar//KO");
+		line("CALSCALE:GREGORIAN");
+		line("METHOD:PUBLISH");
+		line("X-WR-CALNAME:" + escape(name));
+		line("X-WR-TIMEZONE:" + ZONE.getId());
+	}
+
+	void entry(CalendarEntry entry) {
+		line("BEGIN:VEVENT");
+		// 반복 일정은 규칙 하나가 여러 번 나오므로 날짜까지 넣어야 UID 가 겹치지 않는다
+		line("UID:" + entry.type().toLowerCase() + "-" + entry.id() + "-" + DATE_FORMAT.format(entry.date()) + "@ulma");
+		line("DTSTAMP:" + stamp);
+		line("DTSTART:" + utc(entry.date()));
+		line("SUMMARY:" + escape(entry.guestName() == null ? entry.name() : entry.guestName() + " " + entry.name()));
+		if (entry.category() != null) {
+			line("CATEGORIES:" + escape(entry.category()));
+		}
+		line("END:VEVENT");
+	}
+
+	void end() {
+		line("END:VCALENDAR");
+	}
+
+	private void line(String content) {
+		try {
+			int lineBytes = 0;
+			for (int i = 0; i < content.length(); ) {
+				int codePoint = content.codePointAt(i);
+				int bytes = utf8Length(codePoint);
+				if (lineBytes + bytes > MAX_LINE_BYTES) {
+					writer.write("\r\n ");
+					lineBytes = 1;
+				}
+				writer.write(Character.toChars(codePoint));
+				lineBytes += bytes;
+				i += Character.charCount(codePoint);
+			}
+			writer.write("\r\n");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static int utf8Length(int codePoint) {
+		if (codePoint < 0x80) {
+			return 1;
+		}
+		if (codePoint < 0x800) {
+			return 2;
+		}
+		return codePoint < 0x10000 ? 3 : 4;
+	}
+
+	private static String utc(LocalDateTime date) {
+		return UTC_FORMAT.format(date.atZone(ZONE).toInstant());
+	}
+
+	static String escape(String text) {
+		return text.replace("\\", "\\\\")
+			.replace(";", "\\;")
+			.replace(",", "\\,")
+			.replace("\r\n", "\\n")
+			.replace("\n", "\\n");
+	}
+}
@@ -0,0 +1,80 @@
+package com.ssafy11.api.service;
+
+import com.ssafy11.domain.events.EventDao;
+import lombok.RequiredArgsConstructor;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 이벤트 방명록을 XLSX 로 내려준다.
+ * DB 커서로 한 줄씩 읽어 SXSSF 에 쓰고, 메모리에는 ROW_WINDOW 행만 두고 나머지는 압축된 임시 파일로 내보낸다.
+ * 헤더는 가져오기(ExcelService)가 찾는 성명/관계/금액 이라 내려받은 파일을 그대로 다시 올릴 수 있다.
+ * 합계 행은 다시 올릴 때 지인으로 읽히므로 넣지 않는다(합계는 /summary 로 본다).
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerExportService {
+
+    private static final int ROW_WINDOW = 100;
+    private static final String[] HEADERS = {"성명", "관계", "금액"};
+    private static final int[] COLUMN_WIDTHS = {20 * 256, 14 * 256, 14 * 256};
+
+    private final EventDao eventDao;
+
+    // DB 를 다 읽은 뒤에 응답으로 쓰므로, 느린 클라이언트가 커넥션을 붙잡고 있지 않는다
+    public void export(Integer eventId, OutputStream outputStream) throws IOException {
+        Assert.notNull(eventId, "eventId must not be null");
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("방명록");
+            CellStyle headerStyle = headerStyle(workbook);
+            CellStyle amountStyle = workbook.createCellStyle();
+            amountStyle.setDataFormat(workbook.createDataFormat().getFormat("#,##0"));
+
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+                header.getCell(i).setCellStyle(headerStyle);
+                sheet.setColumnWidth(i, COLUMN_WIDTHS[i]);
+            }
+            sheet.createFreezePane(0, 1);
+
+            int[] rowIndex = {1};
+            eventDao.forEachParticipant(eventId, participant -> {
+                Row row = sheet.createRow(rowIndex[0]++);
+                row.createCell(0).setCellValue(participant.guestName());
+                if (participant.category() != null) {
+                    row.createCell(1).setCellValue(participant.category());
+                }
+                if (participant.amount() != null) {
+                    row.createCell(2).setCellValue(participant.amount());
+                    row.getCell(2).setCellStyle(amountStyle);
+                }
+            });
+
+            workbook.write(outputStream);
+        } finally {
+            // close() 만으로는 임시 파일이 지워지지 않는다
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static CellStyle headerStyle(SXSSFWorkbook workbook) {
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        CellStyle style = workbook.createCellStyle();
+        style.setFont(bold);
+        return style;
+    }
+}
@@ -0,0 +1,293 @@
+package com.ssafy11.api.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy11.api.config.async.AsyncConfig;
+import com.ssafy11.api.dto.ExcelParse;
+import com.ssafy11.api.dto.LedgerImportStatus;
+import com.ssafy11.api.dto.LedgerImportStatus.State;
+import com.ssafy11.api.exception.ErrorCode;
+import com.ssafy11.api.exception.ErrorException;
+import com.ssafy11.domain.events.EventDao;
+import com.ssafy11.domain.guest.Guest;
+import com.ssafy11.domain.guest.GuestDao;
+import com.ssafy11.domain.participant.ParticipantDao;
+import com.ssafy11.domain.participant.dto.AddGuestResponse;
+import com.ssafy11.domain.participant.dto.LedgerEntry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 엑셀 장부를 받아 지인 매칭, 없는 지인 생성, 참가자 저장까지 뒤에서 처리한다.
+ * 요청은 파일을 임시 파일로 옮기고 작업 id 만 돌려주며, 진행 상황은 Redis 에 두어 어느 서버에서든 조회할 수 있다.
+ * 행은 CHUNK_SIZE 단위로 트랜잭션을 나눠 저장하므로 중간에 실패해도 앞 묶음은 남고, 같은 파일을 다시 올리면 금액만 덮어쓴다.
+ */
+@Slf4j
+@Service
+public class LedgerImportService {
+
+	static final int CHUNK_SIZE = 500;
+	private static final Duration STATUS_TTL = Duration.ofDays(1);
+	private static final String KEY_PREFIX = "ledger-import:";
+
+	private final ExcelService excelService;
+	private final ParticipantDao participantDao;
+	private final GuestDao guestDao;
+	private final EventDao eventDao;
+	private final TransactionTemplate transactionTemplate;
+	private final StringRedisTemplate stringRedisTemplate;
+	private final ObjectMapper objectMapper;
+	private final TaskExecutor executor;
+
+	public LedgerImportService(ExcelService excelService, ParticipantDao participantDao, GuestDao guestDao,
+		EventDao eventDao, TransactionTemplate transactionTemplate, StringRedisTemplate stringRedisTemplate,
+		ObjectMapper objectMapper, @Qualifier(AsyncConfig.LEDGER_IMPORT_EXECUTOR) TaskExecutor executor) {
+		this.excelService = excelService;
+		this.participantDao = participantDao;
+		this.guestDao = guestDao;
+		this.eventDao = eventDao;
+		this.transactionTemplate = transactionTemplate;
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.objectMapper = objectMapper;
+		this.executor = executor;
+	}
+
+	public LedgerImportStatus submit(String userId, Integer eventId, MultipartFile file) {
+		Assert.hasText(userId, "UserId must not be null");
+		Assert.notNull(eventId, "eventId is required");
+		Assert.notNull(file, "file is required");
+		Integer user = Integer.parseInt(userId);
+		Assert.isTrue(eventDao.isUserEventCreated(eventId, user), "사용자가 만든 이벤트가 아닙니다.");
+
+		// 요청이 끝나면 업로드 파일이 지워지므로 작업이 끝날 때까지 쓸 임시 파일로 옮겨 둔다
+		Path upload;
+		try {
+			upload = Files.createTempFile("ledger-import-", ".upload");
+			file.transferTo(upload);
+		} catch (IOException e) {
+			log.error("엑셀 업로드 파일 저장 실패", e);
+			throw new ErrorException(ErrorCode.InternalServer);
+		}
+
+		Progress progress = new Progress(UUID.randomUUID().toString(), eventId);
+		LedgerImportStatus status = save(user, progress);
+		try {
+			executor.execute(() -> run(user, progress, upload));
+		} catch (TaskRejectedException e) {
+			delete(upload);
+			stringRedisTemplate.delete(key(user, progress.jobId));
+			throw new ErrorException(ErrorCode.IMPORT_BUSY);
+		}
+		return status;
+	}
+
+	public LedgerImportStatus getStatus(String userId, String jobId) {
+		Assert.hasText(userId, "UserId must not be null");
+		Assert.hasText(jobId, "jobId is required");
+		String status = stringRedisTemplate.opsForValue().get(key(Integer.parseInt(userId), jobId));
+		if (status == null) {
+			throw new ErrorException(ErrorCode.NotFound);
+		}
+		try {
+			return objectMapper.readValue(status, LedgerImportStatus.class);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	void run(Integer userId, Progress progress, Path upload) {
+		progress.state = State.RUNNING;
+		save(userId, progress);
+		try {
+			GuestMatcher matcher = new GuestMatcher(guestDao.getGuestsByUserId(userId));
+			List<ExcelParse> chunk = new ArrayList<>(CHUNK_SIZE);
+			excelService.parseExcelFile(upload, row -> {
+				chunk.add(row);
+				if (chunk.size() == CHUNK_SIZE) {
+					importChunk(userId, progress, matcher, chunk);
+					chunk.clear();
+				}
+			});
+			importChunk(userId, progress, matcher, chunk);
+			progress.state = State.DONE;
+		} catch (ErrorException e) {
+			progress.fail(e.getErrorCode().getMessage());
+		} catch (Exception e) {
+			log.error("엑셀 장부 가져오기 실패 jobId={}", progress.jobId, e);
+			progress.fail(ErrorCode.InternalServer.getMessage());
+		} finally {
+			save(userId, progress);
+			delete(upload);
+		}
+	}
+
+	// 한 묶음을 한 트랜잭션으로: 없는 지인을 한 번에 만들고, 참가자를 한 번에 upsert 한다
+	private void importChunk(Integer userId, Progress progress, GuestMatcher matcher, List<ExcelParse> rows) {
+		if (rows.isEmpty()) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(status -> {
+			List<AddGuestResponse> newGuests = matcher.missing(rows);
+			if (!newGuests.isEmpty()) {
+				List<Integer> guestIds = participantDao.addGuests(newGuests);
+				participantDao.addUserRelations(guestIds, userId);
+				matcher.added(newGuests, guestIds);
+			}
+
+			// 파일 안에서 같은 지인으로 이어진 뒤쪽 행은 어느 금액이 맞는지 알 수 없으므로 덮어쓰지 않고 동명이인처럼 남긴다
+			Map<Integer, Integer> amounts = new LinkedHashMap<>();
+			for (ExcelParse row : rows) {
+				if (row.amount() <= 0) {
+					continue;
+				}
+				Integer guestId = matcher.match(row);
+				if (guestId == null || !progress.imported.add(guestId)) {
+					progress.ambiguous++;
+				} else {
+					amounts.put(guestId, row.amount());
+				}
+			}
+			List<LedgerEntry> entries = amounts.entrySet().stream()
+				.map(entry -> new LedgerEntry(entry.getKey(), entry.getValue()))
+				.toList();
+			participantDao.upsertParticipants(progress.eventId, entries);
+
+			progress.parsed += rows.size();
+			progress.createdGuests += newGuests.size();
+			progress.saved = progress.imported.size();
+		});
+		save(userId, progress);
+	}
+
+	private LedgerImportStatus save(Integer userId, Progress progress) {
+		LedgerImportStatus status = progress.toStatus();
+		try {
+			stringRedisTemplate.opsForValue().set(key(userId, progress.jobId), objectMapper.writeValueAsString(status), STATUS_TTL);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+		return status;
+	}
+
+	private static String key(Integer userId, String jobId) {
+		return KEY_PREFIX + userId + ":" + jobId;
+	}
+
+	private static void delete(Path upload) {
+		try {
+			Files.deleteIfExists(upload);
+		} catch (IOException e) {
+			log.warn("임시 파일 삭제 실패 {}", upload, e);
+		}
+	}
+
+	static final class Progress {
+		private final String jobId;
+		private final Integer eventId;
+		private final Set<Integer> imported = new HashSet<>();
+		private State state = State.QUEUED;
+		private int parsed;
+		private int saved;
+		private int createdGuests;
+		private int ambiguous;
+		private String message;
+
+		Progress(String jobId, Integer eventId) {
+			this.jobId = jobId;
+			this.eventId = eventId;
+		}
+
+		private void fail(String message) {
+			this.state = State.FAILED;
+			this.message = message;
+		}
+
+		private LedgerImportStatus toStatus() {
+			return new LedgerImportStatus(jobId, eventId, state, parsed, saved, createdGuests, ambiguous,
+				message, LocalDateTime.now());
+		}
+	}
+
+	/**
+	 * 이름으로 기존 지인을 찾는다.
+	 * 같은 이름이 하나면 그 지인, 여럿이면 관계까지 같은 지인이 하나일 때만 고르고 나머지는 동명이인으로 남겨 사용자가 정하게 한다.
+	 * 같은 이름이 없으면 이름과 관계가 같은 행마다 새 지인을 하나 만들고, 파일 뒤쪽의 같은 이름/관계는 새로 만든 지인으로 이어진다.
+	 */
+	static final class GuestMatcher {
+		private final Map<String, List<Guest>> guestsByName = new HashMap<>();
+		private final Set<Integer> created = new HashSet<>();
+
+		GuestMatcher(List<Guest> guests) {
+			guests.forEach(this::put);
+		}
+
+		List<AddGuestResponse> missing(List<ExcelParse> rows) {
+			Set<AddGuestResponse> missing = new LinkedHashSet<>();
+			for (ExcelParse row : rows) {
+				String name = row.name().trim();
+				if (isMissing(name, row.category())) {
+					missing.add(new AddGuestResponse(name, row.category(), null));
+				}
+			}
+			return List.copyOf(missing);
+		}
+
+		void added(List<AddGuestResponse> guests, List<Integer> guestIds) {
+			for (int i = 0; i < guests.size(); i++) {
+				AddGuestResponse guest = guests.get(i);
+				put(new Guest(guestIds.get(i), guest.name(), guest.category(), guest.phoneNumber()));
+				created.add(guestIds.get(i));
+			}
+		}
+
+		Integer match(ExcelParse row) {
+			List<Guest> candidates = guestsByName.getOrDefault(row.name().trim(), List.of());
+			if (candidates.size() == 1) {
+				return candidates.get(0).getGuestId();
+			}
+			List<Guest> sameCategory = candidates.stream()
+				.filter(guest -> Objects.equals(row.category(), guest.getGuestCategory()))
+				.toList();
+			return sameCategory.size() == 1 ? sameCategory.get(0).getGuestId() : null;
+		}
+
+		// 기존 지인이 없는 이름이거나, 이번에 만든 지인뿐인데 관계가 같은 지인이 없으면 새로 만든다
+		private boolean isMissing(String name, String category) {
+			List<Guest> candidates = guestsByName.get(name);
+			if (candidates == null) {
+				return true;
+			}
+			return candidates.stream().allMatch(guest -> created.contains(guest.getGuestId()))
+				&& candidates.stream().noneMatch(guest -> Objects.equals(category, guest.getGuestCategory()));
+		}
+
+		private void put(Guest guest) {
+			guestsByName.computeIfAbsent(guest.getGuestName().trim(), ignored -> new ArrayList<>()).add(guest);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.ssafy11.api.service;
+
+import com.ssafy11.api.dto.ExcelParse;
+
+import java.util.function.Consumer;
+
+/**
+ * 방명록 시트의 셀을 한 줄씩 받아 헤더(성명/이름, 관계, 금액)를 찾고, 그 다음 행부터 ExcelParse 로 넘긴다.
+ * 파일 형식과 무관하게 셀 단위로만 받으므로 어떤 파서에서 불러도 행을 모아 두지 않는다.
+ */
+class LedgerRowCollector {
+
+    private final Consumer<ExcelParse> consumer;
+
+    private int nameColumn = -1;
+    private int categoryColumn = -1;
+    private int amountColumn = -1;
+    private boolean headerFound;
+    private int count;
+
+    private String name;
+    private String category;
+    private Integer amount;
+
+    LedgerRowCollector(Consumer<ExcelParse> consumer) {
+        this.consumer = consumer;
+    }
+
+    // numeric 이면 text 는 숫자 셀의 원래 값(예: 50000, 5.0E4)
+    void cell(int column, String text, boolean numeric) {
+        if (text == null) {
+            return;
+        }
+        if (!headerFound) {
+            findHeader(column, text);
+            return;
+        }
+        if (column == nameColumn) {
+            name = text.trim();
+        } else if (column == categoryColumn) {
+            category = text.trim();
+        } else if (column == amountColumn && numeric) {
+            // 기존 파서와 같이 숫자 셀만 금액으로 보고 부호는 버린다
+            amount = Math.abs((int) Double.parseDouble(text));
+        }
+    }
+
+    void endRow() {
+        if (!headerFound) {
+            // 관계 열은 없어도 되지만 성명과 금액 열은 있어야 데이터가 시작된다
+            headerFound = nameColumn != -1 && amountColumn != -1;
+            return;
+        }
+        if (name != null && !name.isEmpty() && amount != null) {
+            consumer.accept(new ExcelParse(name, category, amount));
+            count++;
+        }
+        name = null;
+        category = null;
+        amount = null;
+    }
+
+    boolean headerFound() {
+        return headerFound;
+    }
+
+    int count() {
+        return count;
+    }
+
+    private void findHeader(int column, String text) {
+        String header = text.replaceAll("\\s", "");
+        if (header.contains("성명") || header.contains("이름")) {
+            nameColumn = column;
+        } else if (header.contains("관계")) {
+            categoryColumn = column;
+        } else if (header.contains("금액")) {
+            amountColumn = column;
+        }
+    }
+}
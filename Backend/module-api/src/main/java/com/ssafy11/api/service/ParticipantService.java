@@ -2,6 +2,8 @@ package com.ssafy11.api.service;
 
 import com.ssafy11.api.exception.ErrorCode;
 import com.ssafy11.api.exception.ErrorException;
+import com.ssafy11.domain.common.CursorDto;
+import com.ssafy11.domain.common.CursorResponse;
 import com.ssafy11.domain.common.PageDto;
 import com.ssafy11.domain.common.PageResponse;
 import com.ssafy11.domain.events.EventDao;
@@ -14,8 +16,10 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -42,6 +46,14 @@ public class ParticipantService {
 
     }
 
+    @Transactional(readOnly = true)
+    public CursorResponse<UserRelation> sameName(String userId, String name, String category, CursorDto cursorDto){
+        Assert.hasText(userId, "UserId must not be null");
+        CursorResponse<UserRelation> userRelationList = participantDao.sameName(Integer.parseInt(userId), name, category, cursorDto);
+        Assert.notNull(userRelationList, "userRelationList is required");
+        return withBalance(userRelationList, userId);
+    }
+
     @Transactional(readOnly = true)
     public PageResponse<Transaction> getTransactions(String userId, Integer guestId, PageDto pagedto){
         Assert.hasText(userId, "UserId must not be null");
@@ -51,6 +63,15 @@ public class ParticipantService {
         return transactionsList;
     }
 
+    @Transactional(readOnly = true)
+    public CursorResponse<Transaction> getTransactions(String userId, Integer guestId, CursorDto cursorDto){
+        Assert.hasText(userId, "UserId must not be null");
+        Assert.notNull(guestId, "guestId is required");
+        CursorResponse<Transaction> transactionsList = participantDao.getTransactions(Integer.parseInt(userId), guestId, cursorDto);
+        Assert.notNull(transactionsList, "transactionsList is required");
+        return transactionsList;
+    }
+
     @Transactional(readOnly = true)
     public TransactionSummary getTransactionSummary(String userId, Integer guestId){
         Assert.hasText(userId, "UserId must not be null");
@@ -103,6 +124,30 @@ public class ParticipantService {
         return resultId;
     }
 
+    // 이벤트 장부 일괄 저장, 검증은 목록 단위로 한 번에 한다
+    public LedgerResult saveLedger(Integer eventId, List<LedgerEntry> entries, String userId) {
+        Assert.notNull(eventId, "eventId is required");
+        Assert.notNull(entries, "entries is required");
+        Assert.isTrue(eventDao.isUserEventCreated(eventId, Integer.parseInt(userId)), "사용자가 만든 이벤트가 아닙니다.");
+
+        Set<Integer> guestIds = new HashSet<>();
+        for (LedgerEntry entry : entries) {
+            Assert.notNull(entry.guestId(), "guestId is required");
+            Assert.isTrue(entry.amount() != null && entry.amount() > 0, "값이 양수여야 합니다.");
+            if (!guestIds.add(entry.guestId())) {
+                throw new ErrorException(ErrorCode.Duplicated);
+            }
+        }
+        List<Integer> notMyGuests = guestIds.stream()
+                .filter(guestId -> !scheduleDao.isMyGuest(Integer.parseInt(userId), guestId))
+                .toList();
+        Assert.isTrue(notMyGuests.isEmpty(), "지인 관계가 아닙니다. " + notMyGuests);
+
+        LedgerResult result = participantDao.saveLedger(eventId, entries);
+        Assert.notNull(result, "result must not be null");
+        return result;
+    }
+
     public Integer deleteParticipant(Participant participant, String userId) {
         Assert.notNull(participant, "participant is required");
         Assert.isTrue(eventDao.isUserEventCreated(participant.eventId(), Integer.parseInt(userId)), "사용자가 만든 이벤트가 아닙니다.");
@@ -150,6 +195,20 @@ public class ParticipantService {
         return new PageResponse<>(list, page, totalItems, totalPages);
     }
 
+    @Transactional(readOnly = true)
+    public CursorResponse<UserRelation> getUserRelation(String userId, CursorDto cursorDto) {
+        Assert.hasText(userId, "userId is required");
+        CursorResponse<UserRelation> userRelationList = participantDao.getUserRelations(Integer.parseInt(userId), cursorDto);
+        Assert.notNull(userRelationList, "userRelationList is required");
+        return withBalance(userRelationList, userId);
+    }
+
+    private CursorResponse<UserRelation> withBalance(CursorResponse<UserRelation> userRelationList, String userId) {
+        List<UserRelation> list = userRelationList(userRelationList.data(), userId);
+        Assert.notNull(list, "list is required");
+        return new CursorResponse<>(list, userRelationList.nextCursor(), userRelationList.hasNext(), userRelationList.totalItemsCount());
+    }
+
     public List<UserRelation> userRelationList(List<UserRelation> result, String userId){
         List<UserRelation> UserRelations = new ArrayList<>();
         for (UserRelation relation : result) {
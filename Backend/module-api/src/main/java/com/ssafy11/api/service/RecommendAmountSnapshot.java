@@ -0,0 +1,69 @@
+package com.ssafy11.api.service;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ssafy11.domain.events.EventDao;
+import com.ssafy11.domain.events.dto.recommendAmount;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 카테고리별 최신 금액 분석 결과 스냅샷.
+ * 하루 한 번 스케줄러가 분석을 마치면 통째로 교체하고, 다른 서버에는 Redis 채널로 갱신을 알린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecommendAmountSnapshot {
+
+	public static final String REFRESH_TOPIC = "payment-analysis:refresh";
+
+	private final EventDao eventDao;
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final AtomicReference<Map<String, recommendAmount>> snapshot = new AtomicReference<>();
+
+	public recommendAmount get(String category) {
+		Map<String, recommendAmount> current = snapshot.get();
+		if (current == null) {
+			current = reload();
+		}
+		return current.get(category);
+	}
+
+	public Map<String, recommendAmount> reload() {
+		Map<String, recommendAmount> latest = eventDao.getLatestRecommendAmounts();
+		snapshot.set(latest);
+		log.info("금액 분석 스냅샷 갱신 categories={}", latest.keySet());
+		return latest;
+	}
+
+	// 커밋된 뒤에 갱신 메시지를 보내야 다른 서버가 새 분석 결과를 읽는다
+	public void publishAfterCommit() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			publish();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				publish();
+			}
+		});
+	}
+
+	private void publish() {
+		try {
+			redisTemplate.convertAndSend(REFRESH_TOPIC, System.currentTimeMillis());
+		} catch (RuntimeException e) {
+			log.warn("금액 분석 갱신 메시지 발행 실패, 로컬 스냅샷만 갱신합니다.", e);
+			reload();
+		}
+	}
+}
@@ -0,0 +1,320 @@
+package com.ssafy11.api.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ssafy11.api.config.async.AsyncConfig;
+import com.ssafy11.api.config.sms.SmsMessage;
+import com.ssafy11.api.config.sms.SmsSender;
+import com.ssafy11.api.dto.Mail;
+import com.ssafy11.domain.reminder.ReminderDao;
+import com.ssafy11.domain.reminder.dto.Reminder;
+import com.ssafy11.domain.reminder.dto.ReminderPosition;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 일정 전날 오전 9시에 SMS/메일로 알려주는 알림 엔진.
+ * 작업 잠금을 쥔 한 노드만 돌고, 앞으로 한 시간 안에 보낼 알림만 타이밍 휠에 올려 메모리를 제한한다.
+ * 반복 일정은 그 구간에 돌아오는 날짜만 펼쳐 일반 일정과 같은 (date, id) 순서로 섞는다.
+ * 보낸 위치(일정 date, id)를 reminder_cursor 에 남겨 재시작하면 그 다음부터 이어서 읽는다.
+ * 발송은 전용 스레드에서 사용자 묶음 단위로 하고, 묶음마다 임대를 늘리고 위치를 남겨 오래 걸려도 담당이 넘어가지 않는다.
+ * 발송 스레드에 넘겼지만 아직 못 보낸 알림도 MAX_PENDING 에 세어, 오전 9시에 몰려도 메모리에 쌓이는 알림 수가 묶인다.
+ * SMS/메일 서버가 실패하면 그 알림을 잠시 뒤 다시 보내고, 위치는 못 보낸 알림 앞까지만 남긴다.
+ */
+@Slf4j
+@Service
+public class ReminderService {
+
+	static final String JOB_NAME = "schedule-reminder";
+	static final LocalTime REMIND_TIME = LocalTime.of(9, 0);
+
+	private static final Duration LEASE = Duration.ofMinutes(2);
+	private static final Duration LOAD_AHEAD = Duration.ofHours(1);
+	private static final int PAGE_SIZE = 1_000;
+	static final int MAX_PENDING = 100_000;
+	static final int USER_BATCH_SIZE = 500;
+	private static final int SMS_BATCH_SIZE = 1_000;
+	private static final int MAIL_BATCH_SIZE = 100;
+	private static final int MAX_LINES = 3;
+	private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+	private final ReminderDao reminderDao;
+	private final ClusterJobRunner clusterJobRunner;
+	private final SmsSender smsSender;
+	private final JavaMailSender mailSender;
+	private final Executor sender;
+
+	private Long fencingToken;
+	private TimingWheel<Reminder> wheel;
+	private ReminderPosition loaded;
+	// 발송 스레드에 넘겼지만 아직 보내지 못한 알림 위치와, 넘긴 마지막 위치
+	private final NavigableSet<ReminderPosition> unsent = new TreeSet<>();
+	private ReminderPosition dispatched;
+
+	public ReminderService(ReminderDao reminderDao, ClusterJobRunner clusterJobRunner, SmsSender smsSender,
+		JavaMailSender mailSender, @Qualifier(AsyncConfig.REMINDER_EXECUTOR) Executor sender) {
+		this.reminderDao = reminderDao;
+		this.clusterJobRunner = clusterJobRunner;
+		this.smsSender = smsSender;
+		this.mailSender = mailSender;
+		this.sender = sender;
+	}
+
+	// 담당 노드를 유지하고 앞으로 한 시간 안의 알림을 휠에 채운다
+	@Scheduled(fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+	public synchronized void load() {
+		if (fencingToken != null && !clusterJobRunner.renew(JOB_NAME, fencingToken, LEASE)) {
+			log.warn("알림 담당 노드에서 빠짐");
+			reset();
+		}
+		if (fencingToken == null) {
+			Optional<Long> token = clusterJobRunner.tryLead(JOB_NAME, LEASE);
+			if (token.isEmpty()) {
+				return;
+			}
+			start(token.get());
+		}
+
+		LocalDateTime dateBound = scheduleDateBound(LocalDateTime.now().plus(LOAD_AHEAD));
+		while (pending() < MAX_PENDING) {
+			List<Reminder> page = reminderDao.getReminders(loaded, dateBound, Math.min(PAGE_SIZE, MAX_PENDING - pending()));
+			for (Reminder reminder : page) {
+				if (!wheel.add(epochMillis(remindAt(reminder.scheduleDate())), reminder)) {
+					return;
+				}
+				loaded = reminder.position();
+			}
+			if (page.size() < PAGE_SIZE) {
+				return;
+			}
+		}
+	}
+
+	// 시간이 된 알림을 휠에서 꺼내 발송 스레드에 넘긴다. 스케줄러 스레드에서는 보내지 않는다
+	@Scheduled(fixedRate = 1, timeUnit = TimeUnit.SECONDS)
+	public synchronized void tick() {
+		if (wheel == null) {
+			return;
+		}
+		List<Reminder> due = wheel.advance(System.currentTimeMillis());
+		if (due.isEmpty()) {
+			return;
+		}
+		dispatch(fencingToken, due);
+	}
+
+	// 못 보낸 알림으로 세어 두고 발송 스레드에 넘긴다
+	synchronized void dispatch(Long token, List<Reminder> due) {
+		for (Reminder reminder : due) {
+			unsent.add(reminder.position());
+			if (dispatched == null || reminder.position().compareTo(dispatched) > 0) {
+				dispatched = reminder.position();
+			}
+		}
+		sender.execute(() -> deliver(token, due));
+	}
+
+	// 사용자 묶음마다 DB 에서 다시 확인해 보내고, 임대를 늘린 뒤 위치를 남긴다
+	void deliver(Long token, List<Reminder> due) {
+		List<Reminder> ordered = new ArrayList<>(due);
+		ordered.sort(Comparator.comparing(Reminder::position));
+		List<List<Reminder>> byUser = new ArrayList<>(groupByUser(ordered).values());
+		for (int from = 0; from < byUser.size(); from += USER_BATCH_SIZE) {
+			// 담당에서 빠진 뒤 대기열에 남아 있던 발송은 새 담당 노드가 다시 보내므로 버린다
+			if (!isLeading(token)) {
+				return;
+			}
+			List<Reminder> batch = byUser.subList(from, Math.min(from + USER_BATCH_SIZE, byUser.size())).stream()
+				.flatMap(List::stream)
+				.toList();
+			List<Reminder> failed = send(current(batch));
+
+			// 그 사이 담당이 바뀌었으면 새 담당 노드의 위치를 덮어쓰지 않고 멈춘다
+			if (!clusterJobRunner.renew(JOB_NAME, token, LEASE)) {
+				log.warn("일정 알림 발송 중 담당 노드에서 빠짐");
+				lost(token);
+				return;
+			}
+			settle(token, batch, failed);
+		}
+	}
+
+	// 보낸 알림을 빼고, 못 보낸 알림은 잠시 뒤 다시 보내도록 휠에 돌려놓는다
+	// 위치는 (date, id) 순서로 못 보낸 알림 바로 앞까지만 남겨, 멈추면 다음 담당 노드가 그 뒤를 다시 보낸다
+	private synchronized void settle(Long token, List<Reminder> batch, List<Reminder> failed) {
+		if (!token.equals(fencingToken)) {
+			return;
+		}
+		batch.forEach(reminder -> unsent.remove(reminder.position()));
+		long retryAt = System.currentTimeMillis() + RETRY_DELAY.toMillis();
+		for (Reminder reminder : failed) {
+			unsent.add(reminder.position());
+			wheel.add(retryAt, reminder);
+		}
+		if (!failed.isEmpty()) {
+			log.warn("일정 알림 발송 실패, 다시 보냄 reminders={}", failed.size());
+		}
+		if (unsent.isEmpty()) {
+			reminderDao.saveCursor(JOB_NAME, dispatched);
+		} else {
+			ReminderPosition first = unsent.first();
+			reminderDao.saveCursor(JOB_NAME, new ReminderPosition(first.scheduleDate(), first.scheduleId() - 1));
+		}
+	}
+
+	// 휴일 없이 매일 같은 시각에 보내므로 알림 시각은 일정 날짜에 대해 단조 증가한다
+	static LocalDateTime remindAt(LocalDateTime scheduleDate) {
+		return scheduleDate.toLocalDate().minusDays(1).atTime(REMIND_TIME);
+	}
+
+	// 알림 시각이 limit 이전인 일정의 날짜 상한(제외)
+	static LocalDateTime scheduleDateBound(LocalDateTime limit) {
+		int days = limit.toLocalTime().isAfter(REMIND_TIME) ? 2 : 1;
+		return limit.toLocalDate().plusDays(days).atStartOfDay();
+	}
+
+	static Map<Integer, List<Reminder>> groupByUser(List<Reminder> reminders) {
+		Map<Integer, List<Reminder>> byUser = new LinkedHashMap<>();
+		for (Reminder reminder : reminders) {
+			byUser.computeIfAbsent(reminder.userId(), ignored -> new ArrayList<>()).add(reminder);
+		}
+		return byUser;
+	}
+
+	static String message(List<Reminder> reminders) {
+		StringBuilder message = new StringBuilder("[얼마줬노] 내일 일정 안내");
+		for (int i = 0; i < Math.min(MAX_LINES, reminders.size()); i++) {
+			Reminder reminder = reminders.get(i);
+			message.append("\n- ").append(reminder.guestName()).append(' ').append(reminder.scheduleName());
+		}
+		if (reminders.size() > MAX_LINES) {
+			message.append("\n외 ").append(reminders.size() - MAX_LINES).append("건");
+		}
+		return message.toString();
+	}
+
+	// 휠에 올린 뒤 지워지거나 날짜가 바뀐 일정(반복 규칙)은 빼고, 이름/연락처는 지금 값으로 보낸다
+	private List<Reminder> current(List<Reminder> batch) {
+		Map<ReminderPosition, Reminder> current = new HashMap<>();
+		for (Reminder reminder : reminderDao.getCurrentReminders(batch)) {
+			current.put(reminder.position(), reminder);
+		}
+		List<Reminder> live = new ArrayList<>(batch.size());
+		for (Reminder reminder : batch) {
+			Reminder now = current.get(reminder.position());
+			if (now != null) {
+				live.add(now);
+			}
+		}
+		return live;
+	}
+
+	// 발송에 실패한 묶음에 든 사용자의 알림을 돌려준다
+	private List<Reminder> send(List<Reminder> due) {
+		if (due.isEmpty()) {
+			return List.of();
+		}
+		LocalDateTime now = LocalDateTime.now();
+		List<SmsMessage> smsMessages = new ArrayList<>();
+		List<List<Reminder>> smsReminders = new ArrayList<>();
+		List<SimpleMailMessage> mailMessages = new ArrayList<>();
+		List<List<Reminder>> mailReminders = new ArrayList<>();
+		groupByUser(due).forEach((userId, reminders) -> {
+			// 서버가 오래 멈춰 있던 사이 지나간 일정은 알리지 않는다
+			List<Reminder> upcoming = reminders.stream()
+				.filter(reminder -> reminder.scheduleDate().isAfter(now))
+				.toList();
+			if (upcoming.isEmpty()) {
+				return;
+			}
+			String message = message(upcoming);
+			smsMessages.add(new SmsMessage(upcoming.get(0).phoneNumber(), message));
+			smsReminders.add(upcoming);
+			if (upcoming.get(0).email() != null) {
+				mailMessages.add(Mail.of(upcoming.get(0).email(), "얼마줬노 내일 일정 안내", message));
+				mailReminders.add(upcoming);
+			}
+		});
+
+		Set<Reminder> failed = new LinkedHashSet<>();
+		for (int from = 0; from < smsMessages.size(); from += SMS_BATCH_SIZE) {
+			int to = Math.min(from + SMS_BATCH_SIZE, smsMessages.size());
+			try {
+				smsSender.sendSms(smsMessages.subList(from, to));
+			} catch (RuntimeException e) {
+				log.error("일정 알림 SMS 발송 실패 from={}", from, e);
+				smsReminders.subList(from, to).forEach(failed::addAll);
+			}
+		}
+		for (int from = 0; from < mailMessages.size(); from += MAIL_BATCH_SIZE) {
+			int to = Math.min(from + MAIL_BATCH_SIZE, mailMessages.size());
+			try {
+				mailSender.send(mailMessages.subList(from, to).toArray(SimpleMailMessage[]::new));
+			} catch (RuntimeException e) {
+				log.error("일정 알림 메일 발송 실패 from={}", from, e);
+				mailReminders.subList(from, to).forEach(failed::addAll);
+			}
+		}
+		log.info("일정 알림 발송 reminders={} sms={} mail={} failed={}", due.size(), smsMessages.size(),
+			mailMessages.size(), failed.size());
+		return List.copyOf(failed);
+	}
+
+	// 담당 노드가 되면 남겨 둔 위치부터 다시 읽는다. 처음이면 지금 이후 알림부터 시작한다
+	private void start(Long token) {
+		this.fencingToken = token;
+		this.wheel = new TimingWheel<>(1_000, 60, 3, System.currentTimeMillis());
+		this.loaded = reminderDao.getCursor(JOB_NAME)
+			.orElseGet(() -> new ReminderPosition(scheduleDateBound(LocalDateTime.now()).minusSeconds(1), Integer.MAX_VALUE));
+		log.info("일정 알림 담당 노드 시작 from={}", loaded);
+	}
+
+	// 휠에 남은 알림과 발송을 기다리는 알림을 함께 센다
+	private int pending() {
+		return wheel.size() + unsent.size();
+	}
+
+	private synchronized boolean isLeading(Long token) {
+		return token.equals(fencingToken);
+	}
+
+	private synchronized void lost(Long token) {
+		if (token.equals(fencingToken)) {
+			reset();
+		}
+	}
+
+	private void reset() {
+		this.fencingToken = null;
+		this.wheel = null;
+		this.loaded = null;
+		this.unsent.clear();
+		this.dispatched = null;
+	}
+
+	private static long epochMillis(LocalDateTime time) {
+		return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+}
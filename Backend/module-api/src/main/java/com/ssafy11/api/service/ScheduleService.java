@@ -3,18 +3,26 @@ package com.ssafy11.api.service;
 import com.ssafy11.domain.schedule.ScheduleDao;
 import com.ssafy11.domain.schedule.dto.RecentSchedule;
 import com.ssafy11.domain.schedule.dto.Schedule;
+import com.ssafy11.domain.schedule.dto.ScheduleRecurrence;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ScheduleService {
 
+    private static final int MAX_MONTHS = 12;
+
     private final ScheduleDao scheduleDao;
 
     public boolean isMyGuest(String userId, Integer guestId){
@@ -69,12 +77,35 @@ public class ScheduleService {
         Assert.hasText(userId, "UserId must not be null");
         Assert.notNull(year, "Year must not be null");
         Assert.notNull(month, "Month must not be null");
+        Assert.isTrue(month >= 1 && month <= 12, "month must be between 1 and 12");
 
         List<Schedule> scheduleList = scheduleDao.getSchedule(Integer.parseInt(userId), year, month);
         Assert.notNull(scheduleList, "scheduleList is required");
         return scheduleList;
     }
 
+    // 달력에서 앞뒤 달을 미리 받아 둘 수 있게 여러 달을 한 번에 조회, 일정이 없는 달도 빈 목록으로 담는다
+    @Transactional(readOnly = true)
+    public Map<YearMonth, List<Schedule>> getSchedules(String userId, Integer year, Integer month, Integer months){
+        Assert.hasText(userId, "UserId must not be null");
+        Assert.notNull(year, "Year must not be null");
+        Assert.notNull(month, "Month must not be null");
+        Assert.isTrue(month >= 1 && month <= 12, "month must be between 1 and 12");
+        Assert.isTrue(months != null && months > 0 && months <= MAX_MONTHS, "months must be between 1 and " + MAX_MONTHS);
+
+        YearMonth first = YearMonth.of(year, month);
+        Map<YearMonth, List<Schedule>> schedules = new LinkedHashMap<>();
+        for (int i = 0; i < months; i++) {
+            schedules.put(first.plusMonths(i), new ArrayList<>());
+        }
+
+        LocalDateTime from = first.atDay(1).atStartOfDay();
+        for (Schedule schedule : scheduleDao.getSchedules(Integer.parseInt(userId), from, from.plusMonths(months))) {
+            schedules.get(YearMonth.from(schedule.date())).add(schedule);
+        }
+        return schedules;
+    }
+
     @Transactional(readOnly = true)
     public List<RecentSchedule> getRecentSchedule(String userId){
         Assert.hasText(userId, "UserId must not be null");
@@ -83,4 +114,57 @@ public class ScheduleService {
         Assert.notNull(scheduleList, "scheduleList is required");
         return scheduleList;
     }
+
+    // 생일, 제사처럼 매년(매달) 돌아오는 일정은 규칙만 저장하고 조회할 때 펼친다
+    public Integer addRecurrence(String userId, ScheduleRecurrence recurrence){
+        Assert.hasText(userId, "UserId must not be null");
+        Assert.notNull(recurrence, "recurrence is required");
+        Assert.hasText(recurrence.name(), "name is required");
+        Assert.notNull(recurrence.frequency(), "frequency is required");
+        Assert.notNull(recurrence.startDate(), "startDate is required");
+        Assert.isTrue(recurrence.untilDate() == null || !recurrence.untilDate().isBefore(recurrence.startDate()), "반복 종료일이 시작일보다 빠릅니다.");
+
+        Assert.isTrue(isMyGuest(userId, recurrence.guestId()),"지인관계가 아닙니다.");
+
+        if(recurrence.paidAmount()!=0){
+            Assert.isTrue(recurrence.paidAmount()<0, "값이 음수여야 합니다.");
+        }
+
+        Integer resultId = scheduleDao.addRecurrence(recurrence, Integer.parseInt(userId));
+        Assert.notNull(resultId, "resultId is required");
+        return resultId;
+    }
+
+    public Integer updateRecurrence(String userId, ScheduleRecurrence recurrence){
+        Assert.hasText(userId, "UserId must not be null");
+        Assert.notNull(recurrence, "recurrence is required");
+        Assert.notNull(recurrence.recurrenceId(), "recurrenceId is required");
+
+        if(recurrence.guestId()!=null){
+            Assert.isTrue(isMyGuest(userId, recurrence.guestId()),"지인관계가 아닙니다.");
+        }
+
+        if(recurrence.paidAmount()!=0){
+            Assert.isTrue(recurrence.paidAmount()<0, "값이 음수여야 합니다.");
+        }
+
+        Integer resultId = scheduleDao.updateRecurrence(recurrence, Integer.parseInt(userId));
+        Assert.notNull(resultId, "resultId is required");
+        return resultId;
+    }
+
+    public Integer deleteRecurrence(String userId, Integer recurrenceId){
+        Assert.hasText(userId, "UserId must not be null");
+        Assert.notNull(recurrenceId, "recurrenceId is required");
+
+        Integer resultId = scheduleDao.deleteRecurrence(recurrenceId, Integer.parseInt(userId));
+        Assert.isTrue(resultId == 1, "본인의 반복 일정만 삭제할 수 있습니다.");
+        return resultId;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduleRecurrence> getRecurrences(String userId){
+        Assert.hasText(userId, "UserId must not be null");
+        return scheduleDao.getRecurrences(Integer.parseInt(userId));
+    }
 }
@@ -1,75 +1,142 @@
 package com.ssafy11.api.service;
 
+import com.ssafy11.domain.scheduler.dto.AnalysisWatermark;
+import com.ssafy11.domain.scheduler.dto.DailyAmountCount;
+import com.ssafy11.domain.scheduler.dto.PaymentAmountDelta;
 import com.ssafy11.domain.scheduler.dto.PaymentAnalysisDto;
 import com.ssafy11.domain.scheduler.SchedulerDao;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RequiredArgsConstructor
 @Transactional
 @Service
 public class SchedulerService {
+    static final String JOB_NAME = "payment-analysis";
+    private static final String ANALYSIS_NAME = "payment_analysis";
+    static final int DELTA_PAGE_SIZE = 1_000;
+
+    private record DailyAmountKey(String category, LocalDate day, Integer amount) {
+    }
+
     private final SchedulerDao schedulerDao;
+    private final RecommendAmountSnapshot recommendAmountSnapshot;
+    private final ClusterJobRunner clusterJobRunner;
 
+    // 작업 잠금을 얻은 노드에서만 실행된다. 커밋 전에 잠금을 아직 쥐고 있는지 확인한다
     @Transactional
-    @Scheduled(cron = "0 0 0 * * *")
-    public void scheduledTask() {
-        List<String> categories = List.of("돌잔치", "장례식", "생일", "결혼식", "기타");
-        for (String category : categories) {
-            PaymentAnalysisDto result = schedulerDao.analyzePay(category);
-
-            if (result != null) {
-                BigDecimal under50kRatio = Optional.ofNullable(result.under50kRatio())
-                        .map(value -> value.setScale(1, RoundingMode.HALF_UP))
-                        .orElse(BigDecimal.ZERO);
-
-                BigDecimal between50k100kRatio = Optional.ofNullable(result.between50k100kRatio())
-                        .map(value -> value.setScale(1, RoundingMode.HALF_UP))
-                        .orElse(BigDecimal.ZERO);
-
-                BigDecimal between100k150kRatio = Optional.ofNullable(result.between100k150kRatio())
-                        .map(value -> value.setScale(1, RoundingMode.HALF_UP))
-                        .orElse(BigDecimal.ZERO);
-
-                BigDecimal above150kRatio = Optional.ofNullable(result.above150kRatio())
-                        .map(value -> value.setScale(1, RoundingMode.HALF_UP))
-                        .orElse(BigDecimal.ZERO);
-
-                BigDecimal minAmount = Optional.ofNullable(result.minAmount())
-                        .map(value -> value.setScale(1, RoundingMode.HALF_UP))
-                        .orElse(BigDecimal.ZERO);
-
-                BigDecimal maxAmount = Optional.ofNullable(result.maxAmount())
-                        .map(value -> value.setScale(1, RoundingMode.HALF_UP))
-                        .orElse(BigDecimal.ZERO);
-
-                BigDecimal topAmount = Optional.ofNullable(result.topAmount())
-                        .map(value -> value.setScale(1, RoundingMode.HALF_UP))
-                        .orElse(BigDecimal.ZERO);
-
-                String currentTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-
-                schedulerDao.saveAnalyzePay(
-                        under50kRatio,
-                        between50k100kRatio,
-                        between100k150kRatio,
-                        above150kRatio,
-                        minAmount,
-                        maxAmount,
-                        topAmount,
-                        category,
-                        currentTime
-                );
+    public void scheduledTask(Long fencingToken) {
+        refreshAmounts(LocalDateTime.now());
+
+        for (PaymentAnalysisDto result : schedulerDao.analyzePay()) {
+            String category = result.category();
+
+            BigDecimal under50kRatio = Optional.ofNullable(result.under50kRatio())
+                    .map(value -> value.setScale(1, RoundingMode.HALF_UP))
+                    .orElse(BigDecimal.ZERO);
+
+            BigDecimal between50k100kRatio = Optional.ofNullable(result.between50k100kRatio())
+                    .map(value -> value.setScale(1, RoundingMode.HALF_UP))
+                    .orElse(BigDecimal.ZERO);
+
+            BigDecimal between100k150kRatio = Optional.ofNullable(result.between100k150kRatio())
+                    .map(value -> value.setScale(1, RoundingMode.HALF_UP))
+                    .orElse(BigDecimal.ZERO);
+
+            BigDecimal above150kRatio = Optional.ofNullable(result.above150kRatio())
+                    .map(value -> value.setScale(1, RoundingMode.HALF_UP))
+                    .orElse(BigDecimal.ZERO);
+
+            BigDecimal minAmount = Optional.ofNullable(result.minAmount())
+                    .map(value -> value.setScale(1, RoundingMode.HALF_UP))
+                    .orElse(BigDecimal.ZERO);
+
+            BigDecimal maxAmount = Optional.ofNullable(result.maxAmount())
+                    .map(value -> value.setScale(1, RoundingMode.HALF_UP))
+                    .orElse(BigDecimal.ZERO);
+
+            BigDecimal topAmount = Optional.ofNullable(result.topAmount())
+                    .map(value -> value.setScale(1, RoundingMode.HALF_UP))
+                    .orElse(BigDecimal.ZERO);
+
+            String currentTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+            schedulerDao.saveAnalyzePay(
+                    under50kRatio,
+                    between50k100kRatio,
+                    between100k150kRatio,
+                    above150kRatio,
+                    minAmount,
+                    maxAmount,
+                    topAmount,
+                    category,
+                    currentTime
+            );
+        }
+        clusterJobRunner.checkFence(JOB_NAME, fencingToken);
+        recommendAmountSnapshot.publishAfterCommit();
+    }
+
+    // 지난 실행 이후 참여 내역 변경 기록(추가 +1, 수정 전/삭제 -1)만 일별 집계에 더하고, 1년 구간에서 빠진 날짜만 뺀다.
+    // 처음이면 전체 참여 내역으로 만들고, 그때까지 쌓인 변경 기록은 이미 반영된 것이라 지우기만 한다.
+    void refreshAmounts(LocalDateTime now) {
+        LocalDate windowStart = now.toLocalDate().minusYears(1);
+        Optional<AnalysisWatermark> watermark = schedulerDao.getWatermark(ANALYSIS_NAME);
+
+        if (watermark.isEmpty()) {
+            schedulerDao.clearAmounts();
+            takeDeltas();
+            List<DailyAmountCount> amounts = schedulerDao.getAmounts();
+            schedulerDao.addDailyAmounts(amounts);
+            schedulerDao.addWindowAmounts(inWindow(amounts, windowStart), 1);
+        } else {
+            LocalDate previousStart = watermark.get().windowStart();
+            List<DailyAmountCount> amounts = takeDeltas();
+            schedulerDao.addDailyAmounts(amounts);
+            schedulerDao.addWindowAmounts(inWindow(amounts, previousStart), 1);
+            if (previousStart.isBefore(windowStart)) {
+                schedulerDao.addWindowAmounts(schedulerDao.getDailyAmounts(previousStart, windowStart), -1);
             }
         }
+        schedulerDao.deleteDailyAmountsBefore(windowStart);
+        schedulerDao.saveWatermark(ANALYSIS_NAME, new AnalysisWatermark(now, windowStart));
+    }
+
+    // 변경 기록을 (카테고리, 날짜, 금액)별 건수 변화로 모으고 읽은 기록을 지운다
+    private List<DailyAmountCount> takeDeltas() {
+        Map<DailyAmountKey, Integer> counts = new LinkedHashMap<>();
+        Long after = 0L;
+        List<PaymentAmountDelta> deltas;
+        do {
+            deltas = schedulerDao.getAmountDeltas(after, DELTA_PAGE_SIZE);
+            for (PaymentAmountDelta delta : deltas) {
+                counts.merge(new DailyAmountKey(delta.category(), delta.day(), delta.amount()), delta.sign(), Integer::sum);
+                after = delta.id();
+            }
+            schedulerDao.deleteAmountDeltas(deltas.stream().map(PaymentAmountDelta::id).toList());
+        } while (deltas.size() == DELTA_PAGE_SIZE);
+
+        return counts.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new DailyAmountCount(entry.getKey().category(), entry.getKey().day(),
+                        entry.getKey().amount(), entry.getValue()))
+                .toList();
+    }
+
+    private static List<DailyAmountCount> inWindow(List<DailyAmountCount> amounts, LocalDate windowStart) {
+        return amounts.stream()
+                .filter(amount -> !amount.day().isBefore(windowStart))
+                .toList();
     }
 }
@@ -0,0 +1,111 @@
+package com.ssafy11.api.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠.
+ * 아래 단계 한 바퀴가 위 단계 한 칸이 되고, 위 단계 칸의 시간이 되면 그 칸의 항목을 아래 단계로 내려 다시 넣는다.
+ * 추가/만료가 항목 수와 무관하게 O(1)이며, 한 스레드에서만 쓴다.
+ */
+class TimingWheel<T> {
+
+	private record Entry<T>(long deadline, T item) {
+	}
+
+	private final long tickMillis;
+	private final int wheelSize;
+	private final long[] levelTicks;
+	private final List<ArrayDeque<Entry<T>>[]> levels = new ArrayList<>();
+	private long currentTime;
+	private int size;
+
+	@SuppressWarnings("unchecked")
+	TimingWheel(long tickMillis, int wheelSize, int levelCount, long startTime) {
+		this.tickMillis = tickMillis;
+		this.wheelSize = wheelSize;
+		this.levelTicks = new long[levelCount];
+		long levelTick = tickMillis;
+		for (int level = 0; level < levelCount; level++) {
+			levelTicks[level] = levelTick;
+			ArrayDeque<Entry<T>>[] buckets = new ArrayDeque[wheelSize];
+			for (int bucket = 0; bucket < wheelSize; bucket++) {
+				buckets[bucket] = new ArrayDeque<>();
+			}
+			levels.add(buckets);
+			levelTick *= wheelSize;
+		}
+		this.currentTime = startTime - startTime % tickMillis;
+	}
+
+	// 넣을 수 있는 가장 먼 시각(제외)
+	long horizon() {
+		int top = levelTicks.length - 1;
+		return currentTime - currentTime % levelTicks[top] + levelTicks[top] * wheelSize;
+	}
+
+	int size() {
+		return size;
+	}
+
+	long currentTime() {
+		return currentTime;
+	}
+
+	// 이미 지난 시각은 다음 advance 에서 바로 만료된다. 휠 범위를 넘으면 false
+	boolean add(long deadline, T item) {
+		if (deadline >= horizon()) {
+			return false;
+		}
+		place(new Entry<>(Math.max(deadline, currentTime), item), null);
+		size++;
+		return true;
+	}
+
+	// now 까지 한 칸씩 돌리며 만료된 항목을 마감 시각 순서(칸 단위)로 돌려준다
+	List<T> advance(long now) {
+		List<T> expired = new ArrayList<>();
+		drain(0, bucketIndex(0, currentTime), expired);
+		while (currentTime + tickMillis <= now) {
+			currentTime += tickMillis;
+			for (int level = levelTicks.length - 1; level > 0; level--) {
+				if (currentTime % levelTicks[level] == 0) {
+					ArrayDeque<Entry<T>> bucket = levels.get(level)[bucketIndex(level, currentTime)];
+					List<Entry<T>> cascaded = new ArrayList<>(bucket);
+					bucket.clear();
+					cascaded.forEach(entry -> place(entry, expired));
+				}
+			}
+			drain(0, bucketIndex(0, currentTime), expired);
+		}
+		size -= expired.size();
+		return expired;
+	}
+
+	private void place(Entry<T> entry, List<T> expired) {
+		if (entry.deadline() < currentTime + tickMillis && expired != null) {
+			expired.add(entry.item());
+			return;
+		}
+		for (int level = 0; level < levelTicks.length; level++) {
+			long levelStart = currentTime - currentTime % levelTicks[level];
+			if (entry.deadline() < levelStart + levelTicks[level] * wheelSize) {
+				levels.get(level)[bucketIndex(level, entry.deadline())].add(entry);
+				return;
+			}
+		}
+		throw new IllegalStateException("deadline beyond wheel horizon");
+	}
+
+	private void drain(int level, int index, List<T> expired) {
+		ArrayDeque<Entry<T>> bucket = levels.get(level)[index];
+		while (!bucket.isEmpty()) {
+			expired.add(bucket.poll().item());
+		}
+	}
+
+	private int bucketIndex(int level, long time) {
+		return (int) ((time / levelTicks[level]) % wheelSize);
+	}
+}
@@ -0,0 +1,116 @@
+package com.ssafy11.api.service;
+
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.IntFunction;
+
+/**
+ * 예전 XLS(BIFF8) 를 HSSF 이벤트 모델로 읽는다.
+ * HSSFWorkbook 을 만들지 않고 레코드를 읽는 대로 셀로 넘겨, 메모리는 공유 문자열 표(SST)만큼만 쓴다.
+ * 시트 레코드가 한 스트림에 이어져 있어 시트는 차례대로 읽고 collector 만 시트마다 따로 받는다.
+ */
+final class XlsLedgerParser {
+
+    private XlsLedgerParser() {
+    }
+
+    static void parse(InputStream inputStream, IntFunction<LedgerRowCollector> sheets) throws IOException {
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(inputStream)) {
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(new SheetListener(sheets));
+            new HSSFEventFactory().processWorkbookEvents(request, fileSystem);
+        }
+    }
+
+    // RK/MulRK 는 HSSFEventFactory 가 NumberRecord 로 풀어서 넘겨 준다
+    private static final class SheetListener implements HSSFListener {
+
+        private final IntFunction<LedgerRowCollector> sheets;
+
+        private SSTRecord sharedStrings;
+        private LedgerRowCollector collector;
+        private int sheetIndex;
+        private int depth;
+        private int row = -1;
+
+        // 문자열 수식은 결과가 바로 뒤 StringRecord 로 온다
+        private int formulaColumn = -1;
+
+        private SheetListener(IntFunction<LedgerRowCollector> sheets) {
+            this.sheets = sheets;
+        }
+
+        @Override
+        public void processRecord(Record record) {
+            switch (record) {
+                case BOFRecord bof -> {
+                    // 시트 안에 들어 있는 차트도 BOF/EOF 를 가지므로 깊이로 구분한다
+                    if (++depth == 1 && bof.getType() == BOFRecord.TYPE_WORKSHEET) {
+                        collector = sheets.apply(sheetIndex++);
+                        row = -1;
+                    }
+                }
+                case EOFRecord ignored -> {
+                    if (--depth == 0 && collector != null) {
+                        if (row != -1) {
+                            collector.endRow();
+                        }
+                        collector = null;
+                    }
+                }
+                case SSTRecord sst -> sharedStrings = sst;
+                case LabelSSTRecord label -> cell(label, sharedStrings.getString(label.getSSTIndex()).getString(), false);
+                case LabelRecord label -> cell(label, label.getValue(), false);
+                case NumberRecord number -> cell(number, Double.toString(number.getValue()), true);
+                case FormulaRecord formula -> {
+                    if (formula.hasCachedResultString()) {
+                        cell(formula, null, false);
+                        formulaColumn = formula.getColumn();
+                    } else if (formula.getCachedResultType() == CellType.NUMERIC.getCode()) {
+                        cell(formula, Double.toString(formula.getValue()), true);
+                    }
+                }
+                case StringRecord string -> {
+                    if (formulaColumn != -1 && collector != null && depth == 1) {
+                        collector.cell(formulaColumn, string.getString(), false);
+                    }
+                    formulaColumn = -1;
+                }
+                default -> {
+                }
+            }
+        }
+
+        // 셀 레코드는 행 순서대로 오므로 행 번호가 바뀌면 앞 행이 끝난 것이다
+        private void cell(CellValueRecordInterface cell, String text, boolean numeric) {
+            if (collector == null || depth != 1) {
+                return;
+            }
+            if (cell.getRow() != row) {
+                if (row != -1) {
+                    collector.endRow();
+                }
+                row = cell.getRow();
+            }
+            if (text != null && !text.isEmpty()) {
+                collector.cell(cell.getColumn(), text, numeric);
+            }
+        }
+    }
+}
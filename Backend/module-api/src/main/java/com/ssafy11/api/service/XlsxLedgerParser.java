@@ -0,0 +1,177 @@
+package com.ssafy11.api.service;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * XLSX 시트를 XSSFReader + SAX 로 읽는다.
+ * 시트 XML 을 DOM 으로 올리지 않고 셀마다 Cell 객체나 toString() 을 만들지 않아, 행 수가 늘어도 메모리는 공유 문자열 표만큼만 쓴다.
+ * 패키지는 스트림이 아니라 파일에서 읽기 전용으로 열어, zip 전체를 메모리에 풀지 않고 필요한 항목만 그때그때 읽는다.
+ * 시트가 여럿이면 시트마다 따로 collector 를 받아 동시에 읽는다. 공유 문자열 표는 읽기 전용이라 같이 써도 된다.
+ */
+final class XlsxLedgerParser {
+
+    private XlsxLedgerParser() {
+    }
+
+    static void parse(File file, IntFunction<LedgerRowCollector> sheets)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        // 읽기 전용 패키지는 close() 가 저장을 시도하므로 revert() 로 닫는다
+        OPCPackage opcPackage = OPCPackage.open(file, PackageAccess.READ);
+        try {
+            XSSFReader reader = new XSSFReader(opcPackage);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
+
+            List<InputStream> sheetData = new ArrayList<>();
+            try {
+                reader.getSheetsData().forEachRemaining(sheetData::add);
+                if (sheetData.size() == 1) {
+                    parseSheet(sheetData.get(0), sharedStrings, sheets.apply(0));
+                    return;
+                }
+                parseSheets(sheetData, sharedStrings, sheets);
+            } finally {
+                for (InputStream sheet : sheetData) {
+                    sheet.close();
+                }
+            }
+        } finally {
+            opcPackage.revert();
+        }
+    }
+
+    // 파싱은 CPU 작업이라 가상 스레드여도 캐리어 스레드 수(코어 수)만큼만 동시에 돈다
+    private static void parseSheets(List<InputStream> sheetData, ReadOnlySharedStringsTable sharedStrings,
+                                    IntFunction<LedgerRowCollector> sheets)
+            throws IOException, SAXException, ParserConfigurationException {
+        List<Future<?>> futures = new ArrayList<>(sheetData.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sheetData.size(); i++) {
+                InputStream sheet = sheetData.get(i);
+                LedgerRowCollector collector = sheets.apply(i);
+                futures.add(executor.submit(() -> {
+                    parseSheet(sheet, sharedStrings, collector);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case IOException cause -> throw cause;
+                case SAXException cause -> throw cause;
+                case ParserConfigurationException cause -> throw cause;
+                case RuntimeException cause -> throw cause;
+                case Error cause -> throw cause;
+                default -> throw new IllegalStateException(e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("시트 파싱이 중단되었습니다.", e);
+        }
+    }
+
+    private static void parseSheet(InputStream sheet, ReadOnlySharedStringsTable sharedStrings, LedgerRowCollector collector)
+            throws IOException, SAXException, ParserConfigurationException {
+        XMLReader xmlReader = XMLHelper.newXMLReader();
+        xmlReader.setContentHandler(new SheetHandler(sharedStrings, collector));
+        xmlReader.parse(new InputSource(sheet));
+    }
+
+    // <row><c r="B3" t="s"><v>0</v></c></row> 에서 필요한 값만 뽑는다
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final LedgerRowCollector collector;
+        private final StringBuilder value = new StringBuilder();
+
+        private boolean inValue;
+        private int column;
+        private int nextColumn;
+        private String type;
+
+        private SheetHandler(ReadOnlySharedStringsTable sharedStrings, LedgerRowCollector collector) {
+            this.sharedStrings = sharedStrings;
+            this.collector = collector;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> nextColumn = 0;
+                case "c" -> {
+                    String reference = attributes.getValue("r");
+                    column = reference == null ? nextColumn : columnIndex(reference);
+                    nextColumn = column + 1;
+                    type = attributes.getValue("t");
+                    value.setLength(0);
+                }
+                case "v", "t" -> inValue = true;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> inValue = false;
+                case "c" -> cell();
+                case "row" -> collector.endRow();
+                default -> {
+                }
+            }
+        }
+
+        private void cell() {
+            if (value.isEmpty()) {
+                return;
+            }
+            if (type == null || type.equals("n")) {
+                collector.cell(column, value.toString(), true);
+            } else if (type.equals("s")) {
+                collector.cell(column, sharedStrings.getItemAt(Integer.parseInt(value.toString())).getString(), false);
+            } else if (!type.equals("e")) {
+                collector.cell(column, value.toString(), false);
+            }
+        }
+
+        // "AB12" -> 27
+        private static int columnIndex(String reference) {
+            int index = 0;
+            for (int i = 0; i < reference.length() && Character.isLetter(reference.charAt(i)); i++) {
+                index = index * 26 + (reference.charAt(i) - 'A' + 1);
+            }
+            return index - 1;
+        }
+    }
+}
@@ -21,6 +21,26 @@ CREATE TABLE guest (
                        create_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+CREATE TABLE guest_sync (
+                       users_id INT PRIMARY KEY,
+                       digest CHAR(64) NOT NULL,
+                       update_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                       FOREIGN KEY (users_id) REFERENCES users(id)
+);
+
+CREATE TABLE guest_merge_proposal (
+                       id INT PRIMARY KEY AUTO_INCREMENT,
+                       users_id INT NOT NULL,
+                       keep_guest_id INT NOT NULL,
+                       merge_guest_id INT NOT NULL,
+                       score DECIMAL(3,2) NOT NULL,
+                       create_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                       CONSTRAINT unique_users_merge UNIQUE (users_id, keep_guest_id, merge_guest_id),
+                       FOREIGN KEY (users_id) REFERENCES users(id),
+                       FOREIGN KEY (keep_guest_id) REFERENCES guest(id),
+                       FOREIGN KEY (merge_guest_id) REFERENCES guest(id)
+);
+
 CREATE TABLE event (
                        id INT PRIMARY KEY AUTO_INCREMENT,
                        name VARCHAR(255) NOT NULL,
@@ -31,15 +51,23 @@ CREATE TABLE event (
                        FOREIGN KEY (users_id) REFERENCES users(id)
 );
 
+CREATE INDEX idx_event_users_date_id ON event (users_id, date, id);
+
+-- synced 는 연락처 동기화로 추가/수정한 지인, 주소록에서 빠졌을 때 동기화가 지우는 것은 이 지인뿐이다
 CREATE TABLE users_relation (
                                 users_id INT,
                                 guest_id INT NOT NULL,
+                                guest_name VARCHAR(255) NOT NULL,
+                                synced BOOLEAN NOT NULL DEFAULT FALSE,
                                 create_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                                 CONSTRAINT unique_users_guest UNIQUE (users_id, guest_id),
                                 FOREIGN KEY (users_id) REFERENCES users(id),
                                 FOREIGN KEY (guest_id) REFERENCES guest(id)
 );
 
+-- 사용자별 지인 목록을 이름순 키셋으로 읽도록 guest.name 을 함께 둔다, 지인 이름을 바꾸면 같이 바꾼다
+CREATE INDEX idx_users_relation_users_name ON users_relation (users_id, guest_name, guest_id);
+
 CREATE TABLE participation (
                                event_id INT NOT NULL,
                                guest_id INT NOT NULL,
@@ -50,6 +78,8 @@ CREATE TABLE participation (
                                FOREIGN KEY (guest_id) REFERENCES guest(id)
 );
 
+CREATE INDEX idx_participation_create_at ON participation (create_at);
+
 CREATE TABLE schedule (
                           id INT PRIMARY KEY AUTO_INCREMENT,
                           guest_id INT NOT NULL,
@@ -62,6 +92,38 @@ CREATE TABLE schedule (
                           FOREIGN KEY (users_id) REFERENCES users(id)
 );
 
+CREATE INDEX idx_schedule_users_guest_date ON schedule (users_id, guest_id, date);
+CREATE INDEX idx_schedule_users_date ON schedule (users_id, date);
+CREATE INDEX idx_schedule_date_id ON schedule (date, id);
+
+-- 생일, 제사처럼 반복되는 일정은 규칙 한 줄로 두고 조회 구간만 펼친다
+CREATE TABLE schedule_recurrence (
+                          id INT PRIMARY KEY AUTO_INCREMENT,
+                          guest_id INT NOT NULL,
+                          users_id INT NOT NULL,
+                          name VARCHAR(255) NOT NULL,
+                          amount INT NOT NULL,
+                          frequency VARCHAR(10) NOT NULL,
+                          start_date DATETIME NOT NULL,
+                          until_date DATETIME,
+                          occurs_on INT NOT NULL,
+                          create_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                          FOREIGN KEY (guest_id) REFERENCES guest(id),
+                          FOREIGN KEY (users_id) REFERENCES users(id)
+);
+
+CREATE INDEX idx_schedule_recurrence_users_start ON schedule_recurrence (users_id, start_date);
+-- 알림 엔진이 날짜로 그날 돌아오는 규칙만 찾는다, occurs_on 은 매년이면 MMDD 매월이면 DD
+CREATE INDEX idx_schedule_recurrence_occurs_on ON schedule_recurrence (occurs_on, id);
+
+-- 휴대폰 기본 캘린더 구독용 ICS 주소 토큰, 다시 발급하면 예전 주소는 막힌다
+CREATE TABLE calendar_feed (
+                          users_id INT PRIMARY KEY,
+                          token VARCHAR(64) NOT NULL UNIQUE,
+                          create_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                          FOREIGN KEY (users_id) REFERENCES users(id)
+);
+
 CREATE TABLE account (
                          id INT AUTO_INCREMENT PRIMARY KEY,
                          user_id INT NOT NULL,
@@ -103,3 +165,84 @@ CREATE TABLE payment_analysis (
                                   `create_at` varchar(45) NOT NULL,
                                   PRIMARY KEY (`id`)
 );
+
+CREATE INDEX idx_payment_analysis_category_id ON payment_analysis (category, id);
+
+CREATE TABLE payment_daily_amount (
+                                    category VARCHAR(255) NOT NULL,
+                                    day DATE NOT NULL,
+                                    amount INT NOT NULL,
+                                    amount_count INT NOT NULL,
+                                    PRIMARY KEY (category, day, amount)
+);
+
+CREATE INDEX idx_payment_daily_amount_day ON payment_daily_amount (day);
+
+CREATE TABLE payment_window_amount (
+                                    category VARCHAR(255) NOT NULL,
+                                    amount INT NOT NULL,
+                                    amount_count INT NOT NULL,
+                                    PRIMARY KEY (category, amount)
+);
+
+CREATE TABLE analytics_watermark (
+                                    name VARCHAR(45) PRIMARY KEY,
+                                    watermark DATETIME NOT NULL,
+                                    window_start DATE NOT NULL,
+                                    update_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 참여 금액 변경 기록, 결제 분석 주기 작업이 읽어 일별/1년 집계에 반영하고 지운다
+CREATE TABLE payment_amount_delta (
+                                    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+                                    category VARCHAR(255) NOT NULL,
+                                    day DATE NOT NULL,
+                                    amount INT NOT NULL,
+                                    sign TINYINT NOT NULL
+);
+
+CREATE TABLE job_lock (
+                                    name VARCHAR(100) PRIMARY KEY,
+                                    owner VARCHAR(255),
+                                    fencing_token BIGINT NOT NULL DEFAULT 0,
+                                    lease_until DATETIME(3) NOT NULL,
+                                    last_success_at DATETIME(3)
+);
+
+CREATE TABLE job_partition (
+                                    job_name VARCHAR(100) NOT NULL,
+                                    run_id BIGINT NOT NULL,
+                                    partition_no INT NOT NULL,
+                                    status VARCHAR(20) NOT NULL,
+                                    owner VARCHAR(255),
+                                    lease_until DATETIME(3),
+                                    PRIMARY KEY (job_name, run_id, partition_no)
+);
+
+CREATE TABLE amount_sketch (
+                                    event_category VARCHAR(255) NOT NULL,
+                                    guest_category VARCHAR(255) NOT NULL,
+                                    age_band INT NOT NULL,
+                                    gender CHAR(1) NOT NULL,
+                                    sample_count BIGINT NOT NULL,
+                                    sketch BLOB NOT NULL,
+                                    update_at DATETIME(3) NOT NULL,
+                                    PRIMARY KEY (event_category, guest_category, age_band, gender)
+);
+
+CREATE TABLE amount_sketch_delta (
+                                    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+                                    event_category VARCHAR(255) NOT NULL,
+                                    guest_category VARCHAR(255) NOT NULL,
+                                    age_band INT NOT NULL,
+                                    gender CHAR(1) NOT NULL,
+                                    amount INT NOT NULL,
+                                    sign TINYINT NOT NULL
+);
+
+CREATE TABLE reminder_cursor (
+                                    name VARCHAR(45) PRIMARY KEY,
+                                    schedule_date DATETIME NOT NULL,
+                                    schedule_id INT NOT NULL,
+                                    update_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
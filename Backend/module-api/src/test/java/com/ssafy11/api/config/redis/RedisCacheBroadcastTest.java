@@ -0,0 +1,55 @@
+package com.ssafy11.api.config.redis;
+
+import static org.mockito.BDDMockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class RedisCacheBroadcastTest {
+
+	private StringRedisTemplate stringRedisTemplate;
+	private RedisCacheBroadcast redisCacheBroadcast;
+
+	@BeforeEach
+	void setUp() {
+		this.stringRedisTemplate = mock(StringRedisTemplate.class);
+		this.redisCacheBroadcast = new RedisCacheBroadcast(stringRedisTemplate);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@DisplayName("트랜잭션 안에서는 커밋된 뒤에만 보낸다")
+	@Test
+	void publishAfterCommit() {
+		// given
+		TransactionSynchronizationManager.initSynchronization();
+
+		// when
+		redisCacheBroadcast.publishAfterCommit("topic", "user:7");
+		then(stringRedisTemplate).shouldHaveNoInteractions();
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+		// then
+		then(stringRedisTemplate).should().convertAndSend("topic", "user:7");
+	}
+
+	@DisplayName("트랜잭션 밖에서는 바로 보낸다")
+	@Test
+	void publishWithoutTransaction() {
+		// when
+		redisCacheBroadcast.publishAfterCommit("topic", "user:7");
+
+		// then
+		then(stringRedisTemplate).should().convertAndSend("topic", "user:7");
+	}
+}
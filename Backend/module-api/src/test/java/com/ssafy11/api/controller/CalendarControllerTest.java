@@ -0,0 +1,111 @@
+package com.ssafy11.api.controller;
+
+import static org.mockito.BDDMockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.ssafy11.api.config.security.JwtProvider;
+import com.ssafy11.api.config.security.SecurityConfig;
+import com.ssafy11.api.service.CalendarFeedService;
+import com.ssafy11.api.service.CalendarService;
+import com.ssafy11.domain.calendar.CalendarDaoImpl;
+import com.ssafy11.domain.calendar.dto.CalendarEntry;
+
+@WebMvcTest(controllers = {CalendarController.class})
+@Import(SecurityConfig.class)
+@TestPropertySource(properties = {
+	"jwt.secret.key=ZXZlbnQtY29udHJvbGxlci10ZXN0LXNlY3JldC1rZXktMzItYnl0ZXM=",
+	"jwt.secret.expiration=60000",
+	"jwt.refresh.key=ZXZlbnQtY29udHJvbGxlci10ZXN0LXJlZnJlc2gta2V5LTMyLWJ5dGVz",
+	"jwt.refresh.expiration=60000"
+})
+class CalendarControllerTest {
+
+	private static final LocalDate FROM = LocalDate.of(2024, 10, 1);
+	private static final LocalDate TO = LocalDate.of(2024, 10, 31);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtProvider jwtProvider;
+
+	@MockBean
+	private CalendarService calendarService;
+
+	@MockBean
+	private CalendarFeedService calendarFeedService;
+
+	private String token;
+
+	@BeforeEach
+	void setUp() {
+		this.token = jwtProvider.createToken(
+			new UsernamePasswordAuthenticationToken("7", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+	}
+
+	@DisplayName("달력 버전을 ETag 로 내려주고, 같은 ETag 로 다시 요청하면 달력을 읽지 않고 304")
+	@Test
+	void notModified() throws Exception {
+		// given
+		given(calendarService.getETag("7")).willReturn("\"5\"");
+		given(calendarService.getCalendar("7", FROM, TO)).willReturn(List.of(entry("김철수")));
+
+		// when, then
+		mockMvc.perform(calendar())
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
+			.andExpect(jsonPath("$[0].guestName").value("김철수"));
+		mockMvc.perform(calendar().header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
+			.andExpect(content().string(""));
+		then(calendarService).should(times(1)).getCalendar("7", FROM, TO);
+	}
+
+	@DisplayName("304 를 받은 뒤 지인 이름이 바뀌어 버전이 오르면 예전 ETag 로 요청해도 새 달력을 준다")
+	@Test
+	void changedAfterNotModified() throws Exception {
+		// given
+		given(calendarService.getETag("7")).willReturn("\"5\"", "\"6\"");
+		given(calendarService.getCalendar("7", FROM, TO)).willReturn(List.of(entry("김영수")));
+
+		// when, then
+		mockMvc.perform(calendar().header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+			.andExpect(status().isNotModified());
+		mockMvc.perform(calendar().header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"6\""))
+			.andExpect(jsonPath("$[0].guestName").value("김영수"));
+	}
+
+	private MockHttpServletRequestBuilder calendar() {
+		return get("/api/calendar")
+			.param("from", FROM.toString())
+			.param("to", TO.toString())
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+	}
+
+	private static CalendarEntry entry(String guestName) {
+		return new CalendarEntry(CalendarDaoImpl.SCHEDULE_TYPE, 1, "결혼식", LocalDateTime.of(2024, 10, 12, 12, 0),
+			"친구", 3, guestName, -50_000);
+	}
+}
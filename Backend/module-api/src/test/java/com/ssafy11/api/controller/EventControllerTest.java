@@ -0,0 +1,141 @@
+package com.ssafy11.api.controller;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.ssafy11.api.config.security.JwtProvider;
+import com.ssafy11.api.config.security.SecurityConfig;
+import com.ssafy11.api.dto.AmountRecommendation;
+import com.ssafy11.api.service.AmountRecommender;
+import com.ssafy11.api.service.EventService;
+import com.ssafy11.api.service.GptService;
+import com.ssafy11.api.service.LedgerExportService;
+
+@WebMvcTest(controllers = {EventController.class})
+@Import(SecurityConfig.class)
+@TestPropertySource(properties = {
+	"jwt.secret.key=ZXZlbnQtY29udHJvbGxlci10ZXN0LXNlY3JldC1rZXktMzItYnl0ZXM=",
+	"jwt.secret.expiration=60000",
+	"jwt.refresh.key=ZXZlbnQtY29udHJvbGxlci10ZXN0LXJlZnJlc2gta2V5LTMyLWJ5dGVz",
+	"jwt.refresh.expiration=60000"
+})
+class EventControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtProvider jwtProvider;
+
+	@MockBean
+	private EventService eventService;
+
+	@MockBean
+	private GptService gptService;
+
+	@MockBean
+	private AmountRecommender amountRecommender;
+
+	@MockBean
+	private LedgerExportService ledgerExportService;
+
+	@DisplayName("방명록 내려받기는 비동기 디스패치에서도 인증 오류 없이 파일을 끝까지 내려준다")
+	@Test
+	void exportEvent() throws Exception {
+		// given
+		String token = jwtProvider.createToken(
+			new UsernamePasswordAuthenticationToken("7", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+		given(eventService.isUserEventCreated(3, "7")).willReturn(true);
+		willAnswer(invocation -> {
+			OutputStream output = invocation.getArgument(1);
+			output.write(new byte[] {'P', 'K'});
+			return null;
+		}).given(ledgerExportService).export(eq(3), any(OutputStream.class));
+
+		// when
+		MvcResult started = mockMvc.perform(get("/api/events/detail/3/excel")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		// then
+		mockMvc.perform(asyncDispatch(started))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, org.hamcrest.Matchers.startsWith("attachment")))
+			.andExpect(content().bytes(new byte[] {'P', 'K'}));
+	}
+
+	@DisplayName("AI 추천의 비동기 요청 시간은 GPT 연결과 응답 대기를 합친 시간보다 길다")
+	@Test
+	void aiAmountAsyncTimeout() throws Exception {
+		// given
+		String token = jwtProvider.createToken(
+			new UsernamePasswordAuthenticationToken("7", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+		given(gptService.getChatResponseAsync("친구 결혼식", 1)).willReturn(new CompletableFuture<>());
+
+		// when
+		MvcResult started = mockMvc.perform(post("/api/events/ai/recommend/money")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.content("친구 결혼식"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		// then
+		assertThat(started.getRequest().getAsyncContext().getTimeout())
+			.isGreaterThan(Duration.ofSeconds(3).plus(Duration.ofSeconds(30)).toMillis());
+	}
+
+	@DisplayName("통계 추천에 설명을 붙이면 GPT 응답을 기다리는 동안 요청 스레드를 반환하고 응답이 오면 내려준다")
+	@Test
+	void statsRecommendAsync() throws Exception {
+		// given
+		String token = jwtProvider.createToken(
+			new UsernamePasswordAuthenticationToken("7", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+		CompletableFuture<AmountRecommendation> recommendation = new CompletableFuture<>();
+		given(amountRecommender.recommend("7", "결혼식", null, true)).willReturn(recommendation);
+
+		// when
+		MvcResult started = mockMvc.perform(get("/api/events/recommend/money/stats")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.param("eventCategory", "결혼식")
+				.param("explain", "true"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		recommendation.complete(AmountRecommendation.builder().amount(100_000).explanation("중앙값입니다.").build());
+
+		// then
+		mockMvc.perform(asyncDispatch(started))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.amount").value(100_000))
+			.andExpect(jsonPath("$.explanation").value("중앙값입니다."));
+	}
+
+	@DisplayName("토큰이 없으면 비동기 처리를 시작하지 않고 거절한다")
+	@Test
+	void exportEventUnauthenticated() throws Exception {
+		// when & then
+		mockMvc.perform(get("/api/events/detail/3/excel"))
+			.andExpect(status().isUnauthorized());
+		then(ledgerExportService).shouldHaveNoInteractions();
+	}
+}
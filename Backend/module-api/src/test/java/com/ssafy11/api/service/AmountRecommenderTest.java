@@ -0,0 +1,125 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ssafy11.api.dto.AmountRecommendation;
+import com.ssafy11.api.exception.ErrorCode;
+import com.ssafy11.api.exception.ErrorException;
+import com.ssafy11.api.service.AmountRecommender.BasisKey;
+import com.ssafy11.domain.recommend.AmountSketch;
+import com.ssafy11.domain.recommend.RecommendDao;
+import com.ssafy11.domain.recommend.dto.SketchKey;
+
+class AmountRecommenderTest {
+
+	@DisplayName("표본이 충분하면 연령대/성별까지 맞춘 분포의 중앙값을 추천한다")
+	@Test
+	void specificBasis() {
+		// given
+		Map<SketchKey, AmountSketch> sketches = new HashMap<>();
+		sketches.put(new SketchKey("결혼식", "친구", 30, "M"), sketch(100_000, 20, 50_000, 15));
+		sketches.put(new SketchKey("결혼식", "친구", 60, "F"), sketch(30_000, 100));
+
+		// when
+		AmountRecommendation recommendation = AmountRecommender.recommend(AmountRecommender.summarize(sketches), List.of(
+			new BasisKey("결혼식", "친구", 30, "M"),
+			new BasisKey("결혼식", "친구", null, null),
+			new BasisKey("결혼식", null, null, null)));
+
+		// then
+		assertThat(recommendation.amount()).isEqualTo(100_000);
+		assertThat(recommendation.lowerAmount()).isEqualTo(50_000);
+		assertThat(recommendation.sampleSize()).isEqualTo(35);
+		assertThat(recommendation.basis()).isEqualTo("결혼식/친구/30대/M");
+	}
+
+	@DisplayName("표본이 부족하면 관계 기준으로 병합한 분포로 넓혀서 추천한다")
+	@Test
+	void fallbackBasis() {
+		// given
+		Map<SketchKey, AmountSketch> sketches = new HashMap<>();
+		sketches.put(new SketchKey("장례식", "회사", 30, "F"), sketch(100_000, 2));
+		sketches.put(new SketchKey("장례식", "회사", 50, "M"), sketch(50_000, 40));
+		sketches.put(new SketchKey("장례식", "", 30, "F"), sketch(10_000, 500));
+
+		// when
+		AmountRecommendation recommendation = AmountRecommender.recommend(AmountRecommender.summarize(sketches), List.of(
+			new BasisKey("장례식", "회사", 30, "F"),
+			new BasisKey("장례식", "회사", null, null),
+			new BasisKey("장례식", null, null, null)));
+
+		// then
+		assertThat(recommendation.amount()).isEqualTo(50_000);
+		assertThat(recommendation.sampleSize()).isEqualTo(42);
+		assertThat(recommendation.basis()).isEqualTo("장례식/회사");
+	}
+
+	@DisplayName("분포가 없으면 추천하지 않는다")
+	@Test
+	void noData() {
+		assertThat(AmountRecommender.recommend(new HashMap<>(), List.of(new BasisKey("돌잔치", null, null, null))))
+			.isNull();
+	}
+
+	@DisplayName("설명을 붙일 때 GPT 응답을 기다리지 않고 future 를 돌려주고, 응답이 오면 설명을 채운다")
+	@Test
+	void explainAsync() {
+		// given
+		GptService gptService = mock(GptService.class);
+		AmountRecommender amountRecommender = new AmountRecommender(recommendDao(), gptService);
+		CompletableFuture<String> explanation = new CompletableFuture<>();
+		given(gptService.getChatResponseAsync(anyString(), eq(2))).willReturn(explanation);
+
+		// when
+		CompletableFuture<AmountRecommendation> recommendation = amountRecommender.recommend("7", "결혼식", null, true);
+
+		// then
+		assertThat(recommendation).isNotDone();
+		explanation.complete("비슷한 사례의 중앙값입니다.");
+		assertThat(recommendation.join().explanation()).isEqualTo("비슷한 사례의 중앙값입니다.");
+		then(gptService).should(never()).getChatResponse(anyString(), anyInt());
+	}
+
+	@DisplayName("GPT 가 바쁘면 설명 없이 추천만 돌려준다")
+	@Test
+	void explainBusy() {
+		// given
+		GptService gptService = mock(GptService.class);
+		AmountRecommender amountRecommender = new AmountRecommender(recommendDao(), gptService);
+		given(gptService.getChatResponseAsync(anyString(), eq(2)))
+			.willReturn(CompletableFuture.failedFuture(new ErrorException(ErrorCode.GPT_BUSY)));
+
+		// when
+		AmountRecommendation recommendation = amountRecommender.recommend("7", "결혼식", null, true).join();
+
+		// then
+		assertThat(recommendation.amount()).isEqualTo(100_000);
+		assertThat(recommendation.explanation()).isNull();
+	}
+
+	private static RecommendDao recommendDao() {
+		RecommendDao recommendDao = mock(RecommendDao.class);
+		given(recommendDao.getHostProfile(7)).willReturn(Optional.empty());
+		given(recommendDao.getSketchVersion()).willReturn(Optional.empty());
+		given(recommendDao.getSketches()).willReturn(Map.of(new SketchKey("결혼식", "", -1, ""), sketch(100_000, 40)));
+		return recommendDao;
+	}
+
+	private static AmountSketch sketch(int... amountCounts) {
+		AmountSketch sketch = new AmountSketch();
+		for (int i = 0; i < amountCounts.length; i += 2) {
+			sketch.add(amountCounts[i], amountCounts[i + 1]);
+		}
+		return sketch;
+	}
+}
@@ -0,0 +1,66 @@
+package com.ssafy11.api.service;
+
+import static org.mockito.BDDMockito.*;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ssafy11.domain.recommend.RecommendDao;
+import com.ssafy11.domain.recommend.dto.SketchAmountCount;
+
+class AmountSketchServiceTest {
+
+	private static final Long TOKEN = 3L;
+
+	private RecommendDao recommendDao;
+	private ClusterJobRunner clusterJobRunner;
+	private AmountSketchService amountSketchService;
+
+	@BeforeEach
+	void setUp() {
+		this.recommendDao = mock(RecommendDao.class);
+		this.clusterJobRunner = mock(ClusterJobRunner.class);
+		this.amountSketchService = new AmountSketchService(recommendDao, clusterJobRunner);
+		given(recommendDao.getAmountCounts())
+			.willReturn(List.of(new SketchAmountCount("결혼식", "친구", 30, "M", 100_000, 2)));
+	}
+
+	@DisplayName("전체 재구성은 스냅샷에 보인 변경분 id 만 지우고, 그 사이 비어 있는 앞 번호는 남긴다")
+	@Test
+	void rebuildDeletesCoveredIdsOnly() {
+		// given
+		// 4번은 재구성 스냅샷 때 아직 커밋되지 않아 보이지 않는다
+		given(recommendDao.getSketchDeltaIds(0L, AmountSketchService.FOLD_LIMIT)).willReturn(List.of(3L, 5L));
+
+		// when
+		amountSketchService.rebuild(TOKEN);
+
+		// then
+		then(recommendDao).should().clearSketches();
+		then(recommendDao).should().saveSketches(anyMap());
+		then(recommendDao).should().deleteSketchDeltas(List.of(3L, 5L));
+		then(recommendDao).should(times(1)).getSketchDeltaIds(anyLong(), anyInt());
+		then(clusterJobRunner).should().checkFence(AmountSketchService.JOB_NAME, TOKEN);
+	}
+
+	@DisplayName("보인 변경분이 한 번에 읽는 개수보다 많으면 마지막 id 다음부터 이어서 지운다")
+	@Test
+	void rebuildPagesCoveredIds() {
+		// given
+		List<Long> firstPage = LongStream.rangeClosed(1, AmountSketchService.FOLD_LIMIT).boxed().toList();
+		long lastId = AmountSketchService.FOLD_LIMIT;
+		given(recommendDao.getSketchDeltaIds(0L, AmountSketchService.FOLD_LIMIT)).willReturn(firstPage);
+		given(recommendDao.getSketchDeltaIds(lastId, AmountSketchService.FOLD_LIMIT)).willReturn(List.of(lastId + 2));
+
+		// when
+		amountSketchService.rebuild(TOKEN);
+
+		// then
+		then(recommendDao).should().deleteSketchDeltas(firstPage);
+		then(recommendDao).should().deleteSketchDeltas(List.of(lastId + 2));
+	}
+}
@@ -0,0 +1,70 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.ssafy11.api.exception.ErrorException;
+import com.ssafy11.domain.calendar.CalendarDao;
+import com.ssafy11.domain.calendar.CalendarVersion;
+import com.ssafy11.domain.global.CacheBroadcast;
+import com.ssafy11.domain.schedule.ScheduleDao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+class CalendarFeedServiceTest {
+
+	private CalendarDao calendarDao;
+	private CacheBroadcast cacheBroadcast;
+	private CalendarFeedService calendarFeedService;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		this.calendarDao = mock(CalendarDao.class);
+		this.cacheBroadcast = mock(CacheBroadcast.class);
+		this.calendarFeedService = new CalendarFeedService(calendarDao, mock(ScheduleDao.class), mock(CalendarVersion.class),
+			cacheBroadcast, mock(ObjectProvider.class));
+	}
+
+	@DisplayName("토큰을 다시 발급하면 저장한 뒤에 예전 토큰을 지우고 다른 서버에도 알린다")
+	@Test
+	void issueTokenRevokesPrevious() {
+		// given
+		given(calendarDao.getFeedOwner("old")).willReturn(Optional.of(7), Optional.empty());
+		given(calendarDao.getFeedToken(7)).willReturn(Optional.of("old"));
+		assertThat(calendarFeedService.getFeedOwner("old")).isEqualTo(7);
+
+		// when
+		String token = calendarFeedService.issueToken("7");
+
+		// then
+		InOrder inOrder = inOrder(calendarDao, cacheBroadcast);
+		then(calendarDao).should(inOrder).saveFeedToken(7, token);
+		then(cacheBroadcast).should(inOrder).publishAfterCommit(CalendarFeedService.REVOKE_TOPIC, "old");
+		assertThatThrownBy(() -> calendarFeedService.getFeedOwner("old")).isInstanceOf(ErrorException.class);
+	}
+
+	@DisplayName("다른 서버가 보낸 회수 메시지를 받으면 캐시된 예전 토큰으로 더는 열리지 않는다")
+	@Test
+	void onRevoke() {
+		// given
+		given(calendarDao.getFeedOwner("old")).willReturn(Optional.of(7), Optional.empty());
+		assertThat(calendarFeedService.getFeedOwner("old")).isEqualTo(7);
+		assertThat(calendarFeedService.getFeedOwner("old")).isEqualTo(7);
+
+		// when
+		calendarFeedService.onRevoke("old");
+
+		// then
+		assertThatThrownBy(() -> calendarFeedService.getFeedOwner("old")).isInstanceOf(ErrorException.class);
+		then(calendarDao).should(times(2)).getFeedOwner("old");
+	}
+}
@@ -0,0 +1,215 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.ssafy11.domain.job.JobDao;
+import com.ssafy11.domain.job.dto.JobPartition;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ClusterJobRunnerTest {
+
+	private static final Duration LEASE = Duration.ofMinutes(5);
+
+	private JobDao jobDao;
+	private SimpleMeterRegistry meterRegistry;
+	private ClusterJobRunner clusterJobRunner;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		this.jobDao = mock(JobDao.class);
+		this.meterRegistry = new SimpleMeterRegistry();
+		ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+		given(provider.getIfAvailable(any())).willReturn(meterRegistry);
+		this.clusterJobRunner = new ClusterJobRunner(jobDao, provider);
+	}
+
+	@DisplayName("잠금을 얻지 못하면 작업을 실행하지 않는다")
+	@Test
+	void skipWithoutLock() {
+		// given
+		given(jobDao.tryAcquire(eq("job"), anyString(), eq(LEASE))).willReturn(Optional.empty());
+		List<Long> tokens = new ArrayList<>();
+
+		// when
+		boolean ran = clusterJobRunner.runExclusive("job", LEASE, tokens::add);
+
+		// then
+		assertThat(ran).isFalse();
+		assertThat(tokens).isEmpty();
+		verify(jobDao, never()).release(anyString(), anyLong(), anyBoolean(), any());
+	}
+
+	@DisplayName("잠금을 얻으면 fencing token 으로 실행하고 실패해도 잠금을 놓는다")
+	@Test
+	void releaseOnFailure() {
+		// given
+		given(jobDao.tryAcquire(eq("job"), anyString(), eq(LEASE))).willReturn(Optional.of(7L));
+
+		// when
+		assertThatThrownBy(() -> clusterJobRunner.runExclusive("job", LEASE, token -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(IllegalStateException.class);
+
+		// then
+		verify(jobDao).release("job", 7L, false, Duration.ZERO);
+		assertThat(meterRegistry.get("cluster.job.duration").tag("result", "failure").timer().count()).isEqualTo(1);
+	}
+
+	@DisplayName("성공한 직후 다른 노드의 cron 이 늦게 울려도 같은 주기에는 다시 실행하지 않고, 주기가 지나면 실행한다")
+	@Test
+	void holdLeaseForWindow() {
+		// given
+		LeaseJobDao leases = new LeaseJobDao(LocalDateTime.of(2026, 10, 19, 0, 0));
+		ClusterJobRunner first = new ClusterJobRunner(leases, provider());
+		ClusterJobRunner second = new ClusterJobRunner(leases, provider());
+		List<Long> runs = new ArrayList<>();
+		Duration window = Duration.ofHours(12);
+
+		// when
+		boolean firstRan = first.runOncePerWindow("analysis", LEASE, window, token -> {
+			runs.add(token);
+			leases.advance(Duration.ofMinutes(1));
+		});
+		leases.advance(Duration.ofSeconds(30));
+		boolean lateRan = second.runOncePerWindow("analysis", LEASE, window, runs::add);
+		leases.advance(Duration.ofDays(1));
+		boolean nextDayRan = second.runOncePerWindow("analysis", LEASE, window, runs::add);
+
+		// then
+		assertThat(firstRan).isTrue();
+		assertThat(lateRan).isFalse();
+		assertThat(nextDayRan).isTrue();
+		assertThat(runs).containsExactly(1L, 2L);
+	}
+
+	@DisplayName("실패하면 잠금을 바로 놓아 다른 노드가 같은 주기에 다시 시도한다")
+	@Test
+	void retryAfterFailureInWindow() {
+		// given
+		LeaseJobDao leases = new LeaseJobDao(LocalDateTime.of(2026, 10, 19, 0, 0));
+		ClusterJobRunner first = new ClusterJobRunner(leases, provider());
+		ClusterJobRunner second = new ClusterJobRunner(leases, provider());
+		Duration window = Duration.ofHours(12);
+
+		// when
+		assertThatThrownBy(() -> first.runOncePerWindow("analysis", LEASE, window, token -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(IllegalStateException.class);
+		leases.advance(Duration.ofSeconds(30));
+		boolean retried = second.runOncePerWindow("analysis", LEASE, window, token -> {
+		});
+
+		// then
+		assertThat(retried).isTrue();
+	}
+
+	@DisplayName("남은 조각을 모두 처리하고 마지막 조각을 끝낸 노드가 성공을 기록한다")
+	@Test
+	void workPartitions() {
+		// given
+		JobPartition first = new JobPartition(3L, 0);
+		JobPartition second = new JobPartition(3L, 1);
+		given(jobDao.claimPartition(eq("job"), anyString(), eq(LEASE)))
+			.willReturn(Optional.of(first), Optional.of(second), Optional.empty());
+		given(jobDao.completePartition(eq("job"), eq(first), anyString())).willReturn(1);
+		given(jobDao.completePartition(eq("job"), eq(second), anyString())).willReturn(0);
+		List<Integer> worked = new ArrayList<>();
+
+		// when
+		int processed = clusterJobRunner.workPartitions("job", LEASE, worked::add);
+
+		// then
+		assertThat(processed).isEqualTo(2);
+		assertThat(worked).containsExactly(0, 1);
+		verify(jobDao, times(1)).markSuccess("job");
+	}
+
+	@SuppressWarnings("unchecked")
+	private ObjectProvider<MeterRegistry> provider() {
+		ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+		given(provider.getIfAvailable(any())).willReturn(meterRegistry);
+		return provider;
+	}
+
+	// job_lock 한 행의 임대 규칙만 흉내 내는 공용 저장소. 시각은 테스트가 직접 넘긴다
+	private static class LeaseJobDao implements JobDao {
+
+		private LocalDateTime now;
+		private LocalDateTime leaseUntil = LocalDateTime.MIN;
+		private long fencingToken;
+
+		LeaseJobDao(LocalDateTime now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public Optional<Long> tryAcquire(String name, String owner, Duration lease) {
+			if (!leaseUntil.isBefore(now)) {
+				return Optional.empty();
+			}
+			leaseUntil = now.plus(lease);
+			return Optional.of(++fencingToken);
+		}
+
+		@Override
+		public boolean renew(String name, Long fencingToken, Duration lease) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void release(String name, Long fencingToken, boolean success, Duration hold) {
+			if (this.fencingToken == fencingToken) {
+				leaseUntil = success && !hold.isZero() ? now.plus(hold) : LocalDateTime.MIN;
+			}
+		}
+
+		@Override
+		public boolean isHolder(String name, Long fencingToken) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void markSuccess(String name) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Optional<LocalDateTime> getLastSuccess(String name) {
+			return Optional.empty();
+		}
+
+		@Override
+		public void createPartitions(String name, Long runId, int partitions) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Optional<JobPartition> claimPartition(String name, String owner, Duration lease) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int completePartition(String name, JobPartition partition, String owner) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
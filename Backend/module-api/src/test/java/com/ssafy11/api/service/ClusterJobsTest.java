@@ -0,0 +1,54 @@
+package com.ssafy11.api.service;
+
+import static org.mockito.BDDMockito.*;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.ssafy11.domain.job.JobDao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ClusterJobsTest {
+
+	private JobDao jobDao;
+	private AmountSketchService amountSketchService;
+	private ClusterJobs clusterJobs;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		this.jobDao = mock(JobDao.class);
+		this.amountSketchService = mock(AmountSketchService.class);
+		ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+		given(provider.getIfAvailable(any())).willReturn(new SimpleMeterRegistry());
+		this.clusterJobs = new ClusterJobs(new ClusterJobRunner(jobDao, provider), mock(SchedulerService.class),
+			mock(DuplicateGuestService.class), amountSketchService);
+	}
+
+	@DisplayName("fold 가 sketch 잠금을 쥐고 있으면 재구성을 건너뛰지 않고 다음 분에 다시 시도한다")
+	@Test
+	void retryRebuildWhileFolding() {
+		// given
+		given(jobDao.tryAcquire(eq(ClusterJobs.SKETCH_REBUILD), anyString(), any(Duration.class)))
+			.willReturn(Optional.of(1L), Optional.of(2L));
+		given(jobDao.tryAcquire(eq(AmountSketchService.JOB_NAME), anyString(), any(Duration.class)))
+			.willReturn(Optional.empty(), Optional.of(3L));
+
+		// when
+		clusterJobs.rebuildAmountSketches();
+		clusterJobs.rebuildAmountSketches();
+
+		// then
+		then(amountSketchService).should(times(1)).rebuild(3L);
+		then(jobDao).should().release(ClusterJobs.SKETCH_REBUILD, 1L, false, Duration.ofHours(12));
+		then(jobDao).should().release(ClusterJobs.SKETCH_REBUILD, 2L, true, Duration.ofHours(12));
+		then(jobDao).should().release(AmountSketchService.JOB_NAME, 3L, true, Duration.ZERO);
+	}
+}
@@ -0,0 +1,52 @@
+package com.ssafy11.api.service;
+
+import static org.mockito.BDDMockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ssafy11.domain.duplicate.DuplicateDao;
+import com.ssafy11.domain.guest.Guest;
+import com.ssafy11.domain.guest.GuestDao;
+
+class DuplicateGuestServiceTest {
+
+	private DuplicateDao duplicateDao;
+	private GuestDao guestDao;
+	private PlatformTransactionManager transactionManager;
+	private DuplicateGuestService duplicateGuestService;
+
+	@BeforeEach
+	void setUp() {
+		this.duplicateDao = mock(DuplicateDao.class);
+		this.guestDao = mock(GuestDao.class);
+		this.transactionManager = mock(PlatformTransactionManager.class);
+		given(transactionManager.getTransaction(any())).willAnswer(invocation -> mock(TransactionStatus.class));
+		this.duplicateGuestService = new DuplicateGuestService(duplicateDao, guestDao, new TransactionTemplate(transactionManager));
+	}
+
+	@DisplayName("한 사용자 분석이 실패해도 그 사용자만 롤백하고 나머지 사용자의 후보는 커밋한다")
+	@Test
+	void scanPartitionPerUserTransaction() {
+		// given
+		given(duplicateDao.getUserIds(0, 16)).willReturn(List.of(1, 2, 3));
+		given(guestDao.getGuestsByUserId(anyInt())).willReturn(List.of(new Guest(10, "김철수", "친구", null)));
+		willThrow(new IllegalStateException("boom")).given(duplicateDao).replaceProposals(eq(2), anyList());
+
+		// when
+		duplicateGuestService.scanPartition(0, 16);
+
+		// then
+		then(duplicateDao).should().replaceProposals(eq(1), anyList());
+		then(duplicateDao).should().replaceProposals(eq(3), anyList());
+		then(transactionManager).should(times(3)).getTransaction(any());
+		then(transactionManager).should(times(2)).commit(any());
+		then(transactionManager).should(times(1)).rollback(any());
+	}
+}
@@ -0,0 +1,147 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.ssafy11.api.dto.ExcelParse;
+
+/**
+ * 기존 XSSFWorkbook(DOM) 파싱과 SAX 파싱 비교.
+ * 오래 걸리므로 -Dexcel.benchmark=true 일 때만 돈다.
+ */
+@EnabledIfSystemProperty(named = "excel.benchmark", matches = "true")
+class ExcelParseBenchmarkTest {
+
+	private static final String[] CATEGORIES = {"친구", "가족", "회사", "학교"};
+
+	@TempDir
+	Path tempDir;
+
+	@DisplayName("DOM 파싱과 SAX 파싱의 시간과 할당량 비교")
+	@ParameterizedTest
+	@ValueSource(ints = {1_000, 10_000, 100_000})
+	void compare(int rows) throws Exception {
+		// given
+		Path file = ledger(rows);
+		ExcelService excelService = new ExcelService();
+
+		// when
+		List<ExcelParse> dom = new ArrayList<>();
+		List<ExcelParse> sax = new ArrayList<>();
+		measure("DOM", rows, () -> {
+			try (InputStream inputStream = Files.newInputStream(file)) {
+				dom.addAll(parseWithWorkbook(inputStream));
+			}
+			return dom.size();
+		});
+		measure("SAX", rows, () -> {
+			try (InputStream inputStream = Files.newInputStream(file)) {
+				return excelService.parseExcelFile(inputStream, sax::add);
+			}
+		});
+
+		// then
+		assertThat(sax).hasSize(rows).isEqualTo(dom);
+	}
+
+	private void measure(String name, int rows, Callable<Integer> parser) throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long allocated = threads.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		int parsed = parser.call();
+		long elapsed = System.nanoTime() - start;
+		System.out.printf("%s rows=%d parsed=%d time=%dms allocated=%dMB%n", name, rows, parsed, elapsed / 1_000_000,
+			(threads.getCurrentThreadAllocatedBytes() - allocated) / (1024 * 1024));
+	}
+
+	private Path ledger(int rows) throws IOException {
+		Path file = tempDir.resolve("ledger-" + rows + ".xlsx");
+		try (SXSSFWorkbook workbook = new SXSSFWorkbook(100); OutputStream output = Files.newOutputStream(file)) {
+			Sheet sheet = workbook.createSheet();
+			Row header = sheet.createRow(0);
+			header.createCell(0).setCellValue("성명");
+			header.createCell(1).setCellValue("관계");
+			header.createCell(2).setCellValue("금액");
+			for (int i = 1; i <= rows; i++) {
+				Row row = sheet.createRow(i);
+				row.createCell(0).setCellValue("하객" + i);
+				row.createCell(1).setCellValue(CATEGORIES[i % CATEGORIES.length]);
+				row.createCell(2).setCellValue(10_000 * (1 + i % 20));
+			}
+			workbook.write(output);
+			workbook.dispose();
+		}
+		return file;
+	}
+
+	// 바꾸기 전 ExcelService 의 XSSFWorkbook 경로
+	private static List<ExcelParse> parseWithWorkbook(InputStream inputStream) throws IOException {
+		List<ExcelParse> parsed = new ArrayList<>();
+		try (Workbook workbook = new XSSFWorkbook(inputStream)) {
+			Sheet sheet = workbook.getSheetAt(0);
+			int nameColumn = -1;
+			int categoryColumn = -1;
+			int amountColumn = -1;
+			int startRow = -1;
+			int rowCount = sheet.getPhysicalNumberOfRows();
+			for (int rowIndex = 0; rowIndex < rowCount && startRow == -1; rowIndex++) {
+				Row row = sheet.getRow(rowIndex);
+				if (row == null) {
+					continue;
+				}
+				for (Cell cell : row) {
+					String value = cell.toString().replaceAll("\\s", "").trim();
+					if (value.contains("성명") || value.contains("이름")) {
+						nameColumn = cell.getColumnIndex();
+					} else if (value.contains("관계")) {
+						categoryColumn = cell.getColumnIndex();
+					} else if (value.contains("금액")) {
+						amountColumn = cell.getColumnIndex();
+					}
+				}
+				if (nameColumn != -1 && categoryColumn != -1 && amountColumn != -1) {
+					startRow = rowIndex + 1;
+				}
+			}
+			for (int rowIndex = startRow; rowIndex < rowCount; rowIndex++) {
+				Row row = sheet.getRow(rowIndex);
+				if (row == null) {
+					continue;
+				}
+				Cell nameCell = row.getCell(nameColumn);
+				Cell categoryCell = row.getCell(categoryColumn);
+				Cell amountCell = row.getCell(amountColumn);
+				String name = nameCell != null ? nameCell.toString().trim() : null;
+				String category = categoryCell != null ? categoryCell.toString().trim() : null;
+				Integer amount = amountCell != null && amountCell.getCellType() == CellType.NUMERIC
+					? Math.abs((int)amountCell.getNumericCellValue()) : null;
+				if (name != null && !name.isEmpty() && amount != null) {
+					parsed.add(new ExcelParse(name, category, amount));
+				}
+			}
+		}
+		return parsed;
+	}
+}
@@ -0,0 +1,188 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.ssafy11.api.dto.ExcelParse;
+import com.ssafy11.api.exception.ErrorCode;
+import com.ssafy11.api.exception.ErrorException;
+
+class ExcelServiceTest {
+
+	private ExcelService excelService;
+
+	@BeforeEach
+	void setUp() {
+		this.excelService = new ExcelService();
+	}
+
+	@DisplayName("제목 줄 아래의 헤더를 찾아 그 다음 행부터 이름과 숫자 금액이 있는 행만 읽는다")
+	@Test
+	void parseAfterHeader() throws IOException {
+		// given
+		byte[] xlsx = workbook(sheet -> {
+			row(sheet, 0, "결혼식 방명록");
+			row(sheet, 2, "번호", "성 명", "관계", "금액(원)");
+			row(sheet, 3, 1, "홍길동", "친구", 50_000);
+			row(sheet, 4, 2, "김철수", null, "3만원");
+			row(sheet, 6, 3, "이영희", "회사", 100_000);
+			row(sheet, 7, 4, " ", "가족", 10_000);
+		});
+		List<ExcelParse> rows = new ArrayList<>();
+
+		// when
+		int count = excelService.parseExcelFile(new ByteArrayInputStream(xlsx), rows::add);
+
+		// then
+		assertThat(count).isEqualTo(2);
+		assertThat(rows).containsExactly(
+			new ExcelParse("홍길동", "친구", 50_000),
+			new ExcelParse("이영희", "회사", 100_000));
+	}
+
+	@DisplayName("성명과 금액 헤더가 없으면 파싱에 실패한다")
+	@Test
+	void missingHeader() throws IOException {
+		// given
+		byte[] xlsx = workbook(sheet -> row(sheet, 0, "홍길동", "친구", 50_000));
+
+		// when & then
+		assertThatThrownBy(() -> excelService.parseExcelFile(new ByteArrayInputStream(xlsx), row -> {
+		}))
+			.isInstanceOf(ErrorException.class)
+			.extracting("errorCode").isEqualTo(ErrorCode.EXCEL_PARSING_FAILED);
+	}
+
+	@DisplayName("예전 XLS 도 같은 규칙으로 읽고, 헤더가 없는 표지 시트는 건너뛴다")
+	@Test
+	void parseXls() throws IOException {
+		// given
+		byte[] xls = workbook(new HSSFWorkbook(),
+			sheet -> row(sheet, 0, "2026년 결혼식 방명록"),
+			sheet -> {
+				row(sheet, 0, "이름", "관계", "금액");
+				row(sheet, 1, "홍길동", "친구", 50_000);
+				row(sheet, 2, "김철수", "회사", 30_000);
+				sheet.createRow(3).createCell(0).setCellFormula("\"이\"&\"영희\"");
+				sheet.getRow(3).createCell(2).setCellFormula("50000*2");
+			});
+		List<ExcelParse> rows = new ArrayList<>();
+
+		// when
+		int count = excelService.parseExcelFile(new ByteArrayInputStream(xls), rows::add);
+
+		// then
+		assertThat(count).isEqualTo(3);
+		assertThat(rows).containsExactly(
+			new ExcelParse("홍길동", "친구", 50_000),
+			new ExcelParse("김철수", "회사", 30_000),
+			new ExcelParse("이영희", null, 100_000));
+	}
+
+	@DisplayName("BOM 없는 MS949 CSV 를 읽고 따옴표 안의 쉼표 금액도 숫자로 본다")
+	@Test
+	void parseCsv() {
+		// given
+		byte[] csv = "성명,관계,금액\r\n홍길동,친구,\"50,000\"\r\n\"김 \"\"철수\"\"\",,30000원\n이영희,회사,미정\n"
+			.getBytes(CsvLedgerParser.MS949);
+		List<ExcelParse> rows = new ArrayList<>();
+
+		// when
+		int count = excelService.parseExcelFile(new ByteArrayInputStream(csv), rows::add);
+
+		// then
+		assertThat(count).isEqualTo(2);
+		assertThat(rows).containsExactly(
+			new ExcelParse("홍길동", "친구", 50_000),
+			new ExcelParse("김 \"철수\"", null, 30_000));
+	}
+
+	@DisplayName("앞부분이 올바른 UTF-8 이면 UTF-8, 아니면 MS949 로 본다")
+	@Test
+	void detectCharset() throws IOException {
+		// given
+		byte[] utf8 = "성명,금액".getBytes(StandardCharsets.UTF_8);
+		byte[] ms949 = "성명,금액".getBytes(CsvLedgerParser.MS949);
+
+		// when & then
+		assertThat(CsvLedgerParser.detectCharset(new BufferedInputStream(new ByteArrayInputStream(utf8))))
+			.isEqualTo(StandardCharsets.UTF_8);
+		assertThat(CsvLedgerParser.detectCharset(new BufferedInputStream(new ByteArrayInputStream(ms949))))
+			.isEqualTo(CsvLedgerParser.MS949);
+		// 버퍼 끝에서 잘린 글자는 UTF-8 로 본다
+		assertThat(CsvLedgerParser.isUtf8(utf8, utf8.length - 1)).isTrue();
+	}
+
+	@DisplayName("여러 시트를 동시에 읽어도 목록은 시트 순서대로 이어 붙인다")
+	@Test
+	void parseSheetsInOrder() throws IOException {
+		// given
+		List<Consumer<Sheet>> writers = new ArrayList<>();
+		for (int s = 0; s < 4; s++) {
+			int sheetNo = s;
+			writers.add(sheet -> {
+				row(sheet, 0, "성명", "금액");
+				for (int i = 1; i <= 500; i++) {
+					row(sheet, i, "지인" + sheetNo + "-" + i, i * 1_000);
+				}
+			});
+		}
+		byte[] xlsx = workbook(new XSSFWorkbook(), writers.toArray(Consumer[]::new));
+		MockMultipartFile file = new MockMultipartFile("file", "ledger.xlsx", null, xlsx);
+
+		// when
+		List<ExcelParse> rows = excelService.parseExcelFile(file);
+
+		// then
+		assertThat(rows).hasSize(2_000);
+		assertThat(rows.get(0).name()).isEqualTo("지인0-1");
+		assertThat(rows.get(500).name()).isEqualTo("지인1-1");
+		assertThat(rows.get(1_999)).isEqualTo(new ExcelParse("지인3-500", null, 500_000));
+	}
+
+	static byte[] workbook(Consumer<Sheet> writer) throws IOException {
+		return workbook(new XSSFWorkbook(), writer);
+	}
+
+	@SafeVarargs
+	static byte[] workbook(Workbook workbook, Consumer<Sheet>... writers) throws IOException {
+		try (workbook; ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+			for (Consumer<Sheet> writer : writers) {
+				writer.accept(workbook.createSheet());
+			}
+			// 수식 셀의 결과 값도 파일에 남긴다
+			workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+			workbook.write(output);
+			return output.toByteArray();
+		}
+	}
+
+	static void row(Sheet sheet, int rowIndex, Object... values) {
+		Row row = sheet.createRow(rowIndex);
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] instanceof Number number) {
+				row.createCell(i).setCellValue(number.doubleValue());
+			} else if (values[i] != null) {
+				row.createCell(i).setCellValue(values[i].toString());
+			}
+		}
+	}
+}
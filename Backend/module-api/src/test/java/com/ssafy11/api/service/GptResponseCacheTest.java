@@ -0,0 +1,184 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GptResponseCacheTest {
+
+	private ValueOperations<String, String> valueOperations;
+	private SimpleMeterRegistry meterRegistry;
+	private ExecutorService executor;
+	private GptResponseCache gptResponseCache;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		this.valueOperations = mock(ValueOperations.class);
+		StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+		given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+		this.meterRegistry = new SimpleMeterRegistry();
+		ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+		given(provider.getIfAvailable(any())).willReturn(meterRegistry);
+		this.executor = Executors.newVirtualThreadPerTaskExecutor();
+		this.gptResponseCache = new GptResponseCache(stringRedisTemplate, provider);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@DisplayName("같은 프롬프트를 동시에 요청하면 OpenAI 는 한 번만 부르고 답은 Redis 에도 남긴다")
+	@Test
+	void singleFlight() throws InterruptedException {
+		// given
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger upstream = new AtomicInteger();
+		List<CompletableFuture<String>> responses = new ArrayList<>();
+
+		// when
+		for (int i = 0; i < 20; i++) {
+			String prompt = i % 2 == 0 ? "결혼식 친구 축하 메시지" : "  결혼식   친구 축하 메시지 ";
+			responses.add(gptResponseCache.get(prompt, 1, executor, () -> {
+				upstream.incrementAndGet();
+				await(release);
+				return "10만원";
+			}));
+		}
+		release.countDown();
+
+		// then
+		assertThat(responses).allSatisfy(response -> assertThat(response.join()).isEqualTo("10만원"));
+		assertThat(upstream).hasValue(1);
+		assertThat(count("upstream")).isEqualTo(1);
+		assertThat(count("local")).isEqualTo(19);
+		then(valueOperations).should().set(GptResponseCache.key("결혼식 친구 축하 메시지", 1), "10만원", Duration.ofDays(1));
+	}
+
+	@DisplayName("금액 추천은 Redis 에 있으면 OpenAI 를 부르지 않는다")
+	@Test
+	void redisHit() {
+		// given
+		given(valueOperations.get(GptResponseCache.key("결혼식 친구", 1))).willReturn("10만원");
+
+		// when
+		String amount = gptResponseCache.get("결혼식 친구", 1, executor, () -> fail("upstream")).join();
+
+		// then
+		assertThat(amount).isEqualTo("10만원");
+		assertThat(count("redis")).isEqualTo(1);
+		assertThat(count("upstream")).isZero();
+	}
+
+	@DisplayName("추천 설명도 같은 통계 프롬프트면 OpenAI 를 다시 부르지 않는다")
+	@Test
+	void explanationCached() {
+		// given
+		AtomicInteger upstream = new AtomicInteger();
+
+		// when
+		String first = gptResponseCache.get("평균 10만원", 2, executor, () -> "설명 " + upstream.incrementAndGet()).join();
+		String second = gptResponseCache.get("평균 10만원", 2, executor, () -> "설명 " + upstream.incrementAndGet()).join();
+
+		// then
+		assertThat(second).isEqualTo(first);
+		assertThat(upstream).hasValue(1);
+		then(valueOperations).should().set(GptResponseCache.key("평균 10만원", 2), "설명 1", Duration.ofDays(1));
+	}
+
+	@DisplayName("축하 메시지는 프롬프트마다 정해진 수의 문구만 만들고 Redis 에는 짧게 남긴다")
+	@Test
+	void messageVariantsCached() {
+		// given
+		AtomicInteger upstream = new AtomicInteger();
+		List<String> messages = new ArrayList<>();
+
+		// when
+		for (int i = 0; i < 200; i++) {
+			messages.add(gptResponseCache.get("결혼식 친구", 0, executor, () -> "축하해! " + upstream.incrementAndGet()).join());
+		}
+
+		// then
+		assertThat(upstream.get()).isBetween(2, GptResponseCache.MESSAGE_VARIANTS);
+		assertThat(Set.copyOf(messages)).hasSize(upstream.get());
+		then(valueOperations).should(times(upstream.get())).set(startsWith(GptResponseCache.key("결혼식 친구", 0) + ":"),
+			anyString(), eq(Duration.ofHours(1)));
+	}
+
+	@DisplayName("실패한 호출은 실패를 알리기 전에 캐시에서 빠지므로 바로 다시 요청하면 새로 부른다")
+	@RepeatedTest(20)
+	void failureNotCached() {
+		// given
+		AtomicInteger upstream = new AtomicInteger();
+
+		// when
+		CompletableFuture<String> failed = gptResponseCache.get("결혼식", 1, executor, () -> {
+			upstream.incrementAndGet();
+			throw new IllegalStateException("timeout");
+		});
+		assertThatThrownBy(failed::join).isInstanceOf(CompletionException.class);
+		String retried = gptResponseCache.get("결혼식", 1, executor, () -> {
+			upstream.incrementAndGet();
+			return "10만원";
+		}).join();
+
+		// then
+		assertThat(retried).isEqualTo("10만원");
+		assertThat(upstream).hasValue(2);
+	}
+
+	@DisplayName("executor 가 작업을 받지 않으면 그 요청만 실패하고 캐시에 남지 않는다")
+	@Test
+	void rejectedNotCached() {
+		// given
+		Executor rejecting = command -> {
+			throw new RejectedExecutionException("busy");
+		};
+
+		// when
+		CompletableFuture<String> rejected = gptResponseCache.get("결혼식", 1, rejecting, () -> fail("upstream"));
+		String retried = gptResponseCache.get("결혼식", 1, executor, () -> "10만원").join();
+
+		// then
+		assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+		assertThat(retried).isEqualTo("10만원");
+	}
+
+	private double count(String tier) {
+		return meterRegistry.get("gpt.cache.lookups").tag("tier", tier).counter().count();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
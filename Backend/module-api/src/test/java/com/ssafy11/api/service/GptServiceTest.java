@@ -0,0 +1,142 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.ssafy11.api.config.gpt.GptConfig;
+import com.ssafy11.api.exception.ErrorCode;
+import com.ssafy11.api.exception.ErrorException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GptServiceTest {
+
+	private HttpServer server;
+	private GptService gptService;
+	private final AtomicReference<String> authorization = new AtomicReference<>();
+	private final AtomicReference<String> requestBody = new AtomicReference<>();
+	private volatile String answer;
+	private volatile long delayMillis;
+
+	// OpenAI 대신 로컬 스텁 서버에 붙는다
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/v1/chat/completions", this::complete);
+		server.setExecutor(null);
+		server.start();
+
+		String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("gpt-test-");
+		executor.setVirtualThreads(true);
+		StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+		given(stringRedisTemplate.opsForValue()).willReturn(mock(ValueOperations.class));
+		ObjectProvider<MeterRegistry> meterRegistry = mock(ObjectProvider.class);
+		given(meterRegistry.getIfAvailable(any())).willReturn(new SimpleMeterRegistry());
+		this.gptService = new GptService(GptConfig.restClient(baseUrl, "test-key", Duration.ofSeconds(1), Duration.ofMillis(300)),
+			executor, new GptResponseCache(stringRedisTemplate, meterRegistry), " 금액만 알려줘", " 메시지만 알려줘", 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@DisplayName("공용 클라이언트로 API 키와 프롬프트를 보내고 답변에서 금액만 뽑는다")
+	@Test
+	void amount() {
+		// given
+		answer = "친구 결혼식이라면 10만원 정도가 적당합니다.";
+
+		// when
+		String result = gptService.getChatResponseAsync("친구 결혼식", 1).join();
+
+		// then
+		assertThat(result).isEqualTo("10만원");
+		assertThat(authorization.get()).isEqualTo("Bearer test-key");
+		assertThat(new JSONObject(requestBody.get()).getJSONArray("messages").getJSONObject(0).getString("content"))
+			.isEqualTo("친구 결혼식 금액만 알려줘");
+	}
+
+	@DisplayName("응답이 읽기 제한 시간을 넘기면 기다리지 않고 GPT 호출 실패로 끝난다")
+	@Test
+	void readTimeout() {
+		// given
+		answer = "늦은 답변";
+		delayMillis = 2_000;
+
+		// when & then
+		assertThatThrownBy(() -> gptService.getChatResponseAsync("친구 결혼식", 0).join())
+			.isInstanceOf(CompletionException.class)
+			.cause()
+			.isInstanceOf(ErrorException.class)
+			.extracting("errorCode").isEqualTo(ErrorCode.GPT_API_REQUEST_FAILED);
+	}
+
+	@DisplayName("동시 호출 상한에 닿으면 자리가 날 때까지 기다리지 않고 바로 거절한다")
+	@Test
+	void busy() throws InterruptedException {
+		// given
+		answer = "10만원";
+		delayMillis = 200;
+		CompletableFuture<String> first = gptService.getChatResponseAsync("친구 결혼식", 1);
+		while (requestBody.get() == null) {
+			Thread.sleep(10);
+		}
+
+		// when & then
+		assertThatThrownBy(() -> gptService.getChatResponseAsync("동료 돌잔치", 1).join())
+			.isInstanceOf(CompletionException.class)
+			.cause()
+			.isInstanceOf(ErrorException.class)
+			.extracting("errorCode").isEqualTo(ErrorCode.GPT_BUSY);
+		assertThat(first.join()).isEqualTo("10만원");
+	}
+
+	private void complete(HttpExchange exchange) throws IOException {
+		authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+		requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+		try {
+			Thread.sleep(delayMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		byte[] body = new JSONObject()
+			.put("choices", new JSONArray()
+				.put(new JSONObject().put("message", new JSONObject().put("role", "assistant").put("content", answer))))
+			.toString()
+			.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		try (OutputStream output = exchange.getResponseBody()) {
+			exchange.sendResponseHeaders(200, body.length);
+			output.write(body);
+		} catch (IOException e) {
+			// 클라이언트가 시간 초과로 먼저 끊은 경우
+		}
+	}
+}
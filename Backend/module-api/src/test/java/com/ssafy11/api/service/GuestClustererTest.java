@@ -0,0 +1,69 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ssafy11.domain.duplicate.dto.MergeProposal;
+import com.ssafy11.domain.guest.Guest;
+
+class GuestClustererTest {
+
+	private final GuestClusterer guestClusterer = new GuestClusterer();
+
+	@DisplayName("이름과 휴대폰 번호가 같은 지인은 병합 후보가 된다")
+	@Test
+	void samePhone() {
+		// given
+		List<Guest> guests = List.of(
+			new Guest(1, "김싸피", "친구", "010-1234-5678"),
+			new Guest(2, "김 싸피", null, "01012345678"),
+			new Guest(3, "이싸피", "친구", "01012345678"));
+
+		// when
+		List<MergeProposal> proposals = guestClusterer.cluster(guests, Map.of(2, List.of(10)));
+
+		// then
+		assertThat(proposals).hasSize(1);
+		assertThat(proposals.get(0).keepGuestId()).isEqualTo(2);
+		assertThat(proposals.get(0).mergeGuestId()).isEqualTo(1);
+	}
+
+	@DisplayName("휴대폰 번호가 다르거나 같은 이벤트에 함께 등록된 지인은 병합하지 않는다")
+	@Test
+	void differentPerson() {
+		// given
+		List<Guest> guests = List.of(
+			new Guest(1, "김싸피", "친구", "01011112222"),
+			new Guest(2, "김싸피", "친구", "01033334444"),
+			new Guest(3, "박싸피", "회사", null),
+			new Guest(4, "박싸피", "회사", null));
+
+		// when
+		List<MergeProposal> proposals = guestClusterer.cluster(guests, Map.of(3, List.of(7), 4, List.of(7)));
+
+		// then
+		assertThat(proposals).isEmpty();
+	}
+
+	@DisplayName("서로 다른 사람으로 판정된 지인은 같은 묶음으로 이어지지 않는다")
+	@Test
+	void noTransitiveMerge() {
+		// given
+		List<Guest> guests = List.of(
+			new Guest(1, "최싸피", "친구", "01011112222"),
+			new Guest(2, "최싸피", "친구", null),
+			new Guest(3, "최싸피", "친구", "01033334444"));
+
+		// when
+		List<MergeProposal> proposals = guestClusterer.cluster(guests, Map.of());
+
+		// then
+		assertThat(proposals).hasSize(1);
+		assertThat(proposals.get(0).mergeGuestId()).isNotEqualTo(3).isNotEqualTo(proposals.get(0).keepGuestId());
+	}
+}
@@ -0,0 +1,145 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ssafy11.api.dto.sync.ContactHash;
+import com.ssafy11.api.dto.sync.ContactSyncApplyRequest;
+import com.ssafy11.api.dto.sync.ContactSyncRequest;
+import com.ssafy11.api.dto.sync.ContactSyncResponse;
+import com.ssafy11.domain.guest.ContactHasher;
+import com.ssafy11.domain.guest.Guest;
+import com.ssafy11.domain.guest.GuestDao;
+import com.ssafy11.domain.participant.ParticipantDao;
+import com.ssafy11.domain.participant.dto.AddGuestResponse;
+import com.ssafy11.domain.relation.UserRelationDao;
+import com.ssafy11.domain.schedule.ScheduleDao;
+
+class GuestServiceTest {
+
+	private static final String USER_ID = "1";
+
+	private GuestDao guestDao;
+	private ParticipantDao participantDao;
+	private UserRelationDao userRelationDao;
+	private GuestService guestService;
+
+	@BeforeEach
+	void setUp() {
+		this.guestDao = mock(GuestDao.class);
+		this.participantDao = mock(ParticipantDao.class);
+		this.userRelationDao = mock(UserRelationDao.class);
+		this.guestService = new GuestService(guestDao, mock(ScheduleDao.class), participantDao, userRelationDao);
+		given(guestDao.getSyncDigest(1)).willReturn(Optional.of("server-digest"));
+	}
+
+	@DisplayName("digest 가 같으면 지인 목록을 조회하지 않고 빈 목록으로 변경 없음을 알린다")
+	@Test
+	void diffUnchanged() {
+		// when
+		ContactSyncResponse response = guestService.diffContacts(new ContactSyncRequest("server-digest", null), USER_ID);
+
+		// then
+		assertThat(response.changed()).isFalse();
+		assertThat(response.adds()).isEmpty();
+		then(guestDao).should(never()).getGuestsByUserId(anyInt());
+	}
+
+	@DisplayName("digest 만 보내고 달라졌으면 null 이 아닌 빈 목록으로 변경됨을 알린다")
+	@Test
+	void diffWithoutContacts() {
+		// when
+		ContactSyncResponse response = guestService.diffContacts(new ContactSyncRequest("old-digest", null), USER_ID);
+
+		// then
+		assertThat(response.changed()).isTrue();
+		assertThat(response.adds()).isEmpty();
+		assertThat(response.updates()).isEmpty();
+		assertThat(response.removes()).isEmpty();
+		then(guestDao).should(never()).getGuestsByUserId(anyInt());
+	}
+
+	@DisplayName("번호로 지인을 맞춰 해시가 같으면 건너뛰고, 다르면 수정, 없으면 추가, 주소록에 없는 동기화 지인은 삭제로 돌려준다")
+	@Test
+	void diffContacts() {
+		// given
+		given(guestDao.getGuestsByUserId(1)).willReturn(List.of(
+			new Guest(10, "김철수", "친구", "010-1111-1111"),
+			new Guest(11, "이영희", "직장", "01022222222"),
+			new Guest(12, "박민수", "가족", "01033333333"),
+			new Guest(13, "정수아", "친구", "01055555555")));
+		// 13 은 직접 추가한 지인이라 주소록에 없어도 지우지 않는다
+		given(userRelationDao.getSyncedGuestIds(1)).willReturn(List.of(10, 11, 12));
+		List<ContactHash> contacts = List.of(
+			// 같은 번호를 다른 형식으로 적어도 같은 지인이다
+			new ContactHash("+82 10-1111-1111", ContactHasher.hash("01011111111", "김철수", "친구")),
+			new ContactHash("01022222222", ContactHasher.hash("01022222222", "이영희", "친구")),
+			new ContactHash("01044444444", ContactHasher.hash("01044444444", "최지훈", "친구")),
+			new ContactHash("010-4444-4444", ContactHasher.hash("01044444444", "최지훈", "친구")));
+
+		// when
+		ContactSyncResponse response = guestService.diffContacts(new ContactSyncRequest("old-digest", contacts), USER_ID);
+
+		// then
+		assertThat(response.changed()).isTrue();
+		assertThat(response.adds()).containsExactly("01044444444");
+		assertThat(response.updates()).containsExactly("01022222222");
+		assertThat(response.removes()).containsExactly(12);
+	}
+
+	@DisplayName("주소록이 비어 있으면 번호가 있는 동기화 지인을 모두 삭제로 돌려준다")
+	@Test
+	void diffEmptyContacts() {
+		// given
+		given(guestDao.getGuestsByUserId(1)).willReturn(List.of(
+			new Guest(10, "김철수", "친구", "01011111111"),
+			new Guest(11, "번호없음", "친구", null)));
+		given(userRelationDao.getSyncedGuestIds(1)).willReturn(List.of(10, 11));
+
+		// when
+		ContactSyncResponse response = guestService.diffContacts(new ContactSyncRequest("old-digest", List.of()), USER_ID);
+
+		// then
+		assertThat(response.adds()).isEmpty();
+		assertThat(response.updates()).isEmpty();
+		assertThat(response.removes()).containsExactly(10);
+	}
+
+	@DisplayName("동기화로 추가하거나 수정한 지인을 동기화 지인으로 표시한다")
+	@Test
+	void applyMarksSynced() {
+		// given
+		given(guestDao.getGuestsByUserId(1)).willReturn(List.of(new Guest(10, "김철수", "친구", "01011111111")));
+		given(participantDao.addGuests(anyList())).willReturn(List.of(20));
+		given(participantDao.addUserRelations(List.of(20), 1)).willReturn(1);
+		ContactSyncApplyRequest request = new ContactSyncApplyRequest(List.of(
+			new AddGuestResponse("김철수", "가족", "01011111111"),
+			new AddGuestResponse("최지훈", "친구", "01044444444")), List.of());
+
+		// when
+		guestService.applyContacts(request, USER_ID);
+
+		// then
+		then(userRelationDao).should().markSynced(1, List.of(20, 10));
+	}
+
+	@DisplayName("동기화로 들어오지 않은 지인은 동기화 반영으로 지울 수 없다")
+	@Test
+	void applyRejectsManualRemove() {
+		// given
+		given(guestDao.getGuestsByUserId(1)).willReturn(List.of(new Guest(13, "정수아", "친구", "01055555555")));
+		given(userRelationDao.getSyncedGuestIds(1)).willReturn(List.of());
+
+		// when & then
+		assertThatThrownBy(() -> guestService.applyContacts(new ContactSyncApplyRequest(List.of(), List.of(13)), USER_ID))
+			.isInstanceOf(IllegalArgumentException.class);
+		then(userRelationDao).should(never()).deleteUserRelations(anyInt(), anyList());
+	}
+}
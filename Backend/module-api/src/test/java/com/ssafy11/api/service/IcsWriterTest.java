@@ -0,0 +1,39 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ssafy11.domain.calendar.dto.CalendarEntry;
+
+class IcsWriterTest {
+
+	@DisplayName("긴 한글 제목은 75 바이트마다 문자 단위로 접고 특수문자는 이스케이프한다")
+	@Test
+	void foldAndEscape() {
+		// given
+		StringWriter writer = new StringWriter();
+		IcsWriter ics = new IcsWriter(writer, Instant.parse("2026-05-01T00:00:00Z"));
+		String name = "결혼식; 피로연, 2부".repeat(5);
+
+		// when
+		ics.begin("얼마줬노");
+		ics.entry(new CalendarEntry("SCHEDULE", 3, name, LocalDateTime.of(2026, 5, 10, 12, 0), "친구", 1, "홍길동", -50_000));
+		ics.end();
+
+		// then
+		String text = writer.toString();
+		assertThat(text).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+		assertThat(text).contains("UID:schedule-3-20260510@ulma\r\n", "DTSTART:20260510T030000Z\r\n");
+		for (String line : text.split("\r\n")) {
+			assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+		}
+		assertThat(text.replace("\r\n ", "")).contains("SUMMARY:홍길동 " + "결혼식\\; 피로연\\, 2부".repeat(5) + "\r\n");
+	}
+}
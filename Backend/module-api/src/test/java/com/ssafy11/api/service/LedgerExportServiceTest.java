@@ -0,0 +1,58 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ssafy11.api.dto.ExcelParse;
+import com.ssafy11.domain.events.EventDao;
+import com.ssafy11.domain.participant.dto.EventParticipant;
+
+class LedgerExportServiceTest {
+
+	private static final Integer EVENT_ID = 3;
+
+	private EventDao eventDao;
+	private LedgerExportService ledgerExportService;
+
+	@BeforeEach
+	void setUp() {
+		this.eventDao = mock(EventDao.class);
+		this.ledgerExportService = new LedgerExportService(eventDao);
+	}
+
+	@DisplayName("행 윈도우보다 많은 참가자도 모두 내보내고, 내려받은 파일은 그대로 다시 가져올 수 있다")
+	@Test
+	@SuppressWarnings("unchecked")
+	void exportRoundTrip() throws IOException {
+		// given
+		willAnswer(invocation -> {
+			Consumer<EventParticipant> consumer = invocation.getArgument(1);
+			for (int i = 1; i <= 1_000; i++) {
+				consumer.accept(new EventParticipant(i, "지인" + i, i % 2 == 0 ? "친구" : null, i * 1_000));
+			}
+			return null;
+		}).given(eventDao).forEachParticipant(eq(EVENT_ID), any(Consumer.class));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		// when
+		ledgerExportService.export(EVENT_ID, output);
+
+		// then
+		List<ExcelParse> rows = new ArrayList<>();
+		int count = new ExcelService().parseExcelFile(new ByteArrayInputStream(output.toByteArray()), rows::add);
+		assertThat(count).isEqualTo(1_000);
+		assertThat(rows.get(0)).isEqualTo(new ExcelParse("지인1", null, 1_000));
+		assertThat(rows.get(999)).isEqualTo(new ExcelParse("지인1000", "친구", 1_000_000));
+	}
+}
@@ -0,0 +1,146 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy11.api.dto.LedgerImportStatus;
+import com.ssafy11.domain.events.EventDao;
+import com.ssafy11.domain.guest.Guest;
+import com.ssafy11.domain.guest.GuestDao;
+import com.ssafy11.domain.participant.ParticipantDao;
+import com.ssafy11.domain.participant.dto.AddGuestResponse;
+import com.ssafy11.domain.participant.dto.LedgerEntry;
+
+class LedgerImportServiceTest {
+
+	private static final Integer USER_ID = 7;
+	private static final Integer EVENT_ID = 3;
+
+	private ParticipantDao participantDao;
+	private GuestDao guestDao;
+	private EventDao eventDao;
+	private ValueOperations<String, String> valueOperations;
+	private ObjectMapper objectMapper;
+	private LedgerImportService ledgerImportService;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		this.participantDao = mock(ParticipantDao.class);
+		this.guestDao = mock(GuestDao.class);
+		this.eventDao = mock(EventDao.class);
+		this.valueOperations = mock(ValueOperations.class);
+		StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+		given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+		this.objectMapper = new ObjectMapper().findAndRegisterModules();
+		this.ledgerImportService = new LedgerImportService(new ExcelService(), participantDao, guestDao, eventDao,
+			new TransactionTemplate(mock(PlatformTransactionManager.class)), stringRedisTemplate, objectMapper, Runnable::run);
+	}
+
+	@DisplayName("기존 지인과 이름으로 매칭하고, 없는 지인은 만들고, 동명이인이 여럿이면 건너뛴다")
+	@Test
+	void importLedger() throws IOException {
+		// given
+		given(eventDao.isUserEventCreated(EVENT_ID, USER_ID)).willReturn(true);
+		given(guestDao.getGuestsByUserId(USER_ID)).willReturn(List.of(
+			new Guest(1, "홍길동", "친구", null),
+			new Guest(2, "김철수", "회사", null),
+			new Guest(3, "김철수", "가족", null)));
+		given(participantDao.addGuests(List.of(new AddGuestResponse("이영희", "친구", null)))).willReturn(List.of(10));
+		byte[] xlsx = ExcelServiceTest.workbook(sheet -> {
+			ExcelServiceTest.row(sheet, 0, "성명", "관계", "금액");
+			ExcelServiceTest.row(sheet, 1, "홍길동", "대학", 50_000);
+			ExcelServiceTest.row(sheet, 2, "김철수", "동네", 30_000);
+			ExcelServiceTest.row(sheet, 3, "김철수", "가족", 20_000);
+			ExcelServiceTest.row(sheet, 4, "이영희", "친구", 100_000);
+			ExcelServiceTest.row(sheet, 5, "이영희", "친구", 70_000);
+		});
+
+		// when
+		LedgerImportStatus submitted = ledgerImportService.submit(USER_ID.toString(), EVENT_ID,
+			new MockMultipartFile("file", "ledger.xlsx", null, xlsx));
+
+		// then
+		then(participantDao).should().addUserRelations(List.of(10), USER_ID);
+		then(participantDao).should().upsertParticipants(EVENT_ID, List.of(
+			new LedgerEntry(1, 50_000),
+			new LedgerEntry(3, 20_000),
+			new LedgerEntry(10, 100_000)));
+
+		ArgumentCaptor<String> statuses = ArgumentCaptor.forClass(String.class);
+		then(valueOperations).should(atLeastOnce()).set(anyString(), statuses.capture(), any(Duration.class));
+		LedgerImportStatus done = objectMapper.readValue(statuses.getValue(), LedgerImportStatus.class);
+		assertThat(done.jobId()).isEqualTo(submitted.jobId());
+		assertThat(done.state()).isEqualTo(LedgerImportStatus.State.DONE);
+		assertThat(done.parsed()).isEqualTo(5);
+		assertThat(done.saved()).isEqualTo(3);
+		assertThat(done.createdGuests()).isEqualTo(1);
+		assertThat(done.ambiguous()).isEqualTo(2);
+	}
+
+	@DisplayName("처음 보는 이름은 관계가 다르면 다른 지인으로 만들고, 파일 안에서 같은 지인이 다시 나오면 덮어쓰지 않는다")
+	@Test
+	void newGuestsByNameAndCategory() throws IOException {
+		// given
+		given(eventDao.isUserEventCreated(EVENT_ID, USER_ID)).willReturn(true);
+		given(guestDao.getGuestsByUserId(USER_ID)).willReturn(List.of());
+		given(participantDao.addGuests(List.of(
+			new AddGuestResponse("박민수", "친구", null),
+			new AddGuestResponse("박민수", "회사", null)))).willReturn(List.of(20, 21));
+		byte[] xlsx = ExcelServiceTest.workbook(sheet -> {
+			ExcelServiceTest.row(sheet, 0, "성명", "관계", "금액");
+			ExcelServiceTest.row(sheet, 1, "박민수", "친구", 50_000);
+			ExcelServiceTest.row(sheet, 2, "박민수", "회사", 30_000);
+			ExcelServiceTest.row(sheet, 3, "박민수", "친구", 70_000);
+		});
+
+		// when
+		ledgerImportService.submit(USER_ID.toString(), EVENT_ID, new MockMultipartFile("file", "ledger.xlsx", null, xlsx));
+
+		// then
+		then(participantDao).should().addUserRelations(List.of(20, 21), USER_ID);
+		then(participantDao).should().upsertParticipants(EVENT_ID, List.of(
+			new LedgerEntry(20, 50_000),
+			new LedgerEntry(21, 30_000)));
+
+		ArgumentCaptor<String> statuses = ArgumentCaptor.forClass(String.class);
+		then(valueOperations).should(atLeastOnce()).set(anyString(), statuses.capture(), any(Duration.class));
+		LedgerImportStatus done = objectMapper.readValue(statuses.getValue(), LedgerImportStatus.class);
+		assertThat(done.saved()).isEqualTo(2);
+		assertThat(done.createdGuests()).isEqualTo(2);
+		assertThat(done.ambiguous()).isEqualTo(1);
+	}
+
+	@DisplayName("헤더가 없는 파일은 실패 상태로 남긴다")
+	@Test
+	void failWithoutHeader() throws IOException {
+		// given
+		given(eventDao.isUserEventCreated(EVENT_ID, USER_ID)).willReturn(true);
+		byte[] xlsx = ExcelServiceTest.workbook(sheet -> ExcelServiceTest.row(sheet, 0, "홍길동", "친구", 50_000));
+
+		// when
+		ledgerImportService.submit(USER_ID.toString(), EVENT_ID, new MockMultipartFile("file", "ledger.xlsx", null, xlsx));
+
+		// then
+		ArgumentCaptor<String> statuses = ArgumentCaptor.forClass(String.class);
+		then(valueOperations).should(atLeastOnce()).set(anyString(), statuses.capture(), any(Duration.class));
+		LedgerImportStatus failed = objectMapper.readValue(statuses.getValue(), LedgerImportStatus.class);
+		assertThat(failed.state()).isEqualTo(LedgerImportStatus.State.FAILED);
+		then(participantDao).should(never()).upsertParticipants(any(), any());
+	}
+}
@@ -0,0 +1,183 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import com.ssafy11.api.config.sms.SmsMessage;
+import com.ssafy11.api.config.sms.SmsSender;
+import com.ssafy11.domain.reminder.ReminderDao;
+import com.ssafy11.domain.reminder.dto.Reminder;
+import com.ssafy11.domain.reminder.dto.ReminderPosition;
+
+class ReminderServiceTest {
+
+	private static final Long TOKEN = 7L;
+
+	private ReminderDao reminderDao;
+	private ClusterJobRunner clusterJobRunner;
+	private SmsSender smsSender;
+	private ReminderService reminderService;
+
+	@BeforeEach
+	void setUp() {
+		this.reminderDao = mock(ReminderDao.class);
+		this.clusterJobRunner = mock(ClusterJobRunner.class);
+		this.smsSender = mock(SmsSender.class);
+		this.reminderService = new ReminderService(reminderDao, clusterJobRunner, smsSender,
+			mock(JavaMailSender.class), Runnable::run);
+		given(clusterJobRunner.renew(eq(ReminderService.JOB_NAME), eq(TOKEN), any(Duration.class))).willReturn(true);
+		given(clusterJobRunner.tryLead(eq(ReminderService.JOB_NAME), any(Duration.class))).willReturn(Optional.of(TOKEN));
+		given(reminderDao.getCursor(ReminderService.JOB_NAME)).willReturn(Optional.empty());
+		given(reminderDao.getReminders(any(), any(), anyInt())).willReturn(List.of());
+		reminderService.load();
+	}
+
+	@DisplayName("휠에 올린 뒤 지워지거나 날짜가 바뀐 일정은 보내지 않고 나머지는 지금 값으로 보낸다")
+	@Test
+	void skipDeletedOrRescheduled() {
+		// given
+		LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+		Reminder kept = reminder(1, tomorrow, 10, "01011111111");
+		Reminder deleted = reminder(2, tomorrow, 20, "01022222222");
+		Reminder rescheduled = reminder(3, tomorrow, 30, "01033333333");
+		given(reminderDao.getCurrentReminders(anyCollection())).willReturn(List.of(
+			reminder(1, tomorrow, 10, "01099999999"),
+			reminder(3, tomorrow.plusDays(7), 30, "01033333333")));
+
+		// when
+		reminderService.dispatch(TOKEN, List.of(kept, deleted, rescheduled));
+
+		// then
+		then(smsSender).should().sendSms(List.of(new SmsMessage("01099999999", ReminderService.message(
+			List.of(reminder(1, tomorrow, 10, "01099999999"))))));
+		then(reminderDao).should().saveCursor(ReminderService.JOB_NAME, rescheduled.position());
+	}
+
+	@DisplayName("반복 일정 알림은 규칙이 아직 그날 돌아올 때만 보낸다")
+	@Test
+	void recurrenceRechecked() {
+		// given
+		LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+		Reminder birthday = new Reminder(null, tomorrow, "생일", "홍길동", 10, "01011111111", null, 5);
+		Reminder moved = new Reminder(null, tomorrow, "제사", "홍길동", 20, "01022222222", null, 6);
+		given(reminderDao.getCurrentReminders(anyCollection())).willReturn(List.of(birthday));
+
+		// when
+		reminderService.dispatch(TOKEN, List.of(birthday, moved));
+
+		// then
+		then(smsSender).should().sendSms(List.of(new SmsMessage("01011111111", ReminderService.message(List.of(birthday)))));
+		then(reminderDao).should().saveCursor(ReminderService.JOB_NAME, new ReminderPosition(tomorrow, -5));
+	}
+
+	@DisplayName("사용자 묶음마다 임대를 늘리고 그때까지 보낸 위치를 남긴다")
+	@Test
+	void saveCursorPerBatch() {
+		// given
+		LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+		List<Reminder> due = IntStream.range(0, ReminderService.USER_BATCH_SIZE + 1)
+			.mapToObj(i -> reminder(i + 1, tomorrow, i + 1, "010" + i))
+			.toList();
+		given(reminderDao.getCurrentReminders(anyCollection())).willAnswer(invocation -> {
+			Collection<Reminder> batch = invocation.getArgument(0);
+			return List.copyOf(batch);
+		});
+
+		// when
+		reminderService.dispatch(TOKEN, due);
+
+		// then
+		ArgumentCaptor<ReminderPosition> cursor = ArgumentCaptor.forClass(ReminderPosition.class);
+		then(clusterJobRunner).should(times(2)).renew(eq(ReminderService.JOB_NAME), eq(TOKEN), any(Duration.class));
+		then(reminderDao).should(times(2)).saveCursor(eq(ReminderService.JOB_NAME), cursor.capture());
+		assertThat(cursor.getAllValues()).containsExactly(
+			due.get(ReminderService.USER_BATCH_SIZE - 1).position(),
+			due.get(ReminderService.USER_BATCH_SIZE).position());
+	}
+
+	@DisplayName("발송 중 담당 노드에서 빠지면 위치를 남기지 않고 남은 묶음도 보내지 않는다")
+	@Test
+	void stopWhenLeaseLost() {
+		// given
+		LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+		List<Reminder> due = new ArrayList<>();
+		for (int i = 0; i <= ReminderService.USER_BATCH_SIZE; i++) {
+			due.add(reminder(i + 1, tomorrow, i + 1, "010" + i));
+		}
+		given(reminderDao.getCurrentReminders(anyCollection())).willReturn(due);
+		given(clusterJobRunner.renew(eq(ReminderService.JOB_NAME), eq(TOKEN), any(Duration.class))).willReturn(false);
+		clearInvocations(reminderDao);
+
+		// when
+		reminderService.dispatch(TOKEN, due);
+
+		// then
+		then(smsSender).should(times(1)).sendSms(anyList());
+		then(reminderDao).should(never()).saveCursor(anyString(), any());
+	}
+
+	@DisplayName("SMS 발송에 실패하면 위치를 실패한 알림 앞까지만 남기고 잠시 뒤 다시 보낸다")
+	@Test
+	void keepCursorBeforeFailedSend() {
+		// given
+		LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+		List<Reminder> due = IntStream.range(0, ReminderService.USER_BATCH_SIZE + 1)
+			.mapToObj(i -> reminder(i + 1, tomorrow, i + 1, "010" + i))
+			.toList();
+		given(reminderDao.getCurrentReminders(anyCollection())).willAnswer(invocation -> {
+			Collection<Reminder> batch = invocation.getArgument(0);
+			return List.copyOf(batch);
+		});
+		willThrow(new IllegalStateException("SMS 서버 점검")).willDoNothing().given(smsSender).sendSms(anyList());
+
+		// when
+		reminderService.dispatch(TOKEN, due);
+
+		// then
+		ArgumentCaptor<ReminderPosition> cursor = ArgumentCaptor.forClass(ReminderPosition.class);
+		then(reminderDao).should(times(2)).saveCursor(eq(ReminderService.JOB_NAME), cursor.capture());
+		ReminderPosition beforeFirst = new ReminderPosition(tomorrow, 0);
+		assertThat(cursor.getAllValues()).containsExactly(beforeFirst, beforeFirst);
+	}
+
+	@DisplayName("발송을 기다리는 알림도 MAX_PENDING 에 세어 휠을 더 채우지 않는다")
+	@Test
+	void countUnsentTowardPending() {
+		// given
+		LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+		List<Runnable> queued = new ArrayList<>();
+		ReminderService stalled = new ReminderService(reminderDao, clusterJobRunner, smsSender,
+			mock(JavaMailSender.class), queued::add);
+		stalled.load();
+		List<Reminder> due = IntStream.range(0, ReminderService.MAX_PENDING)
+			.mapToObj(i -> reminder(i + 1, tomorrow, i + 1, "010" + i))
+			.toList();
+		stalled.dispatch(TOKEN, due);
+		clearInvocations(reminderDao);
+
+		// when
+		stalled.load();
+
+		// then
+		assertThat(queued).hasSize(1);
+		then(reminderDao).should(never()).getReminders(any(), any(), anyInt());
+	}
+
+	private static Reminder reminder(Integer scheduleId, LocalDateTime date, Integer userId, String phoneNumber) {
+		return new Reminder(scheduleId, date, "결혼식", "김철수", userId, phoneNumber, null, null);
+	}
+}
@@ -0,0 +1,122 @@
+package com.ssafy11.api.service;
+
+import static org.mockito.BDDMockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ssafy11.domain.scheduler.SchedulerDao;
+import com.ssafy11.domain.scheduler.dto.AnalysisWatermark;
+import com.ssafy11.domain.scheduler.dto.DailyAmountCount;
+import com.ssafy11.domain.scheduler.dto.PaymentAmountDelta;
+
+class SchedulerServiceTest {
+
+	private SchedulerDao schedulerDao;
+	private SchedulerService schedulerService;
+
+	@BeforeEach
+	void setUp() {
+		this.schedulerDao = mock(SchedulerDao.class);
+		this.schedulerService = new SchedulerService(schedulerDao, mock(RecommendAmountSnapshot.class),
+			mock(ClusterJobRunner.class));
+	}
+
+	@DisplayName("변경 기록의 추가/수정/삭제를 건수 변화로 더하고 1년 구간에서 빠진 날짜만 뺀다")
+	@Test
+	void incremental() {
+		// given
+		LocalDateTime now = LocalDateTime.of(2024, 10, 2, 0, 0);
+		LocalDateTime lastRun = LocalDateTime.of(2024, 10, 1, 0, 0);
+		LocalDate previousStart = LocalDate.of(2023, 10, 1);
+		LocalDate windowStart = LocalDate.of(2023, 10, 2);
+		LocalDate recentDay = LocalDate.of(2024, 9, 28);
+		LocalDate oldDay = LocalDate.of(2022, 5, 1);
+		List<DailyAmountCount> expired = List.of(new DailyAmountCount("결혼식", previousStart, 50000, 3));
+
+		given(schedulerDao.getWatermark("payment_analysis"))
+			.willReturn(Optional.of(new AnalysisWatermark(lastRun, previousStart)));
+		given(schedulerDao.getAmountDeltas(0L, SchedulerService.DELTA_PAGE_SIZE)).willReturn(List.of(
+			new PaymentAmountDelta(1L, "결혼식", recentDay, 100000, 1),
+			new PaymentAmountDelta(2L, "결혼식", recentDay, 100000, 1),
+			// 5만원을 10만원으로 고친 기록
+			new PaymentAmountDelta(3L, "결혼식", recentDay, 50000, -1),
+			new PaymentAmountDelta(4L, "결혼식", recentDay, 100000, 1),
+			// 지웠다가 같은 금액으로 다시 넣어 변화가 없는 기록
+			new PaymentAmountDelta(5L, "돌잔치", recentDay, 30000, -1),
+			new PaymentAmountDelta(6L, "돌잔치", recentDay, 30000, 1),
+			new PaymentAmountDelta(7L, "결혼식", oldDay, 50000, -1)));
+		given(schedulerDao.getDailyAmounts(previousStart, windowStart)).willReturn(expired);
+
+		// when
+		schedulerService.refreshAmounts(now);
+
+		// then
+		List<DailyAmountCount> changed = List.of(
+			new DailyAmountCount("결혼식", recentDay, 100000, 3),
+			new DailyAmountCount("결혼식", recentDay, 50000, -1),
+			new DailyAmountCount("결혼식", oldDay, 50000, -1));
+		verify(schedulerDao, never()).clearAmounts();
+		verify(schedulerDao, never()).getAmounts();
+		verify(schedulerDao).deleteAmountDeltas(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L));
+		verify(schedulerDao).addDailyAmounts(changed);
+		verify(schedulerDao).addWindowAmounts(changed.subList(0, 2), 1);
+		verify(schedulerDao).addWindowAmounts(expired, -1);
+		verify(schedulerDao).deleteDailyAmountsBefore(windowStart);
+		verify(schedulerDao).saveWatermark("payment_analysis", new AnalysisWatermark(now, windowStart));
+	}
+
+	@DisplayName("변경 기록은 한 페이지씩 읽고 읽은 id 만 지운다")
+	@Test
+	void deltaPages() {
+		// given
+		LocalDateTime now = LocalDateTime.of(2024, 10, 2, 0, 0);
+		LocalDate day = LocalDate.of(2024, 9, 28);
+		List<PaymentAmountDelta> firstPage = LongStream.rangeClosed(1, SchedulerService.DELTA_PAGE_SIZE)
+			.mapToObj(id -> new PaymentAmountDelta(id, "결혼식", day, 100000, 1))
+			.toList();
+		long lastId = SchedulerService.DELTA_PAGE_SIZE;
+		given(schedulerDao.getWatermark("payment_analysis"))
+			.willReturn(Optional.of(new AnalysisWatermark(now.minusDays(1), LocalDate.of(2023, 10, 2))));
+		given(schedulerDao.getAmountDeltas(0L, SchedulerService.DELTA_PAGE_SIZE)).willReturn(firstPage);
+		given(schedulerDao.getAmountDeltas(lastId, SchedulerService.DELTA_PAGE_SIZE))
+			.willReturn(List.of(new PaymentAmountDelta(lastId + 5, "결혼식", day, 100000, 1)));
+
+		// when
+		schedulerService.refreshAmounts(now);
+
+		// then
+		verify(schedulerDao).deleteAmountDeltas(firstPage.stream().map(PaymentAmountDelta::id).toList());
+		verify(schedulerDao).deleteAmountDeltas(List.of(lastId + 5));
+		verify(schedulerDao).addDailyAmounts(
+			List.of(new DailyAmountCount("결혼식", day, 100000, SchedulerService.DELTA_PAGE_SIZE + 1)));
+	}
+
+	@DisplayName("워터마크가 없으면 전체 참여 내역으로 다시 만들고, 쌓인 변경 기록은 반영하지 않고 지운다")
+	@Test
+	void rebuild() {
+		// given
+		LocalDateTime now = LocalDateTime.of(2024, 10, 2, 0, 0);
+		given(schedulerDao.getWatermark("payment_analysis")).willReturn(Optional.empty());
+		given(schedulerDao.getAmountDeltas(0L, SchedulerService.DELTA_PAGE_SIZE))
+			.willReturn(List.of(new PaymentAmountDelta(9L, "결혼식", LocalDate.of(2024, 9, 28), 100000, 1)));
+		List<DailyAmountCount> all = List.of(new DailyAmountCount("결혼식", LocalDate.of(2024, 9, 28), 100000, 1));
+		given(schedulerDao.getAmounts()).willReturn(all);
+
+		// when
+		schedulerService.refreshAmounts(now);
+
+		// then
+		verify(schedulerDao).clearAmounts();
+		verify(schedulerDao).deleteAmountDeltas(List.of(9L));
+		verify(schedulerDao).addDailyAmounts(all);
+		verify(schedulerDao, never()).getDailyAmounts(any(), any());
+	}
+}
@@ -0,0 +1,77 @@
+package com.ssafy11.api.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+	private TimingWheel<String> wheel;
+
+	@BeforeEach
+	void setUp() {
+		// 1초 단위, 60칸, 3단계 -> 60시간
+		this.wheel = new TimingWheel<>(1_000, 60, 3, 0);
+	}
+
+	@DisplayName("위 단계에 들어간 항목도 마감 시각이 된 칸에서 만료된다")
+	@Test
+	void advanceAcrossLevels() {
+		// given
+		wheel.add(5_000, "seconds");
+		wheel.add(90_000, "minutes");
+		wheel.add(2 * 3_600_000 + 30_000, "hours");
+
+		// when, then
+		assertThat(wheel.advance(4_999)).isEmpty();
+		assertThat(wheel.advance(5_000)).containsExactly("seconds");
+		assertThat(wheel.advance(89_999)).isEmpty();
+		assertThat(wheel.advance(90_000)).containsExactly("minutes");
+		assertThat(wheel.advance(2 * 3_600_000 + 29_999)).isEmpty();
+		assertThat(wheel.advance(2 * 3_600_000 + 30_000)).containsExactly("hours");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@DisplayName("휠 범위를 넘는 항목은 넣지 않는다")
+	@Test
+	void rejectBeyondHorizon() {
+		// when
+		boolean added = wheel.add(wheel.horizon(), "far");
+
+		// then
+		assertThat(added).isFalse();
+		assertThat(wheel.add(wheel.horizon() - 1, "near")).isTrue();
+		assertThat(wheel.size()).isEqualTo(1);
+	}
+
+	@DisplayName("이미 지난 마감 시각은 다음 advance 에서 바로 만료된다")
+	@Test
+	void expirePastDeadline() {
+		// given
+		wheel.advance(10_000);
+
+		// when
+		wheel.add(3_000, "late");
+
+		// then
+		assertThat(wheel.advance(10_000)).containsExactly("late");
+	}
+
+	@DisplayName("알림은 일정 전날 오전 9시에 보내고, 그 시각이 기준 이전인 일정까지 읽는다")
+	@Test
+	void remindAtDayBefore() {
+		// given
+		LocalDateTime scheduleDate = LocalDateTime.of(2026, 5, 10, 18, 0);
+
+		// when, then
+		assertThat(ReminderService.remindAt(scheduleDate)).isEqualTo(LocalDateTime.of(2026, 5, 9, 9, 0));
+		assertThat(ReminderService.scheduleDateBound(LocalDateTime.of(2026, 5, 9, 8, 0)))
+			.isEqualTo(LocalDateTime.of(2026, 5, 10, 0, 0));
+		assertThat(ReminderService.scheduleDateBound(LocalDateTime.of(2026, 5, 9, 9, 30)))
+			.isEqualTo(LocalDateTime.of(2026, 5, 11, 0, 0));
+	}
+}
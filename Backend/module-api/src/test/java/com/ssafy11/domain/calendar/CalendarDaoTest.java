@@ -0,0 +1,162 @@
+package com.ssafy11.domain.calendar;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jooq.JooqTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.ssafy11.api.config.web.WebConfig;
+import com.ssafy11.domain.calendar.dto.CalendarEntry;
+import com.ssafy11.domain.events.EventTotalsCache;
+import com.ssafy11.domain.global.JooqConfig;
+import com.ssafy11.domain.guest.Guest;
+import com.ssafy11.domain.guest.GuestDaoImpl;
+import com.ssafy11.domain.participant.ParticipantDaoImpl;
+import com.ssafy11.domain.recommend.AmountSketchLog;
+import com.ssafy11.domain.relation.RelationIndexCache;
+import com.ssafy11.domain.scheduler.PaymentAmountLog;
+import com.ssafy11.domain.users.UserCommand;
+import com.ssafy11.domain.users.UserDaoImpl;
+
+@Testcontainers
+@JooqTest
+@Import({CalendarDaoImpl.class, GuestDaoImpl.class, RelationIndexCache.class, EventTotalsCache.class, AmountSketchLog.class, PaymentAmountLog.class, UserDaoImpl.class, ParticipantDaoImpl.class, WebConfig.class, JooqConfig.class})
+class CalendarDaoTest {
+
+	private static final LocalDateTime FROM = LocalDateTime.of(2024, 10, 1, 0, 0);
+	private static final LocalDateTime TO = LocalDateTime.of(2024, 11, 1, 0, 0);
+
+	@MockBean
+	private CalendarVersion calendarVersion;
+	@Autowired
+	private CalendarDaoImpl calendarDao;
+	@Autowired
+	private GuestDaoImpl guestDao;
+	@Autowired
+	private UserDaoImpl userDao;
+	@Autowired
+	private ParticipantDaoImpl participantDao;
+	@Autowired
+	private DSLContext dsl;
+	private Integer savedId;
+	private Integer otherId;
+	private Integer guestId;
+
+	@Container
+	public static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0.33")
+		.withDatabaseName("ulma")
+		.withUsername("root")
+		.withPassword("1234")
+		.withInitScript("schema.sql");
+
+	@DynamicPropertySource
+	static void registerMySQLProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", mySQLContainer::getJdbcUrl);
+		registry.add("spring.datasource.username", mySQLContainer::getUsername);
+		registry.add("spring.datasource.password", mySQLContainer::getPassword);
+	}
+
+	@BeforeEach
+	void setUp() {
+		this.savedId = saveUser("test", "01000000000");
+		this.otherId = saveUser("other", "01099999999");
+		this.guestId = this.participantDao.addGuests("김철수", "친구", "01012345678");
+		this.participantDao.addUserRelation(guestId, savedId);
+	}
+
+	@DisplayName("주최한 이벤트와 참석할 일정을 [from, to) 구간에서 날짜순으로 합치고, 일정에는 지인 이름과 관계를 붙인다")
+	@Test
+	void mergeEventsAndSchedules() {
+		// given
+		Integer firstEvent = addEvent(savedId, LocalDateTime.of(2024, 10, 1, 0, 0));
+		Integer schedule = addSchedule(savedId, LocalDateTime.of(2024, 10, 12, 12, 0));
+		Integer lastEvent = addEvent(savedId, LocalDateTime.of(2024, 10, 31, 23, 59));
+		addEvent(savedId, TO);
+		addSchedule(savedId, FROM.minusSeconds(1));
+		addEvent(otherId, LocalDateTime.of(2024, 10, 5, 12, 0));
+
+		// when
+		List<CalendarEntry> calendar = this.calendarDao.getCalendar(savedId, FROM, TO);
+
+		// then
+		assertThat(calendar).extracting(CalendarEntry::type, CalendarEntry::id)
+			.containsExactly(
+				tuple(CalendarDaoImpl.EVENT_TYPE, firstEvent),
+				tuple(CalendarDaoImpl.SCHEDULE_TYPE, schedule),
+				tuple(CalendarDaoImpl.EVENT_TYPE, lastEvent));
+		assertThat(calendar.get(0).guestName()).isNull();
+		assertThat(calendar.get(1)).extracting(CalendarEntry::guestId, CalendarEntry::guestName, CalendarEntry::category,
+				CalendarEntry::amount)
+			.containsExactly(guestId, "김철수", "친구", -50_000);
+	}
+
+	@DisplayName("지인 이름을 바꾸면 그 지인을 둔 사용자의 달력 버전을 올리고 달력에는 바뀐 이름이 나간다")
+	@Test
+	void renameBumpsVersion() {
+		// given
+		addSchedule(savedId, LocalDateTime.of(2024, 10, 12, 12, 0));
+
+		// when
+		this.guestDao.updateGuest(new Guest(guestId, "김영수", null, null));
+
+		// then
+		then(calendarVersion).should().bump(savedId);
+		then(calendarVersion).should(never()).bump(otherId);
+		assertThat(this.calendarDao.getCalendar(savedId, FROM, TO)).extracting(CalendarEntry::guestName)
+			.containsExactly("김영수");
+	}
+
+	@DisplayName("번호만 바꾸면 달력에 나가는 값이 그대로라 버전을 올리지 않는다")
+	@Test
+	void phoneChangeKeepsVersion() {
+		// when
+		this.guestDao.updateGuest(new Guest(guestId, null, null, "01087654321"));
+
+		// then
+		then(calendarVersion).should(never()).bump(anyInt());
+	}
+
+	private Integer saveUser(String loginId, String phoneNumber) {
+		return this.userDao.save(UserCommand.builder()
+			.loginId(loginId)
+			.email(loginId + "@test.com")
+			.password("password")
+			.name(loginId)
+			.phoneNumber(phoneNumber)
+			.birthday(LocalDate.of(1996, 10, 14))
+			.gender('M')
+			.build()
+		);
+	}
+
+	private Integer addEvent(Integer userId, LocalDateTime date) {
+		return dsl.insertInto(EVENT, EVENT.NAME, EVENT.CATEGORY, EVENT.DATE, EVENT.USERS_ID)
+			.values("돌잔치", "돌잔치", date, userId)
+			.returning(EVENT.ID)
+			.fetchOne(EVENT.ID);
+	}
+
+	private Integer addSchedule(Integer userId, LocalDateTime date) {
+		return dsl.insertInto(SCHEDULE, SCHEDULE.GUEST_ID, SCHEDULE.USERS_ID, SCHEDULE.NAME, SCHEDULE.DATE, SCHEDULE.AMOUNT)
+			.values(guestId, userId, "결혼식", date, -50_000)
+			.returning(SCHEDULE.ID)
+			.fetchOne(SCHEDULE.ID);
+	}
+}
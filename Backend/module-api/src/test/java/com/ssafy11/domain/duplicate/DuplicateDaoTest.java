@@ -0,0 +1,119 @@
+package com.ssafy11.domain.duplicate;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jooq.JooqTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.ssafy11.api.config.web.WebConfig;
+import com.ssafy11.domain.calendar.CalendarVersion;
+import com.ssafy11.domain.events.EventTotalsCache;
+import com.ssafy11.domain.global.JooqConfig;
+import com.ssafy11.domain.participant.ParticipantDaoImpl;
+import com.ssafy11.domain.participant.dto.Participant;
+import com.ssafy11.domain.recommend.AmountSketchLog;
+import com.ssafy11.domain.relation.RelationIndexCache;
+import com.ssafy11.domain.scheduler.PaymentAmountLog;
+import com.ssafy11.domain.users.UserCommand;
+import com.ssafy11.domain.users.UserDaoImpl;
+
+@Testcontainers
+@JooqTest
+@Import({DuplicateDaoImpl.class, RelationIndexCache.class, EventTotalsCache.class, AmountSketchLog.class, PaymentAmountLog.class, UserDaoImpl.class, ParticipantDaoImpl.class, WebConfig.class, JooqConfig.class})
+class DuplicateDaoTest {
+
+	@MockBean
+	private CalendarVersion calendarVersion;
+	@Autowired
+	private DuplicateDaoImpl duplicateDao;
+	@Autowired
+	private UserDaoImpl userDao;
+	@Autowired
+	private ParticipantDaoImpl participantDao;
+	@Autowired
+	private DSLContext dsl;
+	private Integer savedId;
+	private Integer keepGuestId;
+	private Integer mergeGuestId;
+
+	@Container
+	public static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0.33")
+		.withDatabaseName("ulma")
+		.withUsername("root")
+		.withPassword("1234")
+		.withInitScript("schema.sql");
+
+	@DynamicPropertySource
+	static void registerMySQLProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", mySQLContainer::getJdbcUrl);
+		registry.add("spring.datasource.username", mySQLContainer::getUsername);
+		registry.add("spring.datasource.password", mySQLContainer::getPassword);
+	}
+
+	@BeforeEach
+	void setUp() {
+		this.savedId = this.userDao.save(UserCommand.builder()
+			.loginId("test")
+			.email("test@test.com")
+			.password("password")
+			.name("test")
+			.phoneNumber("01000000000")
+			.birthday(LocalDate.of(1996, 10, 14))
+			.gender('M')
+			.build()
+		);
+
+		this.keepGuestId = this.participantDao.addGuests("김철수", "친구", "01012345678");
+		this.mergeGuestId = this.participantDao.addGuests("김철수", "친구", null);
+		this.participantDao.addUserRelation(keepGuestId, savedId);
+		this.participantDao.addUserRelation(mergeGuestId, savedId);
+	}
+
+	@DisplayName("두 지인이 같은 경조사에 모두 기록돼 있으면 병합 대상 금액을 남길 지인 기록에 더한다")
+	@Test
+	void mergeSumsConflictingAmounts() {
+		// given
+		Integer shared = addEvent("결혼식");
+		Integer onlyMerged = addEvent("돌잔치");
+		this.participantDao.addParticipants(List.of(
+			Participant.builder().eventId(shared).guestId(keepGuestId).amount(50_000).build(),
+			Participant.builder().eventId(shared).guestId(mergeGuestId).amount(30_000).build(),
+			Participant.builder().eventId(onlyMerged).guestId(mergeGuestId).amount(100_000).build()));
+
+		// when
+		Integer merged = this.duplicateDao.mergeGuests(savedId, keepGuestId, List.of(mergeGuestId));
+
+		// then
+		assertThat(merged).isEqualTo(1);
+		Map<Integer, Integer> amounts = dsl.select(PARTICIPATION.EVENT_ID, PARTICIPATION.AMOUNT)
+			.from(PARTICIPATION)
+			.where(PARTICIPATION.GUEST_ID.in(keepGuestId, mergeGuestId))
+			.fetchMap(PARTICIPATION.EVENT_ID, PARTICIPATION.AMOUNT);
+		assertThat(amounts).containsExactlyInAnyOrderEntriesOf(Map.of(shared, 80_000, onlyMerged, 100_000));
+		assertThat(dsl.fetchCount(PARTICIPATION, PARTICIPATION.GUEST_ID.eq(mergeGuestId))).isZero();
+	}
+
+	private Integer addEvent(String category) {
+		return dsl.insertInto(EVENT, EVENT.NAME, EVENT.CATEGORY, EVENT.DATE, EVENT.USERS_ID)
+			.values(category, category, LocalDateTime.of(2024, 10, 14, 12, 0), savedId)
+			.returning(EVENT.ID)
+			.fetchOne(EVENT.ID);
+	}
+}
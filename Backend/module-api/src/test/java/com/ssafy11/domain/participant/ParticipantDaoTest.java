@@ -0,0 +1,214 @@
+package com.ssafy11.domain.participant;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jooq.JooqTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.ssafy11.api.config.web.WebConfig;
+import com.ssafy11.domain.common.CursorDto;
+import com.ssafy11.domain.common.CursorResponse;
+import com.ssafy11.domain.common.PageDto;
+import com.ssafy11.domain.common.PageResponse;
+import com.ssafy11.domain.events.EventTotalsCache;
+import com.ssafy11.domain.global.JooqConfig;
+import com.ssafy11.domain.participant.dto.LedgerEntry;
+import com.ssafy11.domain.participant.dto.LedgerResult;
+import com.ssafy11.domain.participant.dto.Participant;
+import com.ssafy11.domain.participant.dto.Transaction;
+import com.ssafy11.domain.recommend.AmountSketchLog;
+import com.ssafy11.domain.relation.RelationIndexCache;
+import com.ssafy11.domain.scheduler.PaymentAmountLog;
+import com.ssafy11.domain.users.UserCommand;
+import com.ssafy11.domain.users.UserDaoImpl;
+
+@Testcontainers
+@JooqTest
+@Import({RelationIndexCache.class, EventTotalsCache.class, AmountSketchLog.class, PaymentAmountLog.class, UserDaoImpl.class, ParticipantDaoImpl.class, WebConfig.class, JooqConfig.class})
+class ParticipantDaoTest {
+
+	@Autowired
+	private UserDaoImpl userDao;
+	@Autowired
+	private ParticipantDaoImpl participantDao;
+	@Autowired
+	private DSLContext dsl;
+	private Integer savedId;
+	private Integer guestId;
+
+	@Container
+	public static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0.33")
+		.withDatabaseName("ulma")
+		.withUsername("root")
+		.withPassword("1234")
+		.withInitScript("schema.sql");
+
+	@DynamicPropertySource
+	static void registerMySQLProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", mySQLContainer::getJdbcUrl);
+		registry.add("spring.datasource.username", mySQLContainer::getUsername);
+		registry.add("spring.datasource.password", mySQLContainer::getPassword);
+	}
+
+	@BeforeEach
+	void setUp() {
+		this.savedId = this.userDao.save(UserCommand.builder()
+			.loginId("test")
+			.email("test@test.com")
+			.password("password")
+			.name("test")
+			.phoneNumber("01000000000")
+			.birthday(LocalDate.of(1996, 10, 14))
+			.gender('M')
+			.build()
+		);
+
+		this.guestId = this.participantDao.addGuests("김철수", "친구", "01012345678");
+		this.participantDao.addUserRelation(guestId, savedId);
+	}
+
+	@DisplayName("받은 내역과 보낸 내역을 날짜 내림차순으로 합치고 전체 개수를 함께 준다")
+	@Test
+	void transactionsPage() {
+		// given
+		addTimeline();
+		PageDto pageDto = new PageDto();
+		pageDto.setSize(2);
+
+		// when
+		PageResponse<Transaction> transactions = this.participantDao.getTransactions(savedId, guestId, pageDto);
+
+		// then
+		assertThat(transactions.data()).extracting(Transaction::date)
+			.containsExactly(LocalDateTime.of(2024, 5, 1, 12, 0), LocalDateTime.of(2024, 4, 1, 12, 0));
+		assertThat(transactions.totalItemsCount()).isEqualTo(5);
+		assertThat(transactions.totalPages()).isEqualTo(3);
+	}
+
+	@DisplayName("마지막 페이지를 넘겨 요청해도 빈 목록과 함께 실제 전체 개수를 준다")
+	@Test
+	void transactionsPagePastEnd() {
+		// given
+		addTimeline();
+		PageDto pageDto = new PageDto();
+		pageDto.setSize(2);
+		pageDto.setPage(4);
+
+		// when
+		PageResponse<Transaction> transactions = this.participantDao.getTransactions(savedId, guestId, pageDto);
+
+		// then
+		assertThat(transactions.data()).isEmpty();
+		assertThat(transactions.totalItemsCount()).isEqualTo(5);
+		assertThat(transactions.totalPages()).isEqualTo(3);
+	}
+
+	@DisplayName("거래가 없는 지인은 빈 목록과 전체 개수 0")
+	@Test
+	void transactionsEmpty() {
+		// when
+		PageResponse<Transaction> page = this.participantDao.getTransactions(savedId, guestId, new PageDto());
+		CursorResponse<Transaction> scroll = this.participantDao.getTransactions(savedId, guestId, new CursorDto());
+
+		// then
+		assertThat(page.data()).isEmpty();
+		assertThat(page.totalItemsCount()).isZero();
+		assertThat(scroll.data()).isEmpty();
+		assertThat(scroll.totalItemsCount()).isZero();
+		assertThat(scroll.hasNext()).isFalse();
+	}
+
+	@DisplayName("커서 조회는 첫 페이지에만 전체 개수를 주고 끝까지 넘기면 모든 내역을 한 번씩 준다")
+	@Test
+	void transactionsScroll() {
+		// given
+		addTimeline();
+		CursorDto cursorDto = new CursorDto();
+		cursorDto.setSize(2);
+
+		// when
+		CursorResponse<Transaction> first = this.participantDao.getTransactions(savedId, guestId, cursorDto);
+		cursorDto.setCursor(first.nextCursor());
+		CursorResponse<Transaction> second = this.participantDao.getTransactions(savedId, guestId, cursorDto);
+		cursorDto.setCursor(second.nextCursor());
+		CursorResponse<Transaction> last = this.participantDao.getTransactions(savedId, guestId, cursorDto);
+
+		// then
+		assertThat(first.totalItemsCount()).isEqualTo(5);
+		assertThat(second.totalItemsCount()).isNull();
+		assertThat(last.hasNext()).isFalse();
+		assertThat(List.of(first, second, last)).flatExtracting(CursorResponse::data).hasSize(5);
+	}
+
+	@DisplayName("장부를 다시 저장하면 새로 들어오거나 금액이 바뀌거나 빠진 지인만 금액 변경분을 남긴다")
+	@Test
+	void saveLedgerRecordsOnlyChanges() {
+		// given
+		Integer eventId = dsl.insertInto(EVENT, EVENT.NAME, EVENT.CATEGORY, EVENT.DATE, EVENT.USERS_ID)
+			.values("결혼식", "결혼식", LocalDateTime.of(2024, 1, 1, 12, 0), savedId)
+			.returning(EVENT.ID)
+			.fetchOne(EVENT.ID);
+		List<Integer> guestIds = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Integer id = this.participantDao.addGuests("지인" + i, "친구", null);
+			this.participantDao.addUserRelation(id, savedId);
+			guestIds.add(id);
+		}
+		this.participantDao.saveLedger(eventId, List.of(
+			new LedgerEntry(guestIds.get(0), 50_000),
+			new LedgerEntry(guestIds.get(1), 50_000),
+			new LedgerEntry(guestIds.get(2), 50_000)));
+		dsl.deleteFrom(AMOUNT_SKETCH_DELTA).execute();
+		dsl.deleteFrom(PAYMENT_AMOUNT_DELTA).execute();
+
+		// when: 0 은 그대로, 1 은 금액 변경, 2 는 빠지고, 3 은 새로 들어온다
+		LedgerResult result = this.participantDao.saveLedger(eventId, List.of(
+			new LedgerEntry(guestIds.get(0), 50_000),
+			new LedgerEntry(guestIds.get(1), 100_000),
+			new LedgerEntry(guestIds.get(3), 30_000)));
+
+		// then
+		assertThat(result).isEqualTo(new LedgerResult(3, 1));
+		assertThat(dsl.select(AMOUNT_SKETCH_DELTA.AMOUNT, AMOUNT_SKETCH_DELTA.SIGN).from(AMOUNT_SKETCH_DELTA)
+			.fetch(record -> record.value1() * record.value2()))
+			.containsExactlyInAnyOrder(-50_000, -50_000, 100_000, 30_000);
+		assertThat(dsl.fetchCount(PAYMENT_AMOUNT_DELTA)).isEqualTo(4);
+		assertThat(dsl.select(PARTICIPATION.GUEST_ID, PARTICIPATION.AMOUNT).from(PARTICIPATION)
+			.where(PARTICIPATION.EVENT_ID.eq(eventId))
+			.fetchMap(PARTICIPATION.GUEST_ID, PARTICIPATION.AMOUNT))
+			.containsOnly(entry(guestIds.get(0), 50_000), entry(guestIds.get(1), 100_000), entry(guestIds.get(3), 30_000));
+	}
+
+	// 받은 내역 3건(1, 3, 5월), 보낸 내역 2건(2, 4월)
+	private void addTimeline() {
+		for (int month : List.of(1, 3, 5)) {
+			Integer eventId = dsl.insertInto(EVENT, EVENT.NAME, EVENT.CATEGORY, EVENT.DATE, EVENT.USERS_ID)
+				.values("결혼식", "결혼식", LocalDateTime.of(2024, month, 1, 12, 0), savedId)
+				.returning(EVENT.ID)
+				.fetchOne(EVENT.ID);
+			this.participantDao.addParticipants(List.of(
+				Participant.builder().eventId(eventId).guestId(guestId).amount(50_000).build()));
+		}
+		for (int month : List.of(2, 4)) {
+			dsl.insertInto(SCHEDULE, SCHEDULE.GUEST_ID, SCHEDULE.USERS_ID, SCHEDULE.NAME, SCHEDULE.DATE, SCHEDULE.AMOUNT)
+				.values(guestId, savedId, "돌잔치", LocalDateTime.of(2024, month, 1, 12, 0), -30_000)
+				.execute();
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.ssafy11.domain.recommend;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AmountSketchTest {
+
+	@DisplayName("분위수는 실제 값과 상대 오차 0.5% 안에 있다")
+	@Test
+	void quantileAccuracy() {
+		// given
+		Random random = new Random(11);
+		int[] amounts = IntStream.range(0, 10_000).map(i -> 1_000 + random.nextInt(500_000)).sorted().toArray();
+		AmountSketch sketch = new AmountSketch();
+		for (int amount : amounts) {
+			sketch.add(amount, 1);
+		}
+
+		// when & then
+		for (double q : new double[] {0.25, 0.5, 0.75}) {
+			int expected = amounts[(int)Math.ceil(q * amounts.length) - 1];
+			assertThat((double)sketch.quantile(q)).isCloseTo(expected, withinPercentage(0.5));
+		}
+	}
+
+	@DisplayName("나눠 만든 sketch 를 병합하면 한 번에 만든 것과 같다")
+	@Test
+	void merge() {
+		// given
+		AmountSketch left = new AmountSketch();
+		AmountSketch right = new AmountSketch();
+		AmountSketch whole = new AmountSketch();
+		for (int amount = 10_000; amount <= 200_000; amount += 10_000) {
+			(amount % 20_000 == 0 ? left : right).add(amount, amount / 10_000);
+			whole.add(amount, amount / 10_000);
+		}
+
+		// when
+		left.merge(right);
+
+		// then
+		assertThat(left.count()).isEqualTo(whole.count());
+		assertThat(left.toBytes()).isEqualTo(whole.toBytes());
+	}
+
+	@DisplayName("같은 금액을 빼면 추가 전으로 돌아가고, 직렬화 후에도 분위수가 같다")
+	@Test
+	void removeAndSerialize() {
+		// given
+		AmountSketch sketch = new AmountSketch();
+		sketch.add(50_000, 10);
+		sketch.add(100_000, 3);
+
+		// when
+		sketch.add(100_000, -3);
+		AmountSketch restored = AmountSketch.fromBytes(sketch.toBytes());
+
+		// then
+		assertThat(restored.count()).isEqualTo(10);
+		assertThat(restored.quantile(0.75)).isEqualTo(sketch.quantile(0.75));
+		assertThat((double)restored.mode()).isCloseTo(50_000, withinPercentage(0.5));
+	}
+}
@@ -0,0 +1,86 @@
+package com.ssafy11.domain.relation;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jooq.DSLContext;
+import org.jooq.Record2;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.ssafy11.domain.global.CacheBroadcast;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+class RelationIndexCacheTest {
+
+	private final AtomicInteger loads = new AtomicInteger();
+	private CacheBroadcast cacheBroadcast;
+	private RelationIndexCache relationIndexCache;
+
+	// 사용자 7 은 지인 3 하나만 가진다
+	@BeforeEach
+	void setUp() {
+		DSLContext create = DSL.using(SQLDialect.MYSQL);
+		DSLContext dsl = DSL.using(new MockConnection(context -> {
+			loads.incrementAndGet();
+			Result<Record2<Integer, String>> result = create.newResult(GUEST.ID, GUEST.PHONE_NUMBER);
+			result.add(create.newRecord(GUEST.ID, GUEST.PHONE_NUMBER).values(3, "01012345678"));
+			return new MockResult[] {new MockResult(result.size(), result)};
+		}), SQLDialect.MYSQL);
+
+		this.cacheBroadcast = mock(CacheBroadcast.class);
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		beanFactory.addBean("cacheBroadcast", cacheBroadcast);
+		ObjectProvider<MeterRegistry> meterRegistry = beanFactory.getBeanProvider(MeterRegistry.class);
+		this.relationIndexCache = new RelationIndexCache(dsl, meterRegistry, beanFactory.getBeanProvider(CacheBroadcast.class));
+	}
+
+	@DisplayName("관계가 바뀌면 로컬 캐시를 지우고 다른 서버에도 무효화를 알린다")
+	@Test
+	void invalidatePublishes() {
+		// given
+		assertThat(relationIndexCache.isMyGuest(7, 3)).isTrue();
+
+		// when
+		relationIndexCache.invalidate(7);
+		relationIndexCache.invalidateGuests(List.of(3, 4));
+
+		// then
+		then(cacheBroadcast).should().publishAfterCommit(RelationIndexCache.INVALIDATE_TOPIC, "user:7");
+		then(cacheBroadcast).should().publishAfterCommit(RelationIndexCache.INVALIDATE_TOPIC, "guests:3,4");
+		assertThat(relationIndexCache.isMyGuest(7, 3)).isTrue();
+		assertThat(loads).hasValue(2);
+	}
+
+	@DisplayName("다른 서버의 무효화 메시지를 받으면 다시 읽고, 받은 메시지를 또 알리지는 않는다")
+	@Test
+	void onInvalidate() {
+		// given
+		relationIndexCache.isMyGuest(7, 3);
+		relationIndexCache.isMyGuest(8, 3);
+
+		// when
+		relationIndexCache.onInvalidate("user:7");
+		relationIndexCache.isMyGuest(7, 3);
+		relationIndexCache.isMyGuest(8, 3);
+		relationIndexCache.onInvalidate("guests:3");
+		relationIndexCache.isMyGuest(8, 3);
+
+		// then
+		assertThat(loads).hasValue(4);
+		then(cacheBroadcast).shouldHaveNoInteractions();
+	}
+}
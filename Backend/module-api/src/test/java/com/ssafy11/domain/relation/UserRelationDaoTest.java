@@ -3,12 +3,18 @@ package com.ssafy11.domain.relation;
 import static org.assertj.core.api.Assertions.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jooq.JooqTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -17,25 +23,39 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import com.ssafy11.api.config.web.WebConfig;
+import com.ssafy11.domain.calendar.CalendarVersion;
+import com.ssafy11.domain.common.CursorDto;
+import com.ssafy11.domain.common.CursorResponse;
 import com.ssafy11.domain.common.PageDto;
 import com.ssafy11.domain.common.PageResponse;
+import com.ssafy11.domain.events.EventTotalsCache;
 import com.ssafy11.domain.global.JooqConfig;
+import com.ssafy11.domain.guest.Guest;
+import com.ssafy11.domain.guest.GuestDaoImpl;
 import com.ssafy11.domain.participant.ParticipantDaoImpl;
 import com.ssafy11.domain.participant.dto.UserRelation;
+import com.ssafy11.domain.recommend.AmountSketchLog;
+import com.ssafy11.domain.scheduler.PaymentAmountLog;
 import com.ssafy11.domain.users.UserCommand;
 import com.ssafy11.domain.users.UserDaoImpl;
 
 @Testcontainers
 @JooqTest
-@Import({UserRelationDaoImpl.class, UserDaoImpl.class, ParticipantDaoImpl.class, WebConfig.class, JooqConfig.class})
+@Import({UserRelationDaoImpl.class, RelationIndexCache.class, EventTotalsCache.class, AmountSketchLog.class, PaymentAmountLog.class, UserDaoImpl.class, ParticipantDaoImpl.class, GuestDaoImpl.class, WebConfig.class, JooqConfig.class})
 class UserRelationDaoTest {
 
+	@MockBean
+	private CalendarVersion calendarVersion;
 	@Autowired
 	private UserRelationDaoImpl userRelationDao;
 	@Autowired
 	private UserDaoImpl userDao;
 	@Autowired
 	private ParticipantDaoImpl participantDao;
+	@Autowired
+	private GuestDaoImpl guestDao;
+	@Autowired
+	private DSLContext dsl;
 	private Integer savedId;
 	private Integer savedGuestId;
 
@@ -105,4 +125,127 @@ class UserRelationDaoTest {
 		hasRelation = this.userRelationDao.hasRelation(savedId, savedGuestId);
 		assertThat(hasRelation).isFalse();
 	}
-}
\ No newline at end of file
+
+	@DisplayName("연락처 동기화로 표시한 지인만 동기화 지인으로 조회된다")
+	@Test
+	void markSynced() {
+		// given
+		Integer syncedGuestId = this.participantDao.addGuests("동기화", "친구", "01087654321");
+		this.participantDao.addUserRelation(syncedGuestId, savedId);
+
+		// when
+		Integer marked = this.userRelationDao.markSynced(savedId, List.of(syncedGuestId));
+
+		// then
+		assertThat(marked).isEqualTo(1);
+		assertThat(this.userRelationDao.getSyncedGuestIds(savedId)).containsExactly(syncedGuestId);
+	}
+
+	@DisplayName("이름이 같은 지인이 페이지 경계에 걸려도 id 순으로 빠짐없이 한 번씩 넘긴다")
+	@Test
+	void scrollTiesOnName() {
+		// given
+		List<Integer> sameName = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Integer guestId = this.participantDao.addGuests("김철수", "친구", null);
+			this.participantDao.addUserRelation(guestId, savedId);
+			sameName.add(guestId);
+		}
+
+		// when
+		List<UserRelation> scrolled = scrollAll(2);
+
+		// then
+		assertThat(scrolled).extracting(UserRelation::guestId)
+			.containsExactly(savedGuestId, sameName.get(0), sameName.get(1), sameName.get(2), sameName.get(3),
+				sameName.get(4));
+	}
+
+	@DisplayName("마지막 페이지는 다음 커서 없이 hasNext 가 false 이고 전체 개수는 첫 페이지에만 준다")
+	@Test
+	void scrollLastPage() {
+		// given
+		Integer guestId = this.participantDao.addGuests("가나다", "친구", null);
+		this.participantDao.addUserRelation(guestId, savedId);
+		CursorDto first = cursorDto(null, 1);
+
+		// when
+		CursorResponse<UserRelation> firstPage = this.participantDao.getUserRelations(savedId, first);
+		CursorResponse<UserRelation> lastPage =
+			this.participantDao.getUserRelations(savedId, cursorDto(firstPage.nextCursor(), 1));
+
+		// then
+		assertThat(firstPage.totalItemsCount()).isEqualTo(2);
+		assertThat(firstPage.hasNext()).isTrue();
+		assertThat(lastPage.data()).extracting(UserRelation::guestId).containsExactly(guestId);
+		assertThat(lastPage.hasNext()).isFalse();
+		assertThat(lastPage.nextCursor()).isNull();
+		assertThat(lastPage.totalItemsCount()).isNull();
+	}
+
+	@DisplayName("커서를 해석할 수 없으면 IllegalArgumentException")
+	@Test
+	void scrollMalformedCursor() {
+		assertThatThrownBy(() -> this.participantDao.getUserRelations(savedId, cursorDto("!!not-base64!!", 10)))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> this.participantDao.getUserRelations(savedId, cursorDto("YWJj", 10)))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@DisplayName("지인 이름을 바꾸면 목록 순서도 바뀐 이름을 따른다")
+	@Test
+	void scrollAfterRename() {
+		// given
+		Integer guestId = this.participantDao.addGuests("하하하", "친구", null);
+		this.participantDao.addUserRelation(guestId, savedId);
+
+		// when
+		this.guestDao.updateGuest(new Guest(guestId, "aaa", null, null));
+
+		// then
+		assertThat(scrollAll(10)).extracting(UserRelation::guestId).containsExactly(guestId, savedGuestId);
+	}
+
+	@DisplayName("사용자 지인 목록 커서 조회는 (users_id, guest_name, guest_id) 인덱스 순서로 읽어 정렬하지 않는다")
+	@Test
+	void scrollUsesIndex() {
+		// given
+		for (int i = 0; i < 50; i++) {
+			Integer guestId = this.participantDao.addGuests("지인" + i, "친구", null);
+			this.participantDao.addUserRelation(guestId, savedId);
+		}
+
+		// when
+		Result<Record> plan = this.dsl.fetch("EXPLAIN SELECT guest.id, guest.name FROM users_relation"
+			+ " JOIN guest ON users_relation.guest_id = guest.id"
+			+ " WHERE users_relation.users_id = ? AND (users_relation.guest_name > ?"
+			+ " OR (users_relation.guest_name = ? AND users_relation.guest_id > ?))"
+			+ " ORDER BY users_relation.guest_name, users_relation.guest_id LIMIT 11", savedId, "지인1", "지인1", 0);
+
+		// then
+		Record relation = plan.stream()
+			.filter(row -> "users_relation".equals(row.get("table", String.class)))
+			.findFirst()
+			.orElseThrow();
+		assertThat(relation.get("key", String.class)).isEqualTo("idx_users_relation_users_name");
+		assertThat(relation.get("Extra", String.class)).doesNotContain("filesort");
+	}
+
+	private List<UserRelation> scrollAll(int size) {
+		List<UserRelation> scrolled = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorResponse<UserRelation> page = this.participantDao.getUserRelations(savedId, cursorDto(cursor, size));
+			scrolled.addAll(page.data());
+			cursor = page.nextCursor();
+		} while (cursor != null);
+		return scrolled;
+	}
+
+	private static CursorDto cursorDto(String cursor, int size) {
+		CursorDto cursorDto = new CursorDto();
+		cursorDto.setCursor(cursor);
+		cursorDto.setSize(size);
+		return cursorDto;
+	}
+}
@@ -0,0 +1,141 @@
+package com.ssafy11.domain.schedule;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jooq.JooqTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.ssafy11.api.config.web.WebConfig;
+import com.ssafy11.api.service.ScheduleService;
+import com.ssafy11.domain.calendar.CalendarVersion;
+import com.ssafy11.domain.events.EventTotalsCache;
+import com.ssafy11.domain.global.JooqConfig;
+import com.ssafy11.domain.participant.ParticipantDaoImpl;
+import com.ssafy11.domain.recommend.AmountSketchLog;
+import com.ssafy11.domain.relation.RelationIndexCache;
+import com.ssafy11.domain.schedule.dto.Schedule;
+import com.ssafy11.domain.scheduler.PaymentAmountLog;
+import com.ssafy11.domain.users.UserCommand;
+import com.ssafy11.domain.users.UserDaoImpl;
+
+@Testcontainers
+@JooqTest
+@Import({ScheduleDaoImpl.class, ScheduleOccurrenceCache.class, RelationIndexCache.class, EventTotalsCache.class, AmountSketchLog.class, PaymentAmountLog.class, UserDaoImpl.class, ParticipantDaoImpl.class, WebConfig.class, JooqConfig.class})
+class ScheduleDaoTest {
+
+	@MockBean
+	private CalendarVersion calendarVersion;
+	@Autowired
+	private ScheduleDaoImpl scheduleDao;
+	@Autowired
+	private UserDaoImpl userDao;
+	@Autowired
+	private ParticipantDaoImpl participantDao;
+	@Autowired
+	private DSLContext dsl;
+	private Integer savedId;
+	private Integer guestId;
+
+	@Container
+	public static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0.33")
+		.withDatabaseName("ulma")
+		.withUsername("root")
+		.withPassword("1234")
+		.withInitScript("schema.sql");
+
+	@DynamicPropertySource
+	static void registerMySQLProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", mySQLContainer::getJdbcUrl);
+		registry.add("spring.datasource.username", mySQLContainer::getUsername);
+		registry.add("spring.datasource.password", mySQLContainer::getPassword);
+	}
+
+	@BeforeEach
+	void setUp() {
+		this.savedId = this.userDao.save(UserCommand.builder()
+			.loginId("test")
+			.email("test@test.com")
+			.password("password")
+			.name("test")
+			.phoneNumber("01000000000")
+			.birthday(LocalDate.of(1996, 10, 14))
+			.gender('M')
+			.build()
+		);
+		this.guestId = this.participantDao.addGuests("김철수", "친구", "01012345678");
+		this.participantDao.addUserRelation(guestId, savedId);
+	}
+
+	@DisplayName("한 달 조회는 그달 첫 순간부터 다음 달 첫 순간 전까지[from, to) 일정만 준다")
+	@Test
+	void monthBoundaries() {
+		// given
+		addSchedule(LocalDateTime.of(2024, 9, 30, 23, 59, 59));
+		Integer first = addSchedule(LocalDateTime.of(2024, 10, 1, 0, 0));
+		Integer last = addSchedule(LocalDateTime.of(2024, 10, 31, 23, 59, 59));
+		addSchedule(LocalDateTime.of(2024, 11, 1, 0, 0));
+
+		// when
+		List<Schedule> schedules = this.scheduleDao.getSchedule(savedId, 2024, 10);
+
+		// then
+		assertThat(schedules).extracting(Schedule::scheduleId).containsExactly(first, last);
+	}
+
+	@DisplayName("여러 달 조회는 구간 경계의 일정을 빼고 남은 일정을 달별로 나누며, 일정이 없는 달도 빈 목록으로 준다")
+	@Test
+	void groupByMonth() {
+		// given
+		addSchedule(LocalDateTime.of(2024, 10, 31, 23, 59, 59));
+		Integer november = addSchedule(LocalDateTime.of(2024, 11, 1, 0, 0));
+		Integer yearEnd = addSchedule(LocalDateTime.of(2024, 12, 31, 23, 59, 59));
+		Integer newYear = addSchedule(LocalDateTime.of(2025, 1, 1, 0, 0));
+		addSchedule(LocalDateTime.of(2025, 3, 1, 0, 0));
+
+		// when
+		Map<YearMonth, List<Schedule>> schedules = new ScheduleService(scheduleDao)
+			.getSchedules(String.valueOf(savedId), 2024, 11, 4);
+
+		// then
+		assertThat(schedules).containsOnlyKeys(YearMonth.of(2024, 11), YearMonth.of(2024, 12), YearMonth.of(2025, 1),
+			YearMonth.of(2025, 2));
+		assertThat(schedules.get(YearMonth.of(2024, 11))).extracting(Schedule::scheduleId).containsExactly(november);
+		assertThat(schedules.get(YearMonth.of(2024, 12))).extracting(Schedule::scheduleId).containsExactly(yearEnd);
+		assertThat(schedules.get(YearMonth.of(2025, 1))).extracting(Schedule::scheduleId).containsExactly(newYear);
+		assertThat(schedules.get(YearMonth.of(2025, 2))).isEmpty();
+	}
+
+	@DisplayName("1~12 밖의 달은 날짜 예외 대신 IllegalArgumentException")
+	@Test
+	void monthOutOfRange() {
+		assertThatThrownBy(() -> this.scheduleDao.getSchedule(savedId, 2024, 13))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new ScheduleService(scheduleDao).getSchedules(String.valueOf(savedId), 2024, 0, 1))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private Integer addSchedule(LocalDateTime date) {
+		return dsl.insertInto(SCHEDULE, SCHEDULE.GUEST_ID, SCHEDULE.USERS_ID, SCHEDULE.NAME, SCHEDULE.DATE, SCHEDULE.AMOUNT)
+			.values(guestId, savedId, "결혼식", date, -50_000)
+			.returning(SCHEDULE.ID)
+			.fetchOne(SCHEDULE.ID);
+	}
+}
@@ -0,0 +1,75 @@
+package com.ssafy11.domain.schedule;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.ssafy11.domain.global.CacheBroadcast;
+import com.ssafy11.domain.schedule.dto.Schedule;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+class ScheduleOccurrenceCacheTest {
+
+	private static final YearMonth MONTH = YearMonth.of(2026, 10);
+
+	private final AtomicInteger loads = new AtomicInteger();
+	private CacheBroadcast cacheBroadcast;
+	private ScheduleOccurrenceCache scheduleOccurrenceCache;
+
+	@BeforeEach
+	void setUp() {
+		this.cacheBroadcast = mock(CacheBroadcast.class);
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		beanFactory.addBean("cacheBroadcast", cacheBroadcast);
+		this.scheduleOccurrenceCache = new ScheduleOccurrenceCache(beanFactory.getBeanProvider(MeterRegistry.class),
+			beanFactory.getBeanProvider(CacheBroadcast.class));
+	}
+
+	@DisplayName("반복 규칙이 바뀌면 그 사용자의 달을 지우고 다른 서버에도 무효화를 알린다")
+	@Test
+	void invalidatePublishes() {
+		// given
+		get(7);
+
+		// when
+		scheduleOccurrenceCache.invalidate(7);
+		get(7);
+
+		// then
+		then(cacheBroadcast).should().publishAfterCommit(ScheduleOccurrenceCache.INVALIDATE_TOPIC, "7");
+		assertThat(loads).hasValue(2);
+	}
+
+	@DisplayName("다른 서버의 무효화 메시지를 받으면 그 사용자만 다시 펼치고, 받은 메시지를 또 알리지는 않는다")
+	@Test
+	void onInvalidate() {
+		// given
+		get(7);
+		get(8);
+
+		// when
+		scheduleOccurrenceCache.onInvalidate("7");
+		get(7);
+		get(8);
+
+		// then
+		assertThat(loads).hasValue(3);
+		then(cacheBroadcast).shouldHaveNoInteractions();
+	}
+
+	private List<Schedule> get(Integer userId) {
+		return scheduleOccurrenceCache.get(userId, MONTH, month -> {
+			loads.incrementAndGet();
+			return List.of();
+		});
+	}
+}
@@ -0,0 +1,82 @@
+package com.ssafy11.domain.schedule;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ssafy11.domain.schedule.dto.Schedule;
+import com.ssafy11.domain.schedule.dto.ScheduleRecurrence;
+
+class ScheduleRecurrenceTest {
+
+	@DisplayName("매년 반복은 조회 구간에 드는 날짜만 펼치고 반복 id 를 담는다")
+	@Test
+	void yearlyOccurrencesInWindow() {
+		// given
+		ScheduleRecurrence birthday = recurrence(RecurrenceFrequency.YEARLY, LocalDateTime.of(1990, 3, 15, 0, 0), null);
+
+		// when
+		List<Schedule> occurrences = birthday.occurrences(LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2028, 1, 1, 0, 0));
+
+		// then
+		assertThat(occurrences).extracting(Schedule::date)
+			.containsExactly(LocalDateTime.of(2026, 3, 15, 0, 0), LocalDateTime.of(2027, 3, 15, 0, 0));
+		assertThat(occurrences).allSatisfy(occurrence -> {
+			assertThat(occurrence.scheduleId()).isNull();
+			assertThat(occurrence.recurrenceId()).isEqualTo(7);
+		});
+	}
+
+	@DisplayName("2월 29일 시작은 평년에 28일, 윤년에 다시 29일로 돌아온다")
+	@Test
+	void leapDay() {
+		// given
+		ScheduleRecurrence recurrence = recurrence(RecurrenceFrequency.YEARLY, LocalDateTime.of(2024, 2, 29, 10, 0), null);
+
+		// when
+		List<Schedule> occurrences = recurrence.occurrences(LocalDateTime.of(2027, 1, 1, 0, 0), LocalDateTime.of(2029, 1, 1, 0, 0));
+
+		// then
+		assertThat(occurrences).extracting(Schedule::date)
+			.containsExactly(LocalDateTime.of(2027, 2, 28, 10, 0), LocalDateTime.of(2028, 2, 29, 10, 0));
+	}
+
+	@DisplayName("매달 반복은 종료일 이후로 펼치지 않는다")
+	@Test
+	void monthlyUntil() {
+		// given
+		ScheduleRecurrence recurrence = recurrence(RecurrenceFrequency.MONTHLY, LocalDateTime.of(2026, 1, 31, 0, 0),
+			LocalDateTime.of(2026, 4, 30, 0, 0));
+
+		// when
+		List<Schedule> occurrences = recurrence.occurrences(LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2027, 1, 1, 0, 0));
+
+		// then
+		assertThat(occurrences).extracting(Schedule::date).containsExactly(
+			LocalDateTime.of(2026, 1, 31, 0, 0),
+			LocalDateTime.of(2026, 2, 28, 0, 0),
+			LocalDateTime.of(2026, 3, 31, 0, 0),
+			LocalDateTime.of(2026, 4, 30, 0, 0));
+	}
+
+	@DisplayName("날짜마다 그날 돌아오는 기준일에 짧은 달 말일로 당겨지는 기준일도 포함한다")
+	@Test
+	void occursOnDay() {
+		// when & then
+		assertThat(RecurrenceFrequency.YEARLY.occursOn(LocalDateTime.of(2024, 2, 29, 10, 0))).isEqualTo(229);
+		assertThat(RecurrenceFrequency.MONTHLY.occursOn(LocalDateTime.of(2026, 1, 31, 0, 0))).isEqualTo(31);
+		assertThat(RecurrenceFrequency.YEARLY.occursOn(LocalDate.of(2027, 2, 28))).containsExactly(228, 229);
+		assertThat(RecurrenceFrequency.YEARLY.occursOn(LocalDate.of(2028, 2, 28))).containsExactly(228);
+		assertThat(RecurrenceFrequency.MONTHLY.occursOn(LocalDate.of(2026, 4, 30))).containsExactly(30, 31);
+		assertThat(RecurrenceFrequency.MONTHLY.occursOn(LocalDate.of(2026, 5, 15))).containsExactly(15);
+	}
+
+	private ScheduleRecurrence recurrence(RecurrenceFrequency frequency, LocalDateTime startDate, LocalDateTime untilDate) {
+		return new ScheduleRecurrence(7, 3, "생일", -50_000, frequency, startDate, untilDate, "홍길동", "친구", "01012345678");
+	}
+}
@@ -0,0 +1,16 @@
+package com.ssafy11.domain.calendar;
+
+import com.ssafy11.domain.calendar.dto.CalendarEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface CalendarDao {
+    List<CalendarEntry> getCalendar(Integer userId, LocalDateTime from, LocalDateTime to);
+    void forEachCalendarEntry(Integer userId, LocalDateTime from, LocalDateTime to, Consumer<CalendarEntry> consumer);
+    Optional<Integer> getFeedOwner(String token);
+    Optional<String> getFeedToken(Integer userId);
+    void saveFeedToken(Integer userId, String token);
+}
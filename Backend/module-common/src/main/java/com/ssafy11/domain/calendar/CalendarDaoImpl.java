@@ -0,0 +1,116 @@
+package com.ssafy11.domain.calendar;
+
+import com.ssafy11.domain.calendar.dto.CalendarEntry;
+import lombok.RequiredArgsConstructor;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record8;
+import org.jooq.ResultQuery;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.name;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Repository
+public class CalendarDaoImpl implements CalendarDao {
+
+    public static final String EVENT_TYPE = "EVENT";
+    public static final String SCHEDULE_TYPE = "SCHEDULE";
+    public static final String RECURRENCE_TYPE = "RECURRENCE";
+
+    private static final Field<String> CALENDAR_TYPE = field(name("type"), String.class);
+    private static final Field<Integer> CALENDAR_ID = field(name("id"), Integer.class);
+    private static final Field<LocalDateTime> CALENDAR_DATE = field(name("date"), LocalDateTime.class);
+
+    // MySQL 드라이버는 fetch size 가 Integer.MIN_VALUE 일 때만 한 줄씩 스트리밍한다
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private final DSLContext dsl;
+
+    @Override
+    public List<CalendarEntry> getCalendar(Integer userId, LocalDateTime from, LocalDateTime to) {
+        return calendarQuery(userId, from, to).fetchInto(CalendarEntry.class);
+    }
+
+    // 결과를 메모리에 모으지 않고 한 줄씩 넘긴다. 커서가 열려 있는 동안 같은 커넥션으로 다른 쿼리를 보내면 안 된다
+    @Override
+    public void forEachCalendarEntry(Integer userId, LocalDateTime from, LocalDateTime to, Consumer<CalendarEntry> consumer) {
+        try (Cursor<Record8<String, Integer, String, LocalDateTime, String, Integer, String, Integer>> cursor = calendarQuery(userId, from, to)
+                .fetchSize(STREAMING_FETCH_SIZE)
+                .fetchLazy()) {
+            while (cursor.hasNext()) {
+                consumer.accept(cursor.fetchNextInto(CalendarEntry.class));
+            }
+        }
+    }
+
+    @Override
+    public Optional<Integer> getFeedOwner(String token) {
+        return dsl.select(CALENDAR_FEED.USERS_ID)
+                .from(CALENDAR_FEED)
+                .where(CALENDAR_FEED.TOKEN.eq(token))
+                .fetchOptional(CALENDAR_FEED.USERS_ID);
+    }
+
+    @Override
+    public Optional<String> getFeedToken(Integer userId) {
+        return dsl.select(CALENDAR_FEED.TOKEN)
+                .from(CALENDAR_FEED)
+                .where(CALENDAR_FEED.USERS_ID.eq(userId))
+                .fetchOptional(CALENDAR_FEED.TOKEN);
+    }
+
+    @Transactional
+    @Override
+    public void saveFeedToken(Integer userId, String token) {
+        dsl.insertInto(CALENDAR_FEED, CALENDAR_FEED.USERS_ID, CALENDAR_FEED.TOKEN, CALENDAR_FEED.CREATE_AT)
+                .values(userId, token, LocalDateTime.now())
+                .onDuplicateKeyUpdate()
+                .set(CALENDAR_FEED.TOKEN, token)
+                .set(CALENDAR_FEED.CREATE_AT, LocalDateTime.now())
+                .execute();
+    }
+
+    // 주최한 이벤트와 참석할 일정을 [from, to) 구간에서 한 번에 가져온다
+    // 양쪽 모두 (users_id, date) 인덱스 범위 조회라 기록이 쌓여도 조회 구간만큼만 읽는다
+    private ResultQuery<Record8<String, Integer, String, LocalDateTime, String, Integer, String, Integer>> calendarQuery(Integer userId, LocalDateTime from, LocalDateTime to) {
+        return dsl.select(DSL.inline(EVENT_TYPE).as(CALENDAR_TYPE),
+                        EVENT.ID.as(CALENDAR_ID),
+                        EVENT.NAME,
+                        EVENT.DATE.as(CALENDAR_DATE),
+                        EVENT.CATEGORY,
+                        DSL.castNull(SQLDataType.INTEGER),
+                        DSL.castNull(SQLDataType.VARCHAR),
+                        DSL.castNull(SQLDataType.INTEGER))
+                .from(EVENT)
+                .where(EVENT.USERS_ID.eq(userId))
+                .and(EVENT.DATE.ge(from))
+                .and(EVENT.DATE.lt(to))
+                .unionAll(dsl.select(DSL.inline(SCHEDULE_TYPE),
+                                SCHEDULE.ID,
+                                SCHEDULE.NAME,
+                                SCHEDULE.DATE,
+                                GUEST.CATEGORY,
+                                SCHEDULE.GUEST_ID,
+                                GUEST.NAME,
+                                SCHEDULE.AMOUNT)
+                        .from(SCHEDULE)
+                        .join(GUEST).on(SCHEDULE.GUEST_ID.eq(GUEST.ID))
+                        .where(SCHEDULE.USERS_ID.eq(userId))
+                        .and(SCHEDULE.DATE.ge(from))
+                        .and(SCHEDULE.DATE.lt(to)))
+                .orderBy(CALENDAR_DATE, CALENDAR_TYPE, CALENDAR_ID);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ssafy11.domain.calendar;
+
+/**
+ * 사용자별 달력 버전.
+ * 이벤트/일정이 바뀔 때마다 올라가고, 달력 조회 응답의 ETag 로 쓰인다.
+ * lastModified 는 마지막으로 바뀐 시각(ms)으로 ICS 구독의 Last-Modified 에 쓰인다.
+ */
+public interface CalendarVersion {
+    long current(Integer userId);
+    long lastModified(Integer userId);
+    void bump(Integer userId);
+}
@@ -0,0 +1,14 @@
+package com.ssafy11.domain.calendar.dto;
+
+import java.time.LocalDateTime;
+
+public record CalendarEntry(    //달력 한 칸, type 은 EVENT(주최한 이벤트) / SCHEDULE(참석할 일정) / RECURRENCE(반복 일정, id 는 반복 규칙 id)
+        String type,
+        Integer id,
+        String name,
+        LocalDateTime date,
+        String category,
+        Integer guestId,
+        String guestName,
+        Integer amount
+) { }
@@ -0,0 +1,38 @@
+package com.ssafy11.domain.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+import org.springframework.util.Assert;
+
+/**
+ * 키셋 페이지네이션 커서 인코딩.
+ * 정렬 키 값들을 이어 붙여 base64 로 감싼 문자열을 클라이언트에 그대로 돌려준다.
+ */
+public final class Cursor {
+
+    private static final String SEPARATOR = "\u001F";
+
+    private Cursor() {
+    }
+
+    public static String encode(Object... keys) {
+        String joined = Arrays.stream(keys)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int keyCount) {
+        String[] keys;
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+        Assert.isTrue(keys.length == keyCount, "잘못된 커서입니다.");
+        return keys;
+    }
+}
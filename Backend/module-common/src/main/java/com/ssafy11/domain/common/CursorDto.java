@@ -0,0 +1,14 @@
+package com.ssafy11.domain.common;
+
+import lombok.Data;
+
+@Data
+public class CursorDto {
+    private int size=10;
+    private String cursor;          // 이전 응답의 nextCursor, 첫 페이지는 null
+    private boolean withTotal=true; // 첫 페이지에서만 전체 개수를 계산
+
+    public boolean isFirstPage() {
+        return cursor == null || cursor.isEmpty();
+    }
+}
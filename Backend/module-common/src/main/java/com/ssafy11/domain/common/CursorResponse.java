@@ -0,0 +1,13 @@
+package com.ssafy11.domain.common;
+
+import java.util.List;
+
+import lombok.Builder;
+
+@Builder
+public record CursorResponse<T>(
+        List<T> data,
+        String nextCursor,
+        boolean hasNext,
+        Integer totalItemsCount   // 첫 페이지가 아니면 null
+) {}
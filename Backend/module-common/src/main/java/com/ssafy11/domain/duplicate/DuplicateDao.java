@@ -0,0 +1,14 @@
+package com.ssafy11.domain.duplicate;
+
+import java.util.List;
+import java.util.Map;
+
+import com.ssafy11.domain.duplicate.dto.MergeProposal;
+
+public interface DuplicateDao {
+    List<Integer> getUserIds(int partition, int partitions);
+    Map<Integer, List<Integer>> getEventIdsByGuest(Integer userId);
+    void replaceProposals(Integer userId, List<MergeProposal> proposals);
+    List<MergeProposal> getProposals(Integer userId);
+    Integer mergeGuests(Integer userId, Integer keepGuestId, List<Integer> mergeGuestIds);
+}
@@ -0,0 +1,201 @@
+package com.ssafy11.domain.duplicate;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record3;
+import org.jooq.Row2;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ssafy11.domain.calendar.CalendarVersion;
+import com.ssafy11.domain.duplicate.dto.MergeProposal;
+import com.ssafy11.domain.events.EventTotalsCache;
+import com.ssafy11.domain.recommend.AmountSketchLog;
+import com.ssafy11.domain.relation.RelationIndexCache;
+import com.ssafy11.domain.scheduler.PaymentAmountLog;
+import com.ssafy11.ulma.generated.tables.Guest;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Repository
+public class DuplicateDaoImpl implements DuplicateDao {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final DSLContext dsl;
+    private final RelationIndexCache relationIndexCache;
+    private final EventTotalsCache eventTotalsCache;
+    private final AmountSketchLog amountSketchLog;
+    private final PaymentAmountLog paymentAmountLog;
+    private final CalendarVersion calendarVersion;
+
+    // 사용자 id 를 partitions 로 나눈 나머지가 partition 인 사용자만
+    @Override
+    public List<Integer> getUserIds(int partition, int partitions) {
+        return dsl.selectDistinct(USERS_RELATION.USERS_ID)
+                .from(USERS_RELATION)
+                .where(USERS_RELATION.USERS_ID.isNotNull())
+                .and(USERS_RELATION.USERS_ID.mod(partitions).eq(partition))
+                .fetch(USERS_RELATION.USERS_ID);
+    }
+
+    // 지인별로 등록된 사용자 이벤트 id 목록
+    @Override
+    public Map<Integer, List<Integer>> getEventIdsByGuest(Integer userId) {
+        return dsl.select(PARTICIPATION.GUEST_ID, PARTICIPATION.EVENT_ID)
+                .from(PARTICIPATION)
+                .join(EVENT)
+                .on(PARTICIPATION.EVENT_ID.eq(EVENT.ID))
+                .where(EVENT.USERS_ID.eq(userId))
+                .fetchGroups(PARTICIPATION.GUEST_ID, PARTICIPATION.EVENT_ID);
+    }
+
+    @Transactional
+    @Override
+    public void replaceProposals(Integer userId, List<MergeProposal> proposals) {
+        dsl.deleteFrom(GUEST_MERGE_PROPOSAL)
+                .where(GUEST_MERGE_PROPOSAL.USERS_ID.eq(userId))
+                .execute();
+
+        for (int from = 0; from < proposals.size(); from += BATCH_SIZE) {
+            var query = dsl.insertInto(GUEST_MERGE_PROPOSAL,
+                    GUEST_MERGE_PROPOSAL.USERS_ID,
+                    GUEST_MERGE_PROPOSAL.KEEP_GUEST_ID,
+                    GUEST_MERGE_PROPOSAL.MERGE_GUEST_ID,
+                    GUEST_MERGE_PROPOSAL.SCORE,
+                    GUEST_MERGE_PROPOSAL.CREATE_AT);
+
+            for (MergeProposal proposal : proposals.subList(from, Math.min(from + BATCH_SIZE, proposals.size()))) {
+                query = query.values(userId, proposal.keepGuestId(), proposal.mergeGuestId(), proposal.score(), LocalDateTime.now());
+            }
+            query.execute();
+        }
+    }
+
+    @Override
+    public List<MergeProposal> getProposals(Integer userId) {
+        Guest keep = GUEST.as("keep_guest");
+        Guest merge = GUEST.as("merge_guest");
+
+        return dsl.select(GUEST_MERGE_PROPOSAL.KEEP_GUEST_ID, keep.NAME, GUEST_MERGE_PROPOSAL.MERGE_GUEST_ID, merge.NAME, GUEST_MERGE_PROPOSAL.SCORE)
+                .from(GUEST_MERGE_PROPOSAL)
+                .join(keep).on(GUEST_MERGE_PROPOSAL.KEEP_GUEST_ID.eq(keep.ID))
+                .join(merge).on(GUEST_MERGE_PROPOSAL.MERGE_GUEST_ID.eq(merge.ID))
+                .where(GUEST_MERGE_PROPOSAL.USERS_ID.eq(userId))
+                .orderBy(keep.NAME.asc(), GUEST_MERGE_PROPOSAL.KEEP_GUEST_ID.asc(), GUEST_MERGE_PROPOSAL.SCORE.desc())
+                .fetchInto(MergeProposal.class);
+    }
+
+    /**
+     * mergeGuestIds 의 경조사 기록을 keepGuestId 로 옮기고 지인 관계를 끊는다.
+     * 같은 이벤트에 이미 keepGuestId 기록이 있으면 병합 대상 금액을 남길 기록에 더하고 병합 대상 기록은 삭제한다.
+     */
+    @Transactional
+    @Override
+    public Integer mergeGuests(Integer userId, Integer keepGuestId, List<Integer> mergeGuestIds) {
+        Set<Integer> claimedEvents = new HashSet<>(dsl.select(PARTICIPATION.EVENT_ID)
+                .from(PARTICIPATION)
+                .where(PARTICIPATION.GUEST_ID.eq(keepGuestId))
+                .fetch(PARTICIPATION.EVENT_ID));
+
+        int merged = 0;
+        for (int from = 0; from < mergeGuestIds.size(); from += BATCH_SIZE) {
+            List<Integer> chunk = mergeGuestIds.subList(from, Math.min(from + BATCH_SIZE, mergeGuestIds.size()));
+
+            List<Row2<Integer, Integer>> moves = new ArrayList<>();
+            List<Row2<Integer, Integer>> conflicts = new ArrayList<>();
+            Map<Integer, Integer> conflictAmounts = new HashMap<>();
+            Set<Integer> touchedEvents = new HashSet<>();
+            for (Record3<Integer, Integer, Integer> participation : dsl.select(PARTICIPATION.EVENT_ID, PARTICIPATION.GUEST_ID, PARTICIPATION.AMOUNT)
+                    .from(PARTICIPATION)
+                    .join(EVENT).on(PARTICIPATION.EVENT_ID.eq(EVENT.ID))
+                    .where(PARTICIPATION.GUEST_ID.in(chunk))
+                    .and(EVENT.USERS_ID.eq(userId))
+                    .fetch()) {
+                Row2<Integer, Integer> key = DSL.row(participation.value1(), participation.value2());
+                touchedEvents.add(participation.value1());
+                if (claimedEvents.add(participation.value1())) {
+                    moves.add(key);
+                } else {
+                    conflicts.add(key);
+                    if (participation.value3() != null) {
+                        conflictAmounts.merge(participation.value1(), participation.value3(), Integer::sum);
+                    }
+                }
+            }
+
+            // 지인이 바뀌거나 금액이 합쳐지는 경조사는 병합 전후 참여 내역을 변경 기록에 남긴다
+            List<Integer> guests = new ArrayList<>(chunk);
+            guests.add(keepGuestId);
+            if (!touchedEvents.isEmpty()) {
+                recordAmounts(PARTICIPATION.EVENT_ID.in(touchedEvents).and(PARTICIPATION.GUEST_ID.in(guests)), AmountSketchLog.REMOVED);
+            }
+
+            if (!moves.isEmpty()) {
+                dsl.update(PARTICIPATION)
+                        .set(PARTICIPATION.GUEST_ID, keepGuestId)
+                        .where(DSL.row(PARTICIPATION.EVENT_ID, PARTICIPATION.GUEST_ID).in(moves))
+                        .execute();
+            }
+            // 같은 사람이 같은 경조사에 두 번 적힌 경우라 금액을 버리지 않고 합친다
+            if (!conflictAmounts.isEmpty()) {
+                dsl.batch(conflictAmounts.entrySet().stream()
+                                .map(amount -> dsl.update(PARTICIPATION)
+                                        .set(PARTICIPATION.AMOUNT, DSL.coalesce(PARTICIPATION.AMOUNT, 0).plus(amount.getValue()))
+                                        .where(PARTICIPATION.EVENT_ID.eq(amount.getKey()))
+                                        .and(PARTICIPATION.GUEST_ID.eq(keepGuestId)))
+                                .toList())
+                        .execute();
+            }
+            if (!conflicts.isEmpty()) {
+                dsl.deleteFrom(PARTICIPATION)
+                        .where(DSL.row(PARTICIPATION.EVENT_ID, PARTICIPATION.GUEST_ID).in(conflicts))
+                        .execute();
+            }
+            if (!touchedEvents.isEmpty()) {
+                recordAmounts(PARTICIPATION.EVENT_ID.in(touchedEvents).and(PARTICIPATION.GUEST_ID.eq(keepGuestId)), AmountSketchLog.ADDED);
+            }
+
+            dsl.update(SCHEDULE)
+                    .set(SCHEDULE.GUEST_ID, keepGuestId)
+                    .where(SCHEDULE.USERS_ID.eq(userId))
+                    .and(SCHEDULE.GUEST_ID.in(chunk))
+                    .execute();
+
+            merged += dsl.update(USERS_RELATION)
+                    .set(USERS_RELATION.USERS_ID, (Integer) null)
+                    .where(USERS_RELATION.USERS_ID.eq(userId))
+                    .and(USERS_RELATION.GUEST_ID.in(chunk))
+                    .execute();
+
+            dsl.deleteFrom(GUEST_MERGE_PROPOSAL)
+                    .where(GUEST_MERGE_PROPOSAL.USERS_ID.eq(userId))
+                    .and(GUEST_MERGE_PROPOSAL.KEEP_GUEST_ID.in(chunk).or(GUEST_MERGE_PROPOSAL.MERGE_GUEST_ID.in(chunk)))
+                    .execute();
+        }
+        relationIndexCache.invalidate(userId);
+        eventTotalsCache.invalidateAll(claimedEvents);
+        // 옮긴 일정은 달력에 남길 지인 이름으로 나간다
+        calendarVersion.bump(userId);
+        return merged;
+    }
+
+    // 금액 추천 sketch 와 결제 분석이 각자 읽는 변경 기록을 같은 트랜잭션에 남긴다
+    private void recordAmounts(Condition participation, int sign) {
+        amountSketchLog.record(participation, sign);
+        paymentAmountLog.record(participation, sign);
+    }
+}
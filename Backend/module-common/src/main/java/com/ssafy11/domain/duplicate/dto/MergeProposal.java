@@ -0,0 +1,14 @@
+package com.ssafy11.domain.duplicate.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Builder;
+
+@Builder
+public record MergeProposal(   //동명이인 병합 제안
+        Integer keepGuestId,
+        String keepName,
+        Integer mergeGuestId,
+        String mergeName,
+        BigDecimal score
+) { }
@@ -1,19 +1,31 @@
 package com.ssafy11.domain.events;
 
+import com.ssafy11.domain.common.CursorDto;
+import com.ssafy11.domain.common.CursorResponse;
 import com.ssafy11.domain.common.PageDto;
 import com.ssafy11.domain.events.dto.Event;
 import com.ssafy11.domain.common.PageResponse;
 import com.ssafy11.domain.events.dto.EventCommand;
+import com.ssafy11.domain.events.dto.EventTotals;
+import com.ssafy11.domain.events.dto.EventSummary;
 import com.ssafy11.domain.events.dto.recommendAmount;
 import com.ssafy11.domain.participant.dto.EventParticipant;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Consumer;
+
 public interface EventDao {
     Integer addEvent(EventCommand event, Integer userId);
     Integer updateEvent(EventCommand event, Integer eventId);
     Boolean isUserEventCreated(Integer eventId, Integer userId);
     PageResponse<Event> getEvents(Integer userId, PageDto pageDto);
+    CursorResponse<EventSummary> getEvents(Integer userId, LocalDateTime from, LocalDateTime to, CursorDto cursorDto);
     PageResponse<EventParticipant> getEvent(Integer eventId, PageDto pageDto);
+    void forEachParticipant(Integer eventId, Consumer<EventParticipant> consumer);
+    EventTotals getEventTotals(Integer eventId);
     Integer getEventByUserId(Integer eventId);
     Integer deleteEvent(Integer eventId, Integer userId);
     recommendAmount getRecommendAmount(String category, Integer userId);
+    Map<String, recommendAmount> getLatestRecommendAmounts();
 }
\ No newline at end of file
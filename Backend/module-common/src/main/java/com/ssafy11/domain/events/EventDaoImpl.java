@@ -1,23 +1,41 @@
 package com.ssafy11.domain.events;
 
+import com.ssafy11.domain.calendar.CalendarVersion;
+import com.ssafy11.domain.common.Cursor;
+import com.ssafy11.domain.common.CursorDto;
+import com.ssafy11.domain.common.CursorResponse;
 import com.ssafy11.domain.common.PageDto;
 import com.ssafy11.domain.events.dto.Event;
 import com.ssafy11.domain.common.PageResponse;
+import com.ssafy11.domain.events.dto.CategoryTotal;
 import com.ssafy11.domain.events.dto.EventCommand;
+import com.ssafy11.domain.events.dto.EventTotals;
+import com.ssafy11.domain.events.dto.EventSummary;
 import com.ssafy11.domain.events.dto.recommendAmount;
 import com.ssafy11.domain.participant.dto.EventParticipant;
+import com.ssafy11.domain.recommend.AmountSketchLog;
+import com.ssafy11.domain.scheduler.PaymentAmountLog;
 import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Field;
 import org.jooq.Record1;
+import org.jooq.Record;
+import org.jooq.Record4;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static com.ssafy11.ulma.generated.Tables.*;
 
@@ -26,7 +44,14 @@ import static com.ssafy11.ulma.generated.Tables.*;
 @Repository
 public class EventDaoImpl implements EventDao{
 
+    // MySQL 드라이버는 fetch size 가 Integer.MIN_VALUE 일 때만 한 줄씩 스트리밍한다
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
     private final DSLContext dsl;
+    private final EventTotalsCache eventTotalsCache;
+    private final AmountSketchLog amountSketchLog;
+    private final PaymentAmountLog paymentAmountLog;
+    private final CalendarVersion calendarVersion;
 
     @Override
     public Integer addEvent(EventCommand event, Integer userId) {
@@ -36,6 +61,7 @@ public class EventDaoImpl implements EventDao{
                 .fetchOne();
 
         Assert.notNull(saveEvent.getValue(EVENT.ID), "EVENT_ID 에 null 값은 허용되지 않음");
+        calendarVersion.bump(userId);
         return saveEvent.getValue(EVENT.ID);
     }
 
@@ -48,6 +74,11 @@ public class EventDaoImpl implements EventDao{
         if(event.category()!=null) updateMap.put(EVENT.CATEGORY, event.category());
         if(event.date()!=null) updateMap.put(EVENT.DATE, event.date());
 
+        // 종류나 날짜가 바뀌면 참여 내역이 다른 집계로 옮겨 가므로 바뀌기 전후를 모두 남긴다
+        boolean regrouped = event.category() != null || event.date() != null;
+        if (regrouped) {
+            recordAmounts(PARTICIPATION.EVENT_ID.eq(eventId), AmountSketchLog.REMOVED);
+        }
         int result = -1;
         if(!updateMap.isEmpty()){
             result = dsl.update(EVENT)
@@ -56,6 +87,14 @@ public class EventDaoImpl implements EventDao{
                     .execute();
         }
         Assert.isTrue(result==1, "이벤트 업데이트 실패 데이터 정보를 확인해주세요");
+        if (regrouped) {
+            recordAmounts(PARTICIPATION.EVENT_ID.eq(eventId), AmountSketchLog.ADDED);
+        }
+        dsl.select(EVENT.USERS_ID)
+                .from(EVENT)
+                .where(EVENT.ID.eq(eventId))
+                .fetchOptional(EVENT.USERS_ID)
+                .ifPresent(calendarVersion::bump);
         return result;
     }
 
@@ -75,7 +114,12 @@ public class EventDaoImpl implements EventDao{
         int size = pageDto.getSize();
         int page = pageDto.getPage();
 
-        int totalItems = dsl.fetchCount(dsl.selectFrom(EVENT).where(EVENT.USERS_ID.eq(userId)));
+        Integer count = dsl.selectCount()
+                .from(EVENT)
+                .where(EVENT.USERS_ID.eq(userId))
+                .fetchOne(0, Integer.class);
+
+        int totalItems = (count != null) ? count : 0;
         int totalPages = (int) Math.ceil((double) totalItems/size);
 
         int offset = (page-1) * size;
@@ -83,6 +127,7 @@ public class EventDaoImpl implements EventDao{
         List<Event> result = dsl.select(EVENT.ID, EVENT.NAME, EVENT.CATEGORY, EVENT.DATE)
                 .from(EVENT)
                 .where(EVENT.USERS_ID.eq(userId))
+                .orderBy(EVENT.DATE.asc(), EVENT.ID.asc())
                 .limit(size)
                 .offset(offset)
                 .fetchInto(Event.class);
@@ -90,6 +135,71 @@ public class EventDaoImpl implements EventDao{
         return new PageResponse<>(result, page, totalItems, totalPages);
     }
 
+    // 기간 내 이벤트를 (date, id) 커서로 읽고, 참여자 수와 총 금액을 같은 쿼리에서 집계한다
+    @Transactional(readOnly = true)
+    @Override
+    public CursorResponse<EventSummary> getEvents(Integer userId, LocalDateTime from, LocalDateTime to, CursorDto cursorDto) {
+        int size = cursorDto.getSize();
+
+        Condition condition = EVENT.USERS_ID.eq(userId);
+        if (from != null) {
+            condition = condition.and(EVENT.DATE.ge(from));
+        }
+        if (to != null) {
+            condition = condition.and(EVENT.DATE.lt(to));
+        }
+
+        Integer totalItems = null;
+        if (cursorDto.isFirstPage() && cursorDto.isWithTotal()) {
+            totalItems = dsl.selectCount()
+                    .from(EVENT)
+                    .where(condition)
+                    .fetchOne(0, Integer.class);
+        }
+
+        Condition seek = DSL.noCondition();
+        if (!cursorDto.isFirstPage()) {
+            String[] keys = Cursor.decode(cursorDto.getCursor(), 2);
+            LocalDateTime lastDate = LocalDateTime.parse(keys[0]);
+            Integer lastId = Integer.valueOf(keys[1]);
+            seek = EVENT.DATE.gt(lastDate)
+                    .or(EVENT.DATE.eq(lastDate).and(EVENT.ID.gt(lastId)));
+        }
+
+        // event(users_id, date, id) 인덱스로 한 페이지만 먼저 자른 뒤 참여 내역을 붙인다
+        Table<Record4<Integer, String, String, LocalDateTime>> page = dsl.select(EVENT.ID, EVENT.CATEGORY, EVENT.NAME, EVENT.DATE)
+                .from(EVENT)
+                .where(condition)
+                .and(seek)
+                .orderBy(EVENT.DATE.asc(), EVENT.ID.asc())
+                .limit(size + 1)
+                .asTable("page");
+
+        Field<Integer> pageId = page.field(EVENT.ID);
+        Field<LocalDateTime> pageDate = page.field(EVENT.DATE);
+
+        List<EventSummary> result = dsl.select(pageId, page.field(EVENT.CATEGORY), page.field(EVENT.NAME), pageDate,
+                        DSL.count(PARTICIPATION.GUEST_ID),
+                        DSL.coalesce(DSL.sum(PARTICIPATION.AMOUNT), BigDecimal.ZERO))
+                .from(page)
+                .leftJoin(PARTICIPATION)
+                .on(PARTICIPATION.EVENT_ID.eq(pageId))
+                .groupBy(pageId, page.field(EVENT.CATEGORY), page.field(EVENT.NAME), pageDate)
+                .orderBy(pageDate.asc(), pageId.asc())
+                .fetchInto(EventSummary.class);
+
+        boolean hasNext = result.size() > size;
+        if (hasNext) {
+            result = result.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            EventSummary last = result.get(result.size() - 1);
+            nextCursor = Cursor.encode(last.eventTime(), last.id());
+        }
+        return new CursorResponse<>(result, nextCursor, hasNext, totalItems);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public PageResponse<EventParticipant> getEvent(Integer eventId, PageDto pageDto) {
@@ -121,6 +231,64 @@ public class EventDaoImpl implements EventDao{
         return new PageResponse<>(result, page, totalItems, totalPages);
     }
 
+    // 방명록 내려받기용, 페이지로 나누지 않고 커서로 한 줄씩 넘긴다. 커서가 열려 있는 동안 같은 커넥션으로 다른 쿼리를 보내면 안 된다
+    @Transactional(readOnly = true)
+    @Override
+    public void forEachParticipant(Integer eventId, Consumer<EventParticipant> consumer) {
+        try (org.jooq.Cursor<Record4<Integer, String, String, Integer>> cursor = dsl.select(GUEST.ID, GUEST.NAME, GUEST.CATEGORY, PARTICIPATION.AMOUNT)
+                .from(PARTICIPATION)
+                .join(GUEST)
+                .on(GUEST.ID.eq(PARTICIPATION.GUEST_ID))
+                .where(PARTICIPATION.EVENT_ID.eq(eventId))
+                .orderBy(GUEST.NAME, GUEST.ID)
+                .fetchSize(STREAMING_FETCH_SIZE)
+                .fetchLazy()) {
+            while (cursor.hasNext()) {
+                consumer.accept(cursor.fetchNextInto(EventParticipant.class));
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public EventTotals getEventTotals(Integer eventId) {
+        return eventTotalsCache.get(eventId, this::loadEventTotals);
+    }
+
+    // participation(event_id, guest_id) 인덱스로 이벤트 참여 내역만 읽고, ROLLUP 으로 관계별 합계와 전체 합계를 한 번에 구한다
+    private EventTotals loadEventTotals(Integer eventId) {
+        Field<Integer> grouping = DSL.grouping(GUEST.CATEGORY);
+        Field<Integer> count = DSL.count();
+        Field<BigDecimal> sum = DSL.sum(PARTICIPATION.AMOUNT);
+        Field<BigDecimal> avg = DSL.avg(PARTICIPATION.AMOUNT);
+        Field<Integer> min = DSL.min(PARTICIPATION.AMOUNT);
+        Field<Integer> max = DSL.max(PARTICIPATION.AMOUNT);
+
+        CategoryTotal total = new CategoryTotal(null, 0, 0L, null, null, null);
+        List<CategoryTotal> categories = new ArrayList<>();
+        for (Record record : dsl.select(GUEST.CATEGORY, grouping, count, sum, avg, min, max)
+                .from(PARTICIPATION)
+                .join(GUEST)
+                .on(GUEST.ID.eq(PARTICIPATION.GUEST_ID))
+                .where(PARTICIPATION.EVENT_ID.eq(eventId))
+                .groupBy(DSL.rollup(GUEST.CATEGORY))
+                .fetch()) {
+            CategoryTotal categoryTotal = new CategoryTotal(
+                    record.get(GUEST.CATEGORY),
+                    record.get(count),
+                    record.get(sum) != null ? record.get(sum).longValue() : 0L,
+                    record.get(avg) != null ? record.get(avg).doubleValue() : null,
+                    record.get(min),
+                    record.get(max));
+            if (record.get(grouping) == 1) {
+                total = categoryTotal;
+            } else {
+                categories.add(categoryTotal);
+            }
+        }
+        return new EventTotals(eventId, total, categories);
+    }
+
     @Override
     public Integer getEventByUserId(Integer eventId) {
         Record1<Integer> eventUserId = dsl.select(EVENT.USERS_ID)
@@ -132,11 +300,14 @@ public class EventDaoImpl implements EventDao{
 
     @Override
     public Integer deleteEvent(Integer eventId, Integer userId) {
+        amountSketchLog.record(PARTICIPATION.EVENT_ID.eq(eventId), AmountSketchLog.REMOVED);
         Integer participationUpdateCount = dsl.update(PARTICIPATION)
                 .set(PARTICIPATION.GUEST_ID, (Integer)null)
                 .where(PARTICIPATION.EVENT_ID.eq(eventId))
                 .and(PARTICIPATION.GUEST_ID.eq(userId))
                 .execute();
+        eventTotalsCache.invalidate(eventId);
+        calendarVersion.bump(userId);
 
         return dsl.update(EVENT)
                 .set(EVENT.USERS_ID, (Integer)null)
@@ -160,4 +331,45 @@ public class EventDaoImpl implements EventDao{
                 .limit(1)
                 .fetchOneInto(recommendAmount.class);
     }
+
+    // 카테고리별 최신 분석 결과, create_at 이 문자열이라 auto increment id 로 최신을 고른다
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, recommendAmount> getLatestRecommendAmounts() {
+        Field<Integer> rowNumber = DSL.rowNumber()
+                .over(DSL.partitionBy(PAYMENT_ANALYSIS.CATEGORY).orderBy(PAYMENT_ANALYSIS.ID.desc()))
+                .as("rn");
+        Table<?> latest = dsl.select(PAYMENT_ANALYSIS.asterisk(), rowNumber)
+                .from(PAYMENT_ANALYSIS)
+                .asTable("latest");
+
+        return dsl.select(latest.field(PAYMENT_ANALYSIS.CATEGORY),
+                        latest.field(PAYMENT_ANALYSIS.UNDER_50K_RATIO),
+                        latest.field(PAYMENT_ANALYSIS.BETWEEN_50K_100K_RATIO),
+                        latest.field(PAYMENT_ANALYSIS.BETWEEN_100K_150K_RATIO),
+                        latest.field(PAYMENT_ANALYSIS.ABOVE_150K_RATIO),
+                        latest.field(PAYMENT_ANALYSIS.MIN_AMOUNT),
+                        latest.field(PAYMENT_ANALYSIS.MAX_AMOUNT),
+                        latest.field(PAYMENT_ANALYSIS.TOP_AMOUNT))
+                .from(latest)
+                .where(latest.field(rowNumber).eq(1))
+                .fetch()
+                .stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        record -> record.value1(),
+                        record -> new recommendAmount(
+                                record.value2().doubleValue(),
+                                record.value3().doubleValue(),
+                                record.value4().doubleValue(),
+                                record.value5().doubleValue(),
+                                record.value6().intValue(),
+                                record.value7().intValue(),
+                                record.value8().intValue())));
+    }
+
+    // 금액 추천 sketch 와 결제 분석이 각자 읽는 변경 기록을 같은 트랜잭션에 남긴다
+    private void recordAmounts(Condition participation, int sign) {
+        amountSketchLog.record(participation, sign);
+        paymentAmountLog.record(participation, sign);
+    }
 }
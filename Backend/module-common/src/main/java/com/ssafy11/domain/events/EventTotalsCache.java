@@ -0,0 +1,54 @@
+package com.ssafy11.domain.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ssafy11.domain.events.dto.EventTotals;
+import com.ssafy11.domain.global.AfterCompletion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * 이벤트별 경조사비 집계 캐시.
+ * 참여 내역이 바뀌면 해당 이벤트만 무효화하고, 지인 관계(category) 변경은 만료 시간으로 반영한다.
+ */
+@Component
+public class EventTotalsCache {
+
+    private static final long MAXIMUM_SIZE = 5_000;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    private final Cache<Integer, EventTotals> cache;
+
+    public EventTotalsCache(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(EXPIRE_AFTER_WRITE)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "eventTotals"));
+    }
+
+    public EventTotals get(Integer eventId, Function<Integer, EventTotals> loader) {
+        return cache.get(eventId, loader);
+    }
+
+    public void invalidate(Integer eventId) {
+        if (eventId == null) {
+            return;
+        }
+        AfterCompletion.run(() -> cache.invalidate(eventId));
+    }
+
+    public void invalidateAll(Collection<Integer> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        AfterCompletion.run(() -> cache.invalidateAll(eventIds));
+    }
+}
@@ -0,0 +1,13 @@
+package com.ssafy11.domain.events.dto;
+
+import lombok.Builder;
+
+@Builder
+public record CategoryTotal(    //관계(category)별 경조사비 집계
+        String category,
+        Integer count,
+        Long totalAmount,
+        Double averageAmount,
+        Integer minAmount,
+        Integer maxAmount
+) { }
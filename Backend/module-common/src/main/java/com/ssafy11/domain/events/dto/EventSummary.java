@@ -0,0 +1,15 @@
+package com.ssafy11.domain.events.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record EventSummary(
+        Integer id,
+        String category,
+        String name,
+        LocalDateTime eventTime,
+        Integer participantCount,
+        Long totalAmount
+) { }
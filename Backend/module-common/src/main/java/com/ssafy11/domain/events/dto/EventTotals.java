@@ -0,0 +1,12 @@
+package com.ssafy11.domain.events.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record EventTotals(
+        Integer eventId,
+        CategoryTotal total,
+        List<CategoryTotal> categories
+) { }
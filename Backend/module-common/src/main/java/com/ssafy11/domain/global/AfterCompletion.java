@@ -0,0 +1,27 @@
+package com.ssafy11.domain.global;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션이 끝난 뒤(커밋/롤백) 실행할 작업 등록.
+ * 캐시 무효화처럼 트랜잭션 중에 한 번, 끝난 뒤에 한 번 더 실행해야 하는 작업에 쓴다.
+ */
+public final class AfterCompletion {
+
+	private AfterCompletion() {
+	}
+
+	public static void run(Runnable task) {
+		task.run();
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				task.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,9 @@
+package com.ssafy11.domain.global;
+
+/**
+ * 서버마다 따로 두는 로컬 캐시의 무효화를 다른 서버에도 알린다.
+ * 커밋된 뒤에 보내야 받은 서버가 다시 읽을 때 바뀐 값을 본다. 보낸 서버도 같은 메시지를 받는다.
+ */
+public interface CacheBroadcast {
+    void publishAfterCommit(String topic, String message);
+}
@@ -0,0 +1,54 @@
+package com.ssafy11.domain.guest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 연락처 동기화용 해시 유틸.
+ * 클라이언트도 동일한 규칙(정규화된 번호, 이름, 관계)으로 해시를 만들어야 서버 digest 와 비교할 수 있다.
+ */
+public final class ContactHasher {
+
+	private static final int CONTACT_HASH_LENGTH = 16;
+
+	private ContactHasher() {
+	}
+
+	// 숫자만 남기고 +82 국가번호는 0 으로 바꾼다
+	public static String normalizePhone(String phoneNumber) {
+		if (phoneNumber == null) {
+			return null;
+		}
+		String digits = phoneNumber.replaceAll("\\D", "");
+		if (digits.startsWith("82") && digits.length() >= 11) {
+			digits = "0" + digits.substring(2);
+		}
+		return digits.isEmpty() ? null : digits;
+	}
+
+	public static String hash(String phoneNumber, String name, String category) {
+		String source = normalizePhone(phoneNumber) + '\u0000'
+			+ (name == null ? "" : name.trim()) + '\u0000'
+			+ (category == null ? "" : category.trim());
+		return sha256(source).substring(0, CONTACT_HASH_LENGTH);
+	}
+
+	// 연락처 해시 목록 전체에 대한 digest, 순서와 무관하다
+	public static String digest(Collection<String> hashes) {
+		List<String> sorted = hashes.stream().sorted().toList();
+		return sha256(String.join("\n", sorted));
+	}
+
+	private static String sha256(String source) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(messageDigest.digest(source.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+}
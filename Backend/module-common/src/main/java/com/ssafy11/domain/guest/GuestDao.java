@@ -1,9 +1,14 @@
 package com.ssafy11.domain.guest;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface GuestDao {
     Integer updateGuest(Guest guest);
     String isGuestPhoneNumber(Integer guestId, String phoneNumber);
     Optional<Guest> getGuestById(Integer guestId);
+    List<Guest> getGuestsByUserId(Integer userId);
+    Integer updateGuests(List<Guest> guests);
+    Optional<String> getSyncDigest(Integer userId);
+    void saveSyncDigest(Integer userId, String digest);
 }
@@ -3,15 +3,21 @@ package com.ssafy11.domain.guest;
 import static com.ssafy11.ulma.generated.Tables.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.jooq.DSLContext;
 import org.jooq.Field;
+import org.jooq.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ssafy11.domain.calendar.CalendarVersion;
+import com.ssafy11.domain.relation.RelationIndexCache;
+
 import lombok.RequiredArgsConstructor;
 import org.springframework.util.Assert;
 
@@ -21,7 +27,10 @@ import org.springframework.util.Assert;
 public class GuestDaoImpl implements GuestDao {
 
     private final DSLContext dsl;
+    private final RelationIndexCache relationIndexCache;
+    private final CalendarVersion calendarVersion;
 
+    @Transactional
     @Override
     public Integer updateGuest(Guest guest) {
         Map<Field<?>, Object> updateMap = new HashMap<>();
@@ -38,6 +47,9 @@ public class GuestDaoImpl implements GuestDao {
                     .execute();
         }
         Assert.isTrue(result==1, "지인 업데이트 실패 데이터 정보를 확인해주세요");
+        if(guest.getGuestName()!=null) renameRelations(guest).execute();
+        if(guest.getGuestNumber()!=null) relationIndexCache.invalidateGuests(List.of(guest.getGuestId()));
+        if(guest.getGuestName()!=null || guest.getGuestCategory()!=null) bumpCalendars(List.of(guest.getGuestId()));
         return result;
     }
 
@@ -59,5 +71,77 @@ public class GuestDaoImpl implements GuestDao {
         );
     }
 
+    @Override
+    public List<Guest> getGuestsByUserId(Integer userId) {
+        return dsl.select(GUEST.ID, GUEST.NAME, GUEST.CATEGORY, GUEST.PHONE_NUMBER)
+                .from(USERS_RELATION)
+                .join(GUEST)
+                .on(USERS_RELATION.GUEST_ID.eq(GUEST.ID))
+                .where(USERS_RELATION.USERS_ID.eq(userId))
+                .fetchInto(Guest.class);
+    }
+
+    @Transactional
+    @Override
+    public Integer updateGuests(List<Guest> guests) {
+        if (guests.isEmpty()) {
+            return 0;
+        }
+        List<Query> queries = new ArrayList<>(guests.size() * 2);
+        for (Guest guest : guests) {
+            queries.add(dsl.update(GUEST)
+                    .set(GUEST.NAME, guest.getGuestName())
+                    .set(GUEST.CATEGORY, guest.getGuestCategory())
+                    .set(GUEST.PHONE_NUMBER, guest.getGuestNumber())
+                    .where(GUEST.ID.eq(guest.getGuestId())));
+            queries.add(renameRelations(guest));
+        }
+
+        // 지인마다 guest, users_relation 순서로 넣었으므로 짝수 자리가 지인 갱신 건수다
+        int[] counts = dsl.batch(queries).execute();
+        int result = 0;
+        for (int i = 0; i < counts.length; i += 2) {
+            result += counts[i];
+        }
+        List<Integer> guestIds = guests.stream().map(Guest::getGuestId).toList();
+        relationIndexCache.invalidateGuests(guestIds);
+        bumpCalendars(guestIds);
+        return result;
+    }
+
+    @Override
+    public Optional<String> getSyncDigest(Integer userId) {
+        return dsl.select(GUEST_SYNC.DIGEST)
+                .from(GUEST_SYNC)
+                .where(GUEST_SYNC.USERS_ID.eq(userId))
+                .fetchOptional(GUEST_SYNC.DIGEST);
+    }
+
+    @Transactional
+    @Override
+    public void saveSyncDigest(Integer userId, String digest) {
+        dsl.insertInto(GUEST_SYNC, GUEST_SYNC.USERS_ID, GUEST_SYNC.DIGEST, GUEST_SYNC.UPDATE_AT)
+                .values(userId, digest, LocalDateTime.now())
+                .onDuplicateKeyUpdate()
+                .set(GUEST_SYNC.DIGEST, digest)
+                .set(GUEST_SYNC.UPDATE_AT, LocalDateTime.now())
+                .execute();
+    }
 
+    // 지인 목록 이름순 인덱스용으로 users_relation 에 옮겨 둔 이름도 같이 바꾼다
+    private Query renameRelations(Guest guest) {
+        return dsl.update(USERS_RELATION)
+                .set(USERS_RELATION.GUEST_NAME, guest.getGuestName())
+                .where(USERS_RELATION.GUEST_ID.eq(guest.getGuestId()));
+    }
+
+    // 달력 일정에 지인 이름/관계가 같이 나가므로 지인을 둔 사용자의 달력 버전을 올려 304 로 옛 이름을 주지 않게 한다
+    private void bumpCalendars(List<Integer> guestIds) {
+        dsl.selectDistinct(USERS_RELATION.USERS_ID)
+                .from(USERS_RELATION)
+                .where(USERS_RELATION.GUEST_ID.in(guestIds))
+                .and(USERS_RELATION.USERS_ID.isNotNull())
+                .fetch(USERS_RELATION.USERS_ID)
+                .forEach(calendarVersion::bump);
+    }
 }
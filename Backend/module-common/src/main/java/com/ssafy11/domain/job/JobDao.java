@@ -0,0 +1,19 @@
+package com.ssafy11.domain.job;
+
+import com.ssafy11.domain.job.dto.JobPartition;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface JobDao {
+    Optional<Long> tryAcquire(String name, String owner, Duration lease);
+    boolean renew(String name, Long fencingToken, Duration lease);
+    void release(String name, Long fencingToken, boolean success, Duration hold);
+    boolean isHolder(String name, Long fencingToken);
+    void markSuccess(String name);
+    Optional<LocalDateTime> getLastSuccess(String name);
+    void createPartitions(String name, Long runId, int partitions);
+    Optional<JobPartition> claimPartition(String name, String owner, Duration lease);
+    int completePartition(String name, JobPartition partition, String owner);
+}
@@ -0,0 +1,183 @@
+package com.ssafy11.domain.job;
+
+import com.ssafy11.domain.job.dto.JobPartition;
+import com.ssafy11.ulma.generated.tables.records.JobPartitionRecord;
+import lombok.RequiredArgsConstructor;
+
+import org.jooq.DSLContext;
+import org.jooq.DatePart;
+import org.jooq.Field;
+import org.jooq.InsertValuesStep4;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static com.ssafy11.ulma.generated.Tables.JOB_LOCK;
+import static com.ssafy11.ulma.generated.Tables.JOB_PARTITION;
+
+/**
+ * MySQL 행 기반 작업 잠금.
+ * 임대 시간(lease)은 DB 시각 기준으로 비교해 노드 간 시계 차이에 영향받지 않는다.
+ * 잠금/분할 조각 상태는 작업 트랜잭션과 별개로 바로 커밋해야 다른 노드가 볼 수 있어 REQUIRES_NEW 로 실행한다.
+ */
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+@Repository
+public class JobDaoImpl implements JobDao {
+
+    private static final String PENDING = "PENDING";
+    private static final String RUNNING = "RUNNING";
+    private static final String DONE = "DONE";
+    private static final LocalDateTime EXPIRED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final DSLContext dsl;
+
+    // 임대가 끝난 경우에만 가져가고, 가져갈 때마다 fencing token 을 1 올린다
+    @Override
+    public Optional<Long> tryAcquire(String name, String owner, Duration lease) {
+        dsl.insertInto(JOB_LOCK, JOB_LOCK.NAME, JOB_LOCK.FENCING_TOKEN, JOB_LOCK.LEASE_UNTIL)
+                .values(name, 0L, EXPIRED)
+                .onDuplicateKeyIgnore()
+                .execute();
+
+        int updated = dsl.update(JOB_LOCK)
+                .set(JOB_LOCK.OWNER, owner)
+                .set(JOB_LOCK.FENCING_TOKEN, JOB_LOCK.FENCING_TOKEN.plus(1))
+                .set(JOB_LOCK.LEASE_UNTIL, leaseUntil(lease))
+                .where(JOB_LOCK.NAME.eq(name))
+                .and(JOB_LOCK.LEASE_UNTIL.lt(DSL.currentLocalDateTime()))
+                .execute();
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return dsl.select(JOB_LOCK.FENCING_TOKEN)
+                .from(JOB_LOCK)
+                .where(JOB_LOCK.NAME.eq(name))
+                .fetchOptional(JOB_LOCK.FENCING_TOKEN);
+    }
+
+    // 오래 쥐고 있는 잠금의 임대를 늘린다. 그 사이 다른 노드가 가져갔으면 false
+    @Override
+    public boolean renew(String name, Long fencingToken, Duration lease) {
+        return dsl.update(JOB_LOCK)
+                .set(JOB_LOCK.LEASE_UNTIL, leaseUntil(lease))
+                .where(JOB_LOCK.NAME.eq(name))
+                .and(JOB_LOCK.FENCING_TOKEN.eq(fencingToken))
+                .and(JOB_LOCK.LEASE_UNTIL.ge(DSL.currentLocalDateTime()))
+                .execute() == 1;
+    }
+
+    // 성공했으면 hold 동안 임대를 남겨 그 사이 다른 노드가 같은 작업을 다시 가져가지 못하게 한다. 실패하면 바로 놓는다
+    @Override
+    public void release(String name, Long fencingToken, boolean success, Duration hold) {
+        dsl.update(JOB_LOCK)
+                .set(JOB_LOCK.OWNER, (String) null)
+                .set(JOB_LOCK.LEASE_UNTIL, success && !hold.isZero() ? leaseUntil(hold) : DSL.val(EXPIRED))
+                .set(JOB_LOCK.LAST_SUCCESS_AT, success ? DSL.currentLocalDateTime() : JOB_LOCK.LAST_SUCCESS_AT)
+                .where(JOB_LOCK.NAME.eq(name))
+                .and(JOB_LOCK.FENCING_TOKEN.eq(fencingToken))
+                .execute();
+    }
+
+    // 작업 트랜잭션 안에서 커밋 직전에 부른다. 행을 잠가 두므로 확인 뒤 커밋까지 다른 노드가 잠금을 가져갈 수 없다
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public boolean isHolder(String name, Long fencingToken) {
+        return dsl.select(JOB_LOCK.FENCING_TOKEN)
+                .from(JOB_LOCK)
+                .where(JOB_LOCK.NAME.eq(name))
+                .forUpdate()
+                .fetchOptional(JOB_LOCK.FENCING_TOKEN)
+                .map(fencingToken::equals)
+                .orElse(false);
+    }
+
+    @Override
+    public void markSuccess(String name) {
+        dsl.update(JOB_LOCK)
+                .set(JOB_LOCK.LAST_SUCCESS_AT, DSL.currentLocalDateTime())
+                .where(JOB_LOCK.NAME.eq(name))
+                .execute();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<LocalDateTime> getLastSuccess(String name) {
+        return dsl.select(JOB_LOCK.LAST_SUCCESS_AT)
+                .from(JOB_LOCK)
+                .where(JOB_LOCK.NAME.eq(name))
+                .fetchOptional(JOB_LOCK.LAST_SUCCESS_AT);
+    }
+
+    // 새 실행의 조각을 만들면서 지난 실행의 조각은 지운다
+    @Override
+    public void createPartitions(String name, Long runId, int partitions) {
+        dsl.deleteFrom(JOB_PARTITION)
+                .where(JOB_PARTITION.JOB_NAME.eq(name))
+                .and(JOB_PARTITION.RUN_ID.lt(runId))
+                .execute();
+
+        InsertValuesStep4<JobPartitionRecord, String, Long, Integer, String> insert = dsl.insertInto(JOB_PARTITION,
+                JOB_PARTITION.JOB_NAME,
+                JOB_PARTITION.RUN_ID,
+                JOB_PARTITION.PARTITION_NO,
+                JOB_PARTITION.STATUS);
+        for (int partitionNo = 0; partitionNo < partitions; partitionNo++) {
+            insert = insert.values(name, runId, partitionNo, PENDING);
+        }
+        insert.onDuplicateKeyIgnore().execute();
+    }
+
+    // 대기 중이거나 임대가 끝난 조각 하나를 가져간다. 다른 노드가 잠근 행은 건너뛴다
+    @Override
+    public Optional<JobPartition> claimPartition(String name, String owner, Duration lease) {
+        Optional<JobPartition> partition = dsl.select(JOB_PARTITION.RUN_ID, JOB_PARTITION.PARTITION_NO)
+                .from(JOB_PARTITION)
+                .where(JOB_PARTITION.JOB_NAME.eq(name))
+                .and(JOB_PARTITION.STATUS.eq(PENDING)
+                        .or(JOB_PARTITION.STATUS.eq(RUNNING)
+                                .and(JOB_PARTITION.LEASE_UNTIL.lt(DSL.currentLocalDateTime()))))
+                .orderBy(JOB_PARTITION.RUN_ID.desc(), JOB_PARTITION.PARTITION_NO)
+                .limit(1)
+                .forUpdate()
+                .skipLocked()
+                .fetchOptionalInto(JobPartition.class);
+
+        partition.ifPresent(claimed -> dsl.update(JOB_PARTITION)
+                .set(JOB_PARTITION.STATUS, RUNNING)
+                .set(JOB_PARTITION.OWNER, owner)
+                .set(JOB_PARTITION.LEASE_UNTIL, leaseUntil(lease))
+                .where(JOB_PARTITION.JOB_NAME.eq(name))
+                .and(JOB_PARTITION.RUN_ID.eq(claimed.runId()))
+                .and(JOB_PARTITION.PARTITION_NO.eq(claimed.partitionNo()))
+                .execute());
+        return partition;
+    }
+
+    // 조각을 끝내고 같은 실행에서 남은 조각 수를 돌려준다. 임대가 끝나 다른 노드가 가져간 조각은 바꾸지 않는다
+    @Override
+    public int completePartition(String name, JobPartition partition, String owner) {
+        dsl.update(JOB_PARTITION)
+                .set(JOB_PARTITION.STATUS, DONE)
+                .where(JOB_PARTITION.JOB_NAME.eq(name))
+                .and(JOB_PARTITION.RUN_ID.eq(partition.runId()))
+                .and(JOB_PARTITION.PARTITION_NO.eq(partition.partitionNo()))
+                .and(JOB_PARTITION.OWNER.eq(owner))
+                .and(JOB_PARTITION.STATUS.eq(RUNNING))
+                .execute();
+
+        return dsl.fetchCount(JOB_PARTITION,
+                JOB_PARTITION.JOB_NAME.eq(name)
+                        .and(JOB_PARTITION.RUN_ID.eq(partition.runId()))
+                        .and(JOB_PARTITION.STATUS.ne(DONE)));
+    }
+
+    private static Field<LocalDateTime> leaseUntil(Duration lease) {
+        return DSL.localDateTimeAdd(DSL.currentLocalDateTime(), lease.toSeconds(), DatePart.SECOND);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ssafy11.domain.job.dto;
+
+public record JobPartition(
+        Long runId,
+        Integer partitionNo
+) {
+}
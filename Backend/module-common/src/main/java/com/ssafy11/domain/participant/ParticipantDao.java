@@ -3,9 +3,14 @@ package com.ssafy11.domain.participant;
 import java.util.List;
 import java.util.Optional;
 
+import com.ssafy11.domain.common.CursorDto;
+import com.ssafy11.domain.common.CursorResponse;
 import com.ssafy11.domain.common.PageDto;
 import com.ssafy11.domain.common.PageResponse;
 import com.ssafy11.domain.guest.Guest;
+import com.ssafy11.domain.participant.dto.AddGuestResponse;
+import com.ssafy11.domain.participant.dto.LedgerEntry;
+import com.ssafy11.domain.participant.dto.LedgerResult;
 import com.ssafy11.domain.participant.dto.Participant;
 import com.ssafy11.domain.participant.dto.Transaction;
 import com.ssafy11.domain.participant.dto.TransactionSummary;
@@ -15,16 +20,22 @@ import java.util.List;
 
 public interface ParticipantDao {
     PageResponse<UserRelation> sameName(Integer userId, String name, String category, PageDto pageDto);
+    CursorResponse<UserRelation> sameName(Integer userId, String name, String category, CursorDto cursorDto);
     PageResponse<Transaction> getTransactions(Integer userId, Integer guestId, PageDto pageDto);
+    CursorResponse<Transaction> getTransactions(Integer userId, Integer guestId, CursorDto cursorDto);
     TransactionSummary getTransactionSummary(Integer userId, Integer guestId);
     Boolean isParticipant(Integer eventId, Integer participantId);
     Integer addParticipants(List<Participant> participants);
     Integer updateParticipant(Participant participant);
     Integer deleteParticipant(Participant participant);
+    LedgerResult saveLedger(Integer eventId, List<LedgerEntry> entries);
+    Integer upsertParticipants(Integer eventId, List<LedgerEntry> entries);
     Boolean isPhoneNumber(String phoneNumber, Integer userId);
     Integer addGuests(String name, String category, String phoneNumber);
+    List<Integer> addGuests(List<AddGuestResponse> guests);
     Integer addUserRelations(List<Integer> guestIds, Integer userId);
     Integer addUserRelation(Integer guestId, Integer userId);
     PageResponse<UserRelation> getUserRelations(Integer userId, PageDto pageDto);
+    CursorResponse<UserRelation> getUserRelations(Integer userId, CursorDto cursorDto);
     Optional<Guest> getGuest(Integer guestId);
 }
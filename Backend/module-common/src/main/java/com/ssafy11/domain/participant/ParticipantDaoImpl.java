@@ -1,10 +1,17 @@
 package com.ssafy11.domain.participant;
 
+import com.ssafy11.domain.common.Cursor;
+import com.ssafy11.domain.common.CursorDto;
+import com.ssafy11.domain.common.CursorResponse;
 import com.ssafy11.domain.common.PageDto;
 import com.ssafy11.domain.common.PageResponse;
+import com.ssafy11.domain.events.EventTotalsCache;
 import com.ssafy11.domain.guest.Guest;
 import com.ssafy11.domain.participant.dto.*;
 import com.ssafy11.domain.participant.dto.Transaction;
+import com.ssafy11.domain.recommend.AmountSketchLog;
+import com.ssafy11.domain.relation.RelationIndexCache;
+import com.ssafy11.domain.scheduler.PaymentAmountLog;
 import com.ssafy11.ulma.generated.tables.records.GuestRecord;
 import lombok.RequiredArgsConstructor;
 import org.jooq.*;
@@ -16,19 +23,38 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.ssafy11.ulma.generated.Tables.*;
 import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.name;
 
 @Repository
 @Transactional
 @RequiredArgsConstructor
 public class ParticipantDaoImpl implements ParticipantDao {
 
+	private static final Field<String> TIMELINE_SOURCE = field(name("source"), String.class);
+	private static final Field<Integer> TIMELINE_ID = field(name("id"), Integer.class);
+	private static final Field<Integer> TIMELINE_GUEST_ID = field(name("guest_id"), Integer.class);
+	private static final Field<String> TIMELINE_NAME = field(name("name"), String.class);
+	private static final Field<LocalDateTime> TIMELINE_DATE = field(name("date"), LocalDateTime.class);
+	private static final Field<Integer> TIMELINE_AMOUNT = field(name("amount"), Integer.class);
+	private static final Field<Integer> TIMELINE_BRANCH_TOTAL = field(name("branch_total"), Integer.class);
+	private static final Field<Integer> TIMELINE_TOTAL = field(name("total"), Integer.class);
+
 	private final DSLContext dsl;
 	private final ModelMapper modelMapper;
+	private final RelationIndexCache relationIndexCache;
+	private final EventTotalsCache eventTotalsCache;
+	private final AmountSketchLog amountSketchLog;
+	private final PaymentAmountLog paymentAmountLog;
 
     @Transactional(readOnly = true)
     @Override
@@ -36,48 +62,92 @@ public class ParticipantDaoImpl implements ParticipantDao {
         int size = pageDto.getSize();
         int page = pageDto.getPage();
 
-        SelectConditionStep<Record1<Integer>> pageQuery = dsl.selectCount()
-                .from(USERS)
-                .join(USERS_RELATION)
-                .on(USERS.ID.eq(USERS_RELATION.USERS_ID))
+        Condition condition = sameNameCondition(userId, name, category);
+        Integer count = dsl.selectCount()
+                .from(USERS_RELATION)
                 .join(GUEST)
                 .on(USERS_RELATION.GUEST_ID.eq(GUEST.ID))
-                .where(USERS.ID.eq(userId));
-
-        if(name!=null && !name.isEmpty()){
-            pageQuery = pageQuery.and(GUEST.NAME.like("%" + name + "%"));
-        }
-
-        if (category != null && !category.isEmpty()) {
-            pageQuery = pageQuery.and(GUEST.CATEGORY.eq(category));
-        }
-        Integer count = pageQuery.fetchOne(0, Integer.class);
+                .where(condition)
+                .fetchOne(0, Integer.class);
 
         int totalItems = (count != null) ? count : 0;
         int totalPages = (int) Math.ceil((double) totalItems/size);
 
         int offset = (page-1) * size;
 
-        SelectConditionStep<Record5<Integer, String, String, String, Integer>> query = (SelectConditionStep<Record5<Integer, String, String, String, Integer>>) dsl.select(GUEST.ID, GUEST.NAME, GUEST.CATEGORY, GUEST.PHONE_NUMBER, DSL.val(-1))
-                .from(USERS)
-                .join(USERS_RELATION)
-                .on(USERS.ID.eq(USERS_RELATION.USERS_ID))
+        List<UserRelation> result = dsl.select(GUEST.ID, GUEST.NAME, GUEST.CATEGORY, GUEST.PHONE_NUMBER, DSL.val(-1))
+                .from(USERS_RELATION)
                 .join(GUEST)
                 .on(USERS_RELATION.GUEST_ID.eq(GUEST.ID))
-                .where(USERS.ID.eq(userId))
+                .where(condition)
                 .orderBy(GUEST.NAME.asc())
                 .limit(size)
-                .offset(offset);
+                .offset(offset)
+                .fetchInto(UserRelation.class);
 
-        if(name!=null && !name.isEmpty()){
-            query = query.and(GUEST.NAME.like("%" + name + "%"));
-        }
+        return new PageResponse<>(result, page, totalItems, totalPages);
+    }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorResponse<UserRelation> sameName(Integer userId, String name, String category, CursorDto cursorDto) {
+        return scrollUserRelations(sameNameCondition(userId, name, category), cursorDto);
+    }
+
+    private Condition sameNameCondition(Integer userId, String name, String category) {
+        Condition condition = USERS_RELATION.USERS_ID.eq(userId);
+        if (name != null && !name.isEmpty()) {
+            condition = condition.and(USERS_RELATION.GUEST_NAME.like("%" + name + "%"));
+        }
         if (category != null && !category.isEmpty()) {
-            query = query.and(GUEST.CATEGORY.eq(category));
+            condition = condition.and(GUEST.CATEGORY.eq(category));
         }
+        return condition;
+    }
+
+    // (name, guest_id) 키셋 페이지네이션, users_relation(users_id, guest_name, guest_id) 인덱스 순서대로 읽는다
+    private CursorResponse<UserRelation> scrollUserRelations(Condition condition, CursorDto cursorDto) {
+        int size = cursorDto.getSize();
+
+        Integer totalItems = null;
+        if (cursorDto.isFirstPage() && cursorDto.isWithTotal()) {
+            totalItems = dsl.selectCount()
+                    .from(USERS_RELATION)
+                    .join(GUEST)
+                    .on(USERS_RELATION.GUEST_ID.eq(GUEST.ID))
+                    .where(condition)
+                    .fetchOne(0, Integer.class);
+        }
+
+        Condition seek = DSL.noCondition();
+        if (!cursorDto.isFirstPage()) {
+            String[] keys = Cursor.decode(cursorDto.getCursor(), 2);
+            String lastName = keys[0];
+            Integer lastId = Integer.valueOf(keys[1]);
+            seek = USERS_RELATION.GUEST_NAME.gt(lastName)
+                    .or(USERS_RELATION.GUEST_NAME.eq(lastName).and(USERS_RELATION.GUEST_ID.gt(lastId)));
+        }
+
+        List<UserRelation> result = dsl.select(GUEST.ID, GUEST.NAME, GUEST.CATEGORY, GUEST.PHONE_NUMBER, DSL.val(-1))
+                .from(USERS_RELATION)
+                .join(GUEST)
+                .on(USERS_RELATION.GUEST_ID.eq(GUEST.ID))
+                .where(condition)
+                .and(seek)
+                .orderBy(USERS_RELATION.GUEST_NAME.asc(), USERS_RELATION.GUEST_ID.asc())
+                .limit(size + 1)
+                .fetchInto(UserRelation.class);
 
-        return new PageResponse<>(query.fetchInto(UserRelation.class), page, totalItems, totalPages);
+        boolean hasNext = result.size() > size;
+        if (hasNext) {
+            result = result.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            UserRelation last = result.get(result.size() - 1);
+            nextCursor = Cursor.encode(last.name(), last.guestId());
+        }
+        return new CursorResponse<>(result, nextCursor, hasNext, totalItems);
     }
 
 	@Transactional(readOnly = true)
@@ -87,41 +157,137 @@ public class ParticipantDaoImpl implements ParticipantDao {
 		int page = pageDto.getPage();
 		int offset = (page - 1) * size;
 
-        List<Transaction> transactions = dsl.select()
-                .from(
-                        dsl.select(PARTICIPATION.GUEST_ID, EVENT.NAME, EVENT.DATE, PARTICIPATION.AMOUNT)
-                                .from(PARTICIPATION)
-                                .join(EVENT).on(PARTICIPATION.EVENT_ID.eq(EVENT.ID))
-                                .where(PARTICIPATION.GUEST_ID.eq(guestId).and(EVENT.USERS_ID.eq(userId)))
-                                .unionAll(
-                                        dsl.select(SCHEDULE.GUEST_ID, SCHEDULE.NAME, SCHEDULE.DATE, SCHEDULE.AMOUNT)
-                                                .from(SCHEDULE)
-                                                .where(SCHEDULE.GUEST_ID.eq(guestId).and(SCHEDULE.USERS_ID.eq(userId)))
-                                )
-                )
-                .orderBy(field("date").desc())
-                .limit(size)
-                .offset(offset)
-                .fetchInto(Transaction.class);
+		Result<? extends Record> records = fetchTimeline(userId, guestId, null, offset + size, offset, size);
 
-		Integer participationCount = dsl.selectCount()
-			.from(PARTICIPATION)
-			.join(EVENT).on(PARTICIPATION.EVENT_ID.eq(EVENT.ID))
-			.where(PARTICIPATION.GUEST_ID.eq(guestId))
-			.and(EVENT.USERS_ID.eq(userId))
-			.fetchOne(0, Integer.class);
+		int totalItemsCount = timelineTotal(records, userId, guestId);
+		int totalPages = (int)Math.ceil((double)totalItemsCount / size);
 
-		Integer scheduleCount = dsl.selectCount()
-			.from(SCHEDULE)
-			.where(SCHEDULE.GUEST_ID.eq(guestId))
-			.and(SCHEDULE.USERS_ID.eq(userId))
-			.fetchOne(0, Integer.class);
+		return new PageResponse<>(records.map(this::toTransaction), page, totalItemsCount, totalPages);
+	}
 
-		int totalItemsCount =
-			(participationCount != null ? participationCount : 0) + (scheduleCount != null ? scheduleCount : 0);
-		int totalPages = (int)Math.ceil((double)totalItemsCount / size);
+	@Transactional(readOnly = true)
+	@Override
+	public CursorResponse<Transaction> getTransactions(Integer userId, Integer guestId, CursorDto cursorDto) {
+		int size = cursorDto.getSize();
+		String[] cursor = cursorDto.isFirstPage() ? null : Cursor.decode(cursorDto.getCursor(), 3);
+
+		Result<? extends Record> records = fetchTimeline(userId, guestId, cursor, size + 1, 0, size + 1);
+
+		Integer totalItemsCount = null;
+		if (cursorDto.isFirstPage() && cursorDto.isWithTotal()) {
+			totalItemsCount = timelineTotal(records, userId, guestId);
+		}
+
+		List<Transaction> transactions = records.map(this::toTransaction);
+		boolean hasNext = transactions.size() > size;
+		String nextCursor = null;
+		if (hasNext) {
+			transactions = transactions.subList(0, size);
+			Transaction last = transactions.get(size - 1);
+			nextCursor = Cursor.encode(last.date(), last.source(), last.id());
+		}
+		return new CursorResponse<>(transactions, nextCursor, hasNext, totalItemsCount);
+	}
+
+	/**
+	 * 받은 내역(participation)과 보낸 내역(schedule)을 한 번의 쿼리로 조회한다.
+	 * 각 UNION 분기가 날짜 순으로 정렬/제한된 뒤 합쳐지고, 분기별 COUNT(*) OVER() 로 전체 개수도 함께 가져온다.
+	 * 정렬 순서는 (date desc, source asc, id desc) 이며 cursor 는 같은 순서의 마지막 키다.
+	 */
+	private Result<? extends Record> fetchTimeline(Integer userId, Integer guestId, String[] cursor, int branchLimit, int offset, int limit) {
+		Condition participationSeek = DSL.noCondition();
+		Condition scheduleSeek = DSL.noCondition();
+		if (cursor != null) {
+			LocalDateTime lastDate = "null".equals(cursor[0]) ? null : LocalDateTime.parse(cursor[0]);
+			String lastSource = cursor[1];
+			Integer lastId = Integer.valueOf(cursor[2]);
+			participationSeek = seek(EVENT.DATE, PARTICIPATION.EVENT_ID, "P", lastDate, lastSource, lastId);
+			scheduleSeek = seek(SCHEDULE.DATE, SCHEDULE.ID, "S", lastDate, lastSource, lastId);
+		}
+
+		Table<?> timeline = dsl.select(
+					DSL.inline("P").as(TIMELINE_SOURCE.getName()),
+					PARTICIPATION.EVENT_ID.as(TIMELINE_ID.getName()),
+					PARTICIPATION.GUEST_ID.as(TIMELINE_GUEST_ID.getName()),
+					EVENT.NAME.as(TIMELINE_NAME.getName()),
+					EVENT.DATE.as(TIMELINE_DATE.getName()),
+					PARTICIPATION.AMOUNT.as(TIMELINE_AMOUNT.getName()),
+					DSL.count().over().as(TIMELINE_BRANCH_TOTAL.getName()))
+				.from(PARTICIPATION)
+				.join(EVENT).on(PARTICIPATION.EVENT_ID.eq(EVENT.ID))
+				.where(PARTICIPATION.GUEST_ID.eq(guestId).and(EVENT.USERS_ID.eq(userId)))
+				.and(participationSeek)
+				.orderBy(EVENT.DATE.desc(), PARTICIPATION.EVENT_ID.desc())
+				.limit(branchLimit)
+				.unionAll(
+						dsl.select(
+									DSL.inline("S"),
+									SCHEDULE.ID,
+									SCHEDULE.GUEST_ID,
+									SCHEDULE.NAME,
+									SCHEDULE.DATE,
+									SCHEDULE.AMOUNT,
+									DSL.count().over())
+								.from(SCHEDULE)
+								.where(SCHEDULE.GUEST_ID.eq(guestId).and(SCHEDULE.USERS_ID.eq(userId)))
+								.and(scheduleSeek)
+								.orderBy(SCHEDULE.DATE.desc(), SCHEDULE.ID.desc())
+								.limit(branchLimit)
+				)
+				.asTable("timeline");
+
+		Field<Integer> total = DSL.coalesce(DSL.max(DSL.when(TIMELINE_SOURCE.eq("P"), TIMELINE_BRANCH_TOTAL)).over(), 0)
+				.plus(DSL.coalesce(DSL.max(DSL.when(TIMELINE_SOURCE.eq("S"), TIMELINE_BRANCH_TOTAL)).over(), 0))
+				.as(TIMELINE_TOTAL.getName());
+
+		return dsl.select(TIMELINE_SOURCE, TIMELINE_ID, TIMELINE_GUEST_ID, TIMELINE_NAME, TIMELINE_DATE, TIMELINE_AMOUNT, total)
+				.from(timeline)
+				.orderBy(TIMELINE_DATE.desc(), TIMELINE_SOURCE.asc(), TIMELINE_ID.desc())
+				.limit(limit)
+				.offset(offset)
+				.fetch();
+	}
+
+	// 전체 개수는 행마다 붙어 오지만, 범위를 벗어난 페이지처럼 가져온 행이 없으면 따로 센다
+	private int timelineTotal(Result<? extends Record> records, Integer userId, Integer guestId) {
+		if (!records.isEmpty()) {
+			return records.get(0).get(TIMELINE_TOTAL);
+		}
+		return dsl.select(
+					DSL.field(dsl.selectCount()
+						.from(PARTICIPATION)
+						.join(EVENT).on(PARTICIPATION.EVENT_ID.eq(EVENT.ID))
+						.where(PARTICIPATION.GUEST_ID.eq(guestId).and(EVENT.USERS_ID.eq(userId))))
+					.plus(DSL.field(dsl.selectCount()
+						.from(SCHEDULE)
+						.where(SCHEDULE.GUEST_ID.eq(guestId).and(SCHEDULE.USERS_ID.eq(userId))))))
+				.fetchOne(0, Integer.class);
+	}
 
-		return new PageResponse<>(transactions, page, totalItemsCount, totalPages);
+	// (date desc nulls last, source asc, id desc) 순서에서 cursor 이후에 오는 행 조건
+	private static Condition seek(Field<LocalDateTime> date, Field<Integer> id, String source,
+								  LocalDateTime lastDate, String lastSource, Integer lastId) {
+		int sourceOrder = source.compareTo(lastSource);
+		Condition sameKey = sourceOrder > 0 ? DSL.trueCondition()
+				: sourceOrder == 0 ? id.lt(lastId)
+				: DSL.falseCondition();
+
+		if (lastDate == null) {
+			return date.isNull().and(sameKey);
+		}
+		return date.lt(lastDate)
+				.or(date.isNull())
+				.or(date.eq(lastDate).and(sameKey));
+	}
+
+	private Transaction toTransaction(Record record) {
+		return new Transaction(
+				record.get(TIMELINE_GUEST_ID),
+				record.get(TIMELINE_NAME),
+				record.get(TIMELINE_DATE),
+				record.get(TIMELINE_AMOUNT),
+				record.get(TIMELINE_SOURCE),
+				record.get(TIMELINE_ID));
 	}
 
     @Transactional(readOnly = true)
@@ -175,11 +341,19 @@ public class ParticipantDaoImpl implements ParticipantDao {
                     LocalDateTime.now());
         }
 
-        return query.execute();
+        int result = query.execute();
+        recordAmounts(DSL.row(PARTICIPATION.EVENT_ID, PARTICIPATION.GUEST_ID)
+                .in(participants.stream()
+                        .map(participant -> DSL.row(participant.eventId(), participant.guestId()))
+                        .toList()), AmountSketchLog.ADDED);
+        eventTotalsCache.invalidateAll(participants.stream().map(Participant::eventId).distinct().toList());
+        return result;
     }
 
 	@Override
 	public Integer updateParticipant(Participant participant) {
+		recordAmounts(PARTICIPATION.EVENT_ID.eq(participant.eventId())
+			.and(PARTICIPATION.GUEST_ID.eq(participant.preGuestId())), AmountSketchLog.REMOVED);
 
 		int result = dsl.update(PARTICIPATION)
 			.set(PARTICIPATION.AMOUNT, participant.amount())
@@ -189,30 +363,118 @@ public class ParticipantDaoImpl implements ParticipantDao {
 			.execute();
 
 		Assert.isTrue(result == 1, "참가자 업데이트 실패");
+		recordAmounts(PARTICIPATION.EVENT_ID.eq(participant.eventId())
+			.and(PARTICIPATION.GUEST_ID.eq(participant.guestId())), AmountSketchLog.ADDED);
+		eventTotalsCache.invalidate(participant.eventId());
 		return result;
 	}
 
 	@Override
 	public Integer deleteParticipant(Participant participant) {
+		recordAmounts(PARTICIPATION.EVENT_ID.eq(participant.eventId())
+			.and(PARTICIPATION.GUEST_ID.eq(participant.guestId())), AmountSketchLog.REMOVED);
 		int result = dsl.delete(PARTICIPATION)
 			.where(PARTICIPATION.EVENT_ID.eq(participant.eventId()))
 			.and(PARTICIPATION.GUEST_ID.eq(participant.guestId()))
 			.execute();
 
 		Assert.isTrue(result == 1, "참가자 삭제 실패");
+		eventTotalsCache.invalidate(participant.eventId());
 		return result;
 	}
 
+	// 이벤트 장부 전체를 받아 upsert 한 번, 빠진 지인 삭제 한 번으로 반영한다
+	// 금액 변경분은 지금 장부와 비교해 새로 들어오거나 금액이 바뀌거나 빠진 지인만 남긴다
+	@Override
+	public LedgerResult saveLedger(Integer eventId, List<LedgerEntry> entries) {
+		Map<Integer, Integer> current = dsl.select(PARTICIPATION.GUEST_ID, PARTICIPATION.AMOUNT)
+			.from(PARTICIPATION)
+			.where(PARTICIPATION.EVENT_ID.eq(eventId))
+			.forUpdate()
+			.fetchMap(PARTICIPATION.GUEST_ID, PARTICIPATION.AMOUNT);
+
+		Set<Integer> kept = new HashSet<>();
+		List<LedgerEntry> changed = new ArrayList<>();
+		for (LedgerEntry entry : entries) {
+			kept.add(entry.guestId());
+			if (!current.containsKey(entry.guestId()) || !Objects.equals(current.get(entry.guestId()), entry.amount())) {
+				changed.add(entry);
+			}
+		}
+		List<Integer> removedGuestIds = current.keySet().stream()
+			.filter(guestId -> !kept.contains(guestId))
+			.toList();
+		List<Integer> changedGuestIds = changed.stream().map(LedgerEntry::guestId).toList();
+
+		List<Integer> touched = new ArrayList<>(removedGuestIds);
+		changedGuestIds.stream().filter(current::containsKey).forEach(touched::add);
+		if (!touched.isEmpty()) {
+			recordAmounts(PARTICIPATION.EVENT_ID.eq(eventId).and(PARTICIPATION.GUEST_ID.in(touched)),
+				AmountSketchLog.REMOVED);
+		}
+
+		if (!changed.isEmpty()) {
+			LocalDateTime now = LocalDateTime.now();
+			var query = dsl.insertInto(PARTICIPATION,
+				PARTICIPATION.EVENT_ID,
+				PARTICIPATION.GUEST_ID,
+				PARTICIPATION.AMOUNT,
+				PARTICIPATION.CREATE_AT);
+			for (LedgerEntry entry : changed) {
+				query = query.values(eventId, entry.guestId(), entry.amount(), now);
+			}
+			query.onDuplicateKeyUpdate()
+				.set(PARTICIPATION.AMOUNT, DSL.excluded(PARTICIPATION.AMOUNT))
+				.execute();
+		}
+
+		int deleted = 0;
+		if (!removedGuestIds.isEmpty()) {
+			deleted = dsl.deleteFrom(PARTICIPATION)
+				.where(PARTICIPATION.EVENT_ID.eq(eventId))
+				.and(PARTICIPATION.GUEST_ID.in(removedGuestIds))
+				.execute();
+		}
+
+		if (!changedGuestIds.isEmpty()) {
+			recordAmounts(PARTICIPATION.EVENT_ID.eq(eventId).and(PARTICIPATION.GUEST_ID.in(changedGuestIds)),
+				AmountSketchLog.ADDED);
+		}
+		eventTotalsCache.invalidate(eventId);
+		return new LedgerResult(entries.size(), deleted);
+	}
+
+	// 장부를 나눠 가져올 때 쓴다, saveLedger 와 달리 목록에 없는 참가자는 지우지 않고 같은 지인은 금액을 덮어쓴다
+	@Override
+	public Integer upsertParticipants(Integer eventId, List<LedgerEntry> entries) {
+		if (entries.isEmpty()) {
+			return 0;
+		}
+		Condition upserted = PARTICIPATION.EVENT_ID.eq(eventId)
+			.and(PARTICIPATION.GUEST_ID.in(entries.stream().map(LedgerEntry::guestId).toList()));
+		recordAmounts(upserted, AmountSketchLog.REMOVED);
+
+		LocalDateTime now = LocalDateTime.now();
+		var query = dsl.insertInto(PARTICIPATION,
+			PARTICIPATION.EVENT_ID,
+			PARTICIPATION.GUEST_ID,
+			PARTICIPATION.AMOUNT,
+			PARTICIPATION.CREATE_AT);
+		for (LedgerEntry entry : entries) {
+			query = query.values(eventId, entry.guestId(), entry.amount(), now);
+		}
+		query.onDuplicateKeyUpdate()
+			.set(PARTICIPATION.AMOUNT, DSL.excluded(PARTICIPATION.AMOUNT))
+			.execute();
+
+		recordAmounts(upserted, AmountSketchLog.ADDED);
+		eventTotalsCache.invalidate(eventId);
+		return entries.size();
+	}
+
 	@Override
 	public Boolean isPhoneNumber(String phoneNumber, Integer userId) {
-		return dsl.fetchExists(
-			dsl.selectOne()
-				.from(GUEST)
-				.join(USERS_RELATION)
-				.on(GUEST.ID.eq(USERS_RELATION.GUEST_ID))
-				.where(USERS_RELATION.USERS_ID.eq(userId))
-				.and(GUEST.PHONE_NUMBER.eq(phoneNumber))
-		);
+		return relationIndexCache.hasPhoneNumber(userId, phoneNumber);
 	}
 
 	@Override
@@ -226,6 +488,22 @@ public class ParticipantDaoImpl implements ParticipantDao {
 		return saveGuest.getValue(GUEST.ID);
 	}
 
+	@Override
+	public List<Integer> addGuests(List<AddGuestResponse> guests) {
+		if (guests.isEmpty()) {
+			return List.of();
+		}
+		var query = dsl.insertInto(GUEST, GUEST.NAME, GUEST.CATEGORY, GUEST.PHONE_NUMBER, GUEST.CREATE_AT);
+
+		for (AddGuestResponse guest : guests) {
+			query = query.values(guest.name(), guest.category(), guest.phoneNumber(), LocalDateTime.now());
+		}
+
+		List<Integer> guestIds = query.returningResult(GUEST.ID).fetch(GUEST.ID);
+		Assert.isTrue(guestIds.size() == guests.size(), "지인 일괄 등록 실패");
+		return guestIds;
+	}
+
 	@Override
 	public Optional<Guest> getGuest(Integer guestId) {
 		GuestRecord guestRecord = this.dsl.selectFrom(GUEST)
@@ -234,23 +512,25 @@ public class ParticipantDaoImpl implements ParticipantDao {
 		return Optional.ofNullable(modelMapper.map(guestRecord, Guest.class));
 	}
 
+    // 이름순 목록 인덱스가 users_relation 에 있으므로 지인 이름을 같이 옮겨 적는다
     @Override
     public Integer addUserRelations(List<Integer> guestIds, Integer userId) {
-        var query = dsl.insertInto(USERS_RELATION, USERS_RELATION.USERS_ID, USERS_RELATION.GUEST_ID, USERS_RELATION.CREATE_AT);
-
-        for (Integer guestId : guestIds) {
-            query = query.values(userId, guestId, LocalDateTime.now());
+        if (guestIds.isEmpty()) {
+            return 0;
         }
-
-        return query.execute();
+        int result = dsl.insertInto(USERS_RELATION, USERS_RELATION.USERS_ID, USERS_RELATION.GUEST_ID,
+                        USERS_RELATION.GUEST_NAME, USERS_RELATION.CREATE_AT)
+                .select(dsl.select(DSL.val(userId), GUEST.ID, GUEST.NAME, DSL.val(LocalDateTime.now()))
+                        .from(GUEST)
+                        .where(GUEST.ID.in(guestIds)))
+                .execute();
+        relationIndexCache.invalidate(userId);
+        return result;
     }
 
 	@Override
 	public Integer addUserRelation(Integer guestId, Integer userId) {
-		return dsl.insertInto(USERS_RELATION, USERS_RELATION.USERS_ID, USERS_RELATION.GUEST_ID,
-				USERS_RELATION.CREATE_AT)
-			.values(userId, guestId, LocalDateTime.now())
-			.execute();
+		return addUserRelations(List.of(guestId), userId);
 	}
 
 	@Transactional(readOnly = true)
@@ -261,8 +541,6 @@ public class ParticipantDaoImpl implements ParticipantDao {
 
 		Integer count = dsl.selectCount()
 			.from(USERS_RELATION)
-			.join(GUEST)
-			.on(USERS_RELATION.GUEST_ID.eq(GUEST.ID))
 			.where(USERS_RELATION.USERS_ID.eq(userId))
 			.fetchOne(0, Integer.class);
 
@@ -281,4 +559,16 @@ public class ParticipantDaoImpl implements ParticipantDao {
                 .fetchInto(UserRelation.class);
         return new PageResponse<>(result, page, totalItems, totalPages);
     }
+
+	@Transactional(readOnly = true)
+	@Override
+	public CursorResponse<UserRelation> getUserRelations(Integer userId, CursorDto cursorDto) {
+		return scrollUserRelations(USERS_RELATION.USERS_ID.eq(userId), cursorDto);
+	}
+
+	// 금액 추천 sketch 와 결제 분석이 각자 읽는 변경 기록을 같은 트랜잭션에 남긴다
+	private void recordAmounts(Condition participation, int sign) {
+		amountSketchLog.record(participation, sign);
+		paymentAmountLog.record(participation, sign);
+	}
 }
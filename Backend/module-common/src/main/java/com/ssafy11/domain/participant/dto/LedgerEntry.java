@@ -0,0 +1,9 @@
+package com.ssafy11.domain.participant.dto;
+
+import lombok.Builder;
+
+@Builder
+public record LedgerEntry(    //이벤트 장부 한 줄(지인, 금액)
+        Integer guestId,
+        Integer amount
+) { }
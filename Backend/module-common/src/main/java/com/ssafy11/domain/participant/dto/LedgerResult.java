@@ -0,0 +1,6 @@
+package com.ssafy11.domain.participant.dto;
+
+public record LedgerResult(
+        Integer saved,
+        Integer deleted
+) { }
@@ -9,5 +9,7 @@ public record Transaction(//사용자와 게스트의 거래내역
                           Integer guestId,
                           String Name,
                           LocalDateTime date,
-                          Integer amount
+                          Integer amount,
+                          String source,   // P: 받은 경조사비(participation), S: 보낸 경조사비(schedule)
+                          Integer id       // source 별 식별자(event_id 또는 schedule_id)
 ) { }
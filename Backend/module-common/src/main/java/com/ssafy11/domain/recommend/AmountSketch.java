@@ -0,0 +1,145 @@
+package com.ssafy11.domain.recommend;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 경조사비 분위수 sketch.
+ * 금액을 로그 간격 칸(상대 오차 0.5%)에 세어 두는 방식(DDSketch)이라 칸별 건수를 더하기만 하면 병합되고,
+ * 같은 금액을 빼면 정확히 되돌릴 수 있어 참여 내역 수정/삭제도 증분으로 반영된다.
+ * 칸 수는 금액 범위에만 비례해(1원~21억원 기준 최대 약 2,150칸) 표본 수와 무관하게 크기가 제한된다.
+ */
+public final class AmountSketch {
+
+    static final double RELATIVE_ACCURACY = 0.005;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final byte VERSION = 1;
+
+    private final TreeMap<Integer, Long> counts = new TreeMap<>();
+    private long count;
+
+    // 0원 이하는 분포에서 뺀다. count 가 음수면 제거이고, 칸이 비면 지운다
+    public void add(int amount, long count) {
+        if (amount <= 0 || count == 0) {
+            return;
+        }
+        int index = index(amount);
+        long current = counts.getOrDefault(index, 0L);
+        long next = Math.max(0, current + count);
+        if (next == 0) {
+            counts.remove(index);
+        } else {
+            counts.put(index, next);
+        }
+        this.count += next - current;
+    }
+
+    public void merge(AmountSketch other) {
+        other.counts.forEach((index, value) -> counts.merge(index, value, Long::sum));
+        count += other.count;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    // q 분위 금액, 비어 있으면 -1
+    public int quantile(double q) {
+        if (count == 0) {
+            return -1;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            seen += entry.getValue();
+            if (seen >= rank) {
+                return value(entry.getKey());
+            }
+        }
+        return value(counts.lastKey());
+    }
+
+    // 가장 많이 나온 금액, 비어 있으면 -1
+    public int mode() {
+        int mode = -1;
+        long best = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            if (entry.getValue() > best) {
+                best = entry.getValue();
+                mode = value(entry.getKey());
+            }
+        }
+        return mode;
+    }
+
+    // 버전, 칸 수, (이전 칸과의 차이, 건수) 를 varint 로 이어 붙인다
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 + counts.size() * 3);
+        out.write(VERSION);
+        writeVarLong(out, counts.size());
+        int previous = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            writeVarLong(out, entry.getKey() - previous);
+            writeVarLong(out, entry.getValue());
+            previous = entry.getKey();
+        }
+        return out.toByteArray();
+    }
+
+    public static AmountSketch fromBytes(byte[] bytes) {
+        AmountSketch sketch = new AmountSketch();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported sketch version: " + version);
+        }
+        long size = readVarLong(buffer);
+        int index = 0;
+        for (long i = 0; i < size; i++) {
+            index += (int) readVarLong(buffer);
+            long value = readVarLong(buffer);
+            sketch.counts.put(index, value);
+            sketch.count += value;
+        }
+        return sketch;
+    }
+
+    private static int index(int amount) {
+        return (int) Math.ceil(Math.log(amount) / LOG_GAMMA);
+    }
+
+    // 칸 경계의 조화 평균, 칸 안의 어느 금액과도 상대 오차가 RELATIVE_ACCURACY 이내다
+    private static int value(int index) {
+        return (int) Math.round(2 * Math.pow(GAMMA, index) / (GAMMA + 1));
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ssafy11.domain.recommend;
+
+import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SelectOnConditionStep;
+import org.jooq.Record6;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Component;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+
+/**
+ * 참여 내역 변경을 amount_sketch_delta 에 남긴다.
+ * 쓰기 트랜잭션에서는 행 하나를 더하기만 하고, sketch 반영은 주기 작업이 모아서 한다.
+ * 수정/삭제 전에는 -1 로, 추가/수정 후에는 1 로 남긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AmountSketchLog {
+
+    public static final int ADDED = 1;
+    public static final int REMOVED = -1;
+
+    static final Field<String> GUEST_CATEGORY = DSL.coalesce(GUEST.CATEGORY, DSL.inline(""));
+    // 이벤트 당시 주최자 나이 기준이라 해가 바뀌어도 같은 sketch 에 남는다
+    static final Field<Integer> AGE_BAND = DSL.greatest(DSL.inline(0),
+            DSL.floor(DSL.year(EVENT.DATE).minus(DSL.year(USERS.BIRTHDATE)).div(DSL.inline(10))).mul(DSL.inline(10)));
+
+    private final DSLContext dsl;
+
+    public void record(Condition participation, int sign) {
+        dsl.insertInto(AMOUNT_SKETCH_DELTA,
+                        AMOUNT_SKETCH_DELTA.EVENT_CATEGORY,
+                        AMOUNT_SKETCH_DELTA.GUEST_CATEGORY,
+                        AMOUNT_SKETCH_DELTA.AGE_BAND,
+                        AMOUNT_SKETCH_DELTA.GENDER,
+                        AMOUNT_SKETCH_DELTA.AMOUNT,
+                        AMOUNT_SKETCH_DELTA.SIGN)
+                .select(source(dsl, DSL.inline((byte) sign))
+                        .where(participation)
+                        .and(PARTICIPATION.AMOUNT.gt(0)))
+                .execute();
+    }
+
+    // 참여 내역에 이벤트 종류, 지인 관계, 주최자 연령대/성별을 붙인다
+    static <T> SelectOnConditionStep<Record6<String, String, Integer, String, Integer, T>> source(DSLContext dsl, Field<T> last) {
+        return dsl.select(EVENT.CATEGORY, GUEST_CATEGORY, AGE_BAND, USERS.GENDER, PARTICIPATION.AMOUNT, last)
+                .from(PARTICIPATION)
+                .join(EVENT).on(PARTICIPATION.EVENT_ID.eq(EVENT.ID))
+                .join(GUEST).on(PARTICIPATION.GUEST_ID.eq(GUEST.ID))
+                .join(USERS).on(EVENT.USERS_ID.eq(USERS.ID));
+    }
+}
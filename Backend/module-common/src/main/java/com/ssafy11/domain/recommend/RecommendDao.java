@@ -0,0 +1,25 @@
+package com.ssafy11.domain.recommend;
+
+import com.ssafy11.domain.recommend.dto.HostProfile;
+import com.ssafy11.domain.recommend.dto.SketchAmountCount;
+import com.ssafy11.domain.recommend.dto.SketchDelta;
+import com.ssafy11.domain.recommend.dto.SketchKey;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface RecommendDao {
+    List<SketchAmountCount> getAmountCounts();
+    Optional<HostProfile> getHostProfile(Integer userId);
+    List<SketchDelta> getSketchDeltas(int limit);
+    List<Long> getSketchDeltaIds(Long afterId, int limit);
+    void deleteSketchDeltas(Collection<Long> ids);
+    Map<SketchKey, AmountSketch> getSketches();
+    Map<SketchKey, AmountSketch> getSketches(Collection<SketchKey> keys);
+    void saveSketches(Map<SketchKey, AmountSketch> sketches);
+    void clearSketches();
+    Optional<LocalDateTime> getSketchVersion();
+}
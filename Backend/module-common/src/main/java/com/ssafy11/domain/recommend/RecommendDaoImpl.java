@@ -0,0 +1,166 @@
+package com.ssafy11.domain.recommend;
+
+import com.ssafy11.domain.recommend.dto.HostProfile;
+import com.ssafy11.domain.recommend.dto.SketchAmountCount;
+import com.ssafy11.domain.recommend.dto.SketchDelta;
+import com.ssafy11.domain.recommend.dto.SketchKey;
+import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Repository
+public class RecommendDaoImpl implements RecommendDao {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final DSLContext dsl;
+
+    // 기준별 금액 건수, DB 에서 미리 묶어 작은 결과만 받는다
+    @Override
+    public List<SketchAmountCount> getAmountCounts() {
+        return AmountSketchLog.source(dsl, DSL.count())
+                .where(PARTICIPATION.AMOUNT.gt(0))
+                .groupBy(EVENT.CATEGORY, AmountSketchLog.GUEST_CATEGORY, AmountSketchLog.AGE_BAND, USERS.GENDER,
+                        PARTICIPATION.AMOUNT)
+                .fetchInto(SketchAmountCount.class);
+    }
+
+    @Override
+    public Optional<HostProfile> getHostProfile(Integer userId) {
+        return dsl.select(USERS.BIRTHDATE, USERS.GENDER)
+                .from(USERS)
+                .where(USERS.ID.eq(userId))
+                .fetchOptionalInto(HostProfile.class);
+    }
+
+    @Override
+    public List<SketchDelta> getSketchDeltas(int limit) {
+        return dsl.select(AMOUNT_SKETCH_DELTA.ID,
+                        AMOUNT_SKETCH_DELTA.EVENT_CATEGORY,
+                        AMOUNT_SKETCH_DELTA.GUEST_CATEGORY,
+                        AMOUNT_SKETCH_DELTA.AGE_BAND,
+                        AMOUNT_SKETCH_DELTA.GENDER,
+                        AMOUNT_SKETCH_DELTA.AMOUNT,
+                        AMOUNT_SKETCH_DELTA.SIGN)
+                .from(AMOUNT_SKETCH_DELTA)
+                .orderBy(AMOUNT_SKETCH_DELTA.ID)
+                .limit(limit)
+                .fetchInto(SketchDelta.class);
+    }
+
+    // id 만 읽는다. 전체 재구성이 자기 스냅샷에 보인 변경분을 골라 지울 때 쓴다
+    @Override
+    public List<Long> getSketchDeltaIds(Long afterId, int limit) {
+        return dsl.select(AMOUNT_SKETCH_DELTA.ID)
+                .from(AMOUNT_SKETCH_DELTA)
+                .where(AMOUNT_SKETCH_DELTA.ID.gt(afterId))
+                .orderBy(AMOUNT_SKETCH_DELTA.ID)
+                .limit(limit)
+                .fetch(AMOUNT_SKETCH_DELTA.ID);
+    }
+
+    // 읽은 변경분만 지운다. 늦게 커밋된 앞 번호 변경분은 다음 반영 때 읽힌다
+    @Transactional
+    @Override
+    public void deleteSketchDeltas(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        dsl.deleteFrom(AMOUNT_SKETCH_DELTA)
+                .where(AMOUNT_SKETCH_DELTA.ID.in(ids))
+                .execute();
+    }
+
+    @Override
+    public Map<SketchKey, AmountSketch> getSketches() {
+        return fetchSketches(DSL.noCondition());
+    }
+
+    @Override
+    public Map<SketchKey, AmountSketch> getSketches(Collection<SketchKey> keys) {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        return fetchSketches(DSL.row(AMOUNT_SKETCH.EVENT_CATEGORY, AMOUNT_SKETCH.GUEST_CATEGORY,
+                        AMOUNT_SKETCH.AGE_BAND, AMOUNT_SKETCH.GENDER)
+                .in(keys.stream()
+                        .map(key -> DSL.row(key.eventCategory(), key.guestCategory(), key.ageBand(), key.gender()))
+                        .toList()));
+    }
+
+    // 비게 된 sketch 도 남겨 update_at 으로 변경이 보이게 한다. 빈 행은 전체 재구성 때 정리된다
+    @Transactional
+    @Override
+    public void saveSketches(Map<SketchKey, AmountSketch> sketches) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map.Entry<SketchKey, AmountSketch>> entries = List.copyOf(sketches.entrySet());
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            var query = dsl.insertInto(AMOUNT_SKETCH,
+                    AMOUNT_SKETCH.EVENT_CATEGORY,
+                    AMOUNT_SKETCH.GUEST_CATEGORY,
+                    AMOUNT_SKETCH.AGE_BAND,
+                    AMOUNT_SKETCH.GENDER,
+                    AMOUNT_SKETCH.SAMPLE_COUNT,
+                    AMOUNT_SKETCH.SKETCH,
+                    AMOUNT_SKETCH.UPDATE_AT);
+            for (Map.Entry<SketchKey, AmountSketch> entry : entries.subList(from, Math.min(from + BATCH_SIZE, entries.size()))) {
+                SketchKey key = entry.getKey();
+                query = query.values(key.eventCategory(), key.guestCategory(), key.ageBand(), key.gender(),
+                        entry.getValue().count(), entry.getValue().toBytes(), now);
+            }
+            query.onDuplicateKeyUpdate()
+                    .set(AMOUNT_SKETCH.SAMPLE_COUNT, DSL.excluded(AMOUNT_SKETCH.SAMPLE_COUNT))
+                    .set(AMOUNT_SKETCH.SKETCH, DSL.excluded(AMOUNT_SKETCH.SKETCH))
+                    .set(AMOUNT_SKETCH.UPDATE_AT, DSL.excluded(AMOUNT_SKETCH.UPDATE_AT))
+                    .execute();
+        }
+    }
+
+    @Transactional
+    @Override
+    public void clearSketches() {
+        dsl.deleteFrom(AMOUNT_SKETCH).execute();
+    }
+
+    // 노드마다 다시 읽을지 판단하는 값, sketch 가 하나도 없으면 비어 있다
+    @Override
+    public Optional<LocalDateTime> getSketchVersion() {
+        return Optional.ofNullable(dsl.select(DSL.max(AMOUNT_SKETCH.UPDATE_AT))
+                .from(AMOUNT_SKETCH)
+                .fetchOne(0, LocalDateTime.class));
+    }
+
+    private Map<SketchKey, AmountSketch> fetchSketches(Condition condition) {
+        Map<SketchKey, AmountSketch> sketches = new HashMap<>();
+        for (Record record : dsl.select(AMOUNT_SKETCH.EVENT_CATEGORY,
+                        AMOUNT_SKETCH.GUEST_CATEGORY,
+                        AMOUNT_SKETCH.AGE_BAND,
+                        AMOUNT_SKETCH.GENDER,
+                        AMOUNT_SKETCH.SKETCH)
+                .from(AMOUNT_SKETCH)
+                .where(condition)
+                .fetch()) {
+            sketches.put(new SketchKey(record.get(AMOUNT_SKETCH.EVENT_CATEGORY),
+                            record.get(AMOUNT_SKETCH.GUEST_CATEGORY),
+                            record.get(AMOUNT_SKETCH.AGE_BAND),
+                            record.get(AMOUNT_SKETCH.GENDER)),
+                    AmountSketch.fromBytes(record.get(AMOUNT_SKETCH.SKETCH)));
+        }
+        return sketches;
+    }
+}
@@ -0,0 +1,8 @@
+package com.ssafy11.domain.recommend.dto;
+
+import java.time.LocalDate;
+
+public record HostProfile(
+        LocalDate birthdate,
+        String gender
+) { }
@@ -0,0 +1,14 @@
+package com.ssafy11.domain.recommend.dto;
+
+public record SketchAmountCount(    //기준별 금액 건수, sketch 전체 재구성용
+        String eventCategory,
+        String guestCategory,
+        Integer ageBand,
+        String gender,
+        Integer amount,
+        Integer count
+) {
+    public SketchKey key() {
+        return new SketchKey(eventCategory, guestCategory, ageBand, gender);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ssafy11.domain.recommend.dto;
+
+public record SketchDelta(    //참여 내역 변경분, sign 은 추가 1 / 제거 -1
+        Long id,
+        String eventCategory,
+        String guestCategory,
+        Integer ageBand,
+        String gender,
+        Integer amount,
+        Integer sign
+) {
+    public SketchKey key() {
+        return new SketchKey(eventCategory, guestCategory, ageBand, gender);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ssafy11.domain.recommend.dto;
+
+public record SketchKey(    //sketch 를 나누는 가장 작은 기준, 모르는 값은 빈 문자열/-1 로 둔다
+        String eventCategory,
+        String guestCategory,
+        Integer ageBand,
+        String gender
+) { }
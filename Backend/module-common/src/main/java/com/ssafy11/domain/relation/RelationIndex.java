@@ -0,0 +1,25 @@
+package com.ssafy11.domain.relation;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * 사용자 한 명의 지인 관계 스냅샷.
+ * 지인 id 는 정렬된 int 배열로 들고 이진 탐색한다.
+ */
+public record RelationIndex(int[] guestIds, Set<String> phoneNumbers) {
+
+	public static final RelationIndex EMPTY = new RelationIndex(new int[0], Set.of());
+
+	public boolean containsGuest(Integer guestId) {
+		return guestId != null && Arrays.binarySearch(guestIds, guestId) >= 0;
+	}
+
+	public boolean containsPhoneNumber(String phoneNumber) {
+		return phoneNumber != null && phoneNumbers.contains(phoneNumber);
+	}
+
+	public int size() {
+		return guestIds.length;
+	}
+}
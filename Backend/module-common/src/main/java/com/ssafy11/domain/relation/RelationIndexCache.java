@@ -0,0 +1,118 @@
+package com.ssafy11.domain.relation;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jooq.DSLContext;
+import org.jooq.Record2;
+import org.jooq.Result;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.ssafy11.domain.global.AfterCompletion;
+import com.ssafy11.domain.global.CacheBroadcast;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 사용자별 지인 관계 인덱스 캐시.
+ * isMyGuest / hasRelation / isPhoneNumber 확인을 쿼리 대신 메모리 조회로 처리한다.
+ * 관계나 지인 번호가 바뀌면 커밋 이후에도 한 번 더 무효화해 트랜잭션 중에 읽힌 값이 남지 않게 한다.
+ * 권한 확인에 쓰이므로 커밋 뒤 다른 서버에도 무효화를 알리고, 알림이 유실돼도 쓰고 나서 일정 시간이 지나면 다시 읽는다.
+ */
+@Component
+public class RelationIndexCache {
+
+	private static final long MAXIMUM_SIZE = 10_000;
+	private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(5);
+	public static final String INVALIDATE_TOPIC = "relation-index:invalidate";
+	private static final String USER = "user:";
+	private static final String GUESTS = "guests:";
+
+	private final DSLContext dsl;
+	private final ObjectProvider<CacheBroadcast> cacheBroadcast;
+	private final LoadingCache<Integer, RelationIndex> cache;
+
+	public RelationIndexCache(DSLContext dsl, ObjectProvider<MeterRegistry> meterRegistry,
+		ObjectProvider<CacheBroadcast> cacheBroadcast) {
+		this.dsl = dsl;
+		this.cacheBroadcast = cacheBroadcast;
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(MAXIMUM_SIZE)
+			.expireAfterWrite(EXPIRE_AFTER_WRITE)
+			.recordStats()
+			.build(this::load);
+		meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "relationIndex"));
+	}
+
+	public RelationIndex get(Integer userId) {
+		return userId == null ? RelationIndex.EMPTY : cache.get(userId);
+	}
+
+	public boolean isMyGuest(Integer userId, Integer guestId) {
+		return get(userId).containsGuest(guestId);
+	}
+
+	public boolean hasPhoneNumber(Integer userId, String phoneNumber) {
+		return get(userId).containsPhoneNumber(phoneNumber);
+	}
+
+	public void invalidate(Integer userId) {
+		if (userId == null) {
+			return;
+		}
+		AfterCompletion.run(() -> cache.invalidate(userId));
+		cacheBroadcast.ifAvailable(broadcast -> broadcast.publishAfterCommit(INVALIDATE_TOPIC, USER + userId));
+	}
+
+	// 지인 정보(번호)가 바뀌면 해당 지인을 가진 사용자 인덱스를 모두 무효화
+	public void invalidateGuests(Collection<Integer> guestIds) {
+		Set<Integer> targets = new HashSet<>(guestIds);
+		AfterCompletion.run(() -> evictGuests(targets));
+		cacheBroadcast.ifAvailable(broadcast -> broadcast.publishAfterCommit(INVALIDATE_TOPIC,
+			GUESTS + targets.stream().map(String::valueOf).collect(Collectors.joining(","))));
+	}
+
+	// 다른 서버(자신 포함)가 보낸 무효화 메시지. 로컬 캐시만 지우고 다시 알리지는 않는다
+	public void onInvalidate(String message) {
+		if (message.startsWith(USER)) {
+			cache.invalidate(Integer.valueOf(message.substring(USER.length())));
+		} else if (message.startsWith(GUESTS)) {
+			evictGuests(Arrays.stream(message.substring(GUESTS.length()).split(","))
+				.map(Integer::valueOf)
+				.collect(Collectors.toSet()));
+		}
+	}
+
+	private void evictGuests(Set<Integer> guestIds) {
+		cache.asMap().entrySet().removeIf(entry -> guestIds.stream().anyMatch(entry.getValue()::containsGuest));
+	}
+
+	private RelationIndex load(Integer userId) {
+		Result<Record2<Integer, String>> relations = dsl.select(GUEST.ID, GUEST.PHONE_NUMBER)
+			.from(USERS_RELATION)
+			.join(GUEST).on(USERS_RELATION.GUEST_ID.eq(GUEST.ID))
+			.where(USERS_RELATION.USERS_ID.eq(userId))
+			.fetch();
+
+		int[] guestIds = new int[relations.size()];
+		Set<String> phoneNumbers = new HashSet<>();
+		for (int i = 0; i < relations.size(); i++) {
+			guestIds[i] = relations.get(i).value1();
+			if (relations.get(i).value2() != null) {
+				phoneNumbers.add(relations.get(i).value2());
+			}
+		}
+		Arrays.sort(guestIds);
+		return new RelationIndex(guestIds, Set.copyOf(phoneNumbers));
+	}
+}
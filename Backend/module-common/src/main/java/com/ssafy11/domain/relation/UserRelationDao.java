@@ -1,6 +1,11 @@
 package com.ssafy11.domain.relation;
 
+import java.util.List;
+
 public interface UserRelationDao {
 	void deleteUserRelation(Integer userId, Integer guestId);
+	Integer deleteUserRelations(Integer userId, List<Integer> guestIds);
 	boolean hasRelation(Integer userId, Integer guestId);
+	List<Integer> getSyncedGuestIds(Integer userId);
+	Integer markSynced(Integer userId, List<Integer> guestIds);
 }
@@ -1,5 +1,7 @@
 package com.ssafy11.domain.relation;
 
+import java.util.List;
+
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Repository;
 import static com.ssafy11.ulma.generated.Tables.*;
@@ -12,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 public class UserRelationDaoImpl implements UserRelationDao {
 
 	private final DSLContext dslContext;
+	private final RelationIndexCache relationIndexCache;
 
 	@Override
 	public void deleteUserRelation(Integer userId, Integer guestId) {
@@ -20,15 +23,47 @@ public class UserRelationDaoImpl implements UserRelationDao {
 			.where(USERS_RELATION.USERS_ID.eq(userId)
 				.and(USERS_RELATION.GUEST_ID.eq(guestId)))
 			.execute();
+		relationIndexCache.invalidate(userId);
+	}
+
+	@Override
+	public Integer deleteUserRelations(Integer userId, List<Integer> guestIds) {
+		if (guestIds.isEmpty()) {
+			return 0;
+		}
+		int result = this.dslContext.update(USERS_RELATION)
+			.set(USERS_RELATION.USERS_ID, (Integer) null)
+			.where(USERS_RELATION.USERS_ID.eq(userId)
+				.and(USERS_RELATION.GUEST_ID.in(guestIds)))
+			.execute();
+		relationIndexCache.invalidate(userId);
+		return result;
 	}
 
 	@Override
 	public boolean hasRelation(Integer userId, Integer guestId) {
-		return this.dslContext.fetchExists(
-			this.dslContext.selectOne()
-				.from(USERS_RELATION)
-				.where(USERS_RELATION.USERS_ID.eq(userId))
-				.and(USERS_RELATION.GUEST_ID.eq(guestId))
-		);
+		return relationIndexCache.isMyGuest(userId, guestId);
+	}
+
+	// 연락처 동기화로 들어온 지인만 주소록과 비교해 지울 수 있다
+	@Override
+	public List<Integer> getSyncedGuestIds(Integer userId) {
+		return this.dslContext.select(USERS_RELATION.GUEST_ID)
+			.from(USERS_RELATION)
+			.where(USERS_RELATION.USERS_ID.eq(userId)
+				.and(USERS_RELATION.SYNCED.isTrue()))
+			.fetch(USERS_RELATION.GUEST_ID);
+	}
+
+	@Override
+	public Integer markSynced(Integer userId, List<Integer> guestIds) {
+		if (guestIds.isEmpty()) {
+			return 0;
+		}
+		return this.dslContext.update(USERS_RELATION)
+			.set(USERS_RELATION.SYNCED, true)
+			.where(USERS_RELATION.USERS_ID.eq(userId)
+				.and(USERS_RELATION.GUEST_ID.in(guestIds)))
+			.execute();
 	}
 }
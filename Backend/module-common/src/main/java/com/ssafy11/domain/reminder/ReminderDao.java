@@ -0,0 +1,16 @@
+package com.ssafy11.domain.reminder;
+
+import com.ssafy11.domain.reminder.dto.Reminder;
+import com.ssafy11.domain.reminder.dto.ReminderPosition;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReminderDao {
+    List<Reminder> getReminders(ReminderPosition after, LocalDateTime to, int limit);
+    List<Reminder> getCurrentReminders(Collection<Reminder> reminders);
+    Optional<ReminderPosition> getCursor(String name);
+    void saveCursor(String name, ReminderPosition position);
+}
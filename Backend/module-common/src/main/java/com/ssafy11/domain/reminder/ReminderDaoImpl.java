@@ -0,0 +1,159 @@
+package com.ssafy11.domain.reminder;
+
+import com.ssafy11.domain.reminder.dto.Reminder;
+import com.ssafy11.domain.reminder.dto.ReminderPosition;
+import com.ssafy11.domain.schedule.RecurrenceFrequency;
+import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record8;
+import org.jooq.SelectOnConditionStep;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Repository
+public class ReminderDaoImpl implements ReminderDao {
+
+    private final DSLContext dsl;
+
+    // after 다음부터 to 이전까지의 일정, schedule(date, id) 인덱스를 따라 한 페이지씩 읽는다
+    // 반복 일정은 그 날짜들에 돌아오는 규칙만 펼쳐 (date, id) 순서로 함께 섞는다
+    @Override
+    public List<Reminder> getReminders(ReminderPosition after, LocalDateTime to, int limit) {
+        List<Reminder> reminders = new ArrayList<>(selectReminders()
+                .where(SCHEDULE.DATE.gt(after.scheduleDate())
+                        .or(SCHEDULE.DATE.eq(after.scheduleDate()).and(SCHEDULE.ID.gt(after.scheduleId()))))
+                .and(SCHEDULE.DATE.lt(to))
+                .orderBy(SCHEDULE.DATE.asc(), SCHEDULE.ID.asc())
+                .limit(limit)
+                .fetchInto(Reminder.class));
+
+        // 지난 날짜의 반복은 알리지 않으므로 오래 멈춰 있던 위치에서 시작해도 오늘부터만 펼친다
+        LocalDateTime from = after.scheduleDate().toLocalDate().atStartOfDay();
+        if (from.isBefore(LocalDate.now().atStartOfDay())) {
+            from = LocalDate.now().atStartOfDay();
+        }
+        if (from.isBefore(to)) {
+            for (Reminder occurrence : getOccurrences(occursOn(from, to), from, to)) {
+                if (occurrence.position().compareTo(after) > 0) {
+                    reminders.add(occurrence);
+                }
+            }
+        }
+        reminders.sort(Comparator.comparing(Reminder::position));
+        return reminders.size() > limit ? List.copyOf(reminders.subList(0, limit)) : reminders;
+    }
+
+    // 보내기 직전에 지금 값으로 다시 읽는다. 지워진 일정과 규칙이 바뀌어 그날 돌아오지 않는 반복은 빠진다
+    @Override
+    public List<Reminder> getCurrentReminders(Collection<Reminder> reminders) {
+        List<Reminder> current = new ArrayList<>();
+        List<Integer> scheduleIds = reminders.stream()
+                .filter(reminder -> reminder.recurrenceId() == null)
+                .map(Reminder::scheduleId)
+                .toList();
+        if (!scheduleIds.isEmpty()) {
+            current.addAll(selectReminders()
+                    .where(SCHEDULE.ID.in(scheduleIds))
+                    .fetchInto(Reminder.class));
+        }
+
+        Set<Integer> recurrenceIds = new LinkedHashSet<>();
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (Reminder reminder : reminders) {
+            if (reminder.recurrenceId() == null) {
+                continue;
+            }
+            recurrenceIds.add(reminder.recurrenceId());
+            from = (from == null || reminder.scheduleDate().isBefore(from)) ? reminder.scheduleDate() : from;
+            to = (to == null || !reminder.scheduleDate().isBefore(to)) ? reminder.scheduleDate().plusNanos(1) : to;
+        }
+        if (!recurrenceIds.isEmpty()) {
+            current.addAll(getOccurrences(SCHEDULE_RECURRENCE.ID.in(recurrenceIds), from, to));
+        }
+        return current;
+    }
+
+    @Override
+    public Optional<ReminderPosition> getCursor(String name) {
+        return dsl.select(REMINDER_CURSOR.SCHEDULE_DATE, REMINDER_CURSOR.SCHEDULE_ID)
+                .from(REMINDER_CURSOR)
+                .where(REMINDER_CURSOR.NAME.eq(name))
+                .fetchOptionalInto(ReminderPosition.class);
+    }
+
+    @Transactional
+    @Override
+    public void saveCursor(String name, ReminderPosition position) {
+        dsl.insertInto(REMINDER_CURSOR,
+                        REMINDER_CURSOR.NAME,
+                        REMINDER_CURSOR.SCHEDULE_DATE,
+                        REMINDER_CURSOR.SCHEDULE_ID,
+                        REMINDER_CURSOR.UPDATE_AT)
+                .values(name, position.scheduleDate(), position.scheduleId(), LocalDateTime.now())
+                .onDuplicateKeyUpdate()
+                .set(REMINDER_CURSOR.SCHEDULE_DATE, position.scheduleDate())
+                .set(REMINDER_CURSOR.SCHEDULE_ID, position.scheduleId())
+                .set(REMINDER_CURSOR.UPDATE_AT, LocalDateTime.now())
+                .execute();
+    }
+
+    private SelectOnConditionStep<Record8<Integer, LocalDateTime, String, String, Integer, String, String, Integer>> selectReminders() {
+        return dsl.select(SCHEDULE.ID, SCHEDULE.DATE, SCHEDULE.NAME, GUEST.NAME, USERS.ID, USERS.PHONE_NUMBER, USERS.EMAIL,
+                        DSL.castNull(Integer.class))
+                .from(SCHEDULE)
+                .join(GUEST).on(SCHEDULE.GUEST_ID.eq(GUEST.ID))
+                .join(USERS).on(SCHEDULE.USERS_ID.eq(USERS.ID));
+    }
+
+    // [from, to) 구간에 돌아오는 반복을 알림으로 펼친다
+    private List<Reminder> getOccurrences(Condition condition, LocalDateTime from, LocalDateTime to) {
+        List<Reminder> occurrences = new ArrayList<>();
+        dsl.select(SCHEDULE_RECURRENCE.ID, SCHEDULE_RECURRENCE.FREQUENCY, SCHEDULE_RECURRENCE.START_DATE,
+                        SCHEDULE_RECURRENCE.UNTIL_DATE, SCHEDULE_RECURRENCE.NAME, GUEST.NAME, USERS.ID, USERS.PHONE_NUMBER,
+                        USERS.EMAIL)
+                .from(SCHEDULE_RECURRENCE)
+                .join(GUEST).on(SCHEDULE_RECURRENCE.GUEST_ID.eq(GUEST.ID))
+                .join(USERS).on(SCHEDULE_RECURRENCE.USERS_ID.eq(USERS.ID))
+                .where(condition)
+                .and(SCHEDULE_RECURRENCE.START_DATE.lt(to))
+                .and(SCHEDULE_RECURRENCE.UNTIL_DATE.isNull().or(SCHEDULE_RECURRENCE.UNTIL_DATE.ge(from)))
+                .forEach(rule -> {
+                    RecurrenceFrequency frequency = RecurrenceFrequency.valueOf(rule.value2());
+                    for (LocalDateTime date : frequency.occurrences(rule.value3(), rule.value4(), from, to)) {
+                        occurrences.add(new Reminder(null, date, rule.value5(), rule.value6(), rule.value7(),
+                                rule.value8(), rule.value9(), rule.value1()));
+                    }
+                });
+        return occurrences;
+    }
+
+    // 구간의 날짜마다 돌아올 수 있는 기준일, schedule_recurrence(occurs_on, id) 인덱스로 찾는다
+    private static Condition occursOn(LocalDateTime from, LocalDateTime to) {
+        List<Condition> conditions = new ArrayList<>();
+        for (RecurrenceFrequency frequency : RecurrenceFrequency.values()) {
+            Set<Integer> occursOn = new LinkedHashSet<>();
+            for (LocalDate day = from.toLocalDate(); day.atStartOfDay().isBefore(to); day = day.plusDays(1)) {
+                occursOn.addAll(frequency.occursOn(day));
+            }
+            conditions.add(SCHEDULE_RECURRENCE.FREQUENCY.eq(frequency.name()).and(SCHEDULE_RECURRENCE.OCCURS_ON.in(occursOn)));
+        }
+        return DSL.or(conditions);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ssafy11.domain.reminder.dto;
+
+import java.time.LocalDateTime;
+
+public record Reminder(    //반복 일정에서 펼친 알림은 scheduleId 가 없고 recurrenceId 를 담는다
+        Integer scheduleId,
+        LocalDateTime scheduleDate,
+        String scheduleName,
+        String guestName,
+        Integer userId,
+        String phoneNumber,
+        String email,
+        Integer recurrenceId
+) {
+    // 반복 일정은 id 를 음수로 두어 일정 id 와 겹치지 않고 같은 날짜에서는 먼저 온다
+    public ReminderPosition position() {
+        return new ReminderPosition(scheduleDate, recurrenceId == null ? scheduleId : -recurrenceId);
+    }
+}
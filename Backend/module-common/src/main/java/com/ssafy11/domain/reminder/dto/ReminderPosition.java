@@ -0,0 +1,17 @@
+package com.ssafy11.domain.reminder.dto;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+public record ReminderPosition(    //알림을 보낸 마지막 일정, (date, id) 순서
+        LocalDateTime scheduleDate,
+        Integer scheduleId
+) implements Comparable<ReminderPosition> {
+    private static final Comparator<ReminderPosition> ORDER = Comparator.comparing(ReminderPosition::scheduleDate)
+            .thenComparing(ReminderPosition::scheduleId);
+
+    @Override
+    public int compareTo(ReminderPosition other) {
+        return ORDER.compare(this, other);
+    }
+}
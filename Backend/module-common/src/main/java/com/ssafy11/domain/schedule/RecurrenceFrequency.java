@@ -0,0 +1,63 @@
+package com.ssafy11.domain.schedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+public enum RecurrenceFrequency {
+    YEARLY(ChronoUnit.YEARS), MONTHLY(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    // 시작일에서 n 번째 반복, 매번 시작일 기준으로 더해 2월 29일이나 31일도 달마다 밀리지 않는다
+    public LocalDateTime occurrence(LocalDateTime start, long n) {
+        return start.plus(n, unit);
+    }
+
+    // from 이전에 끝나는 반복 횟수의 하한, 여기서부터 세면 from 이후 첫 반복을 놓치지 않는다
+    public long skip(LocalDateTime start, LocalDateTime from) {
+        return Math.max(0, unit.between(start, from) - 1);
+    }
+
+    // [from, to) 구간에 드는 반복 날짜, until 이 있으면 그날까지만
+    public List<LocalDateTime> occurrences(LocalDateTime start, LocalDateTime until, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        for (long n = skip(start, from); ; n++) {
+            LocalDateTime date = occurrence(start, n);
+            if (!date.isBefore(to) || (until != null && date.isAfter(until))) {
+                return occurrences;
+            }
+            if (!date.isBefore(from)) {
+                occurrences.add(date);
+            }
+        }
+    }
+
+    // 반복 기준일(매년은 MMDD, 매월은 DD), 날짜로 그날 돌아오는 규칙을 인덱스로 찾는 데 쓴다
+    public int occursOn(LocalDateTime start) {
+        return this == YEARLY ? start.getMonthValue() * 100 + start.getDayOfMonth() : start.getDayOfMonth();
+    }
+
+    // day 에 반복이 돌아올 수 있는 기준일, 짧은 달의 말일에는 그보다 뒤 기준일도 당겨져 돌아온다
+    public List<Integer> occursOn(LocalDate day) {
+        List<Integer> occursOn = new ArrayList<>();
+        if (this == YEARLY) {
+            occursOn.add(day.getMonthValue() * 100 + day.getDayOfMonth());
+            if (day.getMonthValue() == 2 && day.getDayOfMonth() == 28 && !day.isLeapYear()) {
+                occursOn.add(229);
+            }
+        } else {
+            int last = day.getDayOfMonth() == day.lengthOfMonth() ? 31 : day.getDayOfMonth();
+            for (int dayOfMonth = day.getDayOfMonth(); dayOfMonth <= last; dayOfMonth++) {
+                occursOn.add(dayOfMonth);
+            }
+        }
+        return occursOn;
+    }
+}
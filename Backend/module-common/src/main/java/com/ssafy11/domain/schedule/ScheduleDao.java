@@ -2,7 +2,9 @@ package com.ssafy11.domain.schedule;
 
 import com.ssafy11.domain.schedule.dto.RecentSchedule;
 import com.ssafy11.domain.schedule.dto.Schedule;
+import com.ssafy11.domain.schedule.dto.ScheduleRecurrence;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ScheduleDao {
@@ -10,6 +12,12 @@ public interface ScheduleDao {
     Integer updateSchedule(Schedule schedule);
     Integer deleteSchedule(Integer scheduleId);
     List<Schedule> getSchedule(Integer userId, Integer year, Integer month);
+    List<Schedule> getSchedules(Integer userId, LocalDateTime from, LocalDateTime to);
     boolean isMyGuest(Integer userId, Integer guestId);
     List<RecentSchedule> getRecentSchedule(Integer userId);
+    Integer addRecurrence(ScheduleRecurrence recurrence, Integer userId);
+    Integer updateRecurrence(ScheduleRecurrence recurrence, Integer userId);
+    Integer deleteRecurrence(Integer recurrenceId, Integer userId);
+    List<ScheduleRecurrence> getRecurrences(Integer userId);
+    List<Schedule> getOccurrences(Integer userId, LocalDateTime from, LocalDateTime to);
 }
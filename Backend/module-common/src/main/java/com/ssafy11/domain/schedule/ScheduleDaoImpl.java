@@ -1,24 +1,32 @@
 package com.ssafy11.domain.schedule;
 
+import com.ssafy11.domain.calendar.CalendarVersion;
+import com.ssafy11.domain.relation.RelationIndexCache;
 import com.ssafy11.domain.schedule.dto.RecentSchedule;
 import com.ssafy11.domain.schedule.dto.Schedule;
+import com.ssafy11.domain.schedule.dto.ScheduleRecurrence;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
-import org.jooq.DatePart;
 import org.jooq.Field;
 import org.jooq.Record1;
+import org.jooq.Record10;
+import org.jooq.Record2;
+import org.jooq.SelectConditionStep;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static com.ssafy11.ulma.generated.Tables.*;
-import static org.jooq.impl.DSL.extract;
 
 @Transactional
 @RequiredArgsConstructor
@@ -26,6 +34,9 @@ import static org.jooq.impl.DSL.extract;
 public class ScheduleDaoImpl implements ScheduleDao{
 
     private final DSLContext dsl;
+    private final RelationIndexCache relationIndexCache;
+    private final CalendarVersion calendarVersion;
+    private final ScheduleOccurrenceCache scheduleOccurrenceCache;
 
     @Override
     public Integer addSchedule(Schedule schedule, Integer userId) {
@@ -34,6 +45,7 @@ public class ScheduleDaoImpl implements ScheduleDao{
                 .returningResult(SCHEDULE.ID)
                 .fetchOne();
         Assert.notNull(saveEvent.getValue(SCHEDULE.ID), "SCHEDULE_ID 에 null 값은 허용되지 않음");
+        calendarVersion.bump(userId);
         return saveEvent.getValue(SCHEDULE.ID);
     }
 
@@ -54,11 +66,13 @@ public class ScheduleDaoImpl implements ScheduleDao{
                     .execute();
         }
         Assert.isTrue(result == 1, "일정 업데이트 실패 데이터 정보를 확인해주세요");
+        getScheduleOwner(schedule.scheduleId()).ifPresent(calendarVersion::bump);
         return result;
     }
 
     @Override
     public Integer deleteSchedule(Integer scheduleId) {
+        getScheduleOwner(scheduleId).ifPresent(calendarVersion::bump);
         int result = dsl.delete(SCHEDULE)
                 .where(SCHEDULE.ID.eq(scheduleId))
                 .execute();
@@ -68,28 +82,35 @@ public class ScheduleDaoImpl implements ScheduleDao{
     @Transactional(readOnly = true)
     @Override
     public List<Schedule> getSchedule(Integer userId, Integer year, Integer month) {
-        List<Schedule> result = dsl.select(SCHEDULE.ID, SCHEDULE.GUEST_ID, SCHEDULE.DATE, SCHEDULE.AMOUNT, SCHEDULE.NAME, GUEST.NAME, GUEST.CATEGORY, GUEST.PHONE_NUMBER)
+        Assert.isTrue(month != null && month >= 1 && month <= 12, "month must be between 1 and 12");
+        LocalDateTime from = LocalDate.of(year, month, 1).atStartOfDay();
+        return getSchedules(userId, from, from.plusMonths(1));
+    }
+
+    // [from, to) 구간, (users_id, date) 인덱스 범위 조회에 반복 일정을 펼쳐 날짜순으로 합친다
+    @Transactional(readOnly = true)
+    @Override
+    public List<Schedule> getSchedules(Integer userId, LocalDateTime from, LocalDateTime to) {
+        List<Schedule> schedules = new ArrayList<>(dsl.select(SCHEDULE.ID, SCHEDULE.GUEST_ID, SCHEDULE.DATE, SCHEDULE.AMOUNT, SCHEDULE.NAME, GUEST.NAME, GUEST.CATEGORY, GUEST.PHONE_NUMBER)
                 .from(SCHEDULE)
                 .join(GUEST)
                 .on(SCHEDULE.GUEST_ID.eq(GUEST.ID))
                 .where(SCHEDULE.USERS_ID.eq(userId))
-                .and(extract(SCHEDULE.DATE, DatePart.YEAR).eq(year))
-                .and(extract(SCHEDULE.DATE, DatePart.MONTH).eq(month))
-                .fetchInto(Schedule.class);
-
-        return result;
+                .and(SCHEDULE.DATE.ge(from))
+                .and(SCHEDULE.DATE.lt(to))
+                .orderBy(SCHEDULE.DATE, SCHEDULE.ID)
+                .fetchInto(Schedule.class));
+        schedules.addAll(getOccurrences(userId, from, to));
+        schedules.sort(Comparator.comparing(Schedule::date));
+        return schedules;
     }
 
     @Override
     public boolean isMyGuest(Integer userId, Integer guestId) {
-        return dsl.fetchExists(
-                dsl.selectOne()
-                        .from(USERS_RELATION)
-                        .where(USERS_RELATION.USERS_ID.eq(userId))
-                        .and(USERS_RELATION.GUEST_ID.eq(guestId))
-        );
+        return relationIndexCache.isMyGuest(userId, guestId);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<RecentSchedule> getRecentSchedule(Integer userId) {
         LocalDateTime now = LocalDate.now().atStartOfDay(); // 현재 시간
@@ -104,8 +125,137 @@ public class ScheduleDaoImpl implements ScheduleDao{
                 .orderBy(SCHEDULE.DATE.asc())
                 .fetchInto(RecentSchedule.class);
 
+        List<RecentSchedule> recent = new ArrayList<>(result);
+        for (Schedule occurrence : getOccurrences(userId, now, twoWeeksLater.plusNanos(1))) {
+            recent.add(new RecentSchedule(null, occurrence.date(), occurrence.name(), occurrence.guestName(), occurrence.recurrenceId()));
+        }
+        recent.sort(Comparator.comparing(RecentSchedule::date));
+        return recent;
+    }
+
+    @Override
+    public Integer addRecurrence(ScheduleRecurrence recurrence, Integer userId) {
+        Record1<Integer> saveRecurrence = dsl.insertInto(SCHEDULE_RECURRENCE,
+                        SCHEDULE_RECURRENCE.GUEST_ID,
+                        SCHEDULE_RECURRENCE.USERS_ID,
+                        SCHEDULE_RECURRENCE.NAME,
+                        SCHEDULE_RECURRENCE.AMOUNT,
+                        SCHEDULE_RECURRENCE.FREQUENCY,
+                        SCHEDULE_RECURRENCE.START_DATE,
+                        SCHEDULE_RECURRENCE.UNTIL_DATE,
+                        SCHEDULE_RECURRENCE.OCCURS_ON,
+                        SCHEDULE_RECURRENCE.CREATE_AT)
+                .values(recurrence.guestId(), userId, recurrence.name(), recurrence.paidAmount(), recurrence.frequency().name(),
+                        recurrence.startDate(), recurrence.untilDate(), recurrence.frequency().occursOn(recurrence.startDate()),
+                        LocalDateTime.now())
+                .returningResult(SCHEDULE_RECURRENCE.ID)
+                .fetchOne();
+        Assert.notNull(saveRecurrence.getValue(SCHEDULE_RECURRENCE.ID), "SCHEDULE_RECURRENCE_ID 에 null 값은 허용되지 않음");
+        recurrenceChanged(userId);
+        return saveRecurrence.getValue(SCHEDULE_RECURRENCE.ID);
+    }
+
+    @Override
+    public Integer updateRecurrence(ScheduleRecurrence recurrence, Integer userId) {
+        Map<Field<?>, Object> updateMap = new HashMap<>();
+
+        if (recurrence.guestId() != null) updateMap.put(SCHEDULE_RECURRENCE.GUEST_ID, recurrence.guestId());
+        if (recurrence.name() != null) updateMap.put(SCHEDULE_RECURRENCE.NAME, recurrence.name());
+        if (recurrence.paidAmount() != 0) updateMap.put(SCHEDULE_RECURRENCE.AMOUNT, recurrence.paidAmount());
+        if (recurrence.frequency() != null) updateMap.put(SCHEDULE_RECURRENCE.FREQUENCY, recurrence.frequency().name());
+        if (recurrence.startDate() != null) updateMap.put(SCHEDULE_RECURRENCE.START_DATE, recurrence.startDate());
+        if (recurrence.untilDate() != null) updateMap.put(SCHEDULE_RECURRENCE.UNTIL_DATE, recurrence.untilDate());
+
+        int result = -1;
+        if (!updateMap.isEmpty()) {
+            result = dsl.update(SCHEDULE_RECURRENCE)
+                    .set(updateMap)
+                    .where(SCHEDULE_RECURRENCE.ID.eq(recurrence.recurrenceId()))
+                    .and(SCHEDULE_RECURRENCE.USERS_ID.eq(userId))
+                    .execute();
+        }
+        Assert.isTrue(result == 1, "반복 일정 업데이트 실패 데이터 정보를 확인해주세요");
+        // 주기나 시작일 중 하나만 바뀌어도 기준일이 달라지므로 저장된 두 값으로 다시 맞춘다
+        if (recurrence.frequency() != null || recurrence.startDate() != null) {
+            Record2<String, LocalDateTime> rule = dsl.select(SCHEDULE_RECURRENCE.FREQUENCY, SCHEDULE_RECURRENCE.START_DATE)
+                    .from(SCHEDULE_RECURRENCE)
+                    .where(SCHEDULE_RECURRENCE.ID.eq(recurrence.recurrenceId()))
+                    .fetchOne();
+            dsl.update(SCHEDULE_RECURRENCE)
+                    .set(SCHEDULE_RECURRENCE.OCCURS_ON, RecurrenceFrequency.valueOf(rule.value1()).occursOn(rule.value2()))
+                    .where(SCHEDULE_RECURRENCE.ID.eq(recurrence.recurrenceId()))
+                    .execute();
+        }
+        recurrenceChanged(userId);
         return result;
     }
 
+    @Override
+    public Integer deleteRecurrence(Integer recurrenceId, Integer userId) {
+        int result = dsl.delete(SCHEDULE_RECURRENCE)
+                .where(SCHEDULE_RECURRENCE.ID.eq(recurrenceId))
+                .and(SCHEDULE_RECURRENCE.USERS_ID.eq(userId))
+                .execute();
+        recurrenceChanged(userId);
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ScheduleRecurrence> getRecurrences(Integer userId) {
+        return selectRecurrences(userId)
+                .orderBy(SCHEDULE_RECURRENCE.START_DATE, SCHEDULE_RECURRENCE.ID)
+                .fetchInto(ScheduleRecurrence.class);
+    }
+
+    // 반복 일정은 달마다 캐시에서 꺼내고, 없으면 그 달에 걸친 규칙만 읽어 펼친다
+    @Transactional(readOnly = true)
+    @Override
+    public List<Schedule> getOccurrences(Integer userId, LocalDateTime from, LocalDateTime to) {
+        List<Schedule> occurrences = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); month.atDay(1).atStartOfDay().isBefore(to); month = month.plusMonths(1)) {
+            for (Schedule occurrence : scheduleOccurrenceCache.get(userId, month, key -> expand(userId, key))) {
+                if (!occurrence.date().isBefore(from) && occurrence.date().isBefore(to)) {
+                    occurrences.add(occurrence);
+                }
+            }
+        }
+        return occurrences;
+    }
+
+    private List<Schedule> expand(Integer userId, YearMonth month) {
+        LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+        LocalDateTime monthEnd = monthStart.plusMonths(1);
+        List<Schedule> occurrences = new ArrayList<>();
+        for (ScheduleRecurrence recurrence : selectRecurrences(userId)
+                .and(SCHEDULE_RECURRENCE.START_DATE.lt(monthEnd))
+                .and(SCHEDULE_RECURRENCE.UNTIL_DATE.isNull().or(SCHEDULE_RECURRENCE.UNTIL_DATE.ge(monthStart)))
+                .fetchInto(ScheduleRecurrence.class)) {
+            occurrences.addAll(recurrence.occurrences(monthStart, monthEnd));
+        }
+        occurrences.sort(Comparator.comparing(Schedule::date));
+        return occurrences;
+    }
+
+    private SelectConditionStep<Record10<Integer, Integer, String, Integer, String, LocalDateTime, LocalDateTime, String, String, String>> selectRecurrences(Integer userId) {
+        return dsl.select(SCHEDULE_RECURRENCE.ID, SCHEDULE_RECURRENCE.GUEST_ID, SCHEDULE_RECURRENCE.NAME, SCHEDULE_RECURRENCE.AMOUNT,
+                        SCHEDULE_RECURRENCE.FREQUENCY, SCHEDULE_RECURRENCE.START_DATE, SCHEDULE_RECURRENCE.UNTIL_DATE,
+                        GUEST.NAME, GUEST.CATEGORY, GUEST.PHONE_NUMBER)
+                .from(SCHEDULE_RECURRENCE)
+                .join(GUEST)
+                .on(SCHEDULE_RECURRENCE.GUEST_ID.eq(GUEST.ID))
+                .where(SCHEDULE_RECURRENCE.USERS_ID.eq(userId));
+    }
+
+    private void recurrenceChanged(Integer userId) {
+        scheduleOccurrenceCache.invalidate(userId);
+        calendarVersion.bump(userId);
+    }
 
+    private Optional<Integer> getScheduleOwner(Integer scheduleId) {
+        return dsl.select(SCHEDULE.USERS_ID)
+                .from(SCHEDULE)
+                .where(SCHEDULE.ID.eq(scheduleId))
+                .fetchOptional(SCHEDULE.USERS_ID);
+    }
 }
@@ -0,0 +1,66 @@
+package com.ssafy11.domain.schedule;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ssafy11.domain.global.AfterCompletion;
+import com.ssafy11.domain.global.CacheBroadcast;
+import com.ssafy11.domain.schedule.dto.Schedule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 반복 일정을 (사용자, 월) 단위로 펼쳐 둔 캐시.
+ * 반복 규칙이 바뀌면 그 사용자의 달을 모두 무효화하고, 지인 이름 변경은 만료 시간으로 반영한다.
+ * 규칙 변경은 커밋 뒤 다른 서버에도 알려 서버마다 예전 반복을 보여주지 않게 한다.
+ */
+@Component
+public class ScheduleOccurrenceCache {
+
+    private static final long MAXIMUM_SIZE = 20_000;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+    public static final String INVALIDATE_TOPIC = "schedule-occurrence:invalidate";
+
+    private record Key(Integer userId, YearMonth month) {
+    }
+
+    private final ObjectProvider<CacheBroadcast> cacheBroadcast;
+    private final Cache<Key, List<Schedule>> cache;
+
+    public ScheduleOccurrenceCache(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<CacheBroadcast> cacheBroadcast) {
+        this.cacheBroadcast = cacheBroadcast;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(EXPIRE_AFTER_WRITE)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "scheduleOccurrences"));
+    }
+
+    public List<Schedule> get(Integer userId, YearMonth month, Function<YearMonth, List<Schedule>> loader) {
+        return cache.get(new Key(userId, month), key -> List.copyOf(loader.apply(key.month())));
+    }
+
+    public void invalidate(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        AfterCompletion.run(() -> evict(userId));
+        cacheBroadcast.ifAvailable(broadcast -> broadcast.publishAfterCommit(INVALIDATE_TOPIC, String.valueOf(userId)));
+    }
+
+    // 다른 서버(자신 포함)가 보낸 무효화 메시지. 로컬 캐시만 지우고 다시 알리지는 않는다
+    public void onInvalidate(String message) {
+        evict(Integer.valueOf(message));
+    }
+
+    private void evict(Integer userId) {
+        cache.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+    }
+}
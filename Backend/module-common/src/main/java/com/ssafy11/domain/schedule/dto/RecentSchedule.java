@@ -2,5 +2,8 @@ package com.ssafy11.domain.schedule.dto;
 
 import java.time.LocalDateTime;
 
-public record RecentSchedule (Integer scheduleId, LocalDateTime date, String name, String guestName){
+public record RecentSchedule (Integer scheduleId, LocalDateTime date, String name, String guestName, Integer recurrenceId){
+    public RecentSchedule(Integer scheduleId, LocalDateTime date, String name, String guestName) {
+        this(scheduleId, date, name, guestName, null);
+    }
 }
@@ -2,8 +2,13 @@ package com.ssafy11.domain.schedule.dto;
 
 import java.time.LocalDateTime;
 
-public record Schedule (Integer scheduleId, Integer guestId, LocalDateTime date, Integer paidAmount, String name, String guestName, String category, String phoneNumber){
+//반복 일정에서 펼친 일정은 scheduleId 없이 recurrenceId 만 가진다
+public record Schedule (Integer scheduleId, Integer guestId, LocalDateTime date, Integer paidAmount, String name, String guestName, String category, String phoneNumber, Integer recurrenceId){
     public Schedule(Integer scheduleId, Integer guestId, LocalDateTime date, Integer paidAmount, String name, String guestName, String category, String phoneNumber) {
+        this(scheduleId, guestId, date, paidAmount, name, guestName, category, phoneNumber, null);
+    }
+
+    public Schedule(Integer scheduleId, Integer guestId, LocalDateTime date, Integer paidAmount, String name, String guestName, String category, String phoneNumber, Integer recurrenceId) {
         this.scheduleId = scheduleId;
         this.guestId = guestId;
         this.date = date;
@@ -12,5 +17,6 @@ public record Schedule (Integer scheduleId, Integer guestId, LocalDateTime date,
         this.guestName = guestName;
         this.category = category;
         this.phoneNumber = phoneNumber;
+        this.recurrenceId = recurrenceId;
     }
 }
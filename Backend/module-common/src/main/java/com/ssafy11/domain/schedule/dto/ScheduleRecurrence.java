@@ -0,0 +1,30 @@
+package com.ssafy11.domain.schedule.dto;
+
+import com.ssafy11.domain.schedule.RecurrenceFrequency;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ScheduleRecurrence(    //반복 일정 규칙, untilDate 가 없으면 계속 반복
+        Integer recurrenceId,
+        Integer guestId,
+        String name,
+        Integer paidAmount,
+        RecurrenceFrequency frequency,
+        LocalDateTime startDate,
+        LocalDateTime untilDate,
+        String guestName,
+        String category,
+        String phoneNumber
+) {
+    public ScheduleRecurrence {
+        paidAmount = (paidAmount == null) ? 0 : paidAmount;
+    }
+
+    // [from, to) 구간에 드는 반복만 펼친다
+    public List<Schedule> occurrences(LocalDateTime from, LocalDateTime to) {
+        return frequency.occurrences(startDate, untilDate, from, to).stream()
+                .map(date -> new Schedule(null, guestId, date, paidAmount, name, guestName, category, phoneNumber, recurrenceId))
+                .toList();
+    }
+}
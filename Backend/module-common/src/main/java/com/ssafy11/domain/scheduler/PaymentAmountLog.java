@@ -0,0 +1,46 @@
+package com.ssafy11.domain.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record4;
+import org.jooq.SelectConditionStep;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+import static com.ssafy11.ulma.generated.Tables.*;
+
+/**
+ * 참여 내역 변경을 payment_amount_delta 에 남긴다.
+ * 등록 시각만 보면 금액 수정, 삭제, 경조사 종류/날짜 변경을 놓치므로 바뀌기 전 행은 -1 로, 바뀐 뒤 행은 1 로 남긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentAmountLog {
+
+    static final Field<LocalDate> DAY = EVENT.DATE.cast(LocalDate.class);
+
+    private final DSLContext dsl;
+
+    public void record(Condition participation, int sign) {
+        dsl.insertInto(PAYMENT_AMOUNT_DELTA,
+                        PAYMENT_AMOUNT_DELTA.CATEGORY,
+                        PAYMENT_AMOUNT_DELTA.DAY,
+                        PAYMENT_AMOUNT_DELTA.AMOUNT,
+                        PAYMENT_AMOUNT_DELTA.SIGN)
+                .select(source(dsl, DSL.inline((byte) sign))
+                        .and(participation))
+                .execute();
+    }
+
+    // 결제 분석에 들어가는 참여 내역에 경조사 종류와 날짜를 붙인다
+    static <T> SelectConditionStep<Record4<String, LocalDate, Integer, T>> source(DSLContext dsl, Field<T> last) {
+        return dsl.select(EVENT.CATEGORY, DAY, PARTICIPATION.AMOUNT, last)
+                .from(PARTICIPATION)
+                .join(EVENT).on(PARTICIPATION.EVENT_ID.eq(EVENT.ID))
+                .where(PARTICIPATION.AMOUNT.isNotNull());
+    }
+}
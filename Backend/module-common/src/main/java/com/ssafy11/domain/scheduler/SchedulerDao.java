@@ -1,11 +1,27 @@
 package com.ssafy11.domain.scheduler;
 
+import com.ssafy11.domain.scheduler.dto.AnalysisWatermark;
+import com.ssafy11.domain.scheduler.dto.DailyAmountCount;
+import com.ssafy11.domain.scheduler.dto.PaymentAmountDelta;
 import com.ssafy11.domain.scheduler.dto.PaymentAnalysisDto;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 public interface SchedulerDao {
-    PaymentAnalysisDto analyzePay(String category);
+    List<PaymentAnalysisDto> analyzePay();
+    List<DailyAmountCount> getAmounts();
+    List<PaymentAmountDelta> getAmountDeltas(Long afterId, int limit);
+    void deleteAmountDeltas(List<Long> ids);
+    List<DailyAmountCount> getDailyAmounts(LocalDate from, LocalDate to);
+    void addDailyAmounts(List<DailyAmountCount> amounts);
+    void addWindowAmounts(List<DailyAmountCount> amounts, int sign);
+    void deleteDailyAmountsBefore(LocalDate day);
+    void clearAmounts();
+    Optional<AnalysisWatermark> getWatermark(String name);
+    void saveWatermark(String name, AnalysisWatermark watermark);
     void saveAnalyzePay(BigDecimal under50kRatio, BigDecimal between50k100kRatio,
                         BigDecimal between100k150kRatio, BigDecimal above150kRatio,
                         BigDecimal minAmount, BigDecimal maxAmount,
@@ -1,15 +1,26 @@
 package com.ssafy11.domain.scheduler;
 
+import com.ssafy11.domain.scheduler.dto.AnalysisWatermark;
+import com.ssafy11.domain.scheduler.dto.DailyAmountCount;
+import com.ssafy11.domain.scheduler.dto.PaymentAmountDelta;
 import com.ssafy11.domain.scheduler.dto.PaymentAnalysisDto;
 import lombok.RequiredArgsConstructor;
 
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.Table;
 import org.jooq.impl.DSL;
 import org.jooq.impl.DefaultDSLContext;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static com.ssafy11.ulma.generated.Tables.*;
 
@@ -18,37 +29,186 @@ import static com.ssafy11.ulma.generated.Tables.*;
 @Repository
 public class SchedulerDaoImpl implements SchedulerDao {
 
+    private static final int BATCH_SIZE = 1000;
+
     private final DefaultDSLContext dslContext;
 
+    private record AmountKey(String category, Integer amount) {
+    }
+
+    // 1년 구간의 (카테고리, 금액)별 건수 테이블에서 카테고리별 분포를 계산한다.
+    // 최빈 금액은 건수에 row_number 를 매겨 고른다.
     @Override
-    public PaymentAnalysisDto analyzePay(String category) {
-        LocalDateTime oneYearAgo = LocalDateTime.now().minusYears(1);
+    public List<PaymentAnalysisDto> analyzePay() {
+        Field<Integer> amountRank = DSL.rowNumber()
+                .over(DSL.partitionBy(PAYMENT_WINDOW_AMOUNT.CATEGORY)
+                        .orderBy(PAYMENT_WINDOW_AMOUNT.AMOUNT_COUNT.desc(), PAYMENT_WINDOW_AMOUNT.AMOUNT.asc()))
+                .as("amount_rank");
+        Table<?> amounts = dslContext.select(PAYMENT_WINDOW_AMOUNT.CATEGORY, PAYMENT_WINDOW_AMOUNT.AMOUNT,
+                        PAYMENT_WINDOW_AMOUNT.AMOUNT_COUNT, amountRank)
+                .from(PAYMENT_WINDOW_AMOUNT)
+                .where(PAYMENT_WINDOW_AMOUNT.AMOUNT_COUNT.gt(0))
+                .asTable("amounts");
+
+        Field<String> category = amounts.field(PAYMENT_WINDOW_AMOUNT.CATEGORY);
+        Field<Integer> amount = amounts.field(PAYMENT_WINDOW_AMOUNT.AMOUNT);
+        Field<Integer> count = amounts.field(PAYMENT_WINDOW_AMOUNT.AMOUNT_COUNT);
+        Field<BigDecimal> total = DSL.sum(count);
 
         return dslContext
             .select(
-                DSL.count(DSL.when(PARTICIPATION.AMOUNT.lt(50000), 1)).div(DSL.count()).mul(100).as("under_50k_ratio"),
-                DSL.count(DSL.when(PARTICIPATION.AMOUNT.between(50000, 100000), 1)).div(DSL.count()).mul(100).as("between_50k_100k_ratio"),
-                DSL.count(DSL.when(PARTICIPATION.AMOUNT.between(100000, 150000), 1)).div(DSL.count()).mul(100).as("between_100k_150k_ratio"),
-                DSL.count(DSL.when(PARTICIPATION.AMOUNT.gt(150000), 1)).div(DSL.count()).mul(100).as("above_150k_ratio"),
-
-                DSL.min(PARTICIPATION.AMOUNT).as("min_amount"),
-                DSL.max(PARTICIPATION.AMOUNT).as("max_amount"),
-
-                DSL.select(PARTICIPATION.AMOUNT)
-                        .from(PARTICIPATION)
-                        .join(EVENT).on(PARTICIPATION.EVENT_ID.eq(EVENT.ID))
-                        .where(EVENT.CATEGORY.eq(category))
-                        .and(EVENT.DATE.greaterThan(oneYearAgo))
-                        .groupBy(PARTICIPATION.AMOUNT)
-                        .orderBy(DSL.count().desc())
-                        .limit(1)
-                        .asField("top_amount")
+                category,
+                bucketRatio(amount.lt(50000), count, total).as("under_50k_ratio"),
+                bucketRatio(amount.between(50000, 100000), count, total).as("between_50k_100k_ratio"),
+                bucketRatio(amount.between(100000, 150000), count, total).as("between_100k_150k_ratio"),
+                bucketRatio(amount.gt(150000), count, total).as("above_150k_ratio"),
+
+                DSL.min(amount).as("min_amount"),
+                DSL.max(amount).as("max_amount"),
+                DSL.max(DSL.when(amounts.field(amountRank).eq(1), amount)).as("top_amount")
                 )
-            .from(PARTICIPATION)
-            .join(EVENT).on(PARTICIPATION.EVENT_ID.eq(EVENT.ID))
-            .where(EVENT.CATEGORY.eq(category))
-            .and(EVENT.DATE.greaterThan(oneYearAgo))
-            .fetchOneInto(PaymentAnalysisDto.class);
+            .from(amounts)
+            .groupBy(category)
+            .fetchInto(PaymentAnalysisDto.class);
+    }
+
+    // 전체 참여 내역을 (카테고리, 이벤트 날짜, 금액)별로 센다
+    // 일별 집계를 처음 만들 때만 부르고, 그 뒤 변경은 payment_amount_delta 로 반영한다
+    @Override
+    public List<DailyAmountCount> getAmounts() {
+        return PaymentAmountLog.source(dslContext, DSL.count())
+                .groupBy(EVENT.CATEGORY, PaymentAmountLog.DAY, PARTICIPATION.AMOUNT)
+                .fetchInto(DailyAmountCount.class);
+    }
+
+    @Override
+    public List<PaymentAmountDelta> getAmountDeltas(Long afterId, int limit) {
+        return dslContext.select(PAYMENT_AMOUNT_DELTA.ID, PAYMENT_AMOUNT_DELTA.CATEGORY, PAYMENT_AMOUNT_DELTA.DAY,
+                        PAYMENT_AMOUNT_DELTA.AMOUNT, PAYMENT_AMOUNT_DELTA.SIGN)
+                .from(PAYMENT_AMOUNT_DELTA)
+                .where(PAYMENT_AMOUNT_DELTA.ID.gt(afterId))
+                .orderBy(PAYMENT_AMOUNT_DELTA.ID)
+                .limit(limit)
+                .fetchInto(PaymentAmountDelta.class);
+    }
+
+    // 읽은 기록만 id 로 지운다. 범위로 지우면 읽을 때 아직 커밋되지 않았던 앞 id 기록까지 사라진다
+    @Transactional
+    @Override
+    public void deleteAmountDeltas(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            dslContext.deleteFrom(PAYMENT_AMOUNT_DELTA)
+                    .where(PAYMENT_AMOUNT_DELTA.ID.in(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()))))
+                    .execute();
+        }
+    }
+
+    @Override
+    public List<DailyAmountCount> getDailyAmounts(LocalDate from, LocalDate to) {
+        return dslContext.select(PAYMENT_DAILY_AMOUNT.CATEGORY, PAYMENT_DAILY_AMOUNT.DAY,
+                        PAYMENT_DAILY_AMOUNT.AMOUNT, PAYMENT_DAILY_AMOUNT.AMOUNT_COUNT)
+                .from(PAYMENT_DAILY_AMOUNT)
+                .where(PAYMENT_DAILY_AMOUNT.DAY.ge(from))
+                .and(PAYMENT_DAILY_AMOUNT.DAY.lt(to))
+                .fetchInto(DailyAmountCount.class);
+    }
+
+    @Transactional
+    @Override
+    public void addDailyAmounts(List<DailyAmountCount> amounts) {
+        for (int from = 0; from < amounts.size(); from += BATCH_SIZE) {
+            var query = dslContext.insertInto(PAYMENT_DAILY_AMOUNT,
+                    PAYMENT_DAILY_AMOUNT.CATEGORY,
+                    PAYMENT_DAILY_AMOUNT.DAY,
+                    PAYMENT_DAILY_AMOUNT.AMOUNT,
+                    PAYMENT_DAILY_AMOUNT.AMOUNT_COUNT);
+            for (DailyAmountCount amount : amounts.subList(from, Math.min(from + BATCH_SIZE, amounts.size()))) {
+                query = query.values(amount.category(), amount.day(), amount.amount(), amount.count());
+            }
+            query.onDuplicateKeyUpdate()
+                    .set(PAYMENT_DAILY_AMOUNT.AMOUNT_COUNT,
+                            PAYMENT_DAILY_AMOUNT.AMOUNT_COUNT.plus(insertedValue(PAYMENT_DAILY_AMOUNT.AMOUNT_COUNT)))
+                    .execute();
+        }
+    }
+
+    // 1년 구간 건수에 일별 집계를 더하거나(sign = 1) 뺀다(sign = -1)
+    @Transactional
+    @Override
+    public void addWindowAmounts(List<DailyAmountCount> amounts, int sign) {
+        Map<AmountKey, Integer> merged = new HashMap<>();
+        for (DailyAmountCount amount : amounts) {
+            merged.merge(new AmountKey(amount.category(), amount.amount()), sign * amount.count(), Integer::sum);
+        }
+        List<Map.Entry<AmountKey, Integer>> entries = List.copyOf(merged.entrySet());
+
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            var query = dslContext.insertInto(PAYMENT_WINDOW_AMOUNT,
+                    PAYMENT_WINDOW_AMOUNT.CATEGORY,
+                    PAYMENT_WINDOW_AMOUNT.AMOUNT,
+                    PAYMENT_WINDOW_AMOUNT.AMOUNT_COUNT);
+            for (Map.Entry<AmountKey, Integer> entry : entries.subList(from, Math.min(from + BATCH_SIZE, entries.size()))) {
+                query = query.values(entry.getKey().category(), entry.getKey().amount(), entry.getValue());
+            }
+            query.onDuplicateKeyUpdate()
+                    .set(PAYMENT_WINDOW_AMOUNT.AMOUNT_COUNT,
+                            PAYMENT_WINDOW_AMOUNT.AMOUNT_COUNT.plus(insertedValue(PAYMENT_WINDOW_AMOUNT.AMOUNT_COUNT)))
+                    .execute();
+        }
+
+        if (sign < 0) {
+            dslContext.deleteFrom(PAYMENT_WINDOW_AMOUNT)
+                    .where(PAYMENT_WINDOW_AMOUNT.AMOUNT_COUNT.le(0))
+                    .execute();
+        }
+    }
+
+    @Transactional
+    @Override
+    public void deleteDailyAmountsBefore(LocalDate day) {
+        dslContext.deleteFrom(PAYMENT_DAILY_AMOUNT)
+                .where(PAYMENT_DAILY_AMOUNT.DAY.lt(day))
+                .execute();
+    }
+
+    @Transactional
+    @Override
+    public void clearAmounts() {
+        dslContext.deleteFrom(PAYMENT_DAILY_AMOUNT).execute();
+        dslContext.deleteFrom(PAYMENT_WINDOW_AMOUNT).execute();
+    }
+
+    @Override
+    public Optional<AnalysisWatermark> getWatermark(String name) {
+        return dslContext.select(ANALYTICS_WATERMARK.WATERMARK, ANALYTICS_WATERMARK.WINDOW_START)
+                .from(ANALYTICS_WATERMARK)
+                .where(ANALYTICS_WATERMARK.NAME.eq(name))
+                .fetchOptionalInto(AnalysisWatermark.class);
+    }
+
+    @Transactional
+    @Override
+    public void saveWatermark(String name, AnalysisWatermark watermark) {
+        dslContext.insertInto(ANALYTICS_WATERMARK,
+                        ANALYTICS_WATERMARK.NAME,
+                        ANALYTICS_WATERMARK.WATERMARK,
+                        ANALYTICS_WATERMARK.WINDOW_START,
+                        ANALYTICS_WATERMARK.UPDATE_AT)
+                .values(name, watermark.watermark(), watermark.windowStart(), LocalDateTime.now())
+                .onDuplicateKeyUpdate()
+                .set(ANALYTICS_WATERMARK.WATERMARK, watermark.watermark())
+                .set(ANALYTICS_WATERMARK.WINDOW_START, watermark.windowStart())
+                .set(ANALYTICS_WATERMARK.UPDATE_AT, LocalDateTime.now())
+                .execute();
+    }
+
+    // DSL.excluded() 를 식 안에서 쓰면 jOOQ 가 행 별칭(AS t)을 붙이지 않아 VALUES() 로 직접 참조한다
+    private static <T> Field<T> insertedValue(Field<T> field) {
+        return DSL.field("values({0})", field.getDataType(), field);
+    }
+
+    private static Field<BigDecimal> bucketRatio(Condition bucket, Field<Integer> count, Field<BigDecimal> total) {
+        return DSL.coalesce(DSL.sum(DSL.when(bucket, count)), BigDecimal.ZERO).div(total).mul(100);
     }
 
     @Override
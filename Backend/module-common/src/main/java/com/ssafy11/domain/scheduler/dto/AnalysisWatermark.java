@@ -0,0 +1,9 @@
+package com.ssafy11.domain.scheduler.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record AnalysisWatermark(
+        LocalDateTime watermark,    //마지막으로 집계를 반영한 시각
+        LocalDate windowStart       //1년 집계 구간 시작일
+) {}
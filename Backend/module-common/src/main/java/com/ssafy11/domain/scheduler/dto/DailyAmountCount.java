@@ -0,0 +1,10 @@
+package com.ssafy11.domain.scheduler.dto;
+
+import java.time.LocalDate;
+
+public record DailyAmountCount(    //카테고리, 이벤트 날짜, 금액별 건수(일별 부분 집계)
+        String category,
+        LocalDate day,
+        Integer amount,
+        Integer count
+) {}
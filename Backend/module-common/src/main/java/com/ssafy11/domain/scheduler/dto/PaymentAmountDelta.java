@@ -0,0 +1,11 @@
+package com.ssafy11.domain.scheduler.dto;
+
+import java.time.LocalDate;
+
+public record PaymentAmountDelta(    //참여 금액 변경 기록 한 줄, 추가는 sign 1 삭제는 -1
+        Long id,
+        String category,
+        LocalDate day,
+        Integer amount,
+        Integer sign
+) {}
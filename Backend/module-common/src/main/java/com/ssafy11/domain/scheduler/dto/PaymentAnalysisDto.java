@@ -3,6 +3,7 @@ package com.ssafy11.domain.scheduler.dto;
 import java.math.BigDecimal;
 
 public record PaymentAnalysisDto(
+        String category,
         BigDecimal under50kRatio,
         BigDecimal between50k100kRatio,
         BigDecimal between100k150kRatio,